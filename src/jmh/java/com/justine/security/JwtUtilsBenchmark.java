@@ -0,0 +1,66 @@
+package com.justine.security;
+
+import com.justine.enums.StaffRole;
+import com.justine.model.Staff;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse and verify cost of the access token, paid by JwtCookieFilter on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                Base64.getEncoder().encodeToString("benchmark-secret-key-0123456789abcdef".getBytes()));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtils, "jwtRefreshExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtils, "jwtIssuer", "hotel-management");
+
+        Staff staff = new Staff();
+        staff.setId(42L);
+        staff.setRole(StaffRole.RECEPTIONIST);
+        token = jwtUtils.generateToken(staff);
+    }
+
+    @Benchmark
+    public String generate() {
+        Staff staff = new Staff();
+        staff.setId(42L);
+        staff.setRole(StaffRole.RECEPTIONIST);
+        return jwtUtils.generateToken(staff);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtils.isTokenValid(token);
+    }
+
+    @Benchmark
+    public String extractSubject() {
+        return jwtUtils.extractSubject(token);
+    }
+
+    // What the filter does per request today: validate, then subject, then roles (three parses)
+    @Benchmark
+    public List<String> filterPath() {
+        if (!jwtUtils.isTokenValid(token)) return List.of();
+        jwtUtils.extractSubject(token);
+        return jwtUtils.extractRoles(token);
+    }
+}
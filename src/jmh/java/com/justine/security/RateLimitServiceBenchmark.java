@@ -0,0 +1,58 @@
+package com.justine.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RateLimitService#allowRequest} from 8 threads, either spread over many client IPs or all
+ * hammering one IP (the abusive-client case). Each iteration runs a fixed batch against a fresh
+ * service, because the per-IP history keeps every attempt for an hour and would otherwise grow
+ * with the benchmark's own run time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = 20_000)
+@Measurement(iterations = 10, batchSize = 20_000)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RateLimitServiceBenchmark {
+
+    private static final int DISTINCT_IPS = 4_096;
+
+    private RateLimitService rateLimitService;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Client {
+        int next;
+        int offset;
+
+        @Setup
+        public void setUp(RateLimitServiceBenchmark benchmark) {
+            offset = benchmark.threadIds.getAndIncrement() * 997;
+        }
+
+        String nextIp() {
+            int n = (offset + next++) % DISTINCT_IPS;
+            return "10.0." + (n >> 8) + "." + (n & 0xFF);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        rateLimitService = new RateLimitService(event -> { });
+    }
+
+    @Benchmark
+    public boolean distinctIps(Client client) {
+        return rateLimitService.allowRequest(client.nextIp(), "LOGIN");
+    }
+
+    @Benchmark
+    public boolean sharedIp() {
+        return rateLimitService.allowRequest("10.0.0.1", "LOGIN");
+    }
+}
@@ -0,0 +1,71 @@
+package com.justine.serviceImpl;
+
+import com.justine.enums.BookingStatus;
+import com.justine.model.Booking;
+import com.justine.model.Room;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-room overlap check behind {@code HotelServiceImpl.getAvailableRooms}, over a hotel's
+ * rooms with a growing booking history. The check scans every past and future stay of a room.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityBenchmark {
+
+    private static final int ROOMS = 200;
+    private static final LocalDate EPOCH = LocalDate.of(2024, 1, 1);
+
+    @Param({"10", "100", "1000"})
+    public int bookingsPerRoom;
+
+    private List<Room> rooms;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rooms = new ArrayList<>(ROOMS);
+        for (int r = 0; r < ROOMS; r++) {
+            Room room = new Room();
+            room.setId((long) r);
+            List<Booking> bookings = new ArrayList<>(bookingsPerRoom);
+            LocalDate cursor = EPOCH;
+            for (int b = 0; b < bookingsPerRoom; b++) {
+                cursor = cursor.plusDays(random.nextInt(3));
+                LocalDate end = cursor.plusDays(1 + random.nextInt(5));
+                Booking booking = new Booking();
+                booking.setCheckInDate(cursor);
+                booking.setCheckOutDate(end);
+                // Mostly history; only recent stays are still active
+                booking.setStatus(b < bookingsPerRoom - 5 ? BookingStatus.CHECKED_OUT : BookingStatus.BOOKED);
+                bookings.add(booking);
+                cursor = end;
+            }
+            room.setBookings(bookings);
+            rooms.add(room);
+        }
+        checkIn = EPOCH.plusDays(bookingsPerRoom * 4L);
+        checkOut = checkIn.plusDays(3);
+    }
+
+    @Benchmark
+    public int freeRooms() {
+        int free = 0;
+        for (Room room : rooms) {
+            if (HotelServiceImpl.isFreeFor(room, checkIn, checkOut)) free++;
+        }
+        return free;
+    }
+}
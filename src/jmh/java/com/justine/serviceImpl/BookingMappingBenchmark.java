@@ -0,0 +1,109 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.BookingResponseDTO;
+import com.justine.enums.*;
+import com.justine.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping of a fully loaded booking (room, hotel, guest, services, payment and
+ * restaurant orders), as returned by the booking endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingMappingBenchmark {
+
+    @Param({"0", "5", "20"})
+    public int orders;
+
+    private BookingServiceImpl bookingService;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        // The mappers touch no collaborators
+        bookingService = new BookingServiceImpl(null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null);
+
+        Hotel hotel = Hotel.builder().id(1L).name("FiveStar Nairobi").location("Nairobi")
+                .contactNumber("+254711000999").email("nairobi@fivestarhotel.com").build();
+        Room room = Room.builder().id(10L).roomNumber("204").type(RoomType.values()[0])
+                .pricePerNight(12_000.0).available(false).hotel(hotel).build();
+        Guest guest = Guest.builder().id(7L).fullName("Amina Wanjiru").email("amina@example.com")
+                .phoneNumber("+254712345678").idNumber("31234567").build();
+
+        booking = new Booking();
+        booking.setId(100L);
+        booking.setBookingCode("BK-000100");
+        booking.setCheckInDate(LocalDate.of(2026, 11, 1));
+        booking.setCheckOutDate(LocalDate.of(2026, 11, 5));
+        booking.setNumberOfGuests(2);
+        booking.setStatus(BookingStatus.BOOKED);
+        booking.setRoom(room);
+        booking.setGuest(guest);
+
+        List<com.justine.model.Service> services = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            com.justine.model.Service service = new com.justine.model.Service();
+            service.setId((long) i);
+            service.setServiceType(ServiceType.values()[i % ServiceType.values().length]);
+            service.setName("Service " + i);
+            service.setPrice(1_500.0);
+            service.setHotel(hotel);
+            services.add(service);
+        }
+        booking.setServices(services);
+
+        Payment payment = new Payment();
+        payment.setId(55L);
+        payment.setAmount(48_000.0);
+        payment.setMethod(PaymentMethod.MPESA);
+        payment.setStatus(PaymentStatus.PAID);
+        payment.setTransactionId("QK7X2ABC9Z");
+        booking.setPayment(payment);
+
+        List<RestaurantOrder> restaurantOrders = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            RestaurantOrder order = new RestaurantOrder();
+            order.setId((long) i);
+            // The first order is the open cart
+            order.setCart(i == 0);
+            order.setStatus(i == 0 ? OrderStatus.PENDING : OrderStatus.SERVED);
+            order.setTotalAmount(2_400.0);
+            order.setHotel(hotel);
+            order.setGuest(guest);
+            order.setBooking(booking);
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                FoodItem food = FoodItem.builder().id((long) j).itemName("Dish " + j).price(800.0)
+                        .category(FoodCategory.values()[0]).hotel(hotel).build();
+                OrderItem item = new OrderItem();
+                item.setId((long) (i * 10 + j));
+                item.setQuantity(1);
+                item.setStatus(order.getStatus());
+                item.setFoodItem(food);
+                item.setOrder(order);
+                items.add(item);
+            }
+            order.setOrderItems(items);
+            order.setOrderDate(LocalDateTime.of(2026, 11, 2, 19, 30));
+            restaurantOrders.add(order);
+        }
+        booking.setOrders(restaurantOrders);
+    }
+
+    @Benchmark
+    public BookingResponseDTO toBookingResponse() {
+        return bookingService.toBookingResponse(booking);
+    }
+}
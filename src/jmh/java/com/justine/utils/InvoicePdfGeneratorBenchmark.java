@@ -0,0 +1,48 @@
+package com.justine.utils;
+
+import com.justine.model.Booking;
+import com.justine.model.Guest;
+import com.justine.model.Invoice;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receipt rendering, which runs inside the booking and payment transactions before the upload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvoicePdfGeneratorBenchmark {
+
+    private Invoice invoice;
+
+    @Setup
+    public void setUp() {
+        Guest guest = new Guest();
+        guest.setFullName("Amina Wanjiru");
+        guest.setEmail("amina@example.com");
+        guest.setPhoneNumber("+254712345678");
+        guest.setIdNumber("31234567");
+
+        Booking booking = new Booking();
+        booking.setGuest(guest);
+
+        invoice = new Invoice();
+        invoice.setInvoiceNumber("INV-2026-000123");
+        invoice.setIssuedDate(LocalDate.of(2026, 10, 18));
+        invoice.setTotalAmount(48_500.0);
+        invoice.setPaid(true);
+        invoice.setBooking(booking);
+    }
+
+    @Benchmark
+    public MultipartFile generateReceipt() {
+        return InvoicePdfGenerator.generateReceipt(invoice);
+    }
+}
@@ -0,0 +1,46 @@
+package com.justine.utils;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email and phone checks on typical and hostile input. The long near-miss email guards against
+ * a regex change that starts backtracking.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationUtilsBenchmark {
+
+    private static final String VALID_EMAIL = "reservations.desk+ke@fivestarhotel.co.ke";
+    private static final String INVALID_EMAIL = "reservations.desk@@fivestarhotel";
+    private static final String LONG_NEAR_MISS_EMAIL = "a".repeat(5_000) + "@" + "b.".repeat(2_000) + "!";
+    private static final String[] PHONES = {"+254712345678", "0712345678", "254712345678", "0812345678", "+2547123"};
+
+    @Benchmark
+    public boolean validEmail() {
+        return ValidationUtils.isValidEmail(VALID_EMAIL);
+    }
+
+    @Benchmark
+    public boolean invalidEmail() {
+        return ValidationUtils.isValidEmail(INVALID_EMAIL);
+    }
+
+    @Benchmark
+    public boolean longNearMissEmail() {
+        return ValidationUtils.isValidEmail(LONG_NEAR_MISS_EMAIL);
+    }
+
+    @Benchmark
+    public void phones(Blackhole blackhole) {
+        for (String phone : PHONES) {
+            blackhole.consume(ValidationUtils.isValidPhone(phone));
+        }
+    }
+}
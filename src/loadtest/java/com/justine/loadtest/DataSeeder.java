@@ -0,0 +1,157 @@
+package com.justine.loadtest;
+
+import com.justine.enums.FoodCategory;
+import com.justine.enums.RoomType;
+import com.justine.enums.ServiceType;
+import com.justine.enums.StaffRole;
+import com.justine.model.FoodItem;
+import com.justine.model.Guest;
+import com.justine.model.Hotel;
+import com.justine.model.Room;
+import com.justine.model.Service;
+import com.justine.model.Staff;
+import com.justine.repository.FoodItemRepository;
+import com.justine.repository.GuestRepository;
+import com.justine.repository.HotelRepository;
+import com.justine.repository.RoomRepository;
+import com.justine.repository.ServiceRepository;
+import com.justine.repository.StaffRepository;
+import com.justine.security.JwtUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds hotels, rooms, menus, services, guests and one admin per hotel through the
+ * repositories, and issues the JWTs the virtual users send as their access cookie.
+ */
+@Slf4j
+public class DataSeeder {
+
+    private static final String[] LOCATIONS = {"Nairobi", "Mombasa", "Kisumu", "Nakuru", "Naivasha", "Eldoret"};
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    /**
+     * What the virtual users need to build requests: ids and tokens, never entities.
+     */
+    public record Fixture(
+            List<Long> hotelIds,
+            List<String> locations,
+            Map<Long, List<Long>> foodItemIdsByHotel,
+            Map<Long, List<Long>> serviceIdsByHotel,
+            List<Long> guestIds,
+            List<String> guestTokens,
+            String adminToken
+    ) {
+    }
+
+    private final ApplicationContext context;
+
+    public DataSeeder(ApplicationContext context) {
+        this.context = context;
+    }
+
+    public Fixture seed(int hotels, int roomsPerHotel, int guests) {
+        HotelRepository hotelRepository = context.getBean(HotelRepository.class);
+        RoomRepository roomRepository = context.getBean(RoomRepository.class);
+        FoodItemRepository foodItemRepository = context.getBean(FoodItemRepository.class);
+        ServiceRepository serviceRepository = context.getBean(ServiceRepository.class);
+        GuestRepository guestRepository = context.getBean(GuestRepository.class);
+        StaffRepository staffRepository = context.getBean(StaffRepository.class);
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+
+        List<Long> hotelIds = new ArrayList<>();
+        List<String> locations = new ArrayList<>();
+        Map<Long, List<Long>> foodItemIds = new HashMap<>();
+        Map<Long, List<Long>> serviceIds = new HashMap<>();
+        Staff admin = null;
+
+        for (int h = 0; h < hotels; h++) {
+            String location = LOCATIONS[h % LOCATIONS.length];
+            Hotel hotel = hotelRepository.save(Hotel.builder()
+                    .name("Load Test Hotel " + (h + 1))
+                    .location(location)
+                    .contactNumber("0700" + String.format("%06d", h))
+                    .email("hotel" + h + "@loadtest.local")
+                    .build());
+            hotelIds.add(hotel.getId());
+            locations.add(location);
+
+            List<Room> rooms = new ArrayList<>(roomsPerHotel);
+            for (int r = 0; r < roomsPerHotel; r++) {
+                RoomType type = ROOM_TYPES[r % ROOM_TYPES.length];
+                rooms.add(Room.builder()
+                        .roomNumber(String.format("%d%03d", h + 1, r + 1))
+                        .type(type)
+                        .pricePerNight(4000.0 + 2500.0 * type.ordinal())
+                        .available(true)
+                        .hotel(hotel)
+                        .build());
+            }
+            roomRepository.saveAll(rooms);
+
+            List<FoodItem> menu = new ArrayList<>();
+            for (FoodCategory category : FoodCategory.values()) {
+                for (int i = 0; i < 4; i++) {
+                    menu.add(FoodItem.builder()
+                            .itemName(category.name() + " " + (i + 1))
+                            .price(250.0 + 150.0 * i)
+                            .category(category)
+                            .hotel(hotel)
+                            .build());
+                }
+            }
+            foodItemIds.put(hotel.getId(), foodItemRepository.saveAll(menu).stream().map(FoodItem::getId).toList());
+
+            List<Service> services = new ArrayList<>();
+            for (ServiceType type : ServiceType.values()) {
+                services.add(Service.builder()
+                        .serviceType(type)
+                        .name(type.name())
+                        .description("Load test " + type.name().toLowerCase())
+                        .price(type.getDefaultPriceKES())
+                        .hotel(hotel)
+                        .build());
+            }
+            serviceIds.put(hotel.getId(), serviceRepository.saveAll(services).stream().map(Service::getId).toList());
+
+            Staff hotelAdmin = staffRepository.save(Staff.builder()
+                    .fullName("Admin " + (h + 1))
+                    .role(StaffRole.ADMIN)
+                    .email("admin" + h + "@loadtest.local")
+                    .phoneNumber("0711" + String.format("%06d", h))
+                    .password("{noop}loadtest")
+                    .hotel(hotel)
+                    .build());
+            if (admin == null) admin = hotelAdmin;
+        }
+
+        List<Guest> guestEntities = new ArrayList<>(guests);
+        for (int g = 0; g < guests; g++) {
+            guestEntities.add(Guest.builder()
+                    .fullName("Guest " + (g + 1))
+                    .email("guest" + g + "@loadtest.local")
+                    .phoneNumber("0722" + String.format("%06d", g))
+                    .idNumber(String.format("%08d", g))
+                    .gender(g % 2 == 0 ? "F" : "M")
+                    .password("{noop}loadtest")
+                    .build());
+        }
+        List<Guest> savedGuests = guestRepository.saveAll(guestEntities);
+
+        log.info("Seeded {} hotels, {} rooms and {} guests", hotels, hotels * roomsPerHotel, guests);
+        return new Fixture(
+                hotelIds,
+                locations,
+                foodItemIds,
+                serviceIds,
+                savedGuests.stream().map(Guest::getId).toList(),
+                savedGuests.stream().map(jwtUtils::generateToken).toList(),
+                admin != null ? jwtUtils.generateToken(admin) : null
+        );
+    }
+}
@@ -0,0 +1,69 @@
+package com.justine.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies and outcomes for one operation. Samples are kept raw (a run records at most a few
+ * hundred thousand) so percentiles are exact rather than bucketed.
+ */
+public class LatencyRecorder {
+
+    private final String operation;
+    private long[] samples = new long[1024];
+    private int size;
+    private long ok;
+    private long clientErrors;
+    private long serverErrors;
+    private long failures;
+
+    public LatencyRecorder(String operation) {
+        this.operation = operation;
+    }
+
+    public synchronized void record(long nanos, int status) {
+        if (size == samples.length) samples = Arrays.copyOf(samples, size * 2);
+        samples[size++] = nanos;
+        if (status >= 500) serverErrors++;
+        else if (status >= 400) clientErrors++;
+        else if (status > 0) ok++;
+        else failures++;
+    }
+
+    /**
+     * Summary over the measured window: counts, throughput and latency percentiles in milliseconds.
+     */
+    public synchronized Map<String, Object> summary(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("operation", operation);
+        summary.put("count", (long) size);
+        summary.put("ok", ok);
+        summary.put("clientErrors", clientErrors);
+        summary.put("serverErrors", serverErrors);
+        summary.put("failures", failures);
+        summary.put("throughputPerSec", round(seconds > 0 ? size / seconds : 0));
+        summary.put("p50Ms", millis(percentile(sorted, 0.50)));
+        summary.put("p90Ms", millis(percentile(sorted, 0.90)));
+        summary.put("p99Ms", millis(percentile(sorted, 0.99)));
+        summary.put("maxMs", millis(size > 0 ? sorted[size - 1] : 0));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
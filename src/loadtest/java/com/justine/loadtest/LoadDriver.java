@@ -0,0 +1,300 @@
+package com.justine.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justine.dtos.request.STKPushRequestDTO;
+import com.justine.dtos.response.STKPushResponseDTO;
+import com.justine.service.MpesaService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-model load: each virtual user searches, checks a hotel's availability and, for a share of
+ * iterations, books a room, orders from the menu, pays and is checked in and out again so the room
+ * returns to inventory. A small share of iterations raises a hotel alert (SMS and email fan-out).
+ * <p>
+ * STK push has no HTTP endpoint, so M-Pesa payments call {@link MpesaService} in-process; that still
+ * exercises the token cache and the pooled Daraja client against the stub.
+ */
+@Slf4j
+public class LoadDriver {
+
+    public static final String SEARCH = "search";
+    public static final String AVAILABLE_ROOMS = "available-rooms";
+    public static final String BOOKING = "booking";
+    public static final String CART_ADD = "cart-add";
+    public static final String PAYMENT = "payment";
+    public static final String STK_PUSH = "stk-push";
+    public static final String CHECK_IN = "check-in";
+    public static final String CHECK_OUT = "check-out";
+    public static final String ALERT = "alert";
+
+    private static final String[] PAYMENT_METHODS = {"CASH", "CARD", "MPESA"};
+
+    /**
+     * Run parameters, read from {@code -Dload.*} system properties. {@code threads} is
+     * {@code platform}, {@code virtual} or {@code both}; {@code both} repeats the run once per mode.
+     */
+    public record Settings(
+            int users,
+            int durationSeconds,
+            int warmupSeconds,
+            int thinkTimeMs,
+            double bookingShare,
+            double alertShare,
+            int hotels,
+            int roomsPerHotel,
+            int guests,
+            long stubLatencyMs,
+            String threads
+    ) {
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("load.users", 50),
+                    Integer.getInteger("load.duration-seconds", 60),
+                    Integer.getInteger("load.warmup-seconds", 10),
+                    Integer.getInteger("load.think-time-ms", 200),
+                    Double.parseDouble(System.getProperty("load.booking-share", "0.25")),
+                    Double.parseDouble(System.getProperty("load.alert-share", "0.01")),
+                    Integer.getInteger("load.hotels", 5),
+                    Integer.getInteger("load.rooms-per-hotel", 40),
+                    Integer.getInteger("load.guests", 500),
+                    Long.getLong("load.stub-latency-ms", 50),
+                    System.getProperty("load.threads", "platform")
+            );
+        }
+
+        /**
+         * The thread modes to run, in order. Both modes share one JVM, so each run gets its own
+         * context, seed data and warm-up window before anything is measured.
+         */
+        public List<String> threadModes() {
+            return switch (threads) {
+                case "platform", "virtual" -> List.of(threads);
+                case "both" -> List.of("platform", "virtual");
+                default -> throw new IllegalArgumentException("load.threads must be platform, virtual or both: " + threads);
+            };
+        }
+    }
+
+    private final Settings settings;
+    private final DataSeeder.Fixture fixture;
+    private final MpesaService mpesaService;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final HttpClient client;
+    private volatile long measureFrom;
+    private volatile long measureUntil;
+
+    public LoadDriver(Settings settings, DataSeeder.Fixture fixture, MpesaService mpesaService, int port) {
+        this.settings = settings;
+        this.fixture = fixture;
+        this.mpesaService = mpesaService;
+        this.baseUrl = "http://localhost:" + port;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Runs warm-up plus the measured window and returns the per-operation summaries.
+     */
+    public List<Map<String, Object>> run() throws InterruptedException {
+        long start = System.nanoTime();
+        measureFrom = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        log.info("Driving {} users: {}s warm-up, {}s measured", settings.users(), settings.warmupSeconds(), settings.durationSeconds());
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < settings.users(); u++) {
+                int user = u;
+                users.execute(() -> userLoop(user));
+            }
+        }
+
+        double seconds = settings.durationSeconds();
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        for (String operation : List.of(SEARCH, AVAILABLE_ROOMS, BOOKING, CART_ADD, PAYMENT, STK_PUSH, CHECK_IN, CHECK_OUT, ALERT)) {
+            LatencyRecorder recorder = recorders.get(operation);
+            if (recorder != null) summaries.add(recorder.summary(seconds));
+        }
+        return summaries;
+    }
+
+    private void userLoop(int user) {
+        int guestIndex = user % fixture.guestIds().size();
+        Long guestId = fixture.guestIds().get(guestIndex);
+        String guestToken = fixture.guestTokens().get(guestIndex);
+
+        while (System.nanoTime() < measureUntil) {
+            try {
+                iteration(guestId, guestToken);
+            } catch (Exception e) {
+                log.debug("User {} iteration failed: {}", user, e.getMessage());
+            }
+            think();
+        }
+    }
+
+    private void iteration(Long guestId, String guestToken) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hotelIndex = random.nextInt(fixture.hotelIds().size());
+        Long hotelId = fixture.hotelIds().get(hotelIndex);
+        LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(1, 180));
+        LocalDate checkOut = checkIn.plusDays(random.nextInt(1, 5));
+
+        get(SEARCH, "/hotels/search?checkIn=" + checkIn + "&checkOut=" + checkOut
+                + "&guests=" + random.nextInt(1, 4)
+                + "&location=" + URLEncoder.encode(fixture.locations().get(hotelIndex), StandardCharsets.UTF_8), null);
+
+        JsonNode rooms = get(AVAILABLE_ROOMS, "/hotels/" + hotelId + "/available-rooms?checkIn=" + checkIn + "&checkOut=" + checkOut, null);
+
+        if (random.nextDouble() < settings.bookingShare() && rooms != null && rooms.isArray() && !rooms.isEmpty()) {
+            Long roomId = rooms.get(random.nextInt(rooms.size())).path("id").asLong();
+            stay(hotelId, roomId, guestId, guestToken, checkIn, checkOut);
+        }
+
+        if (random.nextDouble() < settings.alertShare() && fixture.adminToken() != null) {
+            Map<String, Object> alert = Map.of(
+                    "title", "Fire drill",
+                    "message", "Please gather at the assembly point.",
+                    "severity", "HIGH");
+            post(ALERT, "/notifications/emergency-alert/hotel/" + hotelId, alert, fixture.adminToken());
+        }
+    }
+
+    private void stay(Long hotelId, Long roomId, Long guestId, String guestToken,
+                      LocalDate checkIn, LocalDate checkOut) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        List<Long> services = fixture.serviceIdsByHotel().getOrDefault(hotelId, List.of());
+        Map<String, Object> booking = new LinkedHashMap<>();
+        booking.put("checkInDate", checkIn.toString());
+        booking.put("checkOutDate", checkOut.toString());
+        booking.put("numberOfGuests", random.nextInt(1, 3));
+        booking.put("guestId", guestId);
+        booking.put("roomId", roomId);
+        booking.put("serviceIds", services.isEmpty() || random.nextBoolean() ? List.of() : List.of(services.get(random.nextInt(services.size()))));
+
+        JsonNode created = post(BOOKING, "/bookings", booking, guestToken);
+        if (created == null || !created.hasNonNull("id")) return;
+        long bookingId = created.get("id").asLong();
+
+        List<Long> menu = fixture.foodItemIdsByHotel().getOrDefault(hotelId, List.of());
+        int items = menu.isEmpty() ? 0 : random.nextInt(0, 4);
+        for (int i = 0; i < items; i++) {
+            post(CART_ADD, "/bookings/" + bookingId + "/cart/items",
+                    Map.of("foodItemId", menu.get(random.nextInt(menu.size())), "quantity", random.nextInt(1, 3)), guestToken);
+        }
+
+        String method = PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)];
+        if ("MPESA".equals(method)) stkPush(bookingId);
+        Map<String, Object> payment = new LinkedHashMap<>();
+        payment.put("method", method);
+        payment.put("transactionId", "LT" + bookingId);
+        payment.put("bookingId", bookingId);
+        post(PAYMENT, "/bookings/pay", payment, guestToken);
+
+        if (fixture.adminToken() != null) {
+            post(CHECK_IN, "/bookings/" + bookingId + "/check-in", null, fixture.adminToken());
+            post(CHECK_OUT, "/bookings/" + bookingId + "/check-out", null, fixture.adminToken());
+        }
+    }
+
+    private void stkPush(long bookingId) {
+        STKPushRequestDTO request = new STKPushRequestDTO();
+        request.setPhone("0722000000");
+        request.setAmount(1000);
+        request.setAccountReference("BK" + bookingId);
+        request.setTransactionDesc("Load test booking " + bookingId);
+
+        long started = System.nanoTime();
+        int status = 0;
+        try {
+            STKPushResponseDTO response = mpesaService.initiateSTKPush(request);
+            status = response != null && "0".equals(response.getResponseCode()) ? 200 : 502;
+        } catch (Exception e) {
+            log.debug("STK push failed: {}", e.getMessage());
+        } finally {
+            record(STK_PUSH, started, status);
+        }
+    }
+
+    // ---------------- HTTP ----------------
+
+    private JsonNode get(String operation, String path, String token) throws InterruptedException {
+        return send(operation, request(path, token).GET().build());
+    }
+
+    private JsonNode post(String operation, String path, Object body, String token) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        return send(operation, request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) builder.header("Cookie", "ACCESS_TOKEN=" + token);
+        return builder;
+    }
+
+    private JsonNode send(String operation, HttpRequest request) throws InterruptedException {
+        long started = System.nanoTime();
+        int status = 0;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            byte[] body = response.body();
+            if (status >= 300 || body == null || body.length == 0 || body[0] != '{' && body[0] != '[') return null;
+            return objectMapper.readTree(body);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.debug("{} {} failed: {}", request.method(), request.uri(), e.getMessage());
+            return null;
+        } finally {
+            record(operation, started, status);
+        }
+    }
+
+    private void record(String operation, long started, int status) {
+        long now = System.nanoTime();
+        // Warm-up samples and requests that finish after the window are not part of the result
+        if (started < measureFrom || now > measureUntil) return;
+        recorders.computeIfAbsent(operation, LatencyRecorder::new).record(now - started, status);
+    }
+
+    private void think() {
+        if (settings.thinkTimeMs() <= 0) return;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(settings.thinkTimeMs() + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.justine.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.justine.HotelManagementApplication;
+import com.justine.service.MpesaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the load-test profile: starts the stubs, boots the application against them on
+ * H2, seeds data, runs {@link LoadDriver} and prints/writes the report.
+ * <p>
+ * All knobs are {@code -Dload.*} system properties (see {@link LoadDriver.Settings}). With
+ * {@code -Dload.threads=both} the whole run is repeated with {@code spring.threads.virtual.enabled}
+ * off and on, and the report gains a per-operation throughput and p99 comparison of the two modes.
+ */
+@Slf4j
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadDriver.Settings settings = LoadDriver.Settings.fromSystemProperties();
+        Path reportPath = Path.of(System.getProperty("load.report", "target/loadtest-report.json"));
+
+        int exitCode = 0;
+        try {
+            Map<String, Map<String, Object>> runs = new LinkedHashMap<>();
+            for (String mode : settings.threadModes()) {
+                runs.put(mode, run(settings, mode));
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("settings", settings);
+            report.put("runs", runs);
+            if (runs.size() > 1) {
+                List<Map<String, Object>> comparison = compare(runs.get("platform"), runs.get("virtual"));
+                printComparison(comparison);
+                report.put("comparison", comparison);
+            }
+            write(reportPath, report);
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * One full run in the given thread mode: fresh stubs and context, seed, drive, summarise.
+     */
+    private static Map<String, Object> run(LoadDriver.Settings settings, String mode) throws Exception {
+        try (StubServers stubs = new StubServers(settings.stubLatencyMs())) {
+            stubs.start();
+            String stubUrl = "http://localhost:" + stubs.httpPort();
+
+            // Command-line arguments outrank application.properties, so unset environment variables never resolve.
+            // ddl-auto=create rebuilds the schema, so a second run starts from an empty database.
+            ConfigurableApplicationContext context = SpringApplication.run(HotelManagementApplication.class,
+                    "--spring.profiles.active=loadtest",
+                    "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                    "--spring.mail.port=" + stubs.smtpPort(),
+                    "--sms.provider.api-url=" + stubUrl + "/sms",
+                    "--mpesa.base-url=" + stubUrl);
+
+            try {
+                log.info("Running with {} threads", mode);
+                int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+                DataSeeder.Fixture fixture = new DataSeeder(context)
+                        .seed(settings.hotels(), settings.roomsPerHotel(), settings.guests());
+
+                List<Map<String, Object>> operations =
+                        new LoadDriver(settings, fixture, context.getBean(MpesaService.class), port).run();
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("operations", operations);
+                result.put("stubRequests", stubs.receivedCounts());
+                LocalBlobStore blobs = context.getBean(LocalBlobStore.class);
+                result.put("blobUploads", blobs.uploads());
+                result.put("blobBytes", blobs.bytesWritten());
+
+                System.out.printf("%n[%s threads]%n", mode);
+                print(operations);
+                return result;
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> compare(Map<String, Object> platform, Map<String, Object> virtual) {
+        Map<Object, Map<String, Object>> virtualByOperation = new LinkedHashMap<>();
+        for (Map<String, Object> op : (List<Map<String, Object>>) virtual.get("operations")) {
+            virtualByOperation.put(op.get("operation"), op);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map<String, Object> p : (List<Map<String, Object>>) platform.get("operations")) {
+            Map<String, Object> v = virtualByOperation.get(p.get("operation"));
+            if (v == null) continue;
+            double platformRate = ((Number) p.get("throughputPerSec")).doubleValue();
+            double virtualRate = ((Number) v.get("throughputPerSec")).doubleValue();
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("operation", p.get("operation"));
+            row.put("platformPerSec", platformRate);
+            row.put("virtualPerSec", virtualRate);
+            row.put("virtualToPlatform", platformRate > 0 ? Math.round(virtualRate / platformRate * 100.0) / 100.0 : null);
+            row.put("platformP99Ms", p.get("p99Ms"));
+            row.put("virtualP99Ms", v.get("p99Ms"));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static void print(List<Map<String, Object>> operations) {
+        String format = "%-16s %9s %8s %8s %8s %10s %9s %9s %9s %9s%n";
+        System.out.printf(format, "operation", "count", "ok", "4xx", "5xx/err", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map<String, Object> op : operations) {
+            long errors = (long) op.get("serverErrors") + (long) op.get("failures");
+            System.out.printf(format, op.get("operation"), op.get("count"), op.get("ok"), op.get("clientErrors"),
+                    errors, op.get("throughputPerSec"), op.get("p50Ms"), op.get("p90Ms"), op.get("p99Ms"), op.get("maxMs"));
+        }
+    }
+
+    private static void printComparison(List<Map<String, Object>> comparison) {
+        String format = "%-16s %12s %12s %8s %14s %14s%n";
+        System.out.printf("%n[platform vs virtual]%n");
+        System.out.printf(format, "operation", "platform/s", "virtual/s", "ratio", "platform p99", "virtual p99");
+        for (Map<String, Object> row : comparison) {
+            System.out.printf(format, row.get("operation"), row.get("platformPerSec"), row.get("virtualPerSec"),
+                    row.get("virtualToPlatform"), row.get("platformP99Ms"), row.get("virtualP99Ms"));
+        }
+    }
+
+    private static void write(Path path, Map<String, Object> report) throws Exception {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        log.info("Load test report written to {}", path.toAbsolutePath());
+    }
+}
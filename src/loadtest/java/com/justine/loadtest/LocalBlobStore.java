@@ -0,0 +1,75 @@
+package com.justine.loadtest;
+
+import com.justine.utils.CloudinaryService;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces Cloudinary during load tests: uploads are written to a local directory and the
+ * returned URLs point at it, so invoice PDFs and images still cost a real write.
+ */
+@Slf4j
+@Primary
+@Component
+@Profile("loadtest")
+public class LocalBlobStore extends CloudinaryService {
+
+    private final Path root;
+    private final AtomicLong uploads = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public LocalBlobStore(@Value("${load.blob-dir:target/loadtest-blobs}") String dir,
+                          ObservationRegistry observationRegistry) throws IOException {
+        super("loadtest", "loadtest", "loadtest", observationRegistry);
+        this.root = Files.createDirectories(Path.of(dir));
+    }
+
+    @Override
+    public Map<String, String> uploadFileWithEagerSizes(MultipartFile multipartFile, String folder) {
+        if (multipartFile == null || multipartFile.isEmpty()) {
+            throw new IllegalArgumentException("File cannot be null or empty");
+        }
+        try {
+            Path target = Files.createDirectories(root.resolve(folder))
+                    .resolve(UUID.randomUUID() + "-" + multipartFile.getOriginalFilename());
+            Files.write(target, multipartFile.getBytes());
+            uploads.incrementAndGet();
+            bytes.addAndGet(multipartFile.getSize());
+
+            String url = "file://local/upload/" + root.relativize(target);
+            return Map.of("large", url, "medium", url, "thumbnail", url);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write upload to local blob store: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deleteFile(String publicId) {
+        if (publicId == null || publicId.isBlank()) return;
+        try {
+            Files.deleteIfExists(root.resolve(publicId));
+        } catch (IOException e) {
+            log.warn("Failed to delete local blob {}: {}", publicId, e.getMessage());
+        }
+    }
+
+    public long uploads() {
+        return uploads.get();
+    }
+
+    public long bytesWritten() {
+        return bytes.get();
+    }
+}
@@ -0,0 +1,175 @@
+package com.justine.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-ins for the SMS provider, Daraja and the SMTP relay. Each answers the way the real
+ * service does on the happy path after a fixed delay, and counts what it received so the report
+ * can show how much outbound traffic a request mix generates.
+ */
+@Slf4j
+public class StubServers implements AutoCloseable {
+
+    private final long latencyMs;
+    // Platform threads: in virtual-thread runs the application pins carriers inside synchronized mail
+    // code while it waits for these replies, so the stubs must not need a carrier to answer
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+    private final Map<String, LongAdder> received = new ConcurrentHashMap<>();
+    private HttpServer http;
+    private ServerSocket smtp;
+
+    public StubServers(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void start() throws IOException {
+        http = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        http.setExecutor(workers);
+
+        http.createContext("/sms", exchange -> reply(exchange, "sms",
+                "{\"status\":\"queued\",\"message_id\":\"" + UUID.randomUUID() + "\"}"));
+
+        http.createContext("/oauth/v1/generate", exchange -> reply(exchange, "daraja.oauth",
+                "{\"access_token\":\"stub-token\",\"expires_in\":\"3599\"}"));
+
+        http.createContext("/mpesa/stkpush/v1/processrequest", exchange -> reply(exchange, "daraja.stkpush",
+                "{\"merchantRequestId\":\"" + UUID.randomUUID() + "\","
+                        + "\"checkoutRequestId\":\"ws_CO_" + UUID.randomUUID().toString().replace("-", "") + "\","
+                        + "\"responseCode\":\"0\","
+                        + "\"responseDescription\":\"Success. Request accepted for processing\","
+                        + "\"customerMessage\":\"Success. Request accepted for processing\"}"));
+
+        http.createContext("/mpesa/stkpushquery/v1/query", exchange -> reply(exchange, "daraja.query",
+                "{\"ResponseCode\":\"0\",\"ResultCode\":\"0\","
+                        + "\"ResultDesc\":\"The service request is processed successfully.\"}"));
+
+        http.start();
+
+        smtp = new ServerSocket(0);
+        workers.execute(this::acceptSmtp);
+
+        log.info("Stub servers: http://localhost:{} (SMS, Daraja), smtp://localhost:{}", httpPort(), smtpPort());
+    }
+
+    public int httpPort() {
+        return http.getAddress().getPort();
+    }
+
+    public int smtpPort() {
+        return smtp.getLocalPort();
+    }
+
+    public Map<String, Long> receivedCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        received.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+
+    private void reply(HttpExchange exchange, String name, String body) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            pause();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            count(name);
+        }
+    }
+
+    // ---------------- SMTP ----------------
+
+    private void acceptSmtp() {
+        while (!smtp.isClosed()) {
+            try {
+                Socket socket = smtp.accept();
+                workers.execute(() -> serveSmtp(socket));
+            } catch (IOException e) {
+                if (!smtp.isClosed()) log.warn("SMTP stub accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Enough of RFC 5321 for JavaMail without auth or STARTTLS: every command is accepted and
+     * the message body is read up to the terminating dot.
+     */
+    private void serveSmtp(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+
+            send(out, "220 localhost ESMTP stub");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> send(out, "250-localhost\r\n250 8BITMIME");
+                    case "DATA" -> {
+                        send(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discard message content
+                        }
+                        pause();
+                        count("smtp");
+                        send(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        send(out, "221 Bye");
+                        return;
+                    }
+                    default -> send(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            log.debug("SMTP stub connection closed: {}", e.getMessage());
+        }
+    }
+
+    private static void send(Writer out, String reply) throws IOException {
+        out.write(reply + "\r\n");
+        out.flush();
+    }
+
+    private void count(String name) {
+        received.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    private void pause() {
+        if (latencyMs <= 0) return;
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (http != null) http.stop(0);
+        if (smtp != null) smtp.close();
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,55 @@
+package com.justine.config;
+
+import com.justine.config.ExecutorRegistry.PoolDefaults;
+import com.justine.config.ExecutorRegistry.RejectionPolicy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Executors for @Async work, audit writes, notification fan-out and domain event handlers,
+ * all owned by the {@link ExecutorRegistry} and sized from {@code executors.<name>.*}.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} Spring Boot already serves Tomcat requests and
+ * runs @Scheduled jobs on virtual threads; the same switch moves these executors to virtual
+ * threads, bounded by their {@code virtual-concurrency}.
+ */
+@Configuration
+public class AsyncConfig {
+
+    private final ExecutorRegistry registry;
+
+    public AsyncConfig(ExecutorRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Plain @Async methods (emails, contact replies) resolve the executor named "taskExecutor"
+    @Bean(name = "taskExecutor")
+    public AsyncTaskExecutor taskExecutor() {
+        return registry.executor("async", new PoolDefaults(4, 16, 500, RejectionPolicy.CALLER_RUNS, 200));
+    }
+
+    // Audit writes hold a JDBC connection, so the virtual-thread limit stays near the pool size
+    @Bean(name = "auditExecutor")
+    public AsyncTaskExecutor auditExecutor() {
+        return registry.executor("audit", new PoolDefaults(4, 8, 500, RejectionPolicy.CALLER_RUNS, 8));
+    }
+
+    // One task per recipient; each spends most of its time waiting on the SMS/email provider
+    @Bean(name = "notificationExecutor")
+    public AsyncTaskExecutor notificationExecutor() {
+        return registry.executor("notify", new PoolDefaults(4, 16, 1000, RejectionPolicy.CALLER_RUNS, 256));
+    }
+
+    // After-commit domain event handlers that write to the database or push over WebSocket
+    @Bean(name = "eventExecutor")
+    public AsyncTaskExecutor eventExecutor() {
+        return registry.executor("events", new PoolDefaults(2, 8, 1000, RejectionPolicy.CALLER_RUNS, 16));
+    }
+
+    // Invoice PDF rendering and Cloudinary uploads, kept apart so slow uploads cannot starve other handlers
+    @Bean(name = "documentExecutor")
+    public AsyncTaskExecutor documentExecutor() {
+        return registry.executor("documents", new PoolDefaults(2, 4, 500, RejectionPolicy.CALLER_RUNS, 32));
+    }
+}
@@ -0,0 +1,192 @@
+package com.justine.config;
+
+import com.justine.dtos.response.ExecutorStatsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns every thread pool in the application. Each pool is named, bounded and sized from
+ * {@code executors.<name>.*} properties, falling back to the defaults its owner registers with:
+ * <pre>
+ * executors.&lt;name&gt;.core-size / max-size / queue-capacity
+ * executors.&lt;name&gt;.rejection-policy      CALLER_RUNS | ABORT | DISCARD | DISCARD_OLDEST
+ * executors.&lt;name&gt;.virtual-concurrency   permit limit when spring.threads.virtual.enabled=true;
+ *                                           queue-capacity and rejection-policy still apply
+ * </pre>
+ * Tasks carry the submitter's trace and MDC context onto the worker thread.
+ * Pools are shut down together when the context closes: queued work gets
+ * {@code executors.shutdown-timeout-ms} to drain before running tasks are interrupted.
+ * <p>
+ * As a {@link MeterBinder} it publishes {@code executor.*} gauges and counters tagged with the
+ * pool name, including pools registered after the meter registry was bound.
+ */
+@Slf4j
+@Component
+public class ExecutorRegistry implements MeterBinder {
+
+    public enum RejectionPolicy {
+        CALLER_RUNS, ABORT, DISCARD, DISCARD_OLDEST
+    }
+
+    public record PoolDefaults(int coreSize, int maxSize, int queueCapacity,
+                               RejectionPolicy rejectionPolicy, int virtualConcurrency) {
+    }
+
+    private final Environment environment;
+    private final boolean virtualThreads;
+    private final long shutdownTimeoutMs;
+    private final ContextPropagatingTaskDecorator contextPropagation = new ContextPropagatingTaskDecorator();
+    private final Map<String, ManagedExecutor> executors = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile MeterRegistry meterRegistry;
+
+    public ExecutorRegistry(Environment environment) {
+        this.environment = environment;
+        this.virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        this.shutdownTimeoutMs = environment.getProperty("executors.shutdown-timeout-ms", Long.class, 30_000L);
+    }
+
+    /**
+     * Creates a task executor: a bounded platform pool, or virtual threads behind a permit
+     * limit when virtual threads are enabled.
+     */
+    public ManagedExecutor executor(String name, PoolDefaults defaults) {
+        int virtualConcurrency = property(name, "virtual-concurrency", defaults.virtualConcurrency());
+        int queueCapacity = property(name, "queue-capacity", defaults.queueCapacity());
+        RejectionPolicy policy = environment.getProperty(
+                "executors." + name + ".rejection-policy", RejectionPolicy.class, defaults.rejectionPolicy());
+        if (virtualThreads) {
+            ExecutorService perTask = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name(name + "-", 1).factory());
+            return register(new ManagedExecutor(name, perTask, virtualConcurrency, queueCapacity, policy, contextPropagation));
+        }
+
+        int coreSize = Math.max(property(name, "core-size", defaults.coreSize()), 1);
+        int maxSize = Math.max(property(name, "max-size", defaults.maxSize()), coreSize);
+
+        AtomicLong rejected = new AtomicLong();
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new LinkedBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(coreSize, maxSize, 60, TimeUnit.SECONDS, queue,
+                threadFactory(name), counting(handler(policy), rejected));
+        return register(new ManagedExecutor(name, pool, rejected, contextPropagation));
+    }
+
+    /**
+     * Creates a platform scheduler for delayed tasks. Delayed tasks still pending at shutdown are
+     * dropped rather than waited for.
+     */
+    public ScheduledExecutorService scheduler(String name, int defaultThreads) {
+        int threads = Math.max(property(name, "core-size", defaultThreads), 1);
+        AtomicLong rejected = new AtomicLong();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(threads, threadFactory(name),
+                counting(new ThreadPoolExecutor.AbortPolicy(), rejected));
+        scheduler.setMaximumPoolSize(threads);
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        // Only for stats and shutdown: the scheduler is used directly, so its tasks start fresh traces
+        register(new ManagedExecutor(name, scheduler, rejected, null));
+        return scheduler;
+    }
+
+    public List<ExecutorStatsDTO> snapshot() {
+        synchronized (executors) {
+            return executors.values().stream().map(ManagedExecutor::stats).toList();
+        }
+    }
+
+    public List<ManagedExecutor> executors() {
+        synchronized (executors) {
+            return List.copyOf(executors.values());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        executors().forEach(executor -> bind(registry, executor));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<ManagedExecutor> owned = new ArrayList<>(executors());
+        Collections.reverse(owned);
+        for (ManagedExecutor executor : owned) {
+            if (!executor.shutdown(shutdownTimeoutMs)) {
+                log.warn("Executor {} did not drain within {} ms; running tasks were interrupted",
+                        executor.getName(), shutdownTimeoutMs);
+            }
+        }
+    }
+
+    private ManagedExecutor register(ManagedExecutor executor) {
+        if (executors.putIfAbsent(executor.getName(), executor) != null) {
+            throw new IllegalStateException("Executor already registered: " + executor.getName());
+        }
+        log.info("Executor {} registered ({} threads)", executor.getName(),
+                executor.isVirtual() ? "virtual" : "platform");
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) bind(registry, executor);
+        return executor;
+    }
+
+    // Same meter names as Micrometer's ExecutorServiceMetrics, plus rejections
+    private static void bind(MeterRegistry registry, ManagedExecutor executor) {
+        String name = executor.getName();
+        Gauge.builder("executor.active", executor, e -> e.stats().getActiveCount())
+                .tag("name", name).description("Tasks currently running").register(registry);
+        Gauge.builder("executor.queued", executor, e -> e.stats().getQueueDepth())
+                .tag("name", name).description("Tasks waiting to run").register(registry);
+        Gauge.builder("executor.queue.remaining", executor, e -> e.stats().getQueueRemainingCapacity())
+                .tag("name", name).description("Free queue slots or permits").register(registry);
+        Gauge.builder("executor.pool.size", executor, e -> e.stats().getPoolSize())
+                .tag("name", name).description("Current number of threads").register(registry);
+        Gauge.builder("executor.pool.max", executor, e -> e.stats().getMaxConcurrency())
+                .tag("name", name).description("Thread or permit limit").register(registry);
+        FunctionCounter.builder("executor.completed", executor, e -> e.stats().getCompletedTasks())
+                .tag("name", name).description("Tasks completed").register(registry);
+        FunctionCounter.builder("executor.rejected", executor, e -> e.stats().getRejectedTasks())
+                .tag("name", name).description("Tasks rejected by the pool's policy").register(registry);
+    }
+
+    private int property(String name, String key, int defaultValue) {
+        return environment.getProperty("executors." + name + "." + key, Integer.class, defaultValue);
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> new Thread(r, name + "-" + counter.incrementAndGet());
+    }
+
+    private static RejectedExecutionHandler handler(RejectionPolicy policy) {
+        return switch (policy) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+        };
+    }
+
+    private static RejectedExecutionHandler counting(RejectedExecutionHandler handler, AtomicLong rejected) {
+        return (task, pool) -> {
+            rejected.incrementAndGet();
+            handler.rejectedExecution(task, pool);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.justine.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Pooled HttpClient5 used for all Daraja (M-Pesa) calls, so STK pushes and
+     * status queries reuse warm TLS connections instead of opening one per request.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient mpesaHttpClient(
+            @Value("${mpesa.http.max-connections:50}") int maxConnections,
+            @Value("${mpesa.http.max-connections-per-route:20}") int maxPerRoute,
+            @Value("${mpesa.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${mpesa.http.response-timeout-ms:30000}") long responseTimeoutMs,
+            @Value("${mpesa.http.pool-timeout-ms:2000}") long poolTimeoutMs,
+            @Value("${mpesa.http.keep-alive-ms:30000}") long keepAliveMs) {
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate mpesaRestTemplate(@Qualifier("mpesaHttpClient") CloseableHttpClient mpesaHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(mpesaHttpClient));
+    }
+}
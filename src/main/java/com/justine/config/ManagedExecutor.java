@@ -0,0 +1,173 @@
+package com.justine.config;
+
+import com.justine.dtos.response.ExecutorStatsDTO;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A named executor owned by {@link ExecutorRegistry}. Platform pools report straight from their
+ * {@link ThreadPoolExecutor}; virtual-thread executors run one thread per task behind a permit
+ * limit and keep their own counters. A virtual task waits for its permit on its own thread, never on
+ * the submitter's, which may be holding a JDBC connection the running tasks need; once
+ * {@code queue-capacity} tasks are waiting, further submissions get the rejection policy. Tasks pass through the decorator on the submitting thread,
+ * which is where trace and logging context is captured.
+ */
+public class ManagedExecutor implements AsyncTaskExecutor {
+
+    private final String name;
+    private final ExecutorService delegate;
+    private final AtomicLong rejected;
+    private final TaskDecorator decorator;
+
+    // Virtual mode only
+    private final Semaphore permits;
+    private final int concurrencyLimit;
+    private final int queueCapacity;
+    private final ExecutorRegistry.RejectionPolicy rejectionPolicy;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+
+    ManagedExecutor(String name, ThreadPoolExecutor pool, AtomicLong rejected, TaskDecorator decorator) {
+        this.name = name;
+        this.delegate = pool;
+        this.rejected = rejected;
+        this.decorator = decorator;
+        this.permits = null;
+        this.concurrencyLimit = pool.getMaximumPoolSize();
+        this.queueCapacity = 0;
+        this.rejectionPolicy = null;
+    }
+
+    ManagedExecutor(String name, ExecutorService virtualThreads, int concurrencyLimit, int queueCapacity,
+                    ExecutorRegistry.RejectionPolicy rejectionPolicy, TaskDecorator decorator) {
+        this.name = name;
+        this.delegate = virtualThreads;
+        this.rejected = new AtomicLong();
+        this.decorator = decorator;
+        this.concurrencyLimit = Math.max(concurrencyLimit, 1);
+        this.permits = new Semaphore(this.concurrencyLimit);
+        this.queueCapacity = Math.max(queueCapacity, 0);
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isVirtual() {
+        return permits != null;
+    }
+
+    @Override
+    public void execute(Runnable submitted) {
+        Runnable task = decorator != null ? decorator.decorate(submitted) : submitted;
+        if (permits == null) {
+            submitToPool(task);
+            return;
+        }
+
+        // Waiting tasks are the queue: past its capacity the policy applies, as for a full pool
+        if (waiting.incrementAndGet() > queueCapacity && permits.availablePermits() == 0) {
+            waiting.decrementAndGet();
+            overflow(task);
+            return;
+        }
+
+        try {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // Shut down while still queued
+                    rejected.incrementAndGet();
+                    return;
+                } finally {
+                    waiting.decrementAndGet();
+                }
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.incrementAndGet();
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new TaskRejectedException("Executor " + name + " rejected task", e);
+        }
+    }
+
+    // Virtual tasks are not queued anywhere they could be removed from, so DISCARD_OLDEST drops the newest
+    private void overflow(Runnable task) {
+        rejected.incrementAndGet();
+        switch (rejectionPolicy) {
+            case CALLER_RUNS -> task.run();
+            case ABORT -> throw new TaskRejectedException("Executor " + name + " has " + queueCapacity + " tasks waiting");
+            case DISCARD, DISCARD_OLDEST -> { }
+        }
+    }
+
+    private void submitToPool(Runnable task) {
+        try {
+            delegate.execute(task);
+        } catch (RejectedExecutionException e) {
+            // The pool's handler has already counted it
+            throw new TaskRejectedException("Executor " + name + " rejected task", e);
+        }
+    }
+
+    public ExecutorStatsDTO stats() {
+        if (delegate instanceof ThreadPoolExecutor pool) {
+            return ExecutorStatsDTO.builder()
+                    .name(name)
+                    .virtualThreads(false)
+                    .poolSize(pool.getPoolSize())
+                    .maxConcurrency(pool.getMaximumPoolSize())
+                    .activeCount(pool.getActiveCount())
+                    .queueDepth(pool.getQueue().size())
+                    .queueRemainingCapacity(pool.getQueue().remainingCapacity())
+                    .completedTasks(pool.getCompletedTaskCount())
+                    .rejectedTasks(rejected.get())
+                    .build();
+        }
+        return ExecutorStatsDTO.builder()
+                .name(name)
+                .virtualThreads(true)
+                .poolSize(active.get())
+                .maxConcurrency(concurrencyLimit)
+                .activeCount(active.get())
+                .queueDepth(waiting.get())
+                .queueRemainingCapacity(permits.availablePermits())
+                .completedTasks(completed.get())
+                .rejectedTasks(rejected.get())
+                .build();
+    }
+
+    /**
+     * Stops accepting work, lets queued and running tasks finish within the timeout, then interrupts.
+     * Returns false if tasks were still running when the timeout expired.
+     */
+    boolean shutdown(long timeoutMs) {
+        delegate.shutdown();
+        try {
+            if (delegate.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.shutdownNow();
+        return false;
+    }
+}
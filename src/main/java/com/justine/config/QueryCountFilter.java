@@ -0,0 +1,71 @@
+package com.justine.config;
+
+import com.justine.utils.AppMetrics;
+import com.justine.utils.QueryCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each request issues on its own thread, publishes the count per URI
+ * pattern and logs requests above the warning threshold with the statements that ran, which is
+ * usually enough to spot an N+1 loop.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final AppMetrics metrics;
+    private final boolean enabled;
+    private final int warnThreshold;
+
+    public QueryCountFilter(AppMetrics metrics,
+                            @Value("${query-count.enabled:true}") boolean enabled,
+                            @Value("${query-count.warn-threshold:25}") int warnThreshold) {
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                // Set by the DispatcherServlet; unmatched requests share one tag to keep cardinality bounded
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+                metrics.recordRequestQueries(scope.count(), request.getMethod(), uri);
+
+                if (scope.count() > warnThreshold) {
+                    log.warn("[QUERY_COUNT] {} {} issued {} SQL statements (threshold {})",
+                            request.getMethod(), uri, scope.count(), warnThreshold);
+                    log.debug("[QUERY_COUNT] {} {}: {}", request.getMethod(), uri, scope.describe());
+                }
+            }
+        }
+    }
+}
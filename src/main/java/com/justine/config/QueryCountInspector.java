@@ -0,0 +1,29 @@
+package com.justine.config;
+
+import com.justine.utils.QueryCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Sees every SQL statement Hibernate prepares and reports it to {@link QueryCounter}. Registered on
+ * the session factory as an instance, so it must stay stateless and thread-safe.
+ * Slow statements are logged by Hibernate itself ({@code hibernate.log_slow_query}).
+ */
+@Component
+public class QueryCountInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -1,6 +1,8 @@
 package com.justine.config;
 
+import com.justine.security.FrontDeskTopicInterceptor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -11,6 +13,11 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final FrontDeskTopicInterceptor frontDeskTopicInterceptor;
+
+    public WebSocketConfig(FrontDeskTopicInterceptor frontDeskTopicInterceptor) {
+        this.frontDeskTopicInterceptor = frontDeskTopicInterceptor;
+    }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -27,4 +34,11 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Hotel-scoped topics are checked on SUBSCRIBE; the broker itself does no authorization
+        registration.interceptors(frontDeskTopicInterceptor);
+    }
 }
@@ -0,0 +1,47 @@
+package com.justine.controller;
+
+import com.justine.dtos.response.AnalyticsBackfillReportDTO;
+import com.justine.dtos.response.HotelAnalyticsResponseDTO;
+import com.justine.service.AnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    // --- Utility method to extract userId from Principal ---
+    private Long extractUserId(Principal principal) {
+        try {
+            return (principal != null) ? Long.parseLong(principal.getName()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @GetMapping("/hotels/{hotelId}/daily")
+    public ResponseEntity<HotelAnalyticsResponseDTO> getDailyStats(
+            @PathVariable Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyticsService.getDailyStats(hotelId, from, to);
+    }
+
+    @PostMapping("/backfill")
+    public ResponseEntity<AnalyticsBackfillReportDTO> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Principal principal) {
+        return analyticsService.backfill(from, to, extractUserId(principal));
+    }
+}
@@ -33,7 +33,7 @@ public class AuthController {
         return authService.registerGuest(guestDTO);
     }
 
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@access.isAdmin()")
     @PostMapping("/register-staff")
     public ResponseEntity<?> registerStaff(
             @RequestBody StaffRequestDTO staffDTO,
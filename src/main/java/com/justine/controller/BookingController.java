@@ -1,6 +1,8 @@
 package com.justine.controller;
 
 import com.justine.dtos.request.BookingRequestDTO;
+import com.justine.dtos.request.BulkStayRequestDTO;
+import com.justine.dtos.request.GroupBookingRequestDTO;
 import com.justine.dtos.request.OrderItemRequestDTO;
 import com.justine.dtos.request.PaymentRequestDTO;
 import com.justine.dtos.request.RestaurantOrderRequestDTO;
@@ -96,9 +98,10 @@ public class BookingController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long hotelId,
             Principal principal
     ) {
-        return bookingService.filterBookings(startDate, endDate, status, extractUserId(principal));
+        return bookingService.filterBookings(startDate, endDate, status, hotelId, extractUserId(principal));
     }
 
     @PostMapping("/{id}/check-in")
@@ -111,6 +114,21 @@ public class BookingController {
         return bookingService.checkOut(id, extractUserId(principal));
     }
 
+    @PostMapping("/group")
+    public ResponseEntity<GroupBookingResponseDTO> createGroupBooking(@RequestBody GroupBookingRequestDTO dto, Principal principal) {
+        return bookingService.createGroupBooking(dto, extractUserId(principal));
+    }
+
+    @PostMapping("/bulk/check-in")
+    public ResponseEntity<BulkStayResponseDTO> bulkCheckIn(@RequestBody BulkStayRequestDTO dto, Principal principal) {
+        return bookingService.bulkCheckIn(dto, extractUserId(principal));
+    }
+
+    @PostMapping("/bulk/check-out")
+    public ResponseEntity<BulkStayResponseDTO> bulkCheckOut(@RequestBody BulkStayRequestDTO dto, Principal principal) {
+        return bookingService.bulkCheckOut(dto, extractUserId(principal));
+    }
+
     @PostMapping("/{id}/invoice")
     public ResponseEntity<InvoiceResponseDTO> generateInvoice(@PathVariable Long id, Principal principal) {
         return bookingService.generateInvoice(id, extractUserId(principal));
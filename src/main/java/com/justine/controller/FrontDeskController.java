@@ -0,0 +1,23 @@
+package com.justine.controller;
+
+import com.justine.dtos.response.FrontDeskBoardDTO;
+import com.justine.service.FrontDeskBoardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/front-desk")
+public class FrontDeskController {
+
+    private final FrontDeskBoardService frontDeskBoardService;
+
+    public FrontDeskController(FrontDeskBoardService frontDeskBoardService) {
+        this.frontDeskBoardService = frontDeskBoardService;
+    }
+
+    // Initial state; live updates follow on /topic/front-desk/{hotelId}
+    @GetMapping("/hotels/{hotelId}/board")
+    public ResponseEntity<FrontDeskBoardDTO> getBoard(@PathVariable Long hotelId) {
+        return frontDeskBoardService.getBoard(hotelId);
+    }
+}
@@ -3,10 +3,13 @@ package com.justine.controller;
 import com.justine.dtos.request.CreateServiceRequest;
 import com.justine.dtos.request.HotelRequestDTO;
 import com.justine.dtos.request.RoomRequestDTO;
+import com.justine.dtos.request.RoomSearchRequestDTO;
 import com.justine.dtos.response.ApiResponse;
 import com.justine.dtos.response.HotelResponseDTO;
 import com.justine.dtos.response.RoomResponseDTO;
+import com.justine.dtos.response.RoomSearchResponseDTO;
 import com.justine.dtos.response.ServiceResponseDTO;
+import com.justine.service.AvailabilitySearchService;
 import com.justine.service.HotelService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -23,6 +26,7 @@ import java.util.List;
 public class HotelController {
 
     private final HotelService hotelService;
+    private final AvailabilitySearchService availabilitySearchService;
 
     /** ====================== HOTEL CRUD ====================== */
 
@@ -102,6 +106,12 @@ public class HotelController {
         return ResponseEntity.ok(availableRooms);
     }
 
+    // Chain-wide search: /hotels/search?checkIn=2025-01-10&checkOut=2025-01-12&guests=2&type=DOUBLE&maxPrice=150&location=nairobi
+    @GetMapping("/search")
+    public ResponseEntity<RoomSearchResponseDTO> searchRooms(@ModelAttribute RoomSearchRequestDTO dto) {
+        return availabilitySearchService.searchRooms(dto);
+    }
+
     /** ====================== SERVICE ENDPOINTS ====================== */
 
     // Get all services for a hotel
@@ -0,0 +1,76 @@
+package com.justine.controller;
+
+import com.justine.dtos.response.HousekeepingSyncDTO;
+import com.justine.dtos.response.HousekeepingTaskDTO;
+import com.justine.dtos.response.RoomStatusDTO;
+import com.justine.enums.RoomStatus;
+import com.justine.service.HousekeepingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/housekeeping")
+public class HousekeepingController {
+
+    private final HousekeepingService housekeepingService;
+
+    public HousekeepingController(HousekeepingService housekeepingService) {
+        this.housekeepingService = housekeepingService;
+    }
+
+    // --- Utility method to extract userId from Principal ---
+    private Long extractUserId(Principal principal) {
+        try {
+            return (principal != null) ? Long.parseLong(principal.getName()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 204 when the cleaner's hotel has nothing waiting
+    @PostMapping("/tasks/next")
+    public ResponseEntity<HousekeepingTaskDTO> claimNextTask(Principal principal) {
+        return housekeepingService.claimNextTask(extractUserId(principal));
+    }
+
+    @PostMapping("/tasks/{id}/finish")
+    public ResponseEntity<HousekeepingTaskDTO> finishTask(@PathVariable Long id,
+                                                          @RequestParam(required = false) String notes,
+                                                          Principal principal) {
+        return housekeepingService.finishTask(id, notes, extractUserId(principal));
+    }
+
+    @PostMapping("/tasks/{id}/inspect")
+    public ResponseEntity<HousekeepingTaskDTO> inspectTask(@PathVariable Long id,
+                                                           @RequestParam boolean passed,
+                                                           @RequestParam(required = false) String notes,
+                                                           Principal principal) {
+        return housekeepingService.inspectTask(id, passed, notes, extractUserId(principal));
+    }
+
+    @PostMapping("/rooms/{roomId}/status")
+    public ResponseEntity<RoomStatusDTO> changeRoomStatus(@PathVariable Long roomId,
+                                                          @RequestParam RoomStatus status,
+                                                          Principal principal) {
+        return housekeepingService.changeRoomStatus(roomId, status, extractUserId(principal));
+    }
+
+    // Live updates follow on /topic/housekeeping/{hotelId}/rooms and /tasks
+    @GetMapping("/hotels/{hotelId}/rooms")
+    public ResponseEntity<List<RoomStatusDTO>> getRoomStatuses(@PathVariable Long hotelId) {
+        return housekeepingService.getRoomStatuses(hotelId);
+    }
+
+    // Mobile sync: omit "since" for a full load, then send back the previous syncedAt
+    @GetMapping("/sync")
+    public ResponseEntity<HousekeepingSyncDTO> sync(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            Principal principal) {
+        return housekeepingService.sync(since, extractUserId(principal));
+    }
+}
@@ -0,0 +1,73 @@
+package com.justine.controller;
+
+import com.justine.dtos.request.RateRuleRequestDTO;
+import com.justine.dtos.request.SeasonalRateRequestDTO;
+import com.justine.dtos.response.RateQuoteResponseDTO;
+import com.justine.dtos.response.RateRuleResponseDTO;
+import com.justine.dtos.response.SeasonalRateResponseDTO;
+import com.justine.service.PricingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/pricing")
+public class PricingController {
+
+    private final PricingService pricingService;
+
+    public PricingController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    // --- Utility method to extract userId from Principal ---
+    private Long extractUserId(Principal principal) {
+        try {
+            return (principal != null) ? Long.parseLong(principal.getName()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @GetMapping("/quote")
+    public ResponseEntity<RateQuoteResponseDTO> quote(
+            @RequestParam Long roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        return pricingService.quote(roomId, checkIn, checkOut);
+    }
+
+    @GetMapping("/hotels/{hotelId}/rules")
+    public ResponseEntity<List<RateRuleResponseDTO>> getRateRules(@PathVariable Long hotelId) {
+        return pricingService.getRateRules(hotelId);
+    }
+
+    @PostMapping("/rules")
+    public ResponseEntity<RateRuleResponseDTO> createRateRule(@RequestBody RateRuleRequestDTO dto, Principal principal) {
+        return pricingService.createRateRule(dto, extractUserId(principal));
+    }
+
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRateRule(@PathVariable Long id, Principal principal) {
+        return pricingService.deleteRateRule(id, extractUserId(principal));
+    }
+
+    @GetMapping("/hotels/{hotelId}/seasons")
+    public ResponseEntity<List<SeasonalRateResponseDTO>> getSeasonalRates(@PathVariable Long hotelId) {
+        return pricingService.getSeasonalRates(hotelId);
+    }
+
+    @PostMapping("/seasons")
+    public ResponseEntity<SeasonalRateResponseDTO> createSeasonalRate(@RequestBody SeasonalRateRequestDTO dto, Principal principal) {
+        return pricingService.createSeasonalRate(dto, extractUserId(principal));
+    }
+
+    @DeleteMapping("/seasons/{id}")
+    public ResponseEntity<Void> deleteSeasonalRate(@PathVariable Long id, Principal principal) {
+        return pricingService.deleteSeasonalRate(id, extractUserId(principal));
+    }
+}
@@ -104,8 +104,10 @@ public class RestaurantController {
     }
 
     @GetMapping("/restaurants")
-    public ResponseEntity<List<RestaurantOrderResponseDTO>> getAllOrders(Authentication auth) {
-        return restaurantService.getAllOrders(getCurrentUserId(auth));
+    public ResponseEntity<List<RestaurantOrderResponseDTO>> getAllOrders(
+            @RequestParam(required = false) Long hotelId,
+            Authentication auth) {
+        return restaurantService.getAllOrders(hotelId, getCurrentUserId(auth));
     }
 
     @PostMapping("/order/for-booking")
@@ -0,0 +1,28 @@
+package com.justine.controller;
+
+import com.justine.config.ExecutorRegistry;
+import com.justine.dtos.response.ExecutorStatsDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/system")
+public class SystemController {
+
+    private final ExecutorRegistry executorRegistry;
+
+    public SystemController(ExecutorRegistry executorRegistry) {
+        this.executorRegistry = executorRegistry;
+    }
+
+    @PreAuthorize("@access.isAdmin()")
+    @GetMapping("/executors")
+    public ResponseEntity<List<ExecutorStatsDTO>> getExecutorStats() {
+        return ResponseEntity.ok(executorRegistry.snapshot());
+    }
+}
@@ -0,0 +1,14 @@
+package com.justine.dtos.request;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStayRequestDTO {
+    private List<Long> bookingIds;
+    private String groupCode; // alternative to bookingIds: every booking in the group
+}
@@ -0,0 +1,22 @@
+package com.justine.dtos.request;
+
+import com.justine.enums.RoomType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupBookingRequestDTO {
+    private Long hotelId;
+    private RoomType roomType;
+    private int roomCount;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int guestsPerRoom;
+    private Long guestId; // group lead, billed on the consolidated invoice
+    private List<Long> serviceIds; // applied to every room in the block
+}
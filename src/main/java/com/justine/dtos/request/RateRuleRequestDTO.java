@@ -0,0 +1,15 @@
+package com.justine.dtos.request;
+
+import com.justine.enums.RoomType;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateRuleRequestDTO {
+    private Long hotelId;
+    private RoomType roomType; // optional
+    private Double minOccupancy;
+    private Double multiplier;
+}
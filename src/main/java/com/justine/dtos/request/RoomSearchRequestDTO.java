@@ -0,0 +1,32 @@
+package com.justine.dtos.request;
+
+import com.justine.enums.RoomType;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSearchRequestDTO {
+
+    public enum Sort { PRICE_ASC, PRICE_DESC }
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate checkIn;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate checkOut;
+    private Integer guests;
+    private RoomType type;
+    private Double minPrice;
+    private Double maxPrice;
+    private String location; // matched against hotel location and name, case-insensitive
+    @Builder.Default
+    private Sort sort = Sort.PRICE_ASC;
+    @Builder.Default
+    private int page = 0;
+    @Builder.Default
+    private int size = 20;
+}
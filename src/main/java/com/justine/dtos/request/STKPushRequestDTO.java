@@ -8,5 +8,8 @@ public class STKPushRequestDTO {
     private double amount;
     private String accountReference;
     private String transactionDesc;
+    // What the push pays for; its payment is created or reused as PENDING when Daraja accepts the push
+    private Long bookingId;
+    private Long restaurantOrderId;
 }
 
@@ -0,0 +1,19 @@
+package com.justine.dtos.request;
+
+import com.justine.enums.RoomType;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeasonalRateRequestDTO {
+    private Long hotelId;
+    private RoomType roomType; // optional
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Double multiplier;
+}
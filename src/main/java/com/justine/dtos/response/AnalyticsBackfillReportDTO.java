@@ -0,0 +1,19 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsBackfillReportDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private int bookingsScanned;
+    private int ordersScanned;
+    private int paymentsScanned;
+    private int rowsWritten;
+    private long durationMs;
+}
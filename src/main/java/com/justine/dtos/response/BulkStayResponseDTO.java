@@ -0,0 +1,17 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStayResponseDTO {
+    private int requested;
+    private int processed;
+    private List<Long> processedBookingIds;
+    private Map<Long, String> skipped; // bookingId -> reason
+}
@@ -0,0 +1,23 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStatsDTO {
+    private LocalDate date; // null on period totals
+    private int roomsAvailable;
+    private int roomNightsSold;
+    private double occupancy; // roomNightsSold / roomsAvailable
+    private double adr;       // average daily rate: roomRevenue / roomNightsSold
+    private double revpar;    // revenue per available room: roomRevenue / roomsAvailable
+    private double roomRevenue;
+    private double serviceRevenue;
+    private double restaurantRevenue;
+    private double totalRevenue;
+    private double paymentsReceived;
+}
@@ -0,0 +1,20 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutorStatsDTO {
+    private String name;
+    private boolean virtualThreads;
+    private int poolSize;
+    private int maxConcurrency;
+    private int activeCount;
+    // Platform pools: tasks in the work queue. Virtual mode: submitters waiting for a permit.
+    private int queueDepth;
+    private int queueRemainingCapacity;
+    private long completedTasks;
+    private long rejectedTasks;
+}
@@ -0,0 +1,20 @@
+package com.justine.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolioVerificationReportDTO {
+    private int checked;
+    private int mismatched;
+    private int repaired;
+    private List<Long> mismatchedBookingIds; // capped sample, not the full list
+    private long durationMs;
+}
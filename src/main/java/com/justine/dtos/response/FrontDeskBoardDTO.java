@@ -0,0 +1,20 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrontDeskBoardDTO {
+    private Long hotelId;
+    private LocalDate date;
+    private List<FrontDeskEntryDTO> arrivals;
+    private List<FrontDeskEntryDTO> inHouse;
+    private List<FrontDeskEntryDTO> departures;
+    private LocalDateTime updatedAt;
+}
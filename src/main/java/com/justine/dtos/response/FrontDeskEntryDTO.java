@@ -0,0 +1,24 @@
+package com.justine.dtos.response;
+
+import com.justine.enums.BookingStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrontDeskEntryDTO {
+    private Long bookingId;
+    private String bookingCode;
+    private String groupCode;
+    private BookingStatus status;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int numberOfGuests;
+    private Long roomId;
+    private String roomNumber;
+    private Long guestId;
+    private String guestName;
+}
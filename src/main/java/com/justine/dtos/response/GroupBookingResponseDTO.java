@@ -0,0 +1,17 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupBookingResponseDTO {
+    private String groupCode;
+    private int roomCount;
+    private Double totalAmount;
+    private InvoiceResponseDTO invoice;
+    private List<BookingResponseDTO> bookings;
+}
@@ -0,0 +1,18 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelAnalyticsResponseDTO {
+    private Long hotelId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<DailyStatsDTO> days;
+    private DailyStatsDTO totals;
+}
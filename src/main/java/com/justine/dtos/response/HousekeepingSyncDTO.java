@@ -0,0 +1,18 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HousekeepingSyncDTO {
+    private Long hotelId;
+    // Pass back as "since" on the next sync; changes can repeat, so merge by id
+    private LocalDateTime syncedAt;
+    private List<HousekeepingTaskDTO> tasks;
+    private List<RoomStatusDTO> rooms;
+}
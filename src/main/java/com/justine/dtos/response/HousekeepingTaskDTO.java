@@ -0,0 +1,27 @@
+package com.justine.dtos.response;
+
+import com.justine.enums.HousekeepingTaskStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HousekeepingTaskDTO {
+    private Long id;
+    private Long hotelId;
+    private Long roomId;
+    private String roomNumber;
+    private Long bookingId;
+    private HousekeepingTaskStatus status;
+    private int priority;
+    private Long assignedToId;
+    private String assignedToName;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+}
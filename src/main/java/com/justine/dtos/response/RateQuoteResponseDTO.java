@@ -0,0 +1,19 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateQuoteResponseDTO {
+    private Long roomId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Double basePricePerNight;
+    private List<Double> nightlyRates; // one entry per night, starting at checkInDate
+    private Double totalAmount;
+}
@@ -0,0 +1,16 @@
+package com.justine.dtos.response;
+
+import com.justine.enums.RoomType;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateRuleResponseDTO {
+    private Long id;
+    private Long hotelId;
+    private RoomType roomType;
+    private Double minOccupancy;
+    private Double multiplier;
+}
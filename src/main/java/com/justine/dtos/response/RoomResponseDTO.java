@@ -15,4 +15,5 @@ public class RoomResponseDTO {
     private Double pricePerNight;
     private boolean available;
     private HotelResponseDTO hotel;
+    private Double stayTotal; // dynamic price for the searched dates, only set by availability search
 }
@@ -0,0 +1,18 @@
+package com.justine.dtos.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSearchResponseDTO {
+    private List<RoomResponseDTO> rooms;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private LocalDateTime snapshotTakenAt; // results may lag bookings made after this instant
+}
@@ -0,0 +1,18 @@
+package com.justine.dtos.response;
+
+import com.justine.enums.RoomStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomStatusDTO {
+    private Long roomId;
+    private Long hotelId;
+    private String roomNumber;
+    private RoomStatus status;
+    private LocalDateTime updatedAt;
+}
@@ -1,13 +1,19 @@
 package com.justine.dtos.response;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.Data;
 
 @Data
 public class STKPushResponseDTO {
+    // Aliases match the field names Daraja's processrequest response uses
+    @JsonAlias("MerchantRequestID")
     private String merchantRequestId;
+    @JsonAlias("CheckoutRequestID")
     private String checkoutRequestId;
+    @JsonAlias("ResponseCode")
     private String responseCode;
+    @JsonAlias("ResponseDescription")
     private String responseDescription;
+    @JsonAlias("CustomerMessage")
     private String customerMessage;
 }
-
@@ -0,0 +1,20 @@
+package com.justine.dtos.response;
+
+import com.justine.enums.RoomType;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeasonalRateResponseDTO {
+    private Long id;
+    private Long hotelId;
+    private RoomType roomType;
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Double multiplier;
+}
@@ -0,0 +1,5 @@
+package com.justine.enums;
+
+public enum HousekeepingTaskStatus {
+    PENDING, IN_PROGRESS, AWAITING_INSPECTION, DONE, CANCELLED
+}
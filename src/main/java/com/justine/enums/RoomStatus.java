@@ -0,0 +1,27 @@
+package com.justine.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Housekeeping state of a room, independent of whether it is booked.
+ * DIRTY -> CLEANING -> INSPECTED -> READY is the normal cycle after a checkout;
+ * a failed inspection sends the room back to DIRTY.
+ */
+public enum RoomStatus {
+    READY, DIRTY, CLEANING, INSPECTED, OUT_OF_ORDER;
+
+    public Set<RoomStatus> next() {
+        return switch (this) {
+            case READY -> EnumSet.of(DIRTY, OUT_OF_ORDER);
+            case DIRTY -> EnumSet.of(CLEANING, OUT_OF_ORDER);
+            case CLEANING -> EnumSet.of(INSPECTED, DIRTY, OUT_OF_ORDER);
+            case INSPECTED -> EnumSet.of(READY, DIRTY, OUT_OF_ORDER);
+            case OUT_OF_ORDER -> EnumSet.of(DIRTY);
+        };
+    }
+
+    public boolean canMoveTo(RoomStatus target) {
+        return next().contains(target);
+    }
+}
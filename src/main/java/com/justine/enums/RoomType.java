@@ -1,5 +1,15 @@
 package com.justine.enums;
 
 public enum RoomType {
-    SINGLE, DOUBLE, SUITE, DELUXE
+    SINGLE(1), DOUBLE(2), SUITE(4), DELUXE(3);
+
+    private final int maxOccupancy;
+
+    RoomType(int maxOccupancy) {
+        this.maxOccupancy = maxOccupancy;
+    }
+
+    public int getMaxOccupancy() {
+        return maxOccupancy;
+    }
 }
@@ -0,0 +1,9 @@
+package com.justine.events;
+
+import java.util.List;
+
+/**
+ * A booking was cancelled and its invoice removed; the invoice documents are left to delete.
+ */
+public record BookingCancelled(Long bookingId, List<String> invoiceDocumentUrls) {
+}
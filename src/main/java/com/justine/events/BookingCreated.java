@@ -0,0 +1,9 @@
+package com.justine.events;
+
+import java.util.List;
+
+/**
+ * One or more bookings were reserved; a group block lists every booking and shares one invoice.
+ */
+public record BookingCreated(List<Long> bookingIds, Long invoiceId) {
+}
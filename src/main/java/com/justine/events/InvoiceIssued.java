@@ -0,0 +1,7 @@
+package com.justine.events;
+
+/**
+ * An invoice was issued outside a booking or payment flow and still needs its PDF.
+ */
+public record InvoiceIssued(Long invoiceId) {
+}
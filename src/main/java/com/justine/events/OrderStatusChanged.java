@@ -0,0 +1,9 @@
+package com.justine.events;
+
+import com.justine.enums.OrderStatus;
+
+/**
+ * A restaurant order moved between statuses; {@code previous} is null for a new order.
+ */
+public record OrderStatusChanged(Long orderId, Long hotelId, OrderStatus previous, OrderStatus current) {
+}
@@ -0,0 +1,10 @@
+package com.justine.events;
+
+import java.util.List;
+
+/**
+ * A booking or restaurant order was paid. The invoice is re-rendered as paid; the documents of
+ * the unpaid version are deleted.
+ */
+public record PaymentCompleted(Long paymentId, Long invoiceId, List<String> staleDocumentUrls) {
+}
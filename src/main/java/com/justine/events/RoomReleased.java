@@ -0,0 +1,9 @@
+package com.justine.events;
+
+import java.util.List;
+
+/**
+ * Guests left the rooms of these bookings (checkout, or cancellation after check-in).
+ */
+public record RoomReleased(List<Long> bookingIds) {
+}
@@ -0,0 +1,169 @@
+package com.justine.events.handlers;
+
+import com.justine.events.BookingCancelled;
+import com.justine.events.BookingCreated;
+import com.justine.events.InvoiceIssued;
+import com.justine.events.PaymentCompleted;
+import com.justine.model.Invoice;
+import com.justine.repository.InvoiceRepository;
+import com.justine.utils.AppMetrics;
+import com.justine.utils.CloudinaryService;
+import com.justine.utils.InvoicePdfGenerator;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Renders invoice PDFs, uploads them to Cloudinary and deletes replaced ones, after the write
+ * that issued the invoice has committed. Invoices carry no document URLs until this finishes.
+ * <p>
+ * The database is only touched in two short transactions around the upload, so no connection
+ * is held while Cloudinary answers. Renders of one invoice can overlap (issue, payment and retry
+ * events all trigger one), so a render only stores its document if the invoice still looks the way
+ * it did when rendering started; otherwise a newer render owns the invoice and the upload is deleted.
+ */
+@Slf4j
+@Component
+public class InvoiceDocumentHandler {
+
+    private final InvoiceRepository invoiceRepository;
+    private final CloudinaryService cloudinaryService;
+    private final AppMetrics metrics;
+    private final ObservationRegistry observationRegistry;
+    private final TransactionTemplate transaction;
+
+    public InvoiceDocumentHandler(InvoiceRepository invoiceRepository, CloudinaryService cloudinaryService,
+                                  AppMetrics metrics, ObservationRegistry observationRegistry,
+                                  PlatformTransactionManager transactionManager) {
+        this.invoiceRepository = invoiceRepository;
+        this.cloudinaryService = cloudinaryService;
+        this.metrics = metrics;
+        this.observationRegistry = observationRegistry;
+        // Read-write on purpose: a read replica may not have the invoice yet
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    private record Rendered(MultipartFile pdf, String source, Snapshot snapshot) {
+    }
+
+    // What the document was rendered from, plus the document the invoice carried at the time
+    private record Snapshot(boolean paid, Double totalAmount, String invoiceUrl) {
+        static Snapshot of(Invoice invoice) {
+            return new Snapshot(invoice.isPaid(), invoice.getTotalAmount(), invoice.getInvoiceUrl());
+        }
+    }
+
+    private enum Stored { STORED, SUPERSEDED, MISSING }
+
+    @Async("documentExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreated event) {
+        render(event.invoiceId());
+    }
+
+    @Async("documentExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentCompleted(PaymentCompleted event) {
+        deleteDocuments(event.staleDocumentUrls());
+        render(event.invoiceId());
+    }
+
+    @Async("documentExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvoiceIssued(InvoiceIssued event) {
+        render(event.invoiceId());
+    }
+
+    @Async("documentExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelled event) {
+        deleteDocuments(event.invoiceDocumentUrls());
+    }
+
+    private void render(Long invoiceId) {
+        if (invoiceId == null) return;
+        Timer.Sample sample = metrics.start();
+        String outcome = AppMetrics.EXCEPTION;
+        String source = "booking";
+        try {
+            Rendered rendered = transaction.execute(status -> invoiceRepository.findById(invoiceId)
+                    .map(invoice -> new Rendered(
+                            Observation.createNotStarted("hotel.invoice.render", observationRegistry)
+                                    .contextualName("render invoice pdf")
+                                    .observe(() -> InvoicePdfGenerator.generateReceipt(invoice)),
+                            invoice.getOrder() != null ? "restaurant" : "booking",
+                            Snapshot.of(invoice)))
+                    .orElse(null));
+            if (rendered == null) {
+                log.warn("Invoice {} no longer exists; PDF not rendered", invoiceId);
+                return;
+            }
+            source = rendered.source();
+
+            Map<String, String> urls = cloudinaryService.uploadFileWithEagerSizes(rendered.pdf(), "hotel_invoices");
+
+            Stored stored = transaction.execute(status -> invoiceRepository.lockById(invoiceId)
+                    .map(invoice -> {
+                        // Paid, re-priced or already given another render's document since we started
+                        if (!Snapshot.of(invoice).equals(rendered.snapshot())) return Stored.SUPERSEDED;
+                        invoice.setInvoiceUrl(urls.get("large"));
+                        invoice.setInvoiceUrlMedium(urls.get("medium"));
+                        invoice.setInvoiceUrlThumbnail(urls.get("thumbnail"));
+                        return Stored.STORED;
+                    })
+                    .orElse(Stored.MISSING));
+            if (stored != Stored.STORED) {
+                // Cancelled or superseded while rendering: nothing will reference the upload
+                log.debug("Invoice {} changed while rendering ({}); discarding upload", invoiceId, stored);
+                deleteDocuments(urls.values());
+                return;
+            }
+            outcome = AppMetrics.SUCCESS;
+        } catch (Exception e) {
+            log.error("Invoice PDF generation/upload failed for invoice {}: {}", invoiceId, e.getMessage(), e);
+        } finally {
+            metrics.stop(sample, AppMetrics.INVOICE_PDF, outcome, "source", source);
+        }
+    }
+
+    private void deleteDocuments(Collection<String> urls) {
+        if (urls == null) return;
+        for (String url : urls) {
+            if (url == null) continue;
+            try {
+                cloudinaryService.deleteFile(cloudinaryService.extractPublicIdFromUrl(url));
+            } catch (Exception e) {
+                log.warn("Could not delete invoice document {}: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Document URLs of an invoice about to be replaced or removed. They are cleared on the entity
+     * so nobody is handed a document that is going away.
+     */
+    public static List<String> detachDocuments(Invoice invoice) {
+        if (invoice == null) return List.of();
+        List<String> urls = Stream.of(
+                        invoice.getInvoiceUrl(), invoice.getInvoiceUrlMedium(), invoice.getInvoiceUrlThumbnail())
+                .filter(Objects::nonNull)
+                .toList();
+        invoice.setInvoiceUrl(null);
+        invoice.setInvoiceUrlMedium(null);
+        invoice.setInvoiceUrlThumbnail(null);
+        return urls;
+    }
+}
@@ -0,0 +1,36 @@
+package com.justine.events.handlers;
+
+import com.justine.events.OrderStatusChanged;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes committed restaurant order status changes to {@code /topic/restaurant/{hotelId}/orders},
+ * where the kitchen and front desk follow a hotel's orders.
+ */
+@Slf4j
+@Component
+public class OrderStatusHandler {
+
+    public static final String TOPIC_PREFIX = "/topic/restaurant/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public OrderStatusHandler(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Async("eventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChanged event) {
+        if (event.hotelId() == null) return;
+        try {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + event.hotelId() + "/orders", event);
+        } catch (Exception e) {
+            log.warn("Order status push failed for order {}: {}", event.orderId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.justine.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Dictionary of audit entity/action pairs. Each audit row stores only the small id of its pair,
+ * instead of repeating the two strings millions of times.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "audit_actions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_audit_action_entity_action", columnNames = {"entity", "action"})
+})
+public class AuditAction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, length = 64)
+    private String entity;
+
+    @Column(nullable = false, length = 128)
+    private String action;
+}
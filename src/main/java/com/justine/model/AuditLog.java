@@ -1,17 +1,22 @@
 package com.justine.model;
 
+import com.justine.utils.AuditMetadataCodec;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
+/**
+ * Once migrated on MySQL the table is partitioned by month of {@code createdAt} and its primary key is
+ * {@code (id, created_at)}; ids stay unique through AUTO_INCREMENT. See AuditLogPartitionManager.
+ */
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Table(name = "audit_logs", indexes = {
-        @Index(name = "idx_audit_actor", columnList = "actorId"),
-        @Index(name = "idx_audit_entity", columnList = "entity"),
+        @Index(name = "idx_audit_actor_created", columnList = "actorId, createdAt"),
+        @Index(name = "idx_audit_action_created", columnList = "actionId, createdAt"),
         @Index(name = "idx_audit_created_at", columnList = "createdAt")
 })
 public class AuditLog {
@@ -21,12 +26,17 @@ public class AuditLog {
     private Long id;
 
     private Long actorId;
-    private String action;
-    private String entity;
+
+    // Entity and action, dictionary-encoded through AuditAction
+    private Integer actionId;
+
     private Long entityId;
 
-    @Column(columnDefinition = "json")
-    private String metadataJson;
+    // AuditMetadataCodec record, read back with AuditMetadataCodec.decode
+    @Column(length = AuditMetadataCodec.MAX_BYTES)
+    private byte[] metadata;
 
+    // Partitioning key
+    @Column(nullable = false)
     private LocalDateTime createdAt;
 }
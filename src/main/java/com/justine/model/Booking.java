@@ -13,7 +13,11 @@ import com.justine.enums.BookingStatus;
         @Index(name = "idx_booking_guest_id", columnList = "guest_id"),
         @Index(name = "idx_booking_room_id", columnList = "room_id"),
         @Index(name = "idx_booking_checkin_checkout", columnList = "checkInDate, checkOutDate"),
-        @Index(name = "idx_booking_status", columnList = "status")
+        @Index(name = "idx_booking_status", columnList = "status"),
+        @Index(name = "idx_booking_group_code", columnList = "groupCode"),
+        // Hotel-scoped reads stay inside one hotel's slice of the index
+        @Index(name = "idx_booking_hotel_checkin_checkout", columnList = "hotel_id, checkInDate, checkOutDate"),
+        @Index(name = "idx_booking_hotel_status", columnList = "hotel_id, status")
 })
 
 @Data
@@ -26,6 +30,7 @@ public class Booking {
     private Long id;
 
     private String bookingCode;
+    private String groupCode; // shared by bookings that arrive/leave together (tours, conferences)
     private java.time.LocalDate checkInDate;
     private java.time.LocalDate checkOutDate;
     private int numberOfGuests;
@@ -45,6 +50,11 @@ public class Booking {
     @JoinColumn(name = "room_id")
     private Room room;
 
+    // Denormalized from room.hotel so hotel-scoped queries need no join; kept in sync on save
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id")
+    private Hotel hotel;
+
     @OneToOne(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     private Payment payment;
 
@@ -62,4 +72,11 @@ public class Booking {
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<RestaurantOrder> orders = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    private void syncHotel() {
+        if (room != null && room.getHotel() != null) {
+            hotel = room.getHotel();
+        }
+    }
 }
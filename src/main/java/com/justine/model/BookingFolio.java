@@ -0,0 +1,60 @@
+package com.justine.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running bill for a booking. Charges are posted as they happen (room at booking time,
+ * services and restaurant orders as they are added), so payment and invoicing read the
+ * total directly instead of re-walking services, orders and order items.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "booking_folio", indexes = {
+        @Index(name = "idx_folio_booking_id", columnList = "booking_id", unique = true)
+})
+public class BookingFolio {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false, unique = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking booking;
+
+    @Builder.Default
+    private Double roomCharges = 0.0;
+
+    @Builder.Default
+    private Double serviceCharges = 0.0;
+
+    @Builder.Default
+    private Double restaurantCharges = 0.0;
+
+    @Builder.Default
+    private Double totalAmount = 0.0;
+
+    // The stay the room charges were priced for, so verification can spot a stay that moved under them
+    private Long pricedRoomId;
+    private LocalDate pricedCheckIn;
+    private LocalDate pricedCheckOut;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime updatedAt;
+
+    public void recalculateTotal() {
+        this.totalAmount = roomCharges + serviceCharges + restaurantCharges;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,49 @@
+package com.justine.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated daily figures for one hotel. Room nights and room revenue are counted on
+ * each night of a stay, service revenue on the check-in date, restaurant revenue on the
+ * order date and payments on the payment date.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "hotel_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_hotel_daily_stats_hotel_date", columnNames = {"hotel_id", "stat_date"})
+}, indexes = {
+        @Index(name = "idx_hotel_daily_stats_date", columnList = "stat_date")
+})
+public class HotelDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Builder.Default
+    private Integer roomNightsSold = 0;
+
+    @Builder.Default
+    private Double roomRevenue = 0.0;
+
+    @Builder.Default
+    private Double serviceRevenue = 0.0;
+
+    @Builder.Default
+    private Double restaurantRevenue = 0.0;
+
+    @Builder.Default
+    private Double paymentsReceived = 0.0;
+}
@@ -0,0 +1,77 @@
+package com.justine.model;
+
+import com.justine.enums.HousekeepingTaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cleaning job for one room, raised when the room is vacated. Cleaners claim pending tasks of
+ * their hotel in priority order; a manager inspects the result.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "housekeeping_task", indexes = {
+        @Index(name = "idx_hk_task_hotel_status_priority", columnList = "hotel_id, status, priority"),
+        @Index(name = "idx_hk_task_hotel_updated", columnList = "hotel_id, updatedAt"),
+        @Index(name = "idx_hk_task_room_status", columnList = "room_id, status"),
+        @Index(name = "idx_hk_task_assignee_status", columnList = "assigned_to_id, status")
+})
+public class HousekeepingTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Room room;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Hotel hotel;
+
+    // The stay that left the room dirty, if any
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking booking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_to_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Staff assignedTo;
+
+    @Enumerated(EnumType.STRING)
+    private HousekeepingTaskStatus status;
+
+    // Higher is cleaned first
+    private int priority;
+
+    private String notes;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    private void touch() {
+        updatedAt = LocalDateTime.now();
+        if (createdAt == null) createdAt = updatedAt;
+    }
+}
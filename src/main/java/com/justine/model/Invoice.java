@@ -21,6 +21,7 @@ public class Invoice {
     private Double totalAmount;
     private boolean paid;
     private String invoiceUrl;
+    private String groupCode; // set on the consolidated invoice of a group booking
     @OneToOne
     @JoinColumn(name = "booking_id")
     private Booking booking;
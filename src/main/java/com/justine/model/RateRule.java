@@ -0,0 +1,34 @@
+package com.justine.model;
+
+import com.justine.enums.RoomType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Occupancy-driven price adjustment: once the share of booked rooms of a type in a hotel
+ * reaches minOccupancy on a night, that night's rate is multiplied by multiplier.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "rate_rule", indexes = {
+        @Index(name = "idx_rate_rule_hotel", columnList = "hotel_id")
+})
+public class RateRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    private Hotel hotel;
+
+    @Enumerated(EnumType.STRING)
+    private RoomType roomType; // null applies to every room type in the hotel
+
+    private Double minOccupancy; // 0.0 - 1.0
+    private Double multiplier;
+}
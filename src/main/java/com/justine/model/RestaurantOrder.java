@@ -9,6 +9,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_order_hotel_status_date", columnList = "hotel_id, status, orderDate"),
+        @Index(name = "idx_order_booking_id", columnList = "booking_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -55,4 +59,11 @@ public class RestaurantOrder {
     @JsonIgnoreProperties({"order"})
     private List<OrderItem> orderItems = new ArrayList<>();
 
+    // Orders placed against a booking belong to the booking's hotel
+    @PrePersist
+    private void defaultHotel() {
+        if (hotel == null && booking != null) {
+            hotel = booking.getHotel();
+        }
+    }
 }
@@ -2,11 +2,17 @@ package com.justine.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.justine.enums.RoomStatus;
 import com.justine.enums.RoomType;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_room_hotel_type_available", columnList = "hotel_id, type, available"),
+        @Index(name = "idx_room_hotel_housekeeping_updated", columnList = "hotel_id, housekeepingUpdatedAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,10 +32,20 @@ public class Room {
     private Double pricePerNight;
     private boolean available;
 
+    // Housekeeping state; rooms saved before housekeeping existed read as READY
+    @Enumerated(EnumType.STRING)
+    private RoomStatus housekeepingStatus;
+
+    private LocalDateTime housekeepingUpdatedAt;
+
     @ManyToOne
     @JoinColumn(name = "hotel_id")
     private Hotel hotel;
 
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Booking> bookings;
+
+    public RoomStatus getHousekeepingStatus() {
+        return housekeepingStatus != null ? housekeepingStatus : RoomStatus.READY;
+    }
 }
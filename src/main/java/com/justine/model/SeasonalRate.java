@@ -0,0 +1,37 @@
+package com.justine.model;
+
+import com.justine.enums.RoomType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Calendar price adjustment for the nights from startDate to endDate inclusive.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "seasonal_rate", indexes = {
+        @Index(name = "idx_seasonal_rate_hotel", columnList = "hotel_id")
+})
+public class SeasonalRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    private Hotel hotel;
+
+    @Enumerated(EnumType.STRING)
+    private RoomType roomType; // null applies to every room type in the hotel
+
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Double multiplier;
+}
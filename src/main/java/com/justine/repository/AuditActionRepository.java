@@ -0,0 +1,11 @@
+package com.justine.repository;
+
+import com.justine.model.AuditAction;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface AuditActionRepository extends JpaRepository<AuditAction, Integer> {
+
+    Optional<AuditAction> findByEntityAndAction(String entity, String action);
+}
@@ -1,33 +1,37 @@
 package com.justine.repository;
 
 import com.justine.model.AuditLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Audit reads always carry a lower bound on createdAt: on MySQL the table is range-partitioned by
+ * month (see AuditLogPartitionManager), and the bound lets the query touch only recent partitions.
+ */
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     // Retrieve recent logs for a given actor
     @Query("""
         SELECT a FROM AuditLog a
         WHERE a.actorId = :actorId
+          AND a.createdAt >= :since
         ORDER BY a.createdAt DESC
         """)
-    List<AuditLog> findRecentLogsByActor(@Param("actorId") Long actorId);
+    List<AuditLog> findRecentLogsByActor(@Param("actorId") Long actorId,
+                                         @Param("since") LocalDateTime since,
+                                         Pageable pageable);
 
     // Retrieve logs for a specific entity type
     @Query("""
         SELECT a FROM AuditLog a
-        WHERE a.entity = :entity
+        WHERE a.actionId IN (SELECT d.id FROM AuditAction d WHERE d.entity = :entity)
+          AND a.createdAt >= :since
         ORDER BY a.createdAt DESC
         """)
-    List<AuditLog> findLogsByEntity(@Param("entity") String entity);
-
-    // Cleanup old logs
-    @Transactional
-    @Modifying
-    @Query("DELETE FROM AuditLog a WHERE a.createdAt < :threshold")
-    int deleteOldLogs(@Param("threshold") LocalDateTime threshold);
+    List<AuditLog> findLogsByEntity(@Param("entity") String entity,
+                                    @Param("since") LocalDateTime since,
+                                    Pageable pageable);
 }
@@ -0,0 +1,44 @@
+package com.justine.repository;
+
+import com.justine.model.BookingFolio;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingFolioRepository extends JpaRepository<BookingFolio, Long> {
+
+    Optional<BookingFolio> findByBookingId(Long bookingId);
+
+    List<BookingFolio> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // ---- Source-of-truth aggregates used by the consistency checker ----
+    @Query("""
+        SELECT b.id, COALESCE(SUM(s.price), 0)
+        FROM Booking b JOIN b.services s
+        WHERE b.id IN :bookingIds
+        GROUP BY b.id
+        """)
+    List<Object[]> sumServiceChargesByBooking(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("""
+        SELECT o.booking.id, COALESCE(SUM(o.totalAmount), 0)
+        FROM RestaurantOrder o
+        WHERE o.booking.id IN :bookingIds
+          AND o.cart = false
+        GROUP BY o.booking.id
+        """)
+    List<Object[]> sumRestaurantChargesByBooking(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // bookingId, status, roomId, checkIn, checkOut, hotelId, room type, room base price
+    @Query("""
+        SELECT b.id, b.status, r.id, b.checkInDate, b.checkOutDate, h.id, r.type, r.pricePerNight
+        FROM Booking b LEFT JOIN b.room r LEFT JOIN r.hotel h
+        WHERE b.id IN :bookingIds
+        """)
+    List<Object[]> findStaysByBooking(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -2,12 +2,18 @@ package com.justine.repository;
 
 import com.justine.enums.BookingStatus;
 import com.justine.model.Booking;
+import com.justine.repository.projection.BookingOrderItemRow;
+import com.justine.repository.projection.BookingRow;
+import com.justine.repository.projection.BookingServiceRow;
+import com.justine.repository.projection.FrontDeskRow;
 import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.EntityGraph;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,12 +41,14 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByCheckInDateBetween(LocalDate start, LocalDate end);
     List<Booking> findByCheckInDateBetweenAndStatus(LocalDate start, LocalDate end, BookingStatus status);
 
-    // Fetch all bookings with related entities
+    // Fetch all bookings with related entities; the invoice side of the one-to-one is never lazy,
+    // so it is joined too rather than selected once per booking
     @Query("SELECT b FROM Booking b " +
             "LEFT JOIN FETCH b.guest " +
             "LEFT JOIN FETCH b.room " +
             "LEFT JOIN FETCH b.services " +
-            "LEFT JOIN FETCH b.payment")
+            "LEFT JOIN FETCH b.payment " +
+            "LEFT JOIN FETCH b.invoice")
     List<Booking> findAllWithPayment();
 
     @Override
@@ -50,13 +58,60 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Active bookings on a specific date
     List<Booking> findByCheckInDateBeforeAndCheckOutDateAfter(LocalDate today, LocalDate today1);
 
+    // ---- Hotel-scoped (served by the hotel_id-leading indexes) ----
+
     // Active bookings for a hotel
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.room.hotel.id = :hotelId " +
+            "WHERE b.hotel.id = :hotelId " +
             "AND b.checkInDate <= :today " +
             "AND b.checkOutDate >= :today")
     List<Booking> findActiveBookingsByHotel(@Param("hotelId") Long hotelId, @Param("today") LocalDate today);
 
+    @EntityGraph(attributePaths = {"guest", "room", "services", "payment"})
+    List<Booking> findByHotelIdAndCheckInDateBetween(Long hotelId, LocalDate start, LocalDate end);
+
+    @EntityGraph(attributePaths = {"guest", "room", "services", "payment"})
+    List<Booking> findByHotelIdAndCheckInDateBetweenAndStatus(Long hotelId, LocalDate start, LocalDate end, BookingStatus status);
+
+    // Front-desk board: everything arriving or departing on the day, plus guests still checked in
+    @Query("""
+        SELECT new com.justine.repository.projection.FrontDeskRow(
+            b.id, b.bookingCode, b.groupCode, b.status, b.checkInDate, b.checkOutDate, b.numberOfGuests,
+            b.hotel.id, r.id, r.roomNumber, g.id, g.fullName)
+        FROM Booking b
+        LEFT JOIN b.room r
+        LEFT JOIN b.guest g
+        WHERE b.hotel IS NOT NULL
+          AND b.status <> com.justine.enums.BookingStatus.CANCELLED
+          AND (b.checkInDate = :day OR b.checkOutDate = :day OR b.status = com.justine.enums.BookingStatus.CHECKED_IN)
+        ORDER BY b.id
+    """)
+    List<FrontDeskRow> findFrontDeskRows(@Param("day") LocalDate day);
+
+    // Rooms among the given ones with a guest due to arrive on the day (cleaned first)
+    @Query("""
+        SELECT DISTINCT b.room.id FROM Booking b
+        WHERE b.room.id IN :roomIds AND b.checkInDate = :day
+          AND b.status = com.justine.enums.BookingStatus.BOOKED
+    """)
+    List<Long> findRoomIdsWithArrivalOn(@Param("roomIds") Collection<Long> roomIds, @Param("day") LocalDate day);
+
+    // Bookings saved before hotel_id existed whose room has a hotel, in id order for chunked backfill
+    @Query("""
+        SELECT b.id FROM Booking b
+        WHERE b.hotel IS NULL AND b.room.hotel IS NOT NULL AND b.id > :afterId
+        ORDER BY b.id
+    """)
+    List<Long> findIdsMissingHotel(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Fills hotel_id on one chunk of those bookings
+    @Modifying
+    @Query("""
+        UPDATE Booking b SET b.hotel = (SELECT r.hotel FROM Room r WHERE r = b.room)
+        WHERE b.id IN :ids AND b.hotel IS NULL
+    """)
+    int backfillHotel(@Param("ids") Collection<Long> ids);
+
     List<Booking> findByCheckOutDateBeforeOrCheckOutDateEqualsAndStatusNot(LocalDate today, LocalDate today1, BookingStatus bookingStatus);
 
     @EntityGraph(attributePaths = {"guest", "room", "services", "invoice"})
@@ -70,5 +125,94 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "WHERE b.staff.id = :staffId")
     List<Booking> findBookingsWithInvoiceByStaffId(@Param("staffId") Long staffId);
 
-}
+    // Stay windows still relevant for availability: roomId, checkInDate, checkOutDate
+    @Query("SELECT b.room.id, b.checkInDate, b.checkOutDate FROM Booking b " +
+            "WHERE b.status IN :statuses AND b.checkOutDate > :from " +
+            "ORDER BY b.room.id, b.checkInDate")
+    List<Object[]> findStayWindows(@Param("statuses") Collection<BookingStatus> statuses, @Param("from") LocalDate from);
+
+    // hotelId, room type, checkInDate, checkOutDate of stays overlapping [from, to)
+    @Query("SELECT b.hotel.id, b.room.type, b.checkInDate, b.checkOutDate FROM Booking b " +
+            "WHERE b.status IN :statuses AND b.checkOutDate > :from AND b.checkInDate < :to")
+    List<Object[]> findStayWindowsByHotelAndType(@Param("statuses") Collection<BookingStatus> statuses,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    // Analytics backfill page: id, hotelId, checkInDate, checkOutDate, folio room charges, folio service charges, room price
+    @Query("SELECT b.id, h.id, b.checkInDate, b.checkOutDate, f.roomCharges, f.serviceCharges, r.pricePerNight " +
+            "FROM Booking b JOIN b.room r JOIN b.hotel h LEFT JOIN BookingFolio f ON f.booking = b " +
+            "WHERE b.id > :afterId AND b.status <> com.justine.enums.BookingStatus.CANCELLED " +
+            "AND b.checkOutDate >= :from AND b.checkInDate <= :to " +
+            "ORDER BY b.id")
+    List<Object[]> findStaysForRollup(@Param("afterId") Long afterId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to,
+                                      Pageable pageable);
+
+    // ---- Bulk check-in / check-out ----
+
+    // Every eager to-one is joined here; left alone each would cost a select per booking
+    String BULK_STAY_BOOKINGS = """
+        SELECT b FROM Booking b
+        LEFT JOIN FETCH b.room r
+        LEFT JOIN FETCH r.hotel
+        LEFT JOIN FETCH b.guest
+        LEFT JOIN FETCH b.staff s
+        LEFT JOIN FETCH s.hotel
+        LEFT JOIN FETCH b.payment
+        LEFT JOIN FETCH b.invoice
+    """;
+
+    @Query(BULK_STAY_BOOKINGS + " WHERE b.id IN :ids")
+    List<Booking> findAllWithRoomByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(BULK_STAY_BOOKINGS + " WHERE b.groupCode = :groupCode")
+    List<Booking> findAllWithRoomByGroupCode(@Param("groupCode") String groupCode);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    // ---------------- Read projections (booking responses) ----------------
+
+    String BOOKING_ROW = """
+        SELECT new com.justine.repository.projection.BookingRow(
+            b.id, b.bookingCode, b.checkInDate, b.checkOutDate, b.numberOfGuests, b.status,
+            r.id, r.roomNumber, r.roomImageUrl, r.type, r.pricePerNight, r.available,
+            h.id, h.name, h.location, h.contactNumber, h.email, h.hotelImageUrl,
+            g.id, g.fullName, g.email, g.phoneNumber, g.idNumber, g.gender,
+            p.id, p.amount, p.method, p.status, p.paymentDate, p.transactionId,
+            i.id)
+        FROM Booking b
+        LEFT JOIN b.room r
+        LEFT JOIN r.hotel h
+        LEFT JOIN b.guest g
+        LEFT JOIN b.payment p
+        LEFT JOIN b.invoice i
+    """;
+
+    @Query(BOOKING_ROW + " WHERE b.id = :id")
+    Optional<BookingRow> findRowById(@Param("id") Long id);
+
+    @Query(BOOKING_ROW + " WHERE g.id = :guestId ORDER BY b.id")
+    List<BookingRow> findRowsByGuestId(@Param("guestId") Long guestId);
 
+    @Query("""
+        SELECT new com.justine.repository.projection.BookingServiceRow(b.id, s.id, s.name, s.description, s.price)
+        FROM Booking b JOIN b.services s
+        WHERE b.id IN :bookingIds
+    """)
+    List<BookingServiceRow> findServiceRows(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("""
+        SELECT new com.justine.repository.projection.BookingOrderItemRow(
+            o.booking.id, o.id, o.orderDate, o.status, o.cart, o.totalAmount,
+            i.id, i.quantity, f.id, f.itemName, f.price, f.imageUrl, f.category, f.hotel.id)
+        FROM RestaurantOrder o
+        LEFT JOIN o.orderItems i
+        LEFT JOIN i.foodItem f
+        WHERE o.booking.id IN :bookingIds
+        ORDER BY o.id, i.id
+    """)
+    List<BookingOrderItemRow> findOrderItemRows(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -0,0 +1,50 @@
+package com.justine.repository;
+
+import com.justine.model.HotelDailyStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HotelDailyStatsRepository extends JpaRepository<HotelDailyStats, Long> {
+
+    List<HotelDailyStats> findByHotelIdAndStatDateBetweenOrderByStatDateAsc(Long hotelId, LocalDate from, LocalDate to);
+
+    // Atomic add to an existing day; 0 when the hotel has no row for that day yet, and the caller inserts it.
+    // Plain JPQL, so it runs on MySQL and on the H2 test database alike
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE HotelDailyStats s SET
+            s.roomNightsSold = s.roomNightsSold + :roomNights,
+            s.roomRevenue = s.roomRevenue + :roomRevenue,
+            s.serviceRevenue = s.serviceRevenue + :serviceRevenue,
+            s.restaurantRevenue = s.restaurantRevenue + :restaurantRevenue,
+            s.paymentsReceived = s.paymentsReceived + :payments
+        WHERE s.hotelId = :hotelId AND s.statDate = :statDate
+        """)
+    int increment(@Param("hotelId") Long hotelId,
+                  @Param("statDate") LocalDate statDate,
+                  @Param("roomNights") int roomNights,
+                  @Param("roomRevenue") double roomRevenue,
+                  @Param("serviceRevenue") double serviceRevenue,
+                  @Param("restaurantRevenue") double restaurantRevenue,
+                  @Param("payments") double payments);
+
+    // Held by one backfill slice until it commits; on MySQL the slice's gaps are locked too, so increments
+    // for any hotel on those days, new rows included, wait for the recomputed figures
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM HotelDailyStats s WHERE s.statDate BETWEEN :from AND :to")
+    List<HotelDailyStats> lockByStatDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM HotelDailyStats s WHERE s.statDate BETWEEN :from AND :to")
+    int deleteByStatDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,7 +1,20 @@
 package com.justine.repository;
 
 import com.justine.model.Hotel;
+import com.justine.repository.projection.HotelRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
+
+    // Hotel columns only; rooms and staff come from RoomRepository/StaffRepository projections
+    @Query("""
+        SELECT new com.justine.repository.projection.HotelRow(
+            h.id, h.name, h.location, h.contactNumber, h.email, h.hotelImageUrl)
+        FROM Hotel h
+        ORDER BY h.id
+    """)
+    List<HotelRow> findAllRows();
 }
@@ -0,0 +1,56 @@
+package com.justine.repository;
+
+import com.justine.enums.HousekeepingTaskStatus;
+import com.justine.model.HousekeepingTask;
+import com.justine.model.Staff;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface HousekeepingTaskRepository extends JpaRepository<HousekeepingTask, Long> {
+
+    // taskId, hotelId, priority, createdAt of every task waiting for a cleaner (queue rebuild)
+    @Query("""
+        SELECT t.id, t.hotel.id, t.priority, t.createdAt FROM HousekeepingTask t
+        WHERE t.status = com.justine.enums.HousekeepingTaskStatus.PENDING
+    """)
+    List<Object[]> findPendingQueueEntries();
+
+    @Query("""
+        SELECT DISTINCT t.room.id FROM HousekeepingTask t
+        WHERE t.room.id IN :roomIds AND t.status IN :statuses
+    """)
+    List<Long> findRoomIdsWithTaskIn(@Param("roomIds") Collection<Long> roomIds,
+                                     @Param("statuses") Collection<HousekeepingTaskStatus> statuses);
+
+    List<HousekeepingTask> findByRoomIdAndStatusIn(Long roomId, Collection<HousekeepingTaskStatus> statuses);
+
+    // Atomic hand-out: only one cleaner (on any instance) can move a task out of PENDING
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE HousekeepingTask t
+        SET t.status = com.justine.enums.HousekeepingTaskStatus.IN_PROGRESS,
+            t.assignedTo = :cleaner, t.startedAt = :now, t.updatedAt = :now, t.version = t.version + 1
+        WHERE t.id = :id AND t.status = com.justine.enums.HousekeepingTaskStatus.PENDING
+    """)
+    int claim(@Param("id") Long id, @Param("cleaner") Staff cleaner, @Param("now") LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"room", "assignedTo"})
+    @Query("SELECT t FROM HousekeepingTask t WHERE t.id = :id")
+    Optional<HousekeepingTask> findWithRoomById(@Param("id") Long id);
+
+    // Incremental sync: everything in the hotel that changed after the client's cursor
+    @EntityGraph(attributePaths = {"room", "assignedTo"})
+    List<HousekeepingTask> findByHotelIdAndUpdatedAtAfterOrderByUpdatedAtAsc(Long hotelId, LocalDateTime since);
+
+    @EntityGraph(attributePaths = {"room", "assignedTo"})
+    List<HousekeepingTask> findByHotelIdAndStatusInOrderByPriorityDescCreatedAtAsc(Long hotelId,
+                                                                                   Collection<HousekeepingTaskStatus> statuses);
+}
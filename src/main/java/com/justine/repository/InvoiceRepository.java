@@ -1,11 +1,24 @@
 package com.justine.repository;
 
 import com.justine.model.Invoice;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     Invoice findByBookingId(Long bookingId);
 
     Invoice findByInvoiceNumber(String bookingInvoiceNumber);
-}
 
+    // The consolidated invoice of a group booking
+    Invoice findByGroupCode(String groupCode);
+
+    // Held while a rendered document is stored, so two renders of one invoice can't both attach theirs
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Invoice i WHERE i.id = :id")
+    Optional<Invoice> lockById(@Param("id") Long id);
+}
@@ -1,9 +1,18 @@
 package com.justine.repository;
 
 import com.justine.model.Notification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // Recipients in the same select; the alert list used to load each guest/staff member by id
+    @EntityGraph(attributePaths = {"guest", "staff"})
+    @Query("select n from Notification n")
+    List<Notification> findAllWithRecipients();
 }
@@ -1,12 +1,65 @@
 package com.justine.repository;
 
+import com.justine.enums.PaymentStatus;
 import com.justine.model.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Payment findByBookingId(Long bookingId);
 
+    Optional<Payment> findByRestaurantOrderId(Long restaurantOrderId);
+
     Optional<Payment> findByCheckoutRequestId(String checkoutRequestId);
+
+    // Analytics backfill page: id, hotelId, paymentDate, amount of PAID payments
+    @Query("SELECT p.id, COALESCE(bh.id, oh.id), p.paymentDate, p.amount FROM Payment p " +
+            "LEFT JOIN p.booking b LEFT JOIN b.room r LEFT JOIN r.hotel bh " +
+            "LEFT JOIN p.restaurantOrder o LEFT JOIN o.hotel oh " +
+            "WHERE p.id > :afterId AND p.status = com.justine.enums.PaymentStatus.PAID " +
+            "AND p.paymentDate >= :from AND p.paymentDate < :toExclusive " +
+            "ORDER BY p.id")
+    List<Object[]> findPaymentsForRollup(@Param("afterId") Long afterId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("toExclusive") LocalDateTime toExclusive,
+                                         Pageable pageable);
+
+    // Keyset page of STK pushes still waiting for a result
+    @Query("""
+        SELECT p FROM Payment p
+        WHERE p.status = com.justine.enums.PaymentStatus.PENDING
+          AND p.checkoutRequestId IS NOT NULL
+          AND p.createdAt < :cutoff
+          AND p.id > :afterId
+        ORDER BY p.id
+        """)
+    List<Payment> findStalePendingPayments(@Param("cutoff") LocalDateTime cutoff,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // Only moves PENDING rows, so repeated callbacks/polls for the same push are no-ops
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Payment p
+        SET p.status = :status,
+            p.paymentMethod = com.justine.enums.PaymentMethod.MPESA,
+            p.mpesaReceiptNumber = COALESCE(:receipt, p.mpesaReceiptNumber),
+            p.paymentDate = :now,
+            p.updatedAt = :now
+        WHERE p.checkoutRequestId = :checkoutRequestId
+          AND p.status = com.justine.enums.PaymentStatus.PENDING
+        """)
+    int resolvePendingStkPayment(@Param("checkoutRequestId") String checkoutRequestId,
+                                 @Param("status") PaymentStatus status,
+                                 @Param("receipt") String receipt,
+                                 @Param("now") LocalDateTime now);
 }
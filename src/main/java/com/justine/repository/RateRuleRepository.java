@@ -0,0 +1,10 @@
+package com.justine.repository;
+
+import com.justine.model.RateRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface RateRuleRepository extends JpaRepository<RateRule, Long> {
+    List<RateRule> findByHotelId(Long hotelId);
+}
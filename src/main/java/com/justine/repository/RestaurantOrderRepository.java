@@ -1,7 +1,14 @@
 package com.justine.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.justine.model.RestaurantOrder;
 
@@ -9,4 +16,36 @@ import com.justine.model.RestaurantOrder;
 public interface RestaurantOrderRepository extends JpaRepository<RestaurantOrder, Long> {
 
     List<RestaurantOrder> findByGuestId(Long guestId);
+
+    // Hotel-scoped listing, served by idx_order_hotel_status_date
+    @EntityGraph(attributePaths = {"guest"})
+    List<RestaurantOrder> findByHotelIdOrderByOrderDateDesc(Long hotelId);
+
+    // Booking orders saved without hotel_id whose booking has one; run after the booking backfill
+    @Query("""
+        SELECT o.id FROM RestaurantOrder o
+        WHERE o.hotel IS NULL AND o.booking.hotel IS NOT NULL AND o.id > :afterId
+        ORDER BY o.id
+    """)
+    List<Long> findIdsMissingHotel(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Fills hotel_id on one chunk of those orders
+    @Modifying
+    @Query("""
+        UPDATE RestaurantOrder o SET o.hotel = (SELECT b.hotel FROM Booking b WHERE b = o.booking)
+        WHERE o.id IN :ids AND o.hotel IS NULL
+    """)
+    int backfillHotel(@Param("ids") Collection<Long> ids);
+
+    // Analytics backfill page: id, hotelId, orderDate, totalAmount of confirmed, non-cancelled orders
+    @Query("SELECT o.id, COALESCE(h.id, rh.id), o.orderDate, o.totalAmount FROM RestaurantOrder o " +
+            "LEFT JOIN o.hotel h LEFT JOIN o.booking b LEFT JOIN b.room r LEFT JOIN r.hotel rh " +
+            "WHERE o.id > :afterId AND (o.cart IS NULL OR o.cart = false) " +
+            "AND o.status <> com.justine.enums.OrderStatus.CANCELLED " +
+            "AND o.orderDate >= :from AND o.orderDate < :toExclusive " +
+            "ORDER BY o.id")
+    List<Object[]> findOrdersForRollup(@Param("afterId") Long afterId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("toExclusive") LocalDateTime toExclusive,
+                                       Pageable pageable);
 }
@@ -1,14 +1,89 @@
 package com.justine.repository;
 
+import com.justine.enums.BookingStatus;
+import com.justine.enums.RoomStatus;
+import com.justine.enums.RoomType;
 import com.justine.model.Room;
+import com.justine.repository.projection.RoomRow;
+import jakarta.persistence.LockModeType;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
     Optional<Room> findByRoomNumberAndHotelId(String roomNumber, Long hotelId);
 
     List<Room> findByHotelId(Long id);
+
+    String ROOM_ROW = """
+        SELECT new com.justine.repository.projection.RoomRow(
+            r.id, r.roomNumber, r.roomImageUrl, r.type, r.pricePerNight, r.available,
+            h.id, h.name, h.location)
+        FROM Room r
+        LEFT JOIN r.hotel h
+    """;
+
+    @Query(ROOM_ROW + " WHERE h.id = :hotelId ORDER BY r.id")
+    List<RoomRow> findRowsByHotelId(@Param("hotelId") Long hotelId);
+
+    @Query(ROOM_ROW + " ORDER BY r.id")
+    List<RoomRow> findAllRows();
+
+    long countByHotelId(Long hotelId);
+
+    @Query("SELECT r FROM Room r JOIN FETCH r.hotel")
+    List<Room> findAllWithHotel();
+
+    // hotelId, type, room count
+    @Query("SELECT r.hotel.id, r.type, COUNT(r) FROM Room r WHERE r.type IS NOT NULL GROUP BY r.hotel.id, r.type")
+    List<Object[]> countRoomsByHotelAndType();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Room r SET r.available = :available WHERE r.id IN :ids")
+    int updateAvailabilityByIdIn(@Param("ids") Collection<Long> ids, @Param("available") boolean available);
+
+    // ---- Housekeeping ----
+
+    // Leaves the persistence context alone: callers may still hold the vacated rooms and bookings
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Room r SET r.housekeepingStatus = :status, r.housekeepingUpdatedAt = :now WHERE r.id IN :ids")
+    int updateHousekeepingStatusByIdIn(@Param("ids") Collection<Long> ids,
+                                       @Param("status") RoomStatus status,
+                                       @Param("now") LocalDateTime now);
+
+    List<Room> findByHotelIdAndHousekeepingUpdatedAtAfter(Long hotelId, LocalDateTime since);
+
+    // Free, in-service rooms of a type with no active booking overlapping the stay, locked so concurrent group
+    // requests can't share them. A null housekeeping status is a room saved before housekeeping existed (READY)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT r FROM Room r
+        WHERE r.hotel.id = :hotelId
+          AND r.type = :type
+          AND r.available = true
+          AND (r.housekeepingStatus IS NULL OR r.housekeepingStatus <> com.justine.enums.RoomStatus.OUT_OF_ORDER)
+          AND NOT EXISTS (
+              SELECT b.id FROM Booking b
+              WHERE b.room = r
+                AND b.status IN :activeStatuses
+                AND b.checkInDate < :checkOut
+                AND b.checkOutDate > :checkIn)
+        ORDER BY r.id
+    """)
+    List<Room> findAllocatableRooms(@Param("hotelId") Long hotelId,
+                                    @Param("type") RoomType type,
+                                    @Param("checkIn") LocalDate checkIn,
+                                    @Param("checkOut") LocalDate checkOut,
+                                    @Param("activeStatuses") Collection<BookingStatus> activeStatuses,
+                                    Pageable pageable);
 }
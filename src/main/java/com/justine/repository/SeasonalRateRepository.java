@@ -0,0 +1,10 @@
+package com.justine.repository;
+
+import com.justine.model.SeasonalRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SeasonalRateRepository extends JpaRepository<SeasonalRate, Long> {
+    List<SeasonalRate> findByHotelId(Long hotelId);
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import com.justine.enums.StaffRole;
 import com.justine.model.Staff;
+import com.justine.repository.projection.StaffRow;
 import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -24,7 +25,19 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
     @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Staff> findByEmail(String email);
 
+    @Query("SELECT s.hotel.id FROM Staff s WHERE s.id = :id")
+    Optional<Long> findHotelIdById(@Param("id") Long id);
+
     @Query("SELECT s FROM Staff s WHERE s.hotel.id = :hotelId")
     List<Staff> findByHotelId(@Param("hotelId") Long hotelId);
 
+    @Query("""
+        SELECT new com.justine.repository.projection.StaffRow(
+            s.id, s.hotel.id, s.fullName, s.email, s.phoneNumber, s.role, s.gender)
+        FROM Staff s
+        WHERE s.hotel IS NOT NULL
+        ORDER BY s.id
+    """)
+    List<StaffRow> findAllRowsWithHotel();
+
 }
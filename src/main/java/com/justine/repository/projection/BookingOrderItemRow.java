@@ -0,0 +1,28 @@
+package com.justine.repository.projection;
+
+import com.justine.enums.FoodCategory;
+import com.justine.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A restaurant order of a booking joined with one of its items; the item columns are null for an
+ * order without items.
+ */
+public record BookingOrderItemRow(
+        Long bookingId,
+        Long orderId,
+        LocalDateTime orderDate,
+        OrderStatus status,
+        Boolean cart,
+        Double totalAmount,
+        Long itemId,
+        Integer quantity,
+        Long foodItemId,
+        String itemName,
+        Double price,
+        String imageUrl,
+        FoodCategory category,
+        Long foodHotelId
+) {
+}
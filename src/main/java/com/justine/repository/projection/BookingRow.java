@@ -0,0 +1,48 @@
+package com.justine.repository.projection;
+
+import com.justine.enums.BookingStatus;
+import com.justine.enums.PaymentMethod;
+import com.justine.enums.PaymentStatus;
+import com.justine.enums.RoomType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One booking flattened with its room, hotel, guest and payment columns. Services and restaurant
+ * orders are one-to-many and come from {@link BookingServiceRow} and {@link BookingOrderItemRow}.
+ */
+public record BookingRow(
+        Long id,
+        String bookingCode,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Integer numberOfGuests,
+        BookingStatus status,
+        Long roomId,
+        String roomNumber,
+        String roomImageUrl,
+        RoomType roomType,
+        Double pricePerNight,
+        Boolean roomAvailable,
+        Long hotelId,
+        String hotelName,
+        String hotelLocation,
+        String hotelContactNumber,
+        String hotelEmail,
+        String hotelImageUrl,
+        Long guestId,
+        String guestFullName,
+        String guestEmail,
+        String guestPhoneNumber,
+        String guestIdNumber,
+        String guestGender,
+        Long paymentId,
+        Double paymentAmount,
+        PaymentMethod paymentMethod,
+        PaymentStatus paymentStatus,
+        LocalDateTime paymentDate,
+        String paymentTransactionId,
+        Long invoiceId
+) {
+}
@@ -0,0 +1,13 @@
+package com.justine.repository.projection;
+
+/**
+ * A service attached to a booking.
+ */
+public record BookingServiceRow(
+        Long bookingId,
+        Long id,
+        String name,
+        String description,
+        Double price
+) {
+}
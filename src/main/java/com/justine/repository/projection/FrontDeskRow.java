@@ -0,0 +1,24 @@
+package com.justine.repository.projection;
+
+import com.justine.enums.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A booking as the front-desk board shows it: arriving, in house or departing on the board's day.
+ */
+public record FrontDeskRow(
+        Long bookingId,
+        String bookingCode,
+        String groupCode,
+        BookingStatus status,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        int numberOfGuests,
+        Long hotelId,
+        Long roomId,
+        String roomNumber,
+        Long guestId,
+        String guestName
+) {
+}
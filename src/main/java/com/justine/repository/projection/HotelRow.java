@@ -0,0 +1,14 @@
+package com.justine.repository.projection;
+
+/**
+ * Hotel columns for listings, without the rooms/staff/menu/services collections.
+ */
+public record HotelRow(
+        Long id,
+        String name,
+        String location,
+        String contactNumber,
+        String email,
+        String hotelImageUrl
+) {
+}
@@ -0,0 +1,19 @@
+package com.justine.repository.projection;
+
+import com.justine.enums.RoomType;
+
+/**
+ * A room with the columns of its hotel that room responses embed.
+ */
+public record RoomRow(
+        Long id,
+        String roomNumber,
+        String roomImageUrl,
+        RoomType type,
+        Double pricePerNight,
+        Boolean available,
+        Long hotelId,
+        String hotelName,
+        String hotelLocation
+) {
+}
@@ -0,0 +1,17 @@
+package com.justine.repository.projection;
+
+import com.justine.enums.StaffRole;
+
+/**
+ * Staff columns shown in hotel listings; tokens and password are never selected.
+ */
+public record StaffRow(
+        Long id,
+        Long hotelId,
+        String fullName,
+        String email,
+        String phoneNumber,
+        StaffRole role,
+        String gender
+) {
+}
@@ -0,0 +1,166 @@
+package com.justine.scheduller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justine.model.AuditAction;
+import com.justine.utils.AuditActionDictionary;
+import com.justine.utils.AuditMetadataCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a time range of {@code audit_logs} to a gzipped JSON-lines file under
+ * {@code audit.archive.dir}, one audit row per line with its action names and decoded metadata.
+ * The file appears under its final name only once complete, so a failed run leaves nothing
+ * that looks like an archive.
+ */
+@Slf4j
+@Component
+public class AuditLogArchiver {
+
+    private final AuditActionDictionary actions;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+
+    public AuditLogArchiver(AuditActionDictionary actions,
+                            @Value("${audit.archive.dir:archive/audit}") String directory) {
+        this.actions = actions;
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * Writes every row with {@code from <= created_at < to} ({@code from} null for no lower bound).
+     *
+     * @return the number of rows archived
+     */
+    public long archiveRange(Connection connection, LocalDate from, LocalDate to, String name, boolean mysql)
+            throws SQLException, IOException {
+        List<Timestamp> bounds = new ArrayList<>();
+        bounds.add(Timestamp.valueOf(to.atStartOfDay()));
+        if (from != null) bounds.add(Timestamp.valueOf(from.atStartOfDay()));
+        return write(connection, "audit_logs WHERE created_at < ?" + (from != null ? " AND created_at >= ?" : ""),
+                bounds, name, mysql);
+    }
+
+    /**
+     * Writes every row stored in one MySQL partition of {@code audit_logs}, whatever its date.
+     *
+     * @return the number of rows archived
+     */
+    public long archivePartition(Connection connection, String partition, String name)
+            throws SQLException, IOException {
+        return write(connection, "audit_logs PARTITION (" + partition + ")", List.of(), name, true);
+    }
+
+    private long write(Connection connection, String source, List<Timestamp> parameters, String name, boolean mysql)
+            throws SQLException, IOException {
+        Files.createDirectories(directory);
+        Path target = freeTarget(name);
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+
+        boolean legacy = hasLegacyColumns(connection);
+        String sql = "SELECT id, actor_id, action_id, entity_id, metadata, created_at"
+                + (legacy ? ", action, entity, metadata_json" : "")
+                + " FROM " + source
+                + " ORDER BY id";
+
+        long rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Connector/J streams row by row only with this fetch size; elsewhere it is a batch size
+            statement.setFetchSize(mysql ? Integer.MIN_VALUE : 1000);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setTimestamp(i + 1, parameters.get(i));
+            }
+
+            try (ResultSet rs = statement.executeQuery();
+                 BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                         new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024), StandardCharsets.UTF_8))) {
+                while (rs.next()) {
+                    out.write(objectMapper.writeValueAsString(toRecord(rs, legacy)));
+                    out.newLine();
+                    rows++;
+                }
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Archived {} audit rows to {}", rows, target);
+        return rows;
+    }
+
+    // A re-run never overwrites an earlier archive of the same range
+    private Path freeTarget(String name) {
+        Path target = directory.resolve(name + ".jsonl.gz");
+        for (int attempt = 1; Files.exists(target); attempt++) {
+            target = directory.resolve(name + "." + attempt + ".jsonl.gz");
+        }
+        return target;
+    }
+
+    private Map<String, Object> toRecord(ResultSet rs, boolean legacy) throws SQLException {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", rs.getLong("id"));
+        record.put("actorId", rs.getObject("actor_id"));
+
+        Integer actionId = rs.getObject("action_id", Integer.class);
+        Optional<AuditAction> action = actions.lookup(actionId);
+        record.put("entity", action.map(AuditAction::getEntity).orElse(legacy ? rs.getString("entity") : null));
+        record.put("action", action.map(AuditAction::getAction).orElse(legacy ? rs.getString("action") : null));
+        record.put("entityId", rs.getObject("entity_id"));
+
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        record.put("createdAt", createdAt != null ? createdAt.toLocalDateTime().toString() : null);
+
+        byte[] metadata = rs.getBytes("metadata");
+        if (metadata != null) {
+            try {
+                record.put("metadata", AuditMetadataCodec.decode(metadata));
+            } catch (IllegalArgumentException e) {
+                // Kept verbatim rather than lost
+                record.put("metadataBase64", Base64.getEncoder().encodeToString(metadata));
+            }
+        } else if (legacy && rs.getString("metadata_json") != null) {
+            record.put("metadataJson", rs.getString("metadata_json"));
+        }
+        return record;
+    }
+
+    // Rows written before the dictionary/binary format keep their original columns
+    static boolean hasLegacyColumns(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : new String[]{"audit_logs", "AUDIT_LOGS"}) {
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                boolean found = false;
+                int legacy = 0;
+                while (columns.next()) {
+                    found = true;
+                    String column = columns.getString("COLUMN_NAME").toLowerCase();
+                    if (column.equals("action") || column.equals("entity") || column.equals("metadata_json")) legacy++;
+                }
+                if (found) return legacy == 3;
+            }
+        }
+        return false;
+    }
+}
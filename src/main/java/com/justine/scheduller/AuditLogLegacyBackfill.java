@@ -0,0 +1,122 @@
+package com.justine.scheduller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justine.utils.AuditActionDictionary;
+import com.justine.utils.AuditMetadataCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps audit rows written before the dictionary/binary format onto it. Those rows carry their
+ * entity, action and metadata in the old {@code entity}, {@code action} and {@code metadata_json}
+ * columns and have no {@code action_id}, so every read that filters by action skipped them.
+ * Each row gets the id of its pair in {@code audit_actions} and its JSON metadata re-encoded with
+ * {@link AuditMetadataCodec}. The old columns are left as they were, so metadata cut down to the
+ * codec's budget is still available in full.
+ * <p>
+ * Rows are converted in id-ordered chunks, each in its own short transaction; once none is left
+ * the first lookup finds nothing and the run ends. Without the old columns there is nothing to do.
+ */
+@Slf4j
+@Service
+public class AuditLogLegacyBackfill {
+
+    private record LegacyRow(long id, String entity, String action, String metadataJson) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditActionDictionary actions;
+    private final AuditMetadataCodec codec;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+
+    public AuditLogLegacyBackfill(JdbcTemplate jdbcTemplate,
+                                  AuditActionDictionary actions,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${audit.legacy-backfill.chunk-size:1000}") int chunkSize,
+                                  @Value("${audit.metadata.max-bytes:1024}") int maxBytes,
+                                  @Value("${audit.metadata.max-string-length:256}") int maxStringLength,
+                                  @Value("${audit.metadata.max-entries:32}") int maxEntries,
+                                  @Value("${audit.metadata.max-depth:3}") int maxDepth) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.actions = actions;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.codec = new AuditMetadataCodec(maxBytes, maxStringLength, maxEntries, maxDepth);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            Boolean legacy = jdbcTemplate.execute((ConnectionCallback<Boolean>) AuditLogArchiver::hasLegacyColumns);
+            if (!Boolean.TRUE.equals(legacy)) return;
+            long converted = convert();
+            if (converted > 0) log.info("Mapped {} legacy audit rows onto audit_actions", converted);
+        } catch (Exception e) {
+            log.error("Legacy audit backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Keyset over ids, so a row that cannot be converted is passed over instead of re-read forever
+    private long convert() {
+        long converted = 0;
+        long afterId = 0L;
+        while (true) {
+            List<LegacyRow> rows = nextChunk(afterId);
+            if (rows.isEmpty()) return converted;
+
+            // Dictionary misses insert in their own transaction, so resolve them before taking row locks
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (LegacyRow row : rows) {
+                updates.add(new Object[]{actions.idOf(row.entity(), row.action()), metadata(row), row.id()});
+            }
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE audit_logs SET action_id = ?, metadata = ? WHERE id = ? AND action_id IS NULL", updates));
+            converted += rows.size();
+            if (rows.size() < chunkSize) return converted;
+            afterId = rows.get(rows.size() - 1).id();
+        }
+    }
+
+    private List<LegacyRow> nextChunk(long afterId) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    SELECT id, entity, action, metadata_json FROM audit_logs
+                    WHERE action_id IS NULL AND id > ?
+                    ORDER BY id
+                    """);
+            statement.setLong(1, afterId);
+            statement.setMaxRows(chunkSize);
+            return statement;
+        }, (ResultSet rs, int rowNum) -> new LegacyRow(
+                rs.getLong("id"), rs.getString("entity"), rs.getString("action"), rs.getString("metadata_json")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] metadata(LegacyRow row) {
+        String json = row.metadataJson();
+        if (json == null || json.isBlank()) return null;
+        try {
+            Object parsed = objectMapper.readValue(json, Object.class);
+            if (parsed instanceof Map<?, ?> map) return codec.encode((Map<String, ?>) map);
+            return codec.encode(Map.of("value", parsed));
+        } catch (Exception e) {
+            // Not valid JSON: kept as text rather than lost
+            return codec.encode(Map.of("metadataJson", json));
+        }
+    }
+}
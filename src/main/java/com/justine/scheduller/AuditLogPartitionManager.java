@@ -0,0 +1,360 @@
+package com.justine.scheduller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps {@code audit_logs} bounded. On MySQL the table is range-partitioned by month of
+ * {@code created_at}: partitions are created ahead of time, and months past the retention window
+ * are archived to disk and then dropped, which costs a metadata change instead of a row-by-row
+ * DELETE. Other databases, or MySQL with partitioning turned off, archive the same months and
+ * delete them in small committed chunks.
+ * <p>
+ * Converting an existing MySQL table rebuilds it, so it is an explicit one-time migration: it runs
+ * only with {@code audit.partitioning.migrate=true}, and until then MySQL uses the chunked fallback.
+ * Rows without {@code created_at} are never archived or deleted; while any exist the conversion is
+ * refused, since the partitioning column has to be NOT NULL.
+ * Instances coordinate through a MySQL named lock, so only one of them does the work.
+ */
+@Slf4j
+@Service
+public class AuditLogPartitionManager {
+
+    private static final String TABLE = "audit_logs";
+    private static final String LOCK = "audit_logs_maintenance";
+    private static final String START = "p_start";
+    private static final String FUTURE = "p_future";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter ARCHIVE_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private record Partition(String name, YearMonth month) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogArchiver archiver;
+    private final boolean partitioningEnabled;
+    private final boolean migrate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final int deleteChunkSize;
+    private final boolean archiveEnabled;
+
+    public AuditLogPartitionManager(JdbcTemplate jdbcTemplate,
+                                    AuditLogArchiver archiver,
+                                    @Value("${audit.partitioning.enabled:true}") boolean partitioningEnabled,
+                                    @Value("${audit.partitioning.migrate:false}") boolean migrate,
+                                    @Value("${audit.partitioning.months-ahead:3}") int monthsAhead,
+                                    @Value("${audit.retention.months:12}") int retentionMonths,
+                                    @Value("${audit.retention.delete-chunk-size:5000}") int deleteChunkSize,
+                                    @Value("${audit.archive.enabled:true}") boolean archiveEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiver = archiver;
+        this.partitioningEnabled = partitioningEnabled;
+        this.migrate = migrate;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths = Math.max(0, retentionMonths);
+        this.deleteChunkSize = Math.max(1, deleteChunkSize);
+        this.archiveEnabled = archiveEnabled;
+    }
+
+    /**
+     * Runs at startup and nightly. Not transactional: DDL commits implicitly on MySQL, and the
+     * fallback delete commits chunk by chunk.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.maintenance.cron:0 15 2 * * *}")
+    public void maintain() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                maintain(connection);
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Audit log maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void maintain(Connection connection) throws SQLException {
+        boolean mysql = isMySql(connection);
+        if (mysql && !acquireLock(connection)) {
+            log.debug("Audit log maintenance is running on another instance");
+            return;
+        }
+        try {
+            YearMonth current = YearMonth.now();
+            if (mysql && partitioningEnabled) {
+                List<Partition> partitions = partitions(connection);
+                if (partitions.isEmpty() && migrate) {
+                    partitions = partition(connection, current);
+                } else if (partitions.isEmpty()) {
+                    log.info("{} is not partitioned; set audit.partitioning.migrate=true to convert it", TABLE);
+                } else {
+                    extend(connection, partitions, current.plusMonths(monthsAhead));
+                }
+                if (!partitions.isEmpty()) {
+                    if (retentionMonths > 0) {
+                        dropExpired(connection, partitions, current.minusMonths(retentionMonths));
+                    }
+                    return;
+                }
+            }
+            if (retentionMonths > 0) {
+                deleteExpired(connection, mysql, current.minusMonths(retentionMonths));
+            }
+        } finally {
+            if (mysql) releaseLock(connection);
+        }
+    }
+
+    // ===== Partitioned (MySQL) =====
+
+    private List<Partition> partitions(Connection connection) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """)) {
+            statement.setString(1, TABLE);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    YearMonth month = name.equals(START) || name.equals(FUTURE)
+                            ? null
+                            : YearMonth.parse(name, PARTITION_MONTH);
+                    partitions.add(new Partition(name, month));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * One-time conversion: one partition per month from the oldest row up to the look-ahead, with
+     * catch-alls below and above. The partitioning column has to be part of every unique key.
+     * Returns no partitions, leaving the table as it is, while undated rows remain.
+     */
+    private List<Partition> partition(Connection connection, YearMonth current) throws SQLException {
+        long undated = undatedRows(connection);
+        if (undated > 0) {
+            log.warn("Not partitioning {}: {} rows have no created_at; date them from a real source or move them out first",
+                    TABLE, undated);
+            return List.of();
+        }
+
+        YearMonth first = oldestMonth(connection);
+        if (first == null || first.isAfter(current)) first = current;
+        YearMonth last = current.plusMonths(monthsAhead);
+
+        try (Statement statement = connection.createStatement()) {
+            List<Partition> partitions = new ArrayList<>();
+            StringBuilder ddl = new StringBuilder()
+                    .append("ALTER TABLE ").append(TABLE)
+                    .append(" MODIFY created_at DATETIME(6) NOT NULL, DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at)")
+                    .append(" PARTITION BY RANGE (TO_DAYS(created_at)) (")
+                    .append("PARTITION ").append(START).append(" VALUES LESS THAN (").append(bound(first)).append("), ");
+            partitions.add(new Partition(START, null));
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                ddl.append(monthPartition(month)).append(", ");
+                partitions.add(new Partition(month.format(PARTITION_MONTH), month));
+            }
+            ddl.append("PARTITION ").append(FUTURE).append(" VALUES LESS THAN MAXVALUE)");
+            partitions.add(new Partition(FUTURE, null));
+
+            log.info("Partitioning {} by month from {} to {}", TABLE, first, last);
+            statement.execute(ddl.toString());
+            return partitions;
+        }
+    }
+
+    private void extend(Connection connection, List<Partition> partitions, YearMonth last) throws SQLException {
+        YearMonth newest = partitions.stream()
+                .map(Partition::month)
+                .filter(month -> month != null)
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+        if (!newest.isBefore(last)) return;
+
+        List<String> added = new ArrayList<>();
+        for (YearMonth month = newest.plusMonths(1); !month.isAfter(last); month = month.plusMonths(1)) {
+            added.add(monthPartition(month));
+            partitions.add(partitions.size() - 1, new Partition(month.format(PARTITION_MONTH), month));
+        }
+        // Splitting p_future keeps rows already dated in those months
+        String ddl = "ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE + " INTO ("
+                + String.join(", ", added)
+                + ", PARTITION " + FUTURE + " VALUES LESS THAN MAXVALUE)";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(ddl);
+        }
+        log.info("Added {} audit log partitions up to {}", added.size(), last);
+    }
+
+    private void dropExpired(Connection connection, List<Partition> partitions, YearMonth cutoff) throws SQLException {
+        for (Partition partition : partitions) {
+            if (partition.name().equals(START)) {
+                // p_start is the lower catch-all and must stay; it is emptied instead
+                YearMonth firstMonth = partitions.stream()
+                        .map(Partition::month).filter(month -> month != null).findFirst().orElse(cutoff);
+                if (!firstMonth.isAfter(cutoff) && !isEmpty(connection, START)
+                        && archive(connection, START, "audit_logs-before-" + firstMonth.format(ARCHIVE_MONTH)
+                        + "-" + LocalDate.now())) {
+                    execute(connection, "ALTER TABLE " + TABLE + " TRUNCATE PARTITION " + START);
+                }
+                continue;
+            }
+            if (partition.month() == null || !partition.month().isBefore(cutoff)) continue;
+
+            if (!isEmpty(connection, partition.name())
+                    && !archive(connection, partition.name(), "audit_logs-" + partition.month().format(ARCHIVE_MONTH))) {
+                // Never drop what could not be archived; stop so the next run retries in order
+                return;
+            }
+            execute(connection, "ALTER TABLE " + TABLE + " DROP PARTITION " + partition.name());
+            log.info("Dropped audit log partition {}", partition.name());
+        }
+    }
+
+    private boolean archive(Connection connection, String partition, String name) {
+        if (!archiveEnabled) return true;
+        try {
+            archiver.archivePartition(connection, partition, name);
+            return true;
+        } catch (SQLException | IOException | RuntimeException e) {
+            log.error("Archiving audit log partition {} failed; keeping it: {}", partition, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private boolean isEmpty(Connection connection, String partition) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT 1 FROM " + TABLE + " PARTITION (" + partition + ") LIMIT 1")) {
+            return !rs.next();
+        }
+    }
+
+    private static String monthPartition(YearMonth month) {
+        return "PARTITION " + month.format(PARTITION_MONTH) + " VALUES LESS THAN (" + bound(month.plusMonths(1)) + ")";
+    }
+
+    private static String bound(YearMonth month) {
+        return "TO_DAYS('" + month.atDay(1) + "')";
+    }
+
+    // ===== Unpartitioned fallback =====
+
+    /**
+     * Oldest month first: archive it, then delete it by primary key in chunks, each its own commit,
+     * so no single statement holds locks on a large part of the table. Undated rows match neither
+     * the archive nor the delete range and stay where they are.
+     */
+    private void deleteExpired(Connection connection, boolean mysql, YearMonth cutoff) throws SQLException {
+        YearMonth month = oldestMonth(connection);
+        if (month == null) return;
+
+        for (; month.isBefore(cutoff); month = month.plusMonths(1)) {
+            LocalDate to = month.plusMonths(1).atDay(1);
+            if (archiveEnabled) {
+                try {
+                    archiver.archiveRange(connection, month.atDay(1), to,
+                            "audit_logs-" + month.format(ARCHIVE_MONTH), mysql);
+                } catch (SQLException | IOException | RuntimeException e) {
+                    log.error("Archiving audit logs for {} failed; keeping them: {}", month, e.getMessage(), e);
+                    return;
+                }
+            }
+            long deleted = deleteBefore(connection, to);
+            if (deleted > 0) log.info("Deleted {} audit log rows from {}", deleted, month);
+        }
+    }
+
+    private long deleteBefore(Connection connection, LocalDate to) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT id FROM " + TABLE + " WHERE created_at < ? ORDER BY id");
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM " + TABLE + " WHERE id = ?")) {
+            select.setTimestamp(1, Timestamp.valueOf(to.atStartOfDay()));
+            select.setMaxRows(deleteChunkSize);
+            long deleted = 0;
+            while (true) {
+                List<Long> ids = new ArrayList<>(deleteChunkSize);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) ids.add(rs.getLong(1));
+                }
+                if (ids.isEmpty()) return deleted;
+                for (Long id : ids) {
+                    delete.setLong(1, id);
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+                deleted += ids.size();
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // ===== Shared =====
+
+    private long undatedRows(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + TABLE + " WHERE created_at IS NULL")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private YearMonth oldestMonth(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MIN(created_at) FROM " + TABLE)) {
+            if (!rs.next()) return null;
+            Timestamp oldest = rs.getTimestamp(1);
+            return oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : null;
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase();
+        return product.contains("mysql") || product.contains("mariadb");
+    }
+
+    // Non-blocking: if another instance holds it, this run is skipped
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, LOCK);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK);
+            statement.executeQuery().close();
+        } catch (SQLException e) {
+            log.warn("Could not release {}: {}", LOCK, e.getMessage());
+        }
+    }
+}
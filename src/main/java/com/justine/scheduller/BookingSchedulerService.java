@@ -6,6 +6,8 @@ import com.justine.model.Room;
 import com.justine.repository.BookingRepository;
 import com.justine.repository.RoomRepository;
 import com.justine.service.AuditLogService;
+import com.justine.service.FrontDeskBoardService;
+import com.justine.service.HousekeepingService;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -23,13 +26,19 @@ public class BookingSchedulerService {
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final AuditLogService auditLogService;
+    private final FrontDeskBoardService frontDeskBoardService;
+    private final HousekeepingService housekeepingService;
 
     public BookingSchedulerService(BookingRepository bookingRepository,
                                    RoomRepository roomRepository,
-                                   AuditLogService auditLogService) {
+                                   AuditLogService auditLogService,
+                                   FrontDeskBoardService frontDeskBoardService,
+                                   HousekeepingService housekeepingService) {
         this.bookingRepository = bookingRepository;
         this.roomRepository = roomRepository;
         this.auditLogService = auditLogService;
+        this.frontDeskBoardService = frontDeskBoardService;
+        this.housekeepingService = housekeepingService;
     }
 
     /**
@@ -49,13 +58,17 @@ public class BookingSchedulerService {
                             today, today, BookingStatus.CHECKED_OUT
                     );
 
+            List<Booking> vacated = new ArrayList<>();
             for (Booking booking : bookingsToCheckout) {
                 Room room = booking.getRoom();
 
                 // Update booking status to CHECKED_OUT
                 if (booking.getStatus() != BookingStatus.CHECKED_OUT) {
+                    // Only stays that were occupied leave a room to clean
+                    if (booking.getStatus() == BookingStatus.CHECKED_IN) vacated.add(booking);
                     booking.setStatus(BookingStatus.CHECKED_OUT);
                     bookingRepository.save(booking);
+                    frontDeskBoardService.bookingChanged(booking);
 
                     auditLogService.logBooking(
                             booking.getGuest() != null ? booking.getGuest().getId() : null,
@@ -79,6 +92,10 @@ public class BookingSchedulerService {
                 }
             }
 
+            // Called directly rather than through RoomReleased: the startup run happens before event
+            // listeners are registered, and this job is off the request path anyway
+            housekeepingService.roomsVacated(vacated);
+
             log.info("✔ Auto checkout and room release completed successfully. Bookings processed: {}", bookingsToCheckout.size());
 
         } catch (Exception e) {
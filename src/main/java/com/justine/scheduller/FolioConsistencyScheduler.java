@@ -0,0 +1,53 @@
+package com.justine.scheduller;
+
+import com.justine.dtos.response.FolioVerificationReportDTO;
+import com.justine.service.AuditLogService;
+import com.justine.service.FolioService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Slf4j
+@Service
+public class FolioConsistencyScheduler {
+
+    private final FolioService folioService;
+    private final AuditLogService auditLogService;
+    private final boolean repair;
+
+    public FolioConsistencyScheduler(FolioService folioService,
+                                     AuditLogService auditLogService,
+                                     @Value("${billing.folio.verify-repair:false}") boolean repair) {
+        this.folioService = folioService;
+        this.auditLogService = auditLogService;
+        this.repair = repair;
+    }
+
+    /**
+     * Off-peak bulk check that every folio still matches its services and orders.
+     */
+    @Scheduled(cron = "${billing.folio.verify-cron:0 30 3 * * *}")
+    public void verifyFolios() {
+        try {
+            FolioVerificationReportDTO report = folioService.verifyFolios(repair);
+
+            log.info("Folio verification: checked={} mismatched={} repaired={} took={}ms",
+                    report.getChecked(), report.getMismatched(), report.getRepaired(), report.getDurationMs());
+
+            if (report.getMismatched() > 0) {
+                auditLogService.logSystem("FOLIO_VERIFICATION_MISMATCH", Map.of(
+                        "checked", report.getChecked(),
+                        "mismatched", report.getMismatched(),
+                        "repaired", report.getRepaired(),
+                        "sampleBookingIds", report.getMismatchedBookingIds()
+                ));
+            }
+        } catch (Exception e) {
+            log.error("Folio verification error: {}", e.getMessage(), e);
+            auditLogService.logSystem("FOLIO_VERIFICATION_ERROR", Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+}
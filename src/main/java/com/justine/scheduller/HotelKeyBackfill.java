@@ -0,0 +1,97 @@
+package com.justine.scheduller;
+
+import com.justine.repository.BookingRepository;
+import com.justine.repository.RestaurantOrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Fills the denormalized hotel_id on bookings and booking orders saved before the column existed.
+ * New rows get it on save. Rows are updated in id-ordered chunks, each in its own short
+ * transaction, so startup never holds locks on a large part of either table; once every row is
+ * filled the first lookup finds nothing and the run ends.
+ * <p>
+ * Hotel-scoped reads (rate table, rollups, front-desk board, active bookings) filter on
+ * {@code b.hotel} and would miss unfilled rows, so the backfill runs as an early lifecycle phase:
+ * it finishes before the web server accepts requests and before scheduled jobs are registered.
+ */
+@Slf4j
+@Service
+public class HotelKeyBackfill implements SmartLifecycle {
+
+    // Ahead of the web server (Integer.MAX_VALUE - 1) and of the scheduler, which starts after every phase
+    static final int PHASE = 0;
+
+    private final BookingRepository bookingRepository;
+    private final RestaurantOrderRepository orderRepository;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private volatile boolean running;
+
+    public HotelKeyBackfill(BookingRepository bookingRepository,
+                            RestaurantOrderRepository orderRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${hotel-key.backfill.chunk-size:1000}") int chunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.orderRepository = orderRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public void start() {
+        backfill();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public void backfill() {
+        try {
+            long bookings = fill(bookingRepository::findIdsMissingHotel, bookingRepository::backfillHotel);
+            long orders = fill(orderRepository::findIdsMissingHotel, orderRepository::backfillHotel);
+            if (bookings > 0 || orders > 0) {
+                log.info("Backfilled hotel_id on {} bookings and {} restaurant orders", bookings, orders);
+            }
+        } catch (Exception e) {
+            log.error("hotel_id backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Keyset over ids, so rows that cannot be filled are passed over instead of re-read forever
+    private long fill(BiFunction<Long, PageRequest, List<Long>> findIds, Function<Collection<Long>, Integer> update) {
+        long filled = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = findIds.apply(afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) return filled;
+            Integer updated = transaction.execute(status -> update.apply(ids));
+            filled += updated != null ? updated : 0;
+            if (ids.size() < chunkSize) return filled;
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.justine.scheduller;
+
+import com.justine.config.ExecutorRegistry;
+import com.justine.config.ExecutorRegistry.PoolDefaults;
+import com.justine.config.ExecutorRegistry.RejectionPolicy;
+import com.justine.model.Payment;
+import com.justine.repository.PaymentRepository;
+import com.justine.service.AuditLogService;
+import com.justine.service.MpesaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves STK push payments whose Daraja callback never arrived.
+ * Stale PENDING payments are scanned in keyset batches, queried with bounded
+ * concurrency under a queries-per-second budget, and finalised through
+ * {@link MpesaService#applyStkResult}, the same idempotent path the callback uses.
+ */
+@Slf4j
+@Service
+public class PaymentReconciliationScheduler {
+
+    // Daraja "DS timeout user cannot be reached", used when we stop waiting for a result
+    private static final int RESULT_CODE_EXPIRED = 1037;
+
+    private enum Outcome { RESOLVED, ALREADY_RESOLVED, EXPIRED, STILL_PENDING, ERROR }
+
+    private record ReconcileResult(Outcome outcome, long ageSeconds) {
+    }
+
+    public record ReconciliationStats(LocalDateTime finishedAt, int scanned, int resolved, int expired,
+                                      int stillPending, int errors, long maxResolvedLagSeconds,
+                                      long oldestPendingSeconds, long durationMs) {
+    }
+
+    private final PaymentRepository paymentRepository;
+    private final MpesaService mpesaService;
+    private final AuditLogService auditLogService;
+
+    private final boolean enabled;
+    private final long staleAfterMinutes;
+    private final long giveUpAfterMinutes;
+    private final int batchSize;
+    private final int maxPaymentsPerRun;
+    private final long queryIntervalNanos;
+
+    private final AsyncTaskExecutor queryExecutor;
+    private final AtomicLong nextQuerySlot = new AtomicLong(System.nanoTime());
+    private volatile ReconciliationStats lastRun;
+
+    public PaymentReconciliationScheduler(PaymentRepository paymentRepository,
+                                          MpesaService mpesaService,
+                                          AuditLogService auditLogService,
+                                          ExecutorRegistry executorRegistry,
+                                          @Value("${mpesa.reconciliation.enabled:true}") boolean enabled,
+                                          @Value("${mpesa.reconciliation.stale-after-minutes:5}") long staleAfterMinutes,
+                                          @Value("${mpesa.reconciliation.give-up-after-minutes:1440}") long giveUpAfterMinutes,
+                                          @Value("${mpesa.reconciliation.batch-size:100}") int batchSize,
+                                          @Value("${mpesa.reconciliation.max-payments-per-run:1000}") int maxPaymentsPerRun,
+                                          @Value("${mpesa.reconciliation.max-queries-per-second:5}") double maxQueriesPerSecond) {
+        this.paymentRepository = paymentRepository;
+        this.mpesaService = mpesaService;
+        this.auditLogService = auditLogService;
+        this.enabled = enabled;
+        this.staleAfterMinutes = staleAfterMinutes;
+        this.giveUpAfterMinutes = giveUpAfterMinutes;
+        this.batchSize = batchSize;
+        this.maxPaymentsPerRun = maxPaymentsPerRun;
+        this.queryIntervalNanos = maxQueriesPerSecond > 0 ? (long) (1_000_000_000L / maxQueriesPerSecond) : 0;
+
+        // Concurrency doubles as the Daraja query budget, so virtual mode gets the same small limit
+        this.queryExecutor = executorRegistry.executor("mpesa-reconcile",
+                new PoolDefaults(4, 4, 200, RejectionPolicy.CALLER_RUNS, 4));
+    }
+
+    @Scheduled(fixedDelayString = "${mpesa.reconciliation.fixed-delay-ms:60000}",
+            initialDelayString = "${mpesa.reconciliation.initial-delay-ms:60000}")
+    public void reconcilePendingPayments() {
+        if (!enabled) return;
+
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusMinutes(staleAfterMinutes);
+
+        int scanned = 0, resolved = 0, expired = 0, stillPending = 0, errors = 0;
+        long maxResolvedLag = 0, oldestPending = 0;
+        long afterId = 0L;
+
+        try {
+            while (scanned < maxPaymentsPerRun) {
+                List<Payment> batch = paymentRepository.findStalePendingPayments(
+                        cutoff, afterId, PageRequest.of(0, Math.min(batchSize, maxPaymentsPerRun - scanned)));
+                if (batch.isEmpty()) break;
+
+                afterId = batch.get(batch.size() - 1).getId();
+                scanned += batch.size();
+
+                List<Future<ReconcileResult>> futures = new ArrayList<>(batch.size());
+                for (Payment payment : batch) {
+                    futures.add(queryExecutor.submit(() -> reconcile(payment, now)));
+                }
+
+                for (Future<ReconcileResult> future : futures) {
+                    ReconcileResult result = future.get();
+                    switch (result.outcome()) {
+                        case RESOLVED -> {
+                            resolved++;
+                            maxResolvedLag = Math.max(maxResolvedLag, result.ageSeconds());
+                        }
+                        case EXPIRED -> expired++;
+                        case STILL_PENDING -> {
+                            stillPending++;
+                            oldestPending = Math.max(oldestPending, result.ageSeconds());
+                        }
+                        case ERROR -> {
+                            errors++;
+                            oldestPending = Math.max(oldestPending, result.ageSeconds());
+                        }
+                        case ALREADY_RESOLVED -> { }
+                    }
+                }
+
+                if (batch.size() < batchSize) break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Payment reconciliation interrupted after {} payments", scanned);
+        } catch (Exception e) {
+            log.error("Payment reconciliation error: {}", e.getMessage(), e);
+            auditLogService.logSystem("PAYMENT_RECONCILIATION_ERROR", Map.of("error", String.valueOf(e.getMessage())));
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        lastRun = new ReconciliationStats(LocalDateTime.now(), scanned, resolved, expired, stillPending, errors,
+                maxResolvedLag, oldestPending, durationMs);
+
+        if (scanned > 0) {
+            log.info("Payment reconciliation: scanned={} resolved={} expired={} stillPending={} errors={} maxResolvedLag={}s oldestPending={}s took={}ms",
+                    scanned, resolved, expired, stillPending, errors, maxResolvedLag, oldestPending, durationMs);
+            auditLogService.logSystem("PAYMENT_RECONCILIATION_RUN", Map.of(
+                    "scanned", scanned,
+                    "resolved", resolved,
+                    "expired", expired,
+                    "stillPending", stillPending,
+                    "errors", errors,
+                    "maxResolvedLagSeconds", maxResolvedLag,
+                    "oldestPendingSeconds", oldestPending
+            ));
+        }
+    }
+
+    public ReconciliationStats getLastRunStats() {
+        return lastRun;
+    }
+
+    private ReconcileResult reconcile(Payment payment, LocalDateTime now) {
+        String checkoutRequestId = payment.getCheckoutRequestId();
+        long ageSeconds = payment.getCreatedAt() != null
+                ? Duration.between(payment.getCreatedAt(), now).getSeconds()
+                : 0;
+
+        try {
+            acquireQuerySlot();
+            Object response = mpesaService.querySTKPushStatus(checkoutRequestId);
+            Object resultCode = response instanceof Map<?, ?> body ? body.get("ResultCode") : null;
+
+            if (resultCode != null) {
+                boolean applied = mpesaService.applyStkResult(checkoutRequestId, Integer.parseInt(resultCode.toString().trim()), null);
+                return new ReconcileResult(applied ? Outcome.RESOLVED : Outcome.ALREADY_RESOLVED, ageSeconds);
+            }
+        } catch (HttpStatusCodeException e) {
+            // Daraja answers with an error status while the push is still being processed
+            log.debug("STK query for {} not final yet: {}", checkoutRequestId, e.getStatusCode());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ReconcileResult(Outcome.ERROR, ageSeconds);
+        } catch (Exception e) {
+            log.warn("STK query for {} failed: {}", checkoutRequestId, e.getMessage());
+            return new ReconcileResult(Outcome.ERROR, ageSeconds);
+        }
+
+        if (ageSeconds >= TimeUnit.MINUTES.toSeconds(giveUpAfterMinutes)) {
+            boolean applied = mpesaService.applyStkResult(checkoutRequestId, RESULT_CODE_EXPIRED, null);
+            return new ReconcileResult(applied ? Outcome.EXPIRED : Outcome.ALREADY_RESOLVED, ageSeconds);
+        }
+        return new ReconcileResult(Outcome.STILL_PENDING, ageSeconds);
+    }
+
+    // Spaces Daraja queries evenly so a large backlog cannot burst past the rate budget
+    private void acquireQuerySlot() throws InterruptedException {
+        if (queryIntervalNanos <= 0) return;
+        long now = System.nanoTime();
+        long previous = nextQuerySlot.getAndAccumulate(now, (prev, n) -> Math.max(prev, n) + queryIntervalNanos);
+        long waitNanos = previous - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.justine.security;
+
+import com.justine.enums.StaffRole;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Central role checks for services and {@code @PreAuthorize} expressions, e.g.
+ * {@code @PreAuthorize("@access.isAdmin()")}. Roles come from the authenticated token,
+ * so no check needs a staff lookup.
+ */
+@Component("access")
+public class AccessGuard {
+
+    private static final Set<StaffRole> MANAGEMENT = EnumSet.of(StaffRole.ADMIN, StaffRole.MANAGER);
+    private static final Set<StaffRole> FRONT_DESK = EnumSet.of(StaffRole.ADMIN, StaffRole.RECEPTIONIST);
+    private static final Set<StaffRole> HOUSEKEEPING = EnumSet.of(StaffRole.ADMIN, StaffRole.MANAGER, StaffRole.CLEANER);
+
+    public Set<StaffRole> roles() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) return EnumSet.noneOf(StaffRole.class);
+        if (auth instanceof RoleAuthenticationToken token) return token.getStaffRoles();
+        // Authentications not built by the JWT filter (e.g. tests)
+        return RoleAuthenticationToken.toStaffRoles(auth.getAuthorities());
+    }
+
+    public boolean hasRole(StaffRole role) {
+        return roles().contains(role);
+    }
+
+    public boolean isAdmin() {
+        return hasRole(StaffRole.ADMIN);
+    }
+
+    public boolean isReceptionist() {
+        return hasRole(StaffRole.RECEPTIONIST);
+    }
+
+    // ADMIN or MANAGER
+    public boolean isManagement() {
+        return hasAny(MANAGEMENT);
+    }
+
+    // ADMIN or RECEPTIONIST
+    public boolean isFrontDesk() {
+        return hasAny(FRONT_DESK);
+    }
+
+    // ADMIN, MANAGER or CLEANER
+    public boolean isHousekeeping() {
+        return hasAny(HOUSEKEEPING);
+    }
+
+    // Any staff role; guests have none
+    public boolean isStaff() {
+        return !roles().isEmpty();
+    }
+
+    private boolean hasAny(Set<StaffRole> required) {
+        Set<StaffRole> roles = roles();
+        for (StaffRole role : required) {
+            if (roles.contains(role)) return true;
+        }
+        return false;
+    }
+}
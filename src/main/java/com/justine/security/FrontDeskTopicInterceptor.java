@@ -0,0 +1,95 @@
+package com.justine.security;
+
+import com.justine.enums.StaffRole;
+import com.justine.repository.StaffRepository;
+import com.justine.serviceImpl.FrontDeskBoardServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.security.Principal;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Guards the front-desk board topic on the inbound STOMP channel. Only front-desk staff may
+ * subscribe to {@code /topic/front-desk/{hotelId}}: admins to any hotel, receptionists to the
+ * hotel they work at. Clients may never send to it; only the board service publishes there.
+ * Wildcard subscriptions that would also match a board (e.g. {@code /topic/**}) are admin-only,
+ * since the simple broker matches them against every destination.
+ * <p>
+ * The session user is the authentication of the WebSocket handshake, so the roles are the ones
+ * the JWT cookie carried.
+ */
+@Slf4j
+@Component
+public class FrontDeskTopicInterceptor implements ChannelInterceptor {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final StaffRepository staffRepository;
+
+    public FrontDeskTopicInterceptor(StaffRepository staffRepository) {
+        this.staffRepository = staffRepository;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) return message;
+        String destination = accessor.getDestination();
+        if (destination == null || !coversBoards(destination)) return message;
+
+        if (StompCommand.SEND.equals(accessor.getCommand())) {
+            throw new AccessDeniedException("Clients cannot publish to " + destination);
+        }
+        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand()) && !maySubscribe(accessor.getUser(), destination)) {
+            log.warn("Refused subscription to {} for user {}", destination,
+                    accessor.getUser() != null ? accessor.getUser().getName() : null);
+            throw new AccessDeniedException("Not allowed to subscribe to " + destination);
+        }
+        return message;
+    }
+
+    private boolean maySubscribe(Principal user, String destination) {
+        if (!(user instanceof Authentication auth) || !auth.isAuthenticated()) return false;
+        Set<StaffRole> roles = auth instanceof RoleAuthenticationToken token
+                ? token.getStaffRoles()
+                : RoleAuthenticationToken.toStaffRoles(auth.getAuthorities());
+        if (roles.contains(StaffRole.ADMIN)) return true;
+        if (!roles.contains(StaffRole.RECEPTIONIST)) return false;
+
+        Long hotelId = destination.startsWith(FrontDeskBoardServiceImpl.TOPIC_PREFIX)
+                ? parseId(destination.substring(FrontDeskBoardServiceImpl.TOPIC_PREFIX.length()))
+                : null;
+        if (hotelId == null) return false;
+
+        Long staffId = parseId(auth.getName());
+        return staffId != null && staffRepository.findHotelIdById(staffId)
+                .map(staffHotel -> Objects.equals(staffHotel, hotelId))
+                .orElse(false);
+    }
+
+    // A board topic itself, or a pattern the broker would match against one
+    private static boolean coversBoards(String destination) {
+        return destination.startsWith(FrontDeskBoardServiceImpl.TOPIC_PREFIX)
+                || (MATCHER.isPattern(destination) && MATCHER.match(destination, FrontDeskBoardServiceImpl.TOPIC_PREFIX + "0"));
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null; // wildcards and trailing segments are not a hotel
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.justine.security;
 
+import com.justine.enums.StaffRole;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -7,7 +8,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -49,21 +49,18 @@ public class JwtCookieFilter extends OncePerRequestFilter {
                 String userId = jwtUtils.extractSubject(token);
                 List<String> roles = jwtUtils.extractRoles(token);
 
-                boolean isStaff = roles.stream().anyMatch(r ->
-                        r.equalsIgnoreCase("ADMIN") ||
-                                r.equalsIgnoreCase("MANAGER") ||
-                                r.equalsIgnoreCase("RECEPTIONIST")
-                );
-
-                UserDetails userDetails = userDetailsService.loadUserById(Long.parseLong(userId), isStaff);
-
                 List<SimpleGrantedAuthority> authorities = roles.stream()
                         .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
 
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+                // Roles are resolved into an EnumSet once here and reused by every check in the request
+                EnumSet<StaffRole> staffRoles = RoleAuthenticationToken.toStaffRoles(authorities);
+                boolean isStaff = !staffRoles.isEmpty();
+
+                UserDetails userDetails = userDetailsService.loadUserById(Long.parseLong(userId), isStaff);
+
+                RoleAuthenticationToken auth = new RoleAuthenticationToken(userDetails, authorities, staffRoles);
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
@@ -32,12 +32,17 @@ public class RateLimitService {
         LocalDateTime now = LocalDateTime.now();
         List<LocalDateTime> timestamps = requestHistory.computeIfAbsent(ip, k -> new ArrayList<>());
 
-        // Clean up old entries (older than 1 hour)
-        timestamps.removeIf(time -> time.isBefore(now.minusHours(1)));
-        timestamps.add(now);
+        int count;
+        // Requests from one IP arrive on several threads; the list itself is not thread-safe
+        synchronized (timestamps) {
+            // Clean up old entries (older than 1 hour)
+            timestamps.removeIf(time -> time.isBefore(now.minusHours(1)));
+            timestamps.add(now);
+            count = timestamps.size();
+        }
 
-        if (timestamps.size() > MAX_REQUESTS_PER_HOUR) {
-            log.warn("Rate limit hit: IP={} action={} count={}", ip, action, timestamps.size());
+        if (count > MAX_REQUESTS_PER_HOUR) {
+            log.warn("Rate limit hit: IP={} action={} count={}", ip, action, count);
             recordViolation(ip);
             return false;
         }
@@ -46,8 +51,7 @@ public class RateLimitService {
     }
 
     private void recordViolation(String ip) {
-        int count = consecutiveDayViolations.getOrDefault(ip, 0) + 1;
-        consecutiveDayViolations.put(ip, count);
+        int count = consecutiveDayViolations.merge(ip, 1, Integer::sum);
 
         if (count >= MAX_CONSECUTIVE_DAYS) {
             log.warn("IP {} exceeded daily limit for {} consecutive days. Triggering admin alert.", ip, count);
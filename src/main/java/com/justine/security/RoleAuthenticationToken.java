@@ -0,0 +1,50 @@
+package com.justine.security;
+
+import com.justine.enums.StaffRole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Authentication that carries the caller's staff roles as an {@link EnumSet}, resolved once
+ * when the request is authenticated. Role checks become bit tests instead of scans over the
+ * authority strings. Guests have no staff roles, so their set is empty.
+ */
+public class RoleAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final Set<StaffRole> staffRoles;
+
+    public RoleAuthenticationToken(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                   EnumSet<StaffRole> staffRoles) {
+        super(principal, null, authorities);
+        this.staffRoles = Collections.unmodifiableSet(EnumSet.copyOf(staffRoles));
+    }
+
+    public Set<StaffRole> getStaffRoles() {
+        return staffRoles;
+    }
+
+    static EnumSet<StaffRole> toStaffRoles(Collection<? extends GrantedAuthority> authorities) {
+        EnumSet<StaffRole> roles = EnumSet.noneOf(StaffRole.class);
+        for (GrantedAuthority authority : authorities) {
+            StaffRole role = parse(authority.getAuthority());
+            if (role != null) roles.add(role);
+        }
+        return roles;
+    }
+
+    static StaffRole parse(String role) {
+        if (role == null) return null;
+        String name = role.startsWith("ROLE_") ? role.substring(5) : role;
+        try {
+            return StaffRole.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null; // guest roles such as USER
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.justine.service;
+
+import com.justine.dtos.response.AnalyticsBackfillReportDTO;
+import com.justine.dtos.response.HotelAnalyticsResponseDTO;
+import com.justine.model.Booking;
+import com.justine.model.BookingFolio;
+import com.justine.model.Payment;
+import com.justine.model.RestaurantOrder;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+public interface AnalyticsService {
+
+    // Incremental rollup updates, applied after the surrounding transaction commits
+    void recordStay(Booking booking, BookingFolio folio);
+
+    void reverseStay(Booking booking, BookingFolio folio);
+
+    void recordServiceRevenue(Booking booking, double amount);
+
+    // Pass a negative amount to reverse a cancelled order
+    void recordRestaurantRevenue(RestaurantOrder order, double amount);
+
+    void recordPayment(Payment payment);
+
+    ResponseEntity<HotelAnalyticsResponseDTO> getDailyStats(Long hotelId, LocalDate from, LocalDate to);
+
+    // Recomputes the rollups for a date range from the transactional tables in chunks
+    ResponseEntity<AnalyticsBackfillReportDTO> backfill(LocalDate from, LocalDate to, Long currentUserId);
+}
@@ -7,7 +7,7 @@ import java.util.Map;
 public interface AuditLogService {
 
     // Generic method for internal use
-    void logAction(Long actorId, String action, String entity, Long entityId, String metadataJson);
+    void logAction(Long actorId, String action, String entity, Long entityId, Map<String, Object> metadata);
 
     // Entity-specific log methods
     void logBooking(Long actorId, String action, Long bookingId, Map<String, Object> metadata);
@@ -26,6 +26,8 @@ public interface AuditLogService {
 
     void logStaff(Long actorId, String action, Long staffId, Map<String, Object> metadata);
 
+    void logHousekeeping(Long actorId, String action, Long taskId, Map<String, Object> metadata);
+
     void logAuthService(Long actorId, String action, Map<String, Object> metadata);
 
     void logPasswordResetAction(HttpServletRequest request, String action, String description);
@@ -0,0 +1,14 @@
+package com.justine.service;
+
+import com.justine.dtos.request.RoomSearchRequestDTO;
+import com.justine.dtos.response.RoomSearchResponseDTO;
+import org.springframework.http.ResponseEntity;
+
+public interface AvailabilitySearchService {
+
+    // Chain-wide room search served from the in-memory inventory snapshot
+    ResponseEntity<RoomSearchResponseDTO> searchRooms(RoomSearchRequestDTO dto);
+
+    // Rebuilds the snapshot from the database
+    void refreshInventory();
+}
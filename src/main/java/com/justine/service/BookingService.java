@@ -1,6 +1,8 @@
 package com.justine.service;
 
 import com.justine.dtos.request.BookingRequestDTO;
+import com.justine.dtos.request.BulkStayRequestDTO;
+import com.justine.dtos.request.GroupBookingRequestDTO;
 import com.justine.dtos.request.OrderItemRequestDTO;
 import com.justine.dtos.request.PaymentRequestDTO;
 import com.justine.dtos.request.RestaurantOrderRequestDTO;
@@ -15,6 +17,8 @@ public interface BookingService {
 
     ResponseEntity<BookingResponseDTO> createBooking(BookingRequestDTO dto, Long currentUserId);
 
+    ResponseEntity<GroupBookingResponseDTO> createGroupBooking(GroupBookingRequestDTO dto, Long currentUserId);
+
     ResponseEntity<BookingResponseDTO> getBooking(Long bookingId, Long currentUserId);
 
     ResponseEntity<List<BookingResponseDTO>> listBookingsForGuest(Long guestId, Long currentUserId);
@@ -35,7 +39,7 @@ public interface BookingService {
     ResponseEntity<List<BookingResponseDTO>> getAllBookings(Long currentUserId);
 
     // ✅ Filter bookings by date range and status
-    ResponseEntity<List<BookingResponseDTO>> filterBookings(LocalDate startDate, LocalDate endDate, String status, Long currentUserId);
+    ResponseEntity<List<BookingResponseDTO>> filterBookings(LocalDate startDate, LocalDate endDate, String status, Long hotelId, Long currentUserId);
 
     // ✅ Check-in a guest
     ResponseEntity<BookingResponseDTO> checkIn(Long bookingId, Long currentUserId);
@@ -43,6 +47,11 @@ public interface BookingService {
     // ✅ Check-out a guest
     ResponseEntity<BookingResponseDTO> checkOut(Long bookingId, Long currentUserId);
 
+    // ✅ Check-in / check-out many bookings (tour groups) in one transaction
+    ResponseEntity<BulkStayResponseDTO> bulkCheckIn(BulkStayRequestDTO dto, Long currentUserId);
+
+    ResponseEntity<BulkStayResponseDTO> bulkCheckOut(BulkStayRequestDTO dto, Long currentUserId);
+
     // ✅ Generate invoice for a booking
     ResponseEntity<InvoiceResponseDTO> generateInvoice(Long bookingId, Long currentUserId);
 
@@ -0,0 +1,31 @@
+package com.justine.service;
+
+import com.justine.dtos.response.FolioVerificationReportDTO;
+import com.justine.model.Booking;
+import com.justine.model.BookingFolio;
+import com.justine.model.Service;
+
+import java.util.List;
+
+public interface FolioService {
+
+    // Opens the folio for a new booking and posts the room and initial service charges
+    BookingFolio openFolio(Booking booking);
+
+    // Opens folios for freshly created bookings in one batch, skipping the per-booking existence check
+    List<BookingFolio> openFolios(List<Booking> bookings);
+
+    BookingFolio postServiceCharges(Booking booking, List<Service> services);
+
+    BookingFolio postRestaurantCharge(Booking booking, double amount);
+
+    // Reverses the room charges of a cancelled booking; services and restaurant charges already posted stay
+    BookingFolio reverseRoomCharges(Booking booking);
+
+    // O(1) read of the running bill; builds the folio once for bookings created before folios existed
+    BookingFolio getFolio(Booking booking);
+
+    // Recomputes service and restaurant charges from source rows in bulk and compares them; room charges
+    // must be zero for cancelled bookings and are re-quoted when the booking's stay no longer matches them
+    FolioVerificationReportDTO verifyFolios(boolean repair);
+}
@@ -0,0 +1,23 @@
+package com.justine.service;
+
+import com.justine.dtos.response.FrontDeskBoardDTO;
+import com.justine.enums.BookingStatus;
+import com.justine.model.Booking;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+
+public interface FrontDeskBoardService {
+
+    // Today's arrivals, in-house guests and departures for a hotel, served from memory
+    ResponseEntity<FrontDeskBoardDTO> getBoard(Long hotelId);
+
+    // Board bookkeeping; applied after the surrounding transaction commits and pushed to subscribers
+    void bookingChanged(Booking booking);
+
+    // For bulk transitions that moved the bookings with an UPDATE rather than through the entities
+    void bookingsMoved(Collection<Booking> bookings, BookingStatus status);
+
+    // Rebuilds every hotel's board from the database for the current day
+    void rebuildBoards();
+}
@@ -0,0 +1,38 @@
+package com.justine.service;
+
+import com.justine.dtos.response.HousekeepingSyncDTO;
+import com.justine.dtos.response.HousekeepingTaskDTO;
+import com.justine.dtos.response.RoomStatusDTO;
+import com.justine.enums.RoomStatus;
+import com.justine.model.Booking;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface HousekeepingService {
+
+    // Marks the rooms of checked-out stays DIRTY and raises their cleaning tasks (in the caller's transaction);
+    // checkouts reach it through the RoomReleased event
+    void roomsVacated(Collection<Booking> bookings);
+
+    // Hands the calling cleaner the highest-priority pending task of their hotel
+    ResponseEntity<HousekeepingTaskDTO> claimNextTask(Long currentUserId);
+
+    ResponseEntity<HousekeepingTaskDTO> finishTask(Long taskId, String notes, Long currentUserId);
+
+    ResponseEntity<HousekeepingTaskDTO> inspectTask(Long taskId, boolean passed, String notes, Long currentUserId);
+
+    // Manual moves (release, out of order, back to service), checked against the room state machine
+    ResponseEntity<RoomStatusDTO> changeRoomStatus(Long roomId, RoomStatus status, Long currentUserId);
+
+    // Room readiness for a hotel, served from memory
+    ResponseEntity<List<RoomStatusDTO>> getRoomStatuses(Long hotelId);
+
+    // Tasks and room states of the caller's hotel changed after "since" (everything open when null)
+    ResponseEntity<HousekeepingSyncDTO> sync(LocalDateTime since, Long currentUserId);
+
+    // Reloads the task queues and room readiness from the database
+    void resync();
+}
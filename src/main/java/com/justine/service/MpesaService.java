@@ -10,5 +10,11 @@ public interface MpesaService {
     Object querySTKPushStatus(String checkoutRequestId);
 
     void handleCallback(Object callbackData);
+
+    /**
+     * Moves a PENDING STK payment to its final state. Shared by the callback and
+     * the reconciliation poller; returns false if the payment was already resolved.
+     */
+    boolean applyStkResult(String checkoutRequestId, int resultCode, String mpesaReceiptNumber);
 }
 
@@ -0,0 +1,44 @@
+package com.justine.service;
+
+import com.justine.dtos.request.RateRuleRequestDTO;
+import com.justine.dtos.request.SeasonalRateRequestDTO;
+import com.justine.dtos.response.RateQuoteResponseDTO;
+import com.justine.dtos.response.RateRuleResponseDTO;
+import com.justine.dtos.response.SeasonalRateResponseDTO;
+import com.justine.enums.RoomType;
+import com.justine.model.Room;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PricingService {
+
+    // Nightly rates for a stay, read from the in-memory rate table (at least one night)
+    double[] nightlyRates(Long hotelId, RoomType type, double basePrice, LocalDate checkIn, LocalDate checkOut);
+
+    double quoteStay(Long hotelId, RoomType type, double basePrice, LocalDate checkIn, LocalDate checkOut);
+
+    double quoteStay(Room room, LocalDate checkIn, LocalDate checkOut);
+
+    // Occupancy bookkeeping; applied after the surrounding transaction commits
+    void recordStay(Room room, LocalDate checkIn, LocalDate checkOut);
+
+    void releaseStay(Room room, LocalDate checkIn, LocalDate checkOut);
+
+    void rebuildRateTable();
+
+    ResponseEntity<RateQuoteResponseDTO> quote(Long roomId, LocalDate checkIn, LocalDate checkOut);
+
+    ResponseEntity<RateRuleResponseDTO> createRateRule(RateRuleRequestDTO dto, Long currentUserId);
+
+    ResponseEntity<SeasonalRateResponseDTO> createSeasonalRate(SeasonalRateRequestDTO dto, Long currentUserId);
+
+    ResponseEntity<List<RateRuleResponseDTO>> getRateRules(Long hotelId);
+
+    ResponseEntity<List<SeasonalRateResponseDTO>> getSeasonalRates(Long hotelId);
+
+    ResponseEntity<Void> deleteRateRule(Long id, Long currentUserId);
+
+    ResponseEntity<Void> deleteSeasonalRate(Long id, Long currentUserId);
+}
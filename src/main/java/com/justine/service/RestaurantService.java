@@ -36,7 +36,7 @@ public interface RestaurantService {
 
     ResponseEntity<RestaurantOrderResponseDTO> cancelOrder(Long orderId, Long currentUserId);
 
-    ResponseEntity<List<RestaurantOrderResponseDTO>> getAllOrders(Long currentUserId);
+    ResponseEntity<List<RestaurantOrderResponseDTO>> getAllOrders(Long hotelId, Long currentUserId);
 
     ResponseEntity<RestaurantOrderResponseDTO> createOrderForBooking(RestaurantOrderDTO dto, Long currentUserId);
 }
@@ -0,0 +1,394 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.AnalyticsBackfillReportDTO;
+import com.justine.dtos.response.DailyStatsDTO;
+import com.justine.dtos.response.HotelAnalyticsResponseDTO;
+import com.justine.model.*;
+import com.justine.repository.*;
+import com.justine.service.AnalyticsService;
+import com.justine.service.AuditLogService;
+import com.justine.utils.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Daily per-hotel rollups for dashboards.
+ *
+ * Write paths push deltas after their transaction commits; each delta is applied in its own
+ * transaction as an atomic add, inserting the day's row if it is missing, so a rollup failure
+ * never fails a booking and a rolled-back booking never reaches the rollups. The backfill
+ * recomputes a date range from the transactional tables slice by slice, a few days at a time,
+ * which also repairs any drift left by failed deltas. Each slice runs in its own short
+ * transaction that locks only that slice's rows before its first read, so deltas for those
+ * days wait briefly and are applied on top of the result while the rest of the range is free.
+ */
+@Slf4j
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final HotelDailyStatsRepository statsRepository;
+    private final BookingRepository bookingRepository;
+    private final RestaurantOrderRepository restaurantOrderRepository;
+    private final PaymentRepository paymentRepository;
+    private final RoomRepository roomRepository;
+    private final AuditLogService auditLogService;
+    private final TransactionTemplate newTransaction;
+    private final int backfillChunkSize;
+    private final int backfillSliceDays;
+
+    public AnalyticsServiceImpl(HotelDailyStatsRepository statsRepository,
+                                BookingRepository bookingRepository,
+                                RestaurantOrderRepository restaurantOrderRepository,
+                                PaymentRepository paymentRepository,
+                                RoomRepository roomRepository,
+                                AuditLogService auditLogService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${analytics.backfill.chunk-size:1000}") int backfillChunkSize,
+                                @Value("${analytics.backfill.slice-days:7}") int backfillSliceDays) {
+        this.statsRepository = statsRepository;
+        this.bookingRepository = bookingRepository;
+        this.restaurantOrderRepository = restaurantOrderRepository;
+        this.paymentRepository = paymentRepository;
+        this.roomRepository = roomRepository;
+        this.auditLogService = auditLogService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.backfillChunkSize = backfillChunkSize;
+        this.backfillSliceDays = Math.max(1, backfillSliceDays);
+    }
+
+    // ------------------ Incremental updates ------------------
+    @Override
+    public void recordStay(Booking booking, BookingFolio folio) {
+        applyStay(booking, folio, 1);
+    }
+
+    @Override
+    public void reverseStay(Booking booking, BookingFolio folio) {
+        applyStay(booking, folio, -1);
+    }
+
+    private void applyStay(Booking booking, BookingFolio folio, int sign) {
+        Long hotelId = hotelOf(booking);
+        if (hotelId == null || booking.getCheckInDate() == null) return;
+
+        Map<LocalDate, Accumulator> deltas = new LinkedHashMap<>();
+        addStay(deltas, booking.getCheckInDate(), booking.getCheckOutDate(),
+                folio.getRoomCharges(), folio.getServiceCharges(), sign, null, null);
+        AfterCommit.run(() -> flush(hotelId, deltas));
+    }
+
+    @Override
+    public void recordServiceRevenue(Booking booking, double amount) {
+        Long hotelId = hotelOf(booking);
+        if (hotelId == null || booking.getCheckInDate() == null || amount == 0) return;
+
+        Accumulator delta = new Accumulator();
+        delta.serviceRevenue = amount;
+        LocalDate date = booking.getCheckInDate();
+        AfterCommit.run(() -> flush(hotelId, Map.of(date, delta)));
+    }
+
+    @Override
+    public void recordRestaurantRevenue(RestaurantOrder order, double amount) {
+        Long hotelId = order.getHotel() != null ? order.getHotel().getId() : hotelOf(order.getBooking());
+        if (hotelId == null || amount == 0) return;
+
+        Accumulator delta = new Accumulator();
+        delta.restaurantRevenue = amount;
+        LocalDate date = order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : LocalDate.now();
+        AfterCommit.run(() -> flush(hotelId, Map.of(date, delta)));
+    }
+
+    @Override
+    public void recordPayment(Payment payment) {
+        Long hotelId = payment.getBooking() != null
+                ? hotelOf(payment.getBooking())
+                : payment.getRestaurantOrder() != null && payment.getRestaurantOrder().getHotel() != null
+                ? payment.getRestaurantOrder().getHotel().getId()
+                : null;
+        if (hotelId == null || payment.getAmount() == null) return;
+
+        Accumulator delta = new Accumulator();
+        delta.paymentsReceived = payment.getAmount();
+        LocalDate date = payment.getPaymentDate() != null ? payment.getPaymentDate().toLocalDate() : LocalDate.now();
+        AfterCommit.run(() -> flush(hotelId, Map.of(date, delta)));
+    }
+
+    private void flush(Long hotelId, Map<LocalDate, Accumulator> deltas) {
+        try {
+            try {
+                applyDeltas(hotelId, deltas);
+            } catch (DataIntegrityViolationException e) {
+                // Another delta inserted one of these days first; its row exists now, so the retry adds to it
+                applyDeltas(hotelId, deltas);
+            }
+        } catch (Exception e) {
+            // The next backfill over this range restores the figures
+            log.error("Analytics rollup update failed for hotel {} on {}: {}", hotelId, deltas.keySet(), e.getMessage(), e);
+        }
+    }
+
+    private void applyDeltas(Long hotelId, Map<LocalDate, Accumulator> deltas) {
+        newTransaction.executeWithoutResult(status -> deltas.forEach((date, d) -> {
+            int updated = statsRepository.increment(hotelId, date, d.roomNights, d.roomRevenue,
+                    d.serviceRevenue, d.restaurantRevenue, d.paymentsReceived);
+            if (updated == 0) {
+                statsRepository.saveAndFlush(HotelDailyStats.builder()
+                        .hotelId(hotelId)
+                        .statDate(date)
+                        .roomNightsSold(d.roomNights)
+                        .roomRevenue(d.roomRevenue)
+                        .serviceRevenue(d.serviceRevenue)
+                        .restaurantRevenue(d.restaurantRevenue)
+                        .paymentsReceived(d.paymentsReceived)
+                        .build());
+            }
+        }));
+    }
+
+    private Long hotelOf(Booking booking) {
+        if (booking == null || booking.getRoom() == null || booking.getRoom().getHotel() == null) return null;
+        return booking.getRoom().getHotel().getId();
+    }
+
+    /**
+     * Spreads room revenue evenly over the nights of a stay and books service revenue on the
+     * check-in date. Shared by incremental updates and the backfill so both count the same way.
+     * When from/to are given, days outside the range are dropped.
+     */
+    private static void addStay(Map<LocalDate, Accumulator> target, LocalDate checkIn, LocalDate checkOut,
+                                Double roomCharges, Double serviceCharges, int sign,
+                                LocalDate from, LocalDate to) {
+        long nights = FolioServiceImpl.billableNights(checkIn, checkOut);
+        double perNight = (roomCharges != null ? roomCharges : 0.0) / nights;
+
+        for (long n = 0; n < nights; n++) {
+            LocalDate night = checkIn.plusDays(n);
+            if (from != null && (night.isBefore(from) || night.isAfter(to))) continue;
+            Accumulator acc = target.computeIfAbsent(night, k -> new Accumulator());
+            acc.roomNights += sign;
+            acc.roomRevenue += sign * perNight;
+        }
+
+        double services = serviceCharges != null ? serviceCharges : 0.0;
+        if (services != 0 && (from == null || (!checkIn.isBefore(from) && !checkIn.isAfter(to)))) {
+            target.computeIfAbsent(checkIn, k -> new Accumulator()).serviceRevenue += sign * services;
+        }
+    }
+
+    // ------------------ Dashboard reads ------------------
+    @Override
+    @PreAuthorize("@access.isManagement()")
+    @Transactional(readOnly = true)
+    public ResponseEntity<HotelAnalyticsResponseDTO> getDailyStats(Long hotelId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        int roomsAvailable = (int) roomRepository.countByHotelId(hotelId);
+        Map<LocalDate, HotelDailyStats> rows = new HashMap<>();
+        for (HotelDailyStats row : statsRepository.findByHotelIdAndStatDateBetweenOrderByStatDateAsc(hotelId, from, to)) {
+            rows.put(row.getStatDate(), row);
+        }
+
+        List<DailyStatsDTO> days = new ArrayList<>();
+        Accumulator total = new Accumulator();
+        int dayCount = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            HotelDailyStats row = rows.get(day);
+            Accumulator acc = row != null ? Accumulator.of(row) : new Accumulator();
+            days.add(toDailyStats(day, roomsAvailable, acc));
+            total.add(acc);
+            dayCount++;
+        }
+
+        return ResponseEntity.ok(HotelAnalyticsResponseDTO.builder()
+                .hotelId(hotelId)
+                .from(from)
+                .to(to)
+                .days(days)
+                .totals(toDailyStats(null, roomsAvailable * dayCount, total))
+                .build());
+    }
+
+    private DailyStatsDTO toDailyStats(LocalDate date, int roomsAvailable, Accumulator acc) {
+        double totalRevenue = acc.roomRevenue + acc.serviceRevenue + acc.restaurantRevenue;
+        return DailyStatsDTO.builder()
+                .date(date)
+                .roomsAvailable(roomsAvailable)
+                .roomNightsSold(acc.roomNights)
+                .occupancy(roomsAvailable > 0 ? round((double) acc.roomNights / roomsAvailable) : 0.0)
+                .adr(acc.roomNights > 0 ? round(acc.roomRevenue / acc.roomNights) : 0.0)
+                .revpar(roomsAvailable > 0 ? round(acc.roomRevenue / roomsAvailable) : 0.0)
+                .roomRevenue(round(acc.roomRevenue))
+                .serviceRevenue(round(acc.serviceRevenue))
+                .restaurantRevenue(round(acc.restaurantRevenue))
+                .totalRevenue(round(totalRevenue))
+                .paymentsReceived(round(acc.paymentsReceived))
+                .build();
+    }
+
+    // ------------------ Backfill ------------------
+    @Override
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<AnalyticsBackfillReportDTO> backfill(LocalDate from, LocalDate to, Long currentUserId) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            long started = System.currentTimeMillis();
+            AnalyticsBackfillReportDTO report = AnalyticsBackfillReportDTO.builder().from(from).to(to).build();
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(backfillSliceDays)) {
+                LocalDate sliceFrom = day;
+                LocalDate sliceEnd = day.plusDays(backfillSliceDays - 1L).isAfter(to) ? to : day.plusDays(backfillSliceDays - 1L);
+                // Scan and swap of one slice share a transaction that first locks that slice's rows:
+                // increments for those days wait and are added to the recomputed figures instead of
+                // being deleted with the old ones, and dashboards never see a day half-written
+                SliceResult slice = newTransaction.execute(status -> {
+                    statsRepository.lockByStatDateBetween(sliceFrom, sliceEnd);
+                    return recompute(sliceFrom, sliceEnd);
+                });
+                report.setBookingsScanned(report.getBookingsScanned() + slice.bookings());
+                report.setOrdersScanned(report.getOrdersScanned() + slice.orders());
+                report.setPaymentsScanned(report.getPaymentsScanned() + slice.payments());
+                report.setRowsWritten(report.getRowsWritten() + slice.rows());
+            }
+            report.setDurationMs(System.currentTimeMillis() - started);
+
+            auditLogService.logSystem("ANALYTICS_BACKFILL_SUCCESS", Map.of(
+                    "actorId", String.valueOf(currentUserId),
+                    "from", from.toString(),
+                    "to", to.toString(),
+                    "rowsWritten", report.getRowsWritten()
+            ));
+            return ResponseEntity.ok(report);
+
+        } catch (Exception e) {
+            log.error("Analytics backfill error: {}", e.getMessage(), e);
+            auditLogService.logSystem("ANALYTICS_BACKFILL_ERROR", Map.of("error", String.valueOf(e.getMessage())));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private record SliceResult(int bookings, int orders, int payments, int rows) {
+    }
+
+    // Recomputes one slice from the transactional tables with keyset-paged queries and replaces its rows
+    private SliceResult recompute(LocalDate from, LocalDate to) {
+        Map<Long, Map<LocalDate, Accumulator>> totals = new HashMap<>();
+        LocalDateTime fromTs = from.atStartOfDay();
+        LocalDateTime toTs = to.plusDays(1).atStartOfDay();
+
+        int bookings = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> page = bookingRepository.findStaysForRollup(afterId, from, to, PageRequest.of(0, backfillChunkSize));
+            for (Object[] row : page) {
+                LocalDate checkIn = (LocalDate) row[2];
+                if (checkIn == null) continue;
+                LocalDate checkOut = (LocalDate) row[3];
+                // Bookings that predate folios are valued at the base room price
+                Double roomCharges = row[4] != null
+                        ? (Double) row[4]
+                        : (row[6] != null ? (Double) row[6] : 0.0) * FolioServiceImpl.billableNights(checkIn, checkOut);
+                addStay(totals.computeIfAbsent((Long) row[1], k -> new HashMap<>()), checkIn, checkOut,
+                        roomCharges, (Double) row[5], 1, from, to);
+            }
+            bookings += page.size();
+            if (page.size() < backfillChunkSize) break;
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+
+        int orders = 0;
+        afterId = 0L;
+        while (true) {
+            List<Object[]> page = restaurantOrderRepository.findOrdersForRollup(afterId, fromTs, toTs, PageRequest.of(0, backfillChunkSize));
+            for (Object[] row : page) {
+                if (row[1] == null || row[3] == null) continue;
+                LocalDate date = ((LocalDateTime) row[2]).toLocalDate();
+                totals.computeIfAbsent((Long) row[1], k -> new HashMap<>())
+                        .computeIfAbsent(date, k -> new Accumulator()).restaurantRevenue += (Double) row[3];
+            }
+            orders += page.size();
+            if (page.size() < backfillChunkSize) break;
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+
+        int payments = 0;
+        afterId = 0L;
+        while (true) {
+            List<Object[]> page = paymentRepository.findPaymentsForRollup(afterId, fromTs, toTs, PageRequest.of(0, backfillChunkSize));
+            for (Object[] row : page) {
+                if (row[1] == null || row[3] == null) continue;
+                LocalDate date = ((LocalDateTime) row[2]).toLocalDate();
+                totals.computeIfAbsent((Long) row[1], k -> new HashMap<>())
+                        .computeIfAbsent(date, k -> new Accumulator()).paymentsReceived += (Double) row[3];
+            }
+            payments += page.size();
+            if (page.size() < backfillChunkSize) break;
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+
+        List<HotelDailyStats> rows = new ArrayList<>();
+        totals.forEach((hotelId, byDate) -> byDate.forEach((date, acc) -> rows.add(HotelDailyStats.builder()
+                .hotelId(hotelId)
+                .statDate(date)
+                .roomNightsSold(acc.roomNights)
+                .roomRevenue(acc.roomRevenue)
+                .serviceRevenue(acc.serviceRevenue)
+                .restaurantRevenue(acc.restaurantRevenue)
+                .paymentsReceived(acc.paymentsReceived)
+                .build())));
+
+        statsRepository.deleteByStatDateBetween(from, to);
+        statsRepository.saveAll(rows);
+
+        return new SliceResult(bookings, orders, payments, rows.size());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static final class Accumulator {
+        int roomNights;
+        double roomRevenue;
+        double serviceRevenue;
+        double restaurantRevenue;
+        double paymentsReceived;
+
+        static Accumulator of(HotelDailyStats row) {
+            Accumulator acc = new Accumulator();
+            acc.roomNights = row.getRoomNightsSold() != null ? row.getRoomNightsSold() : 0;
+            acc.roomRevenue = row.getRoomRevenue() != null ? row.getRoomRevenue() : 0.0;
+            acc.serviceRevenue = row.getServiceRevenue() != null ? row.getServiceRevenue() : 0.0;
+            acc.restaurantRevenue = row.getRestaurantRevenue() != null ? row.getRestaurantRevenue() : 0.0;
+            acc.paymentsReceived = row.getPaymentsReceived() != null ? row.getPaymentsReceived() : 0.0;
+            return acc;
+        }
+
+        void add(Accumulator other) {
+            roomNights += other.roomNights;
+            roomRevenue += other.roomRevenue;
+            serviceRevenue += other.serviceRevenue;
+            restaurantRevenue += other.restaurantRevenue;
+            paymentsReceived += other.paymentsReceived;
+        }
+    }
+}
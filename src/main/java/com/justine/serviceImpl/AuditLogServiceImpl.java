@@ -1,62 +1,71 @@
 package com.justine.serviceImpl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.justine.model.AuditLog;
 import com.justine.repository.AuditLogRepository;
 import com.justine.service.AuditLogService;
+import com.justine.utils.AuditActionDictionary;
+import com.justine.utils.AuditMetadataCodec;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.*;
 
+/**
+ * Writes audit rows on the audit executor. Entity/action pairs are stored as a dictionary id
+ * ({@link AuditActionDictionary}) and metadata as a capped, redacted {@link AuditMetadataCodec}
+ * record, sized by {@code audit.metadata.*}.
+ */
 @Service
 @Slf4j
 public class AuditLogServiceImpl implements AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    // Heavy job queue executor for high concurrency
-    private final ExecutorService auditExecutor = new ThreadPoolExecutor(
-            4,
-            8,
-            60L, TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(500),
-            new ThreadPoolExecutor.CallerRunsPolicy()
-    );
-
-    public AuditLogServiceImpl(AuditLogRepository auditLogRepository) {
+    private final AuditActionDictionary actions;
+    private final AuditMetadataCodec codec;
+
+    // Platform pool or virtual threads, see AsyncConfig
+    private final AsyncTaskExecutor auditExecutor;
+
+    public AuditLogServiceImpl(AuditLogRepository auditLogRepository,
+                               AuditActionDictionary actions,
+                               @Qualifier("auditExecutor") AsyncTaskExecutor auditExecutor,
+                               @Value("${audit.metadata.max-bytes:1024}") int maxBytes,
+                               @Value("${audit.metadata.max-string-length:256}") int maxStringLength,
+                               @Value("${audit.metadata.max-entries:32}") int maxEntries,
+                               @Value("${audit.metadata.max-depth:3}") int maxDepth) {
         this.auditLogRepository = auditLogRepository;
+        this.actions = actions;
+        this.auditExecutor = auditExecutor;
+        this.codec = new AuditMetadataCodec(maxBytes, maxStringLength, maxEntries, maxDepth);
     }
 
     // Generic Save
-    @Async("auditExecutor")
-    @Transactional
-    @Override
-    public void logAction(Long actorId, String action, String entity, Long entityId, String metadataJson) {
-        auditExecutor.submit(() -> {
-            try {
-                AuditLog logEntry = AuditLog.builder()
-                        .actorId(actorId)
-                        .action(action)
-                        .entity(entity)
-                        .entityId(entityId)
-                        .metadataJson(metadataJson)
-                        .createdAt(LocalDateTime.now())
-                        .build();
-
-                auditLogRepository.save(logEntry);
-                log.debug("[AUDIT] {} | action={} | entityId={}", entity, action, entityId);
-            } catch (Exception e) {
-                log.error("[AUDIT ERROR] Could not save log for {}: {}", entity, e.getMessage());
-            }
-        });
+    @Override
+    public void logAction(Long actorId, String action, String entity, Long entityId, Map<String, Object> metadata) {
+        auditExecutor.submit(() -> saveAction(actorId, action, entity, entityId, metadata));
+    }
+
+    private void saveAction(Long actorId, String action, String entity, Long entityId, Map<String, ?> metadata) {
+        try {
+            AuditLog logEntry = AuditLog.builder()
+                    .actorId(actorId)
+                    .actionId(actions.idOf(entity, action))
+                    .entityId(entityId)
+                    .metadata(codec.encode(metadata))
+                    .createdAt(LocalDateTime.now())
+                    .build();
+
+            auditLogRepository.save(logEntry);
+            log.debug("[AUDIT] {} | action={} | entityId={}", entity, action, entityId);
+        } catch (Exception e) {
+            log.error("[AUDIT ERROR] Could not save log for {}: {}", entity, e.getMessage());
+        }
     }
 
     // ------------------ Booking Logs ------------------
@@ -80,15 +89,10 @@ public class AuditLogServiceImpl implements AuditLogService {
     // ------------------ Invoice Logs ------------------
     @Override
     public void logInvoice(Long actorId, String action, Long invoiceId, Long bookingId, String invoiceUrl) {
-        try {
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("bookingId", bookingId);
-            metadata.put("invoiceUrl", invoiceUrl);
-            String json = objectMapper.writeValueAsString(metadata);
-            logAction(actorId, action, "Invoice", invoiceId, json);
-        } catch (Exception e) {
-            log.error("[AUDIT ERROR] Failed invoice log {}: {}", action, e.getMessage());
-        }
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("bookingId", bookingId);
+        metadata.put("invoiceUrl", invoiceUrl);
+        logAction(actorId, action, "Invoice", invoiceId, metadata);
     }
 
     // ------------------ Payment Logs ------------------
@@ -115,6 +119,12 @@ public class AuditLogServiceImpl implements AuditLogService {
         logEntity("Staff", actorId, action, staffId, metadata);
     }
 
+    // ------------------ Housekeeping Logs ------------------
+    @Override
+    public void logHousekeeping(Long actorId, String action, Long taskId, Map<String, Object> metadata) {
+        logEntity("Housekeeping", actorId, action, taskId, metadata);
+    }
+
     // ------------------ Auth Service Logs ------------------
     @Override
     public void logAuthService(Long actorId, String action, Map<String, Object> metadata) {
@@ -124,28 +134,13 @@ public class AuditLogServiceImpl implements AuditLogService {
     // ------------------ Password Reset Logs ------------------
     @Override
     public void logPasswordResetAction(HttpServletRequest request, String action, String description) {
-        auditExecutor.submit(() -> {
-            try {
-                String ip = getClientIp(request);
-                Map<String, Object> metadata = new HashMap<>();
-                metadata.put("ipAddress", ip);
-                metadata.put("description", description);
-                String json = objectMapper.writeValueAsString(metadata);
-
-                AuditLog logEntry = AuditLog.builder()
-                        .actorId(null)
-                        .action(action)
-                        .entity("PasswordReset")
-                        .metadataJson(json)
-                        .createdAt(LocalDateTime.now())
-                        .build();
-
-                auditLogRepository.save(logEntry);
-                log.info("[AUDIT] PasswordReset | action={} | ip={}", action, ip);
-            } catch (Exception e) {
-                log.error("[AUDIT ERROR] Failed password reset log: {}", e.getMessage());
-            }
-        });
+        // Read the request on the calling thread; the container recycles it once the response is sent
+        String ip = getClientIp(request);
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("ipAddress", ip);
+        metadata.put("description", description);
+        log.info("[AUDIT] PasswordReset | action={} | ip={}", action, ip);
+        logAction(null, action, "PasswordReset", null, metadata);
     }
 
     // ------------------ Testimonial Logs ------------------
@@ -169,56 +164,18 @@ public class AuditLogServiceImpl implements AuditLogService {
     // ------------------ System Logs ------------------
     @Override
     public void logSystem(String action, Map<String, Object> metadata) {
-        auditExecutor.submit(() -> {
-            try {
-                String json = objectMapper.writeValueAsString(metadata != null ? metadata : Map.of());
-                AuditLog logEntry = AuditLog.builder()
-                        .action(action)
-                        .entity("System")
-                        .metadataJson(json)
-                        .createdAt(LocalDateTime.now())
-                        .build();
-
-                auditLogRepository.save(logEntry);
-                log.debug("[AUDIT] System | action={} | metadata={}", action, json);
-            } catch (Exception e) {
-                log.error("[AUDIT ERROR] Failed system log '{}': {}", action, e.getMessage());
-            }
-        });
+        logEntity("System", null, action, null, metadata);
     }
 
     // ------------------ Contact Message Logs ------------------
     @Override
     public void logContactMessage(String entityName, Long entityId, String action, Map<String, Object> metadata) {
-        auditExecutor.submit(() -> {
-            try {
-                String json = objectMapper.writeValueAsString(metadata != null ? metadata : Map.of());
-                AuditLog auditLog = AuditLog.builder()
-                        .entity(entityName)
-                        .action(action)
-                        .entityId(entityId)
-                        .metadataJson(json)
-                        .createdAt(LocalDateTime.now())
-                        .build();
-
-                auditLogRepository.save(auditLog);
-                log.debug("[AUDIT] Contact | action={} | entityId={}", action, entityId);
-            } catch (Exception e) {
-                log.error("[AUDIT ERROR] Failed contact message log: {}", e.getMessage(), e);
-            }
-        });
+        logEntity(entityName, null, action, entityId, metadata);
     }
 
     // ------------------ Private Helper ------------------
     private void logEntity(String entityName, Long actorId, String action, Long entityId, Map<String, Object> metadata) {
-        auditExecutor.submit(() -> {
-            try {
-                String json = objectMapper.writeValueAsString(metadata != null ? metadata : Map.of());
-                logAction(actorId, action, entityName, entityId, json);
-            } catch (Exception e) {
-                log.error("[AUDIT ERROR] Failed {} log {}: {}", entityName, action, e.getMessage());
-            }
-        });
+        logAction(actorId, action, entityName, entityId, metadata);
     }
 
     private String getClientIp(HttpServletRequest request) {
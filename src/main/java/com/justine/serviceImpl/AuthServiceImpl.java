@@ -12,6 +12,7 @@ import com.justine.model.Guest;
 import com.justine.model.Staff;
 import com.justine.repository.GuestRepository;
 import com.justine.repository.StaffRepository;
+import com.justine.security.AccessGuard;
 import com.justine.security.JwtUtils;
 import com.justine.service.AuditLogService;
 import com.justine.service.AuthService;
@@ -23,7 +24,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,6 +43,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtUtils jwtUtils;
     private final AuditLogService auditLogService;
     private final EmailService emailService;
+    private final AccessGuard access;
 
     public AuthServiceImpl(
             GuestRepository guestRepository,
@@ -50,7 +51,8 @@ public class AuthServiceImpl implements AuthService {
             PasswordEncoder passwordEncoder,
             JwtUtils jwtUtils,
             AuditLogService auditLogService,
-            EmailService emailService
+            EmailService emailService,
+            AccessGuard access
     ) {
         this.guestRepository = guestRepository;
         this.staffRepository = staffRepository;
@@ -58,12 +60,7 @@ public class AuthServiceImpl implements AuthService {
         this.jwtUtils = jwtUtils;
         this.auditLogService = auditLogService;
         this.emailService = emailService;
-    }
-
-    private boolean isAdminOrStaff() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        return auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || a.getAuthority().equals("ROLE_RECEPTIONIST"));
+        this.access = access;
     }
 
     // ---------------- REGISTER GUEST ----------------
@@ -116,9 +113,7 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public ResponseEntity<?> registerStaff(StaffRequestDTO dto, Authentication authentication) {
         try {
-            boolean isAdmin = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            if (!isAdmin)
+            if (!access.isAdmin())
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only admins can register staff");
 
             if (staffRepository.existsByEmail(dto.getEmail()))
@@ -165,10 +160,8 @@ public class AuthServiceImpl implements AuthService {
     public ResponseEntity<?> updateUser(Long id, Map<String, Object> updates, Authentication authentication) {
         try {
             String authUserId = authentication.getName();
-            boolean isAdmin = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            boolean isStaffRole = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().contains("STAFF") || a.getAuthority().contains("MANAGER"));
+            boolean isAdmin = access.isAdmin();
+            boolean isStaffRole = access.hasRole(StaffRole.MANAGER);
 
             if (!isAdmin && !authUserId.equals(String.valueOf(id))) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -226,8 +219,7 @@ public class AuthServiceImpl implements AuthService {
             if (!isPasswordStrong(newPassword))
                 return ResponseEntity.badRequest().body("Password must be at least 8 characters and include uppercase, lowercase, number, and special character");
 
-            boolean isStaffRole = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().contains("STAFF") || a.getAuthority().contains("MANAGER") || a.getAuthority().contains("ADMIN"));
+            boolean isStaffRole = access.isManagement();
 
             if (isStaffRole) {
                 Staff staff = staffRepository.findById(userId)
@@ -364,7 +356,7 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public ResponseEntity<List<GuestResponseDTO>> getAllUsers() {
-        if (!isAdminOrStaff()){
+        if (!access.isFrontDesk()){
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
@@ -0,0 +1,269 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.request.RoomSearchRequestDTO;
+import com.justine.dtos.response.HotelResponseDTO;
+import com.justine.dtos.response.RoomResponseDTO;
+import com.justine.dtos.response.RoomSearchResponseDTO;
+import com.justine.enums.BookingStatus;
+import com.justine.enums.RoomStatus;
+import com.justine.enums.RoomType;
+import com.justine.model.Hotel;
+import com.justine.model.Room;
+import com.justine.repository.BookingRepository;
+import com.justine.repository.RoomRepository;
+import com.justine.service.AvailabilitySearchService;
+import com.justine.service.PricingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chain-wide availability search over an immutable in-memory snapshot of rooms and
+ * active stays. The snapshot is rebuilt in the background and swapped atomically, so
+ * searches never touch the database. Rooms are kept sorted by price, which turns the
+ * price band into a binary search and ranking into an early-exit scan for the
+ * requested page. Price filters and ranking use the base nightly price; each result carries
+ * its dynamic stay total from the pricing engine. Booking endpoints still check availability
+ * against the database.
+ */
+@Slf4j
+@Service
+public class AvailabilitySearchServiceImpl implements AvailabilitySearchService {
+
+    private static final RoomEntry[] NO_ROOMS = new RoomEntry[0];
+    private static final int[] NO_DAYS = new int[0];
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final PricingService pricingService;
+    private final int maxPageSize;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Inventory inventory;
+
+    public AvailabilitySearchServiceImpl(RoomRepository roomRepository,
+                                         BookingRepository bookingRepository,
+                                         PricingService pricingService,
+                                         @Value("${inventory.search.max-page-size:100}") int maxPageSize) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.pricingService = pricingService;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public ResponseEntity<RoomSearchResponseDTO> searchRooms(RoomSearchRequestDTO dto) {
+        if (dto.getCheckIn() == null || dto.getCheckOut() == null
+                || !dto.getCheckOut().isAfter(dto.getCheckIn())
+                || dto.getPage() < 0 || dto.getSize() <= 0 || dto.getSize() > maxPageSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        Inventory inv = currentInventory();
+        RoomEntry[] rooms = dto.getType() != null
+                ? inv.byType().getOrDefault(dto.getType(), NO_ROOMS)
+                : inv.byPrice();
+
+        // Price band as an index range over the price-sorted array
+        int from = dto.getMinPrice() != null ? firstAtOrAbove(rooms, dto.getMinPrice()) : 0;
+        int to = dto.getMaxPrice() != null ? firstAbove(rooms, dto.getMaxPrice()) : rooms.length;
+
+        int stayStart = (int) dto.getCheckIn().toEpochDay();
+        int stayEnd = (int) dto.getCheckOut().toEpochDay();
+        int guests = dto.getGuests() != null ? dto.getGuests() : 0;
+        String location = dto.getLocation() != null && !dto.getLocation().isBlank()
+                ? dto.getLocation().trim().toLowerCase(Locale.ROOT)
+                : null;
+
+        int skip = dto.getPage() * dto.getSize();
+        List<RoomResponseDTO> results = new ArrayList<>(dto.getSize());
+        boolean hasNext = false;
+        boolean descending = dto.getSort() == RoomSearchRequestDTO.Sort.PRICE_DESC;
+
+        for (int n = 0, matched = 0; n < to - from; n++) {
+            RoomEntry room = rooms[descending ? to - 1 - n : from + n];
+            if (guests > room.type().getMaxOccupancy()) continue;
+            if (location != null && !room.hotel().searchKey().contains(location)) continue;
+            if (!room.isFree(stayStart, stayEnd)) continue;
+
+            if (matched++ < skip) continue;
+            if (results.size() == dto.getSize()) {
+                hasNext = true;
+                break;
+            }
+            RoomResponseDTO result = room.toResponse();
+            result.setStayTotal(pricingService.quoteStay(room.hotel().id(), room.type(), room.price(),
+                    dto.getCheckIn(), dto.getCheckOut()));
+            results.add(result);
+        }
+
+        return ResponseEntity.ok(RoomSearchResponseDTO.builder()
+                .rooms(results)
+                .page(dto.getPage())
+                .size(dto.getSize())
+                .hasNext(hasNext)
+                .snapshotTakenAt(inv.takenAt())
+                .build());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.snapshot.refresh-ms:15000}",
+            initialDelayString = "${inventory.snapshot.initial-delay-ms:0}")
+    @Transactional(readOnly = true)
+    public void refreshInventory() {
+        refreshLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            inventory = loadInventory();
+            log.debug("Inventory snapshot rebuilt: {} rooms in {}ms",
+                    inventory.byPrice().length, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            log.error("Inventory snapshot refresh failed: {}", e.getMessage(), e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Inventory currentInventory() {
+        Inventory inv = inventory;
+        if (inv != null) return inv;
+
+        refreshLock.lock();
+        try {
+            if (inventory == null) inventory = loadInventory();
+            return inventory;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // ------------------ Snapshot building ------------------
+    private Inventory loadInventory() {
+        LocalDate today = LocalDate.now();
+
+        Map<Long, List<int[]>> windowsByRoom = new HashMap<>();
+        for (Object[] row : bookingRepository.findStayWindows(
+                EnumSet.of(BookingStatus.BOOKED, BookingStatus.CHECKED_IN), today)) {
+            LocalDate checkIn = (LocalDate) row[1];
+            LocalDate checkOut = (LocalDate) row[2];
+            if (checkIn == null || checkOut == null) continue;
+            windowsByRoom.computeIfAbsent((Long) row[0], k -> new ArrayList<>())
+                    .add(new int[]{(int) checkIn.toEpochDay(), (int) checkOut.toEpochDay()});
+        }
+
+        Map<Long, HotelEntry> hotels = new HashMap<>();
+        List<RoomEntry> entries = new ArrayList<>();
+        for (Room room : roomRepository.findAllWithHotel()) {
+            if (room.getType() == null || room.getPricePerNight() == null) continue;
+            // Out of service rooms are refused by createBooking, so they are never offered
+            if (!room.isAvailable() || room.getHousekeepingStatus() == RoomStatus.OUT_OF_ORDER) continue;
+
+            HotelEntry hotel = hotels.computeIfAbsent(room.getHotel().getId(), id -> HotelEntry.of(room.getHotel()));
+            List<int[]> windows = windowsByRoom.getOrDefault(room.getId(), Collections.emptyList());
+
+            int[] starts = windows.isEmpty() ? NO_DAYS : new int[windows.size()];
+            int[] maxEnds = windows.isEmpty() ? NO_DAYS : new int[windows.size()];
+            int maxEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < windows.size(); i++) {
+                starts[i] = windows.get(i)[0];
+                maxEnd = Math.max(maxEnd, windows.get(i)[1]);
+                maxEnds[i] = maxEnd;
+            }
+
+            entries.add(new RoomEntry(room.getId(), room.getRoomNumber(), room.getRoomImageUrl(), room.getType(),
+                    room.getPricePerNight(), hotel, starts, maxEnds));
+        }
+
+        Comparator<RoomEntry> byPrice = Comparator.comparingDouble(RoomEntry::price).thenComparingLong(RoomEntry::roomId);
+        entries.sort(byPrice);
+
+        Map<RoomType, RoomEntry[]> byType = new EnumMap<>(RoomType.class);
+        for (RoomType type : RoomType.values()) {
+            byType.put(type, entries.stream().filter(e -> e.type() == type).toArray(RoomEntry[]::new));
+        }
+
+        return new Inventory(entries.toArray(NO_ROOMS), byType, LocalDateTime.now());
+    }
+
+    private static int firstAtOrAbove(RoomEntry[] rooms, double price) {
+        int lo = 0, hi = rooms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (rooms[mid].price() < price) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int firstAbove(RoomEntry[] rooms, double price) {
+        int lo = 0, hi = rooms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (rooms[mid].price() <= price) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // ------------------ Snapshot types ------------------
+    private record Inventory(RoomEntry[] byPrice, Map<RoomType, RoomEntry[]> byType, LocalDateTime takenAt) {
+    }
+
+    private record HotelEntry(Long id, String name, String location, String contactNumber, String email,
+                              String imageUrl, String searchKey) {
+        static HotelEntry of(Hotel hotel) {
+            String key = ((hotel.getLocation() != null ? hotel.getLocation() : "") + " "
+                    + (hotel.getName() != null ? hotel.getName() : "")).toLowerCase(Locale.ROOT);
+            return new HotelEntry(hotel.getId(), hotel.getName(), hotel.getLocation(), hotel.getContactNumber(),
+                    hotel.getEmail(), hotel.getHotelImageUrl(), key);
+        }
+    }
+
+    /**
+     * Stay windows are sorted by check-in; maxEnds[i] is the latest check-out among the
+     * first i + 1 windows, so overlap is one binary search even if stays overlap each other.
+     */
+    private record RoomEntry(long roomId, String roomNumber, String imageUrl, RoomType type, double price,
+                             HotelEntry hotel, int[] starts, int[] maxEnds) {
+
+        // Half-open [stayStart, stayEnd): a guest may check in on the day another checks out
+        boolean isFree(int stayStart, int stayEnd) {
+            int lo = 0, hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < stayEnd) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo == 0 || maxEnds[lo - 1] <= stayStart;
+        }
+
+        RoomResponseDTO toResponse() {
+            return RoomResponseDTO.builder()
+                    .id(roomId)
+                    .roomNumber(roomNumber)
+                    .roomImageUrl(imageUrl)
+                    .type(type)
+                    .pricePerNight(price)
+                    .available(true)
+                    .hotel(HotelResponseDTO.builder()
+                            .id(hotel.id())
+                            .name(hotel.name())
+                            .location(hotel.location())
+                            .contactNumber(hotel.contactNumber())
+                            .email(hotel.email())
+                            .hotelImageUrl(hotel.imageUrl())
+                            .build())
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.justine.serviceImpl;
 
 import com.justine.dtos.request.BookingRequestDTO;
+import com.justine.dtos.request.BulkStayRequestDTO;
+import com.justine.dtos.request.GroupBookingRequestDTO;
 import com.justine.dtos.request.OrderItemRequestDTO;
 import com.justine.dtos.request.PaymentRequestDTO;
 import com.justine.dtos.request.RestaurantOrderRequestDTO;
@@ -8,25 +10,35 @@ import com.justine.dtos.response.*;
 import com.justine.enums.BookingStatus;
 import com.justine.enums.OrderStatus;
 import com.justine.enums.PaymentStatus;
-import com.justine.enums.StaffRole;
+import com.justine.enums.RoomStatus;
+import com.justine.events.*;
+import com.justine.events.handlers.InvoiceDocumentHandler;
 import com.justine.model.*;
 import com.justine.repository.*;
+import com.justine.repository.projection.BookingOrderItemRow;
+import com.justine.repository.projection.BookingRow;
+import com.justine.repository.projection.BookingServiceRow;
+import com.justine.security.AccessGuard;
+import com.justine.service.AnalyticsService;
 import com.justine.service.AuditLogService;
 import com.justine.service.BookingService;
-import com.justine.utils.CloudinaryService;
-import com.justine.utils.InvoicePdfGenerator;
-import jakarta.transaction.Transactional;
+import com.justine.service.FolioService;
+import com.justine.service.FrontDeskBoardService;
+import com.justine.service.PricingService;
+import com.justine.utils.AppMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -43,11 +55,23 @@ public class BookingServiceImpl implements BookingService {
     private final ServiceRepository serviceRepository;
     private final InvoiceRepository invoiceRepository;
     private final PaymentRepository paymentRepository;
-    private final CloudinaryService cloudinaryService;
     private final AuditLogService auditLogService;
     private final StaffRepository staffRepository;
+    private final FolioService folioService;
+    private final PricingService pricingService;
+    private final AnalyticsService analyticsService;
+    private final FrontDeskBoardService frontDeskBoardService;
+    private final AccessGuard access;
+    private final AppMetrics metrics;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BookingServiceImpl(BookingRepository bookingRepository, FoodItemRepository foodItemRepository, RestaurantOrderRepository restaurantOrderRepository, OrderItemRepository orderItemRepository, RoomRepository roomRepository, GuestRepository guestRepository, ServiceRepository serviceRepository, InvoiceRepository invoiceRepository, PaymentRepository paymentRepository, CloudinaryService cloudinaryService, AuditLogService auditLogService, StaffRepository staffRepository) {
+    @Value("${booking.bulk.max-size:500}")
+    private int maxBulkSize;
+
+    @Value("${booking.group.max-rooms:200}")
+    private int maxGroupRooms;
+
+    public BookingServiceImpl(BookingRepository bookingRepository, FoodItemRepository foodItemRepository, RestaurantOrderRepository restaurantOrderRepository, OrderItemRepository orderItemRepository, RoomRepository roomRepository, GuestRepository guestRepository, ServiceRepository serviceRepository, InvoiceRepository invoiceRepository, PaymentRepository paymentRepository, AuditLogService auditLogService, StaffRepository staffRepository, FolioService folioService, PricingService pricingService, AnalyticsService analyticsService, FrontDeskBoardService frontDeskBoardService, AccessGuard access, AppMetrics metrics, ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
         this.foodItemRepository = foodItemRepository;
         this.restaurantOrderRepository = restaurantOrderRepository;
@@ -57,30 +81,27 @@ public class BookingServiceImpl implements BookingService {
         this.serviceRepository = serviceRepository;
         this.invoiceRepository = invoiceRepository;
         this.paymentRepository = paymentRepository;
-        this.cloudinaryService = cloudinaryService;
         this.auditLogService = auditLogService;
         this.staffRepository = staffRepository;
-    }
-
-    // ------------------ Auth Helpers ------------------
-    private boolean isAdmin() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        return auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-    }
-
-    private boolean isReceptionist() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        return auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_RECEPTIONIST"));
+        this.folioService = folioService;
+        this.pricingService = pricingService;
+        this.analyticsService = analyticsService;
+        this.frontDeskBoardService = frontDeskBoardService;
+        this.access = access;
+        this.metrics = metrics;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional
     public ResponseEntity<BookingResponseDTO> createBooking(BookingRequestDTO dto, Long currentUserId) {
+        return metrics.time(AppMetrics.BOOKING_CREATE, () -> doCreateBooking(dto, currentUserId));
+    }
+
+    private ResponseEntity<BookingResponseDTO> doCreateBooking(BookingRequestDTO dto, Long currentUserId) {
         try {
-            boolean admin = isAdmin();
-            boolean receptionist = isReceptionist(); // new helper
+            boolean admin = access.isAdmin();
+            boolean receptionist = access.isReceptionist();
 
             Guest guest = guestRepository.findById(dto.getGuestId())
                     .orElseThrow(() -> new RuntimeException("Guest not found"));
@@ -93,7 +114,9 @@ public class BookingServiceImpl implements BookingService {
             Room room = roomRepository.findById(dto.getRoomId())
                     .orElseThrow(() -> new RuntimeException("Room not found"));
 
-            if (!room.isAvailable()) return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            if (!room.isAvailable() || room.getHousekeepingStatus() == RoomStatus.OUT_OF_ORDER) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
 
             Booking booking = Booking.builder()
                     .bookingCode(UUID.randomUUID().toString().replace("-", "").substring(0, 10).toUpperCase())
@@ -106,9 +129,8 @@ public class BookingServiceImpl implements BookingService {
                     .build();
 
             if (admin || receptionist) {
-                Staff staff = staffRepository.findById(currentUserId)
-                        .orElseThrow(() -> new RuntimeException("Staff not found"));
-                booking.setStaff(staff);
+                // The caller was loaded when the request was authenticated
+                booking.setStaff(staffRepository.getReferenceById(currentUserId));
             }
 
             if (dto.getServiceIds() != null && !dto.getServiceIds().isEmpty()) {
@@ -122,16 +144,12 @@ public class BookingServiceImpl implements BookingService {
 
             Booking saved = bookingRepository.save(booking);
 
-            long nights = ChronoUnit.DAYS.between(saved.getCheckInDate(), saved.getCheckOutDate());
-            nights = Math.max(nights, 1); // at least 1 night
-
-            double totalAmount = (saved.getRoom().getPricePerNight() != null ? saved.getRoom().getPricePerNight() : 0.0) * nights;
-
-            if (saved.getServices() != null) {
-                totalAmount += saved.getServices().stream()
-                        .mapToDouble(s -> s.getPrice() != null ? s.getPrice() : 0.0)
-                        .sum();
-            }
+            // Priced before the stay counts towards occupancy
+            BookingFolio folio = folioService.openFolio(saved);
+            double totalAmount = folio.getTotalAmount();
+            pricingService.recordStay(room, saved.getCheckInDate(), saved.getCheckOutDate());
+            analyticsService.recordStay(saved, folio);
+            frontDeskBoardService.bookingChanged(saved);
 
             Invoice invoice = Invoice.builder()
                     .invoiceNumber("INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
@@ -142,10 +160,10 @@ public class BookingServiceImpl implements BookingService {
                     .build();
             invoiceRepository.save(invoice);
 
-            generateAndUploadInvoicePdf(invoice);
-
             saved.setInvoice(invoice);
             bookingRepository.save(saved);
+            // The invoice PDF is rendered and uploaded once the booking has committed
+            eventPublisher.publishEvent(new BookingCreated(List.of(saved.getId()), invoice.getId()));
 
             auditLogService.logBooking(
                     guest.getId(),
@@ -180,35 +198,163 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    // ------------------ Group Booking ------------------
+    /**
+     * Reserves a block of rooms of one type in a single pass: one locking query picks the rooms,
+     * bookings and folios are saved in batches, and the whole block shares one invoice, one PDF
+     * (rendered after commit) and one audit event. Either every room is booked or nothing is.
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<GroupBookingResponseDTO> createGroupBooking(GroupBookingRequestDTO dto, Long currentUserId) {
+        try {
+            if (dto.getHotelId() == null || dto.getRoomType() == null || dto.getGuestId() == null
+                    || dto.getCheckInDate() == null || dto.getCheckOutDate() == null
+                    || !dto.getCheckOutDate().isAfter(dto.getCheckInDate())
+                    || dto.getRoomCount() <= 0 || dto.getRoomCount() > maxGroupRooms) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+
+            boolean admin = access.isAdmin();
+            boolean receptionist = access.isReceptionist();
+
+            Guest guest = guestRepository.findById(dto.getGuestId())
+                    .orElseThrow(() -> new RuntimeException("Guest not found"));
+
+            boolean canBook = admin || receptionist || (currentUserId != null && currentUserId.equals(guest.getId()));
+            if (!canBook) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+
+            List<Room> rooms = roomRepository.findAllocatableRooms(
+                    dto.getHotelId(), dto.getRoomType(), dto.getCheckInDate(), dto.getCheckOutDate(),
+                    EnumSet.of(BookingStatus.BOOKED, BookingStatus.CHECKED_IN),
+                    PageRequest.of(0, dto.getRoomCount()));
+            if (rooms.size() < dto.getRoomCount()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+
+            Staff staff = null;
+            if (admin || receptionist) {
+                staff = staffRepository.getReferenceById(currentUserId);
+            }
+
+            List<com.justine.model.Service> services = dto.getServiceIds() != null && !dto.getServiceIds().isEmpty()
+                    ? serviceRepository.findAllById(dto.getServiceIds())
+                    : Collections.emptyList();
+
+            String groupCode = "GRP-" + UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
+
+            List<Booking> bookings = new ArrayList<>(rooms.size());
+            for (Room room : rooms) {
+                bookings.add(Booking.builder()
+                        .bookingCode(UUID.randomUUID().toString().replace("-", "").substring(0, 10).toUpperCase())
+                        .groupCode(groupCode)
+                        .checkInDate(dto.getCheckInDate())
+                        .checkOutDate(dto.getCheckOutDate())
+                        .numberOfGuests(dto.getGuestsPerRoom())
+                        .status(BookingStatus.BOOKED)
+                        .guest(guest)
+                        .room(room)
+                        .staff(staff)
+                        .services(new ArrayList<>(services))
+                        .build());
+            }
+
+            List<Booking> saved = bookingRepository.saveAll(bookings);
+            List<Long> roomIds = rooms.stream().map(Room::getId).toList();
+
+            // The whole block is priced at the occupancy seen before it
+            List<BookingFolio> folios = folioService.openFolios(saved);
+            double totalAmount = folios.stream()
+                    .mapToDouble(BookingFolio::getTotalAmount)
+                    .sum();
+            rooms.forEach(r -> pricingService.recordStay(r, dto.getCheckInDate(), dto.getCheckOutDate()));
+            folios.forEach(f -> analyticsService.recordStay(f.getBooking(), f));
+            frontDeskBoardService.bookingsMoved(saved, BookingStatus.BOOKED);
+
+            // The consolidated invoice hangs off the first booking of the block
+            Booking lead = saved.get(0);
+            Invoice invoice = Invoice.builder()
+                    .invoiceNumber("INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                    .issuedDate(LocalDate.now())
+                    .totalAmount(totalAmount)
+                    .paid(false)
+                    .groupCode(groupCode)
+                    .booking(lead)
+                    .build();
+            invoiceRepository.save(invoice);
+            lead.setInvoice(invoice);
+
+            // Mapped while the block is attached; the bulk UPDATE below clears the persistence context
+            List<BookingResponseDTO> bookingResponses = saved.stream().map(this::toBookingResponse).toList();
+            bookingResponses.forEach(b -> {
+                if (b.getRoom() != null) b.getRoom().setAvailable(false);
+            });
+            InvoiceResponseDTO invoiceResponse = toInvoiceResponse(invoice);
+
+            // Flushes the pending inserts, then flips every room in one statement
+            roomRepository.updateAvailabilityByIdIn(roomIds, false);
+
+            List<Long> bookingIds = saved.stream().map(Booking::getId).toList();
+            eventPublisher.publishEvent(new BookingCreated(bookingIds, invoice.getId()));
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("groupCode", groupCode);
+            metadata.put("guestId", guest.getId());
+            metadata.put("roomType", dto.getRoomType());
+            metadata.put("roomIds", roomIds);
+            metadata.put("bookingIds", bookingIds);
+            metadata.put("invoiceNumber", invoice.getInvoiceNumber());
+            metadata.put("amount", totalAmount);
+            auditLogService.logBooking(
+                    staff != null ? staff.getId() : guest.getId(),
+                    staff != null ? "CREATE_GROUP_BOOKING_BY_STAFF" : "CREATE_GROUP_BOOKING_BY_GUEST",
+                    lead.getId(),
+                    metadata
+            );
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(GroupBookingResponseDTO.builder()
+                    .groupCode(groupCode)
+                    .roomCount(saved.size())
+                    .totalAmount(totalAmount)
+                    .invoice(invoiceResponse)
+                    .bookings(bookingResponses)
+                    .build());
+
+        } catch (Exception e) {
+            // Errors are answered with a status, so the rollback has to be requested explicitly
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.error("Error creating group booking: {}", e.getMessage(), e);
+            auditLogService.logBooking(currentUserId, "CREATE_GROUP_BOOKING_ERROR", null,
+                    Map.of("error", String.valueOf(e.getMessage()), "request", dto));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Override
     @Transactional
     public ResponseEntity<PaymentResponseDTO> makePayment(PaymentRequestDTO dto, Long currentUserId) {
+        return metrics.time(AppMetrics.PAYMENT_MAKE, () -> doMakePayment(dto, currentUserId));
+    }
+
+    private ResponseEntity<PaymentResponseDTO> doMakePayment(PaymentRequestDTO dto, Long currentUserId) {
         try {
 
             Booking booking = bookingRepository.findById(dto.getBookingId())
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+            // A group is billed on one consolidated invoice, so it is paid as a whole
+            if (booking.getGroupCode() != null) return payGroup(booking, dto);
+
             if (booking.getPayment() != null && booking.getPayment().getStatus() == PaymentStatus.PAID) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
             }
 
-            long nights = ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate());
-            double roomCost = booking.getRoom().getPricePerNight() * nights;
+            // Settle the open cart first so its charge is on the folio before we read the total
+            settleCart(booking);
 
-            double serviceCost = booking.getServices() != null
-                    ? booking.getServices().stream()
-                    .mapToDouble(s -> s.getPrice() != null ? s.getPrice() : 0.0)
-                    .sum()
-                    : 0.0;
-
-            double ordersCost = booking.getOrders() != null
-                    ? booking.getOrders().stream()
-                    .flatMap(o -> o.getOrderItems().stream())
-                    .mapToDouble(i -> i.getFoodItem().getPrice() * i.getQuantity())
-                    .sum()
-                    : 0.0;
-
-            double totalCost = roomCost + serviceCost + ordersCost;
+            double totalCost = folioService.getFolio(booking).getTotalAmount();
 
             Payment payment = booking.getPayment() != null ? booking.getPayment() : new Payment();
             payment.setBooking(booking);
@@ -218,30 +364,13 @@ public class BookingServiceImpl implements BookingService {
             payment.setPaymentDate(LocalDateTime.now());
             payment.setStatus(PaymentStatus.PAID);
             paymentRepository.save(payment);
+            analyticsService.recordPayment(payment);
 
             booking.setPayment(payment);
             booking.setStatus(BookingStatus.CHECKED_IN);
 
-            booking.getOrders().stream()
-                    .filter(o -> o.getCart() && o.getStatus() == OrderStatus.PENDING)
-                    .findFirst()
-                    .ifPresent(cart -> {
-                        cart.setCart(false);
-                        cart.setStatus(OrderStatus.PAID);
-
-                        if (cart.getOrderItems() != null && !cart.getOrderItems().isEmpty()) {
-                            cart.getOrderItems().forEach(item -> {
-                                item.setStatus(OrderStatus.PAID);
-                                item.setOrder(null);
-                            });
-                            orderItemRepository.saveAll(cart.getOrderItems());
-                            cart.getOrderItems().clear();
-                        }
-
-                        restaurantOrderRepository.save(cart);
-                    });
-
             Invoice invoice = booking.getInvoice();
+            List<String> staleDocuments = List.of();
             if (invoice == null) {
                 invoice = Invoice.builder()
                         .invoiceNumber("INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
@@ -251,19 +380,18 @@ public class BookingServiceImpl implements BookingService {
                         .booking(booking)
                         .build();
             } else {
-                if (invoice.getInvoiceUrl() != null) {
-                    cloudinaryService.deleteFile(cloudinaryService.extractPublicIdFromUrl(invoice.getInvoiceUrl()));
-                }
+                // The unpaid PDF is deleted and replaced after commit
+                staleDocuments = InvoiceDocumentHandler.detachDocuments(invoice);
                 invoice.setPaid(true);
                 invoice.setTotalAmount(totalCost);
                 invoice.setIssuedDate(LocalDate.now());
             }
             invoiceRepository.save(invoice);
 
-            generateAndUploadInvoicePdf(invoice);
-
             booking.setInvoice(invoice);
             bookingRepository.save(booking);
+            frontDeskBoardService.bookingChanged(booking);
+            eventPublisher.publishEvent(new PaymentCompleted(payment.getId(), invoice.getId(), staleDocuments));
 
             auditLogService.logBooking(
                     booking.getGuest().getId(),
@@ -287,25 +415,128 @@ public class BookingServiceImpl implements BookingService {
     }
 
 
+    /**
+     * Pays every live booking of a group at once: each member gets a payment for its own folio and
+     * the consolidated invoice, which hangs off the lead booking, is settled for their sum.
+     */
+    private ResponseEntity<PaymentResponseDTO> payGroup(Booking booking, PaymentRequestDTO dto) {
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        String groupCode = booking.getGroupCode();
+        List<Booking> members = bookingRepository.findAllWithRoomByGroupCode(groupCode).stream()
+                .filter(m -> m.getStatus() != BookingStatus.CANCELLED)
+                .sorted(Comparator.comparing(Booking::getId))
+                .toList();
+        if (members.stream().anyMatch(m -> m.getPayment() != null && m.getPayment().getStatus() == PaymentStatus.PAID)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+
+        LocalDateTime paidAt = LocalDateTime.now();
+        double groupTotal = 0.0;
+        List<Payment> payments = new ArrayList<>(members.size());
+        for (Booking member : members) {
+            settleCart(member);
+            double amount = folioService.getFolio(member).getTotalAmount();
+            groupTotal += amount;
+
+            Payment payment = member.getPayment() != null ? member.getPayment() : new Payment();
+            payment.setBooking(member);
+            payment.setAmount(amount);
+            payment.setMethod(dto.getMethod());
+            payment.setTransactionId(dto.getTransactionId());
+            payment.setPaymentDate(paidAt);
+            payment.setStatus(PaymentStatus.PAID);
+            payments.add(payment);
+
+            member.setPayment(payment);
+            member.setStatus(BookingStatus.CHECKED_IN);
+        }
+        paymentRepository.saveAll(payments);
+        payments.forEach(analyticsService::recordPayment);
+
+        Invoice invoice = invoiceRepository.findByGroupCode(groupCode);
+        List<String> staleDocuments = List.of();
+        if (invoice == null) {
+            invoice = Invoice.builder()
+                    .invoiceNumber("INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                    .groupCode(groupCode)
+                    .booking(members.get(0))
+                    .build();
+            members.get(0).setInvoice(invoice);
+        } else {
+            staleDocuments = InvoiceDocumentHandler.detachDocuments(invoice);
+        }
+        invoice.setPaid(true);
+        invoice.setTotalAmount(groupTotal);
+        invoice.setIssuedDate(LocalDate.now());
+        invoiceRepository.save(invoice);
+
+        bookingRepository.saveAll(members);
+        members.forEach(frontDeskBoardService::bookingChanged);
+
+        Payment paid = booking.getPayment();
+        eventPublisher.publishEvent(new PaymentCompleted(paid.getId(), invoice.getId(), staleDocuments));
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("groupCode", groupCode);
+        metadata.put("bookingIds", members.stream().map(Booking::getId).toList());
+        metadata.put("amount", groupTotal);
+        metadata.put("transactionId", dto.getTransactionId());
+        auditLogService.logBooking(
+                booking.getGuest().getId(),
+                "MAKE_GROUP_PAYMENT_SUCCESS",
+                booking.getId(),
+                metadata
+        );
+
+        // The caller was charged for the whole group
+        PaymentResponseDTO response = toPaymentResponse(paid);
+        response.setAmount(groupTotal);
+        return ResponseEntity.ok(response);
+    }
+
+    private void settleCart(Booking booking) {
+        booking.getOrders().stream()
+                .filter(o -> o.getCart() && o.getStatus() == OrderStatus.PENDING)
+                .findFirst()
+                .ifPresent(cart -> {
+                    cart.setCart(false);
+                    cart.setStatus(OrderStatus.PAID);
+
+                    if (cart.getOrderItems() != null && !cart.getOrderItems().isEmpty()) {
+                        cart.getOrderItems().forEach(item -> {
+                            item.setStatus(OrderStatus.PAID);
+                            item.setOrder(null);
+                        });
+                        orderItemRepository.saveAll(cart.getOrderItems());
+                        cart.getOrderItems().clear();
+                    }
+
+                    restaurantOrderRepository.save(cart);
+                    double cartTotal = cart.getTotalAmount() != null ? cart.getTotalAmount() : 0.0;
+                    folioService.postRestaurantCharge(booking, cartTotal);
+                    analyticsService.recordRestaurantRevenue(cart, cartTotal);
+                });
+    }
+
     // ------------------ Generate Invoice ------------------
     @Override
     @Transactional
+    @PreAuthorize("@access.isAdmin()")
     public ResponseEntity<InvoiceResponseDTO> generateInvoice(Long bookingId, Long currentUserId) {
         try {
-            if (!isAdmin()) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
             Invoice invoice = booking.getInvoice();
+            if (invoice == null && booking.getGroupCode() != null) {
+                // Every member of a group is billed on the lead booking's consolidated invoice
+                invoice = invoiceRepository.findByGroupCode(booking.getGroupCode());
+            }
             if (invoice != null) return ResponseEntity.ok(toInvoiceResponse(invoice));
 
-            double totalAmount = booking.getRoom().getPricePerNight();
-            if (booking.getServices() != null) {
-                totalAmount += booking.getServices().stream()
-                        .mapToDouble(s -> s.getPrice() != null ? s.getPrice() : 0.0)
-                        .sum();
-            }
+            double totalAmount = folioService.getFolio(booking).getTotalAmount();
 
             invoice = Invoice.builder()
                     .invoiceNumber("INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
@@ -316,10 +547,9 @@ public class BookingServiceImpl implements BookingService {
                     .build();
             invoiceRepository.save(invoice);
 
-            generateAndUploadInvoicePdf(invoice);
-
             booking.setInvoice(invoice);
             bookingRepository.save(booking);
+            eventPublisher.publishEvent(new InvoiceIssued(invoice.getId()));
 
             auditLogService.logBooking(
                     booking.getGuest().getId(),
@@ -338,37 +568,23 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    // ------------------ Helper: PDF & Cloud Upload ------------------
-    private void generateAndUploadInvoicePdf(Invoice invoice) {
-        try {
-            MultipartFile pdfFile = InvoicePdfGenerator.generateReceipt(invoice);
-            Map<String, String> urls = cloudinaryService.uploadFileWithEagerSizes(pdfFile, "hotel_invoices");
-            invoice.setInvoiceUrl(urls.get("large"));
-            invoice.setInvoiceUrlMedium(urls.get("medium"));
-            invoice.setInvoiceUrlThumbnail(urls.get("thumbnail"));
-            invoiceRepository.save(invoice);
-        } catch (Exception e) {
-            log.error("Invoice PDF generation/upload failed for invoice {}: {}", invoice.getId(), e.getMessage(), e);
-        }
-    }
-
-    // ------------------ Get Booking ------------------
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<BookingResponseDTO> getBooking(Long bookingId, Long currentUserId) {
         try {
-            Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
-            if (bookingOpt.isEmpty()) return ResponseEntity.ok(null);
+            Optional<BookingRow> rowOpt = bookingRepository.findRowById(bookingId);
+            if (rowOpt.isEmpty()) return ResponseEntity.ok(null);
 
-            Booking booking = bookingOpt.get();
+            BookingRow booking = rowOpt.get();
 
-            if (!isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
+            if (!access.isAdmin() && (currentUserId == null || !currentUserId.equals(booking.guestId()))) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
 
-            auditLogService.logBooking(booking.getGuest().getId(), "VIEW_BOOKING_SUCCESS",
-                    booking.getId(), Map.of("bookingCode", booking.getBookingCode()));
+            auditLogService.logBooking(booking.guestId(), "VIEW_BOOKING_SUCCESS",
+                    booking.id(), Map.of("bookingCode", booking.bookingCode()));
 
-            return ResponseEntity.ok(toBookingResponse(booking));
+            return ResponseEntity.ok(toBookingResponses(List.of(booking)).get(0));
         } catch (Exception e) {
             log.error("Error getting booking: {}", e.getMessage());
             auditLogService.logBooking(null, "VIEW_BOOKING_ERROR", bookingId,
@@ -379,18 +595,18 @@ public class BookingServiceImpl implements BookingService {
 
     // ------------------ List Bookings ------------------
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<List<BookingResponseDTO>> listBookingsForGuest(Long guestId, Long currentUserId) {
         try {
-            Guest guest = guestRepository.findById(guestId)
-                    .orElseThrow(() -> new RuntimeException("Guest not found"));
+            if (!guestRepository.existsById(guestId)) {
+                throw new RuntimeException("Guest not found");
+            }
 
-            if (!isAdmin() && (currentUserId == null || !currentUserId.equals(guest.getId()))) {
+            if (!access.isAdmin() && (currentUserId == null || !currentUserId.equals(guestId))) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
 
-            List<BookingResponseDTO> bookings = bookingRepository.findByGuestId(guestId).stream()
-                    .map(this::toBookingResponse)
-                    .collect(Collectors.toList());
+            List<BookingResponseDTO> bookings = toBookingResponses(bookingRepository.findRowsByGuestId(guestId));
 
             auditLogService.logBooking(guestId, "LIST_BOOKINGS_SUCCESS", null,
                     Map.of("count", bookings.size()));
@@ -416,7 +632,7 @@ public class BookingServiceImpl implements BookingService {
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
             // Permission validation
-            if (!isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
+            if (!access.isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
                 auditLogService.logBooking(
                         currentUserId,
                         "ADD_SERVICES_FORBIDDEN",
@@ -464,6 +680,10 @@ public class BookingServiceImpl implements BookingService {
             booking.getServices().addAll(services);
 
             Booking saved = bookingRepository.save(booking);
+            folioService.postServiceCharges(saved, services);
+            analyticsService.recordServiceRevenue(saved, services.stream()
+                    .mapToDouble(svc -> svc.getPrice() != null ? svc.getPrice() : 0.0)
+                    .sum());
 
             auditLogService.logBooking(
                     booking.getGuest().getId(),
@@ -495,6 +715,7 @@ public class BookingServiceImpl implements BookingService {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+            BookingStatus previousStatus = booking.getStatus();
             booking.setStatus(BookingStatus.CANCELLED);
             bookingRepository.save(booking);
 
@@ -502,25 +723,27 @@ public class BookingServiceImpl implements BookingService {
             if (room != null) {
                 room.setAvailable(true);
                 roomRepository.save(room);
+                if (previousStatus == BookingStatus.BOOKED || previousStatus == BookingStatus.CHECKED_IN) {
+                    pricingService.releaseStay(room, booking.getCheckInDate(), booking.getCheckOutDate());
+                }
+            }
+            if (previousStatus != BookingStatus.CANCELLED) {
+                // Rollups take back what the folio carried before its room charges are reversed
+                analyticsService.reverseStay(booking, folioService.getFolio(booking));
+                folioService.reverseRoomCharges(booking);
+            }
+            frontDeskBoardService.bookingChanged(booking);
+            if (previousStatus == BookingStatus.CHECKED_IN) {
+                eventPublisher.publishEvent(new RoomReleased(List.of(booking.getId())));
             }
 
             Invoice invoice = booking.getInvoice();
             if (invoice != null) {
-                if (invoice.getInvoiceUrl() != null) {
-                    String publicId = cloudinaryService.extractPublicIdFromUrl(invoice.getInvoiceUrl());
-                    cloudinaryService.deleteFile(publicId);
-                }
-                if (invoice.getInvoiceUrlMedium() != null) {
-                    String publicIdMedium = cloudinaryService.extractPublicIdFromUrl(invoice.getInvoiceUrlMedium());
-                    cloudinaryService.deleteFile(publicIdMedium);
-                }
-                if (invoice.getInvoiceUrlThumbnail() != null) {
-                    String publicIdThumb = cloudinaryService.extractPublicIdFromUrl(invoice.getInvoiceUrlThumbnail());
-                    cloudinaryService.deleteFile(publicIdThumb);
-                }
-
+                // Documents are deleted from Cloudinary only once the cancellation has committed
+                List<String> documents = InvoiceDocumentHandler.detachDocuments(invoice);
                 invoiceRepository.delete(invoice);
                 booking.setInvoice(null);
+                eventPublisher.publishEvent(new BookingCancelled(booking.getId(), documents));
             }
 
             auditLogService.logBooking(
@@ -541,6 +764,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<BookingResponseDTO> findByBookingCode(String code, Long currentUserId) {
         try {
             Optional<Booking> bookingOpt = bookingRepository.findByBookingCode(code);
@@ -549,7 +773,7 @@ public class BookingServiceImpl implements BookingService {
             Booking booking = bookingOpt.get();
 
             // Permission check: only admin/staff or the guest who owns the booking
-            if (!isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
+            if (!access.isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
 
@@ -575,18 +799,16 @@ public class BookingServiceImpl implements BookingService {
 
     // ------------------ Check-In ------------------
     @Override
+    @PreAuthorize("@access.isAdmin()")
     @Transactional
     public ResponseEntity<BookingResponseDTO> checkIn(Long bookingId, Long currentUserId) {
         try {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-            if (!isAdmin()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-
             booking.setStatus(BookingStatus.CHECKED_IN);
             bookingRepository.save(booking);
+            frontDeskBoardService.bookingChanged(booking);
 
             auditLogService.logBooking(booking.getGuest().getId(), "CHECK_IN_SUCCESS",
                     booking.getId(), Map.of("bookingCode", booking.getBookingCode()));
@@ -602,24 +824,27 @@ public class BookingServiceImpl implements BookingService {
 
     // ------------------ Check-Out ------------------
     @Override
+    @PreAuthorize("@access.isAdmin()")
     @Transactional
     public ResponseEntity<BookingResponseDTO> checkOut(Long bookingId, Long currentUserId) {
         try {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-            if (!isAdmin()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-
+            BookingStatus previousStatus = booking.getStatus();
             booking.setStatus(BookingStatus.CHECKED_OUT);
             Room room = booking.getRoom();
             if (room != null) {
                 room.setAvailable(true);
                 roomRepository.save(room);
+                if (previousStatus == BookingStatus.BOOKED || previousStatus == BookingStatus.CHECKED_IN) {
+                    pricingService.releaseStay(room, booking.getCheckInDate(), booking.getCheckOutDate());
+                }
             }
 
             bookingRepository.save(booking);
+            frontDeskBoardService.bookingChanged(booking);
+            eventPublisher.publishEvent(new RoomReleased(List.of(booking.getId())));
 
             auditLogService.logBooking(
                     booking.getGuest().getId(),
@@ -637,6 +862,116 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    // ------------------ Bulk Check-In / Check-Out ------------------
+    @Override
+    @PreAuthorize("@access.isAdmin()")
+    @Transactional
+    public ResponseEntity<BulkStayResponseDTO> bulkCheckIn(BulkStayRequestDTO dto, Long currentUserId) {
+        return applyBulkStayTransition(dto, currentUserId, BookingStatus.CHECKED_IN,
+                EnumSet.of(BookingStatus.BOOKED), false, "BULK_CHECK_IN");
+    }
+
+    @Override
+    @PreAuthorize("@access.isAdmin()")
+    @Transactional
+    public ResponseEntity<BulkStayResponseDTO> bulkCheckOut(BulkStayRequestDTO dto, Long currentUserId) {
+        // Only guests in house can leave; a BOOKED no-show is cancelled, not checked out
+        return applyBulkStayTransition(dto, currentUserId, BookingStatus.CHECKED_OUT,
+                EnumSet.of(BookingStatus.CHECKED_IN), true, "BULK_CHECK_OUT");
+    }
+
+    /**
+     * Loads every target booking in one query, then moves bookings and rooms with one
+     * UPDATE each. Bookings that cannot make the transition are reported, not failed.
+     */
+    private ResponseEntity<BulkStayResponseDTO> applyBulkStayTransition(BulkStayRequestDTO dto,
+                                                                        Long currentUserId,
+                                                                        BookingStatus target,
+                                                                        Set<BookingStatus> allowedFrom,
+                                                                        boolean releaseRooms,
+                                                                        String action) {
+        try {
+            boolean byGroup = dto.getGroupCode() != null && !dto.getGroupCode().isBlank();
+            boolean byIds = dto.getBookingIds() != null && !dto.getBookingIds().isEmpty();
+            if (byGroup == byIds) {
+                // exactly one of bookingIds / groupCode must be given
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+
+            Set<Long> requestedIds = byIds ? new LinkedHashSet<>(dto.getBookingIds()) : Collections.emptySet();
+            if (requestedIds.size() > maxBulkSize) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+
+            List<Booking> bookings = byGroup
+                    ? bookingRepository.findAllWithRoomByGroupCode(dto.getGroupCode())
+                    : bookingRepository.findAllWithRoomByIdIn(requestedIds);
+            if (bookings.size() > maxBulkSize) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+
+            Map<Long, String> skipped = new LinkedHashMap<>();
+            if (byIds) {
+                Set<Long> found = bookings.stream().map(Booking::getId).collect(Collectors.toSet());
+                requestedIds.stream()
+                        .filter(id -> !found.contains(id))
+                        .forEach(id -> skipped.put(id, "Booking not found"));
+            }
+
+            List<Long> bookingIds = new ArrayList<>();
+            List<Booking> moved = new ArrayList<>();
+            Set<Long> roomIds = new HashSet<>();
+            for (Booking b : bookings) {
+                if (b.getStatus() == target) {
+                    skipped.put(b.getId(), "Already " + target);
+                } else if (!allowedFrom.contains(b.getStatus())) {
+                    skipped.put(b.getId(), "Cannot move from " + b.getStatus() + " to " + target);
+                } else {
+                    bookingIds.add(b.getId());
+                    moved.add(b);
+                    if (b.getRoom() != null) roomIds.add(b.getRoom().getId());
+                }
+            }
+
+            if (!bookingIds.isEmpty()) {
+                // Everything that reads the loaded bookings runs before the UPDATEs, which detach them
+                if (releaseRooms) {
+                    for (Booking b : moved) {
+                        if (b.getRoom() != null) {
+                            pricingService.releaseStay(b.getRoom(), b.getCheckInDate(), b.getCheckOutDate());
+                        }
+                    }
+                }
+                frontDeskBoardService.bookingsMoved(moved, target);
+                bookingRepository.updateStatusByIdIn(bookingIds, target);
+                if (!roomIds.isEmpty()) {
+                    roomRepository.updateAvailabilityByIdIn(roomIds, releaseRooms);
+                }
+                if (target == BookingStatus.CHECKED_OUT) eventPublisher.publishEvent(new RoomReleased(bookingIds));
+            }
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("processed", bookingIds.size());
+            metadata.put("skipped", skipped.size());
+            metadata.put("bookingIds", bookingIds);
+            if (byGroup) metadata.put("groupCode", dto.getGroupCode());
+            auditLogService.logBooking(currentUserId, action + "_SUCCESS", null, metadata);
+
+            return ResponseEntity.ok(BulkStayResponseDTO.builder()
+                    .requested(byIds ? requestedIds.size() : bookings.size())
+                    .processed(bookingIds.size())
+                    .processedBookingIds(bookingIds)
+                    .skipped(skipped)
+                    .build());
+
+        } catch (Exception e) {
+            log.error("{} error: {}", action, e.getMessage(), e);
+            auditLogService.logBooking(currentUserId, action + "_ERROR", null,
+                    Map.of("error", String.valueOf(e.getMessage())));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // ------------------ Auto Release Rooms ------------------
     @Override
     @Transactional
@@ -673,6 +1008,7 @@ public class BookingServiceImpl implements BookingService {
 
     // ------------------ Find Available Rooms ------------------
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<List<RoomResponseDTO>> findAvailableRooms(LocalDate startDate, LocalDate endDate) {
         try {
             List<Booking> overlapping = bookingRepository.findOverlappingBookings(startDate, endDate);
@@ -681,7 +1017,8 @@ public class BookingServiceImpl implements BookingService {
                     .collect(Collectors.toSet());
 
             List<RoomResponseDTO> availableRooms = roomRepository.findAll().stream()
-                    .filter(r -> !occupiedRoomIds.contains(r.getId()) && r.isAvailable())
+                    .filter(r -> !occupiedRoomIds.contains(r.getId()) && r.isAvailable()
+                            && r.getHousekeepingStatus() != RoomStatus.OUT_OF_ORDER)
                     .map(r -> RoomResponseDTO.builder()
                             .id(r.getId())
                             .roomNumber(r.getRoomNumber())
@@ -705,12 +1042,10 @@ public class BookingServiceImpl implements BookingService {
 
     // ------------------ Get All Bookings ------------------
     @Override
+    @PreAuthorize("@access.isAdmin()")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<BookingResponseDTO>> getAllBookings(Long currentUserId) {
         try {
-            if (!isAdmin()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-
             List<Booking> bookings = bookingRepository.findAllWithPayment();
 
             List<BookingResponseDTO> bookingsDTO = bookings.stream()
@@ -725,13 +1060,18 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public ResponseEntity<List<BookingResponseDTO>> filterBookings(LocalDate startDate, LocalDate endDate, String status, Long currentUserId) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<BookingResponseDTO>> filterBookings(LocalDate startDate, LocalDate endDate, String status, Long hotelId, Long currentUserId) {
         try {
             List<Booking> bookings;
 
             // Admin/staff: can filter all bookings
-            if (isAdmin()) {
-                if (status != null && !status.isEmpty()) {
+            if (access.isAdmin()) {
+                if (hotelId != null) {
+                    bookings = status != null && !status.isEmpty()
+                            ? bookingRepository.findByHotelIdAndCheckInDateBetweenAndStatus(hotelId, startDate, endDate, BookingStatus.valueOf(status))
+                            : bookingRepository.findByHotelIdAndCheckInDateBetween(hotelId, startDate, endDate);
+                } else if (status != null && !status.isEmpty()) {
                     bookings = bookingRepository.findByCheckInDateBetweenAndStatus(startDate, endDate, BookingStatus.valueOf(status));
                 } else {
                     bookings = bookingRepository.findByCheckInDateBetween(startDate, endDate);
@@ -774,12 +1114,13 @@ public class BookingServiceImpl implements BookingService {
         }
     }
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<List<RestaurantOrderResponseDTO>> getOrdersForBooking(Long bookingId, Long currentUserId) {
         try {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-            if (!isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
+            if (!access.isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
                 auditLogService.logBooking(currentUserId, "VIEW_ORDERS_FOR_BOOKING_FORBIDDEN", bookingId, null);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -875,10 +1216,14 @@ public class BookingServiceImpl implements BookingService {
             Invoice invoice = booking.getInvoice();
 
             double newTotal = cart.getTotalAmount();
-            invoice.setTotalAmount(invoice.getTotalAmount() + newTotal);
-
             restaurantOrderRepository.save(cart);
-            invoiceRepository.save(invoice);
+
+            BookingFolio folio = folioService.postRestaurantCharge(booking, newTotal);
+            analyticsService.recordRestaurantRevenue(cart, newTotal);
+            if (invoice != null) {
+                invoice.setTotalAmount(folio.getTotalAmount());
+                invoiceRepository.save(invoice);
+            }
 
             auditLogService.logBooking(booking.getGuest().getId(), "CONFIRM_CART_SUCCESS", booking.getId(),
                     Map.of("cartTotal", newTotal));
@@ -933,7 +1278,7 @@ public class BookingServiceImpl implements BookingService {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-            if (!isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
+            if (!access.isAdmin() && (currentUserId == null || !currentUserId.equals(booking.getGuest().getId()))) {
                 auditLogService.logBooking(
                         currentUserId,
                         "ADD_ORDER_FORBIDDEN",
@@ -985,16 +1330,19 @@ public class BookingServiceImpl implements BookingService {
             order.setOrderItems(orderItems);
             order.setTotalAmount(total);
 
+            BookingFolio folio = folioService.postRestaurantCharge(booking, total);
+            analyticsService.recordRestaurantRevenue(order, total);
+
             // Invoice management
             Invoice invoice = booking.getInvoice();
             if (invoice == null) {
                 invoice = Invoice.builder()
                         .booking(booking)
-                        .totalAmount(total)
+                        .totalAmount(folio.getTotalAmount())
                         .paid(false).build();
                 booking.setInvoice(invoice);
             } else {
-                invoice.setTotalAmount(invoice.getTotalAmount() + total);
+                invoice.setTotalAmount(folio.getTotalAmount());
             }
 
             booking.getOrders().add(order);
@@ -1024,13 +1372,10 @@ public class BookingServiceImpl implements BookingService {
 
     // ------------------ New Method: Get Receptionist Bookings and Contributions ------------------
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<ReceptionistBookingsResponseDTO> getReceptionistBookingsAndContributions(Long currentUserId) {
         try {
-            // Validate Staff Existence & Role
-            Staff staff = staffRepository.findById(currentUserId)
-                    .orElseThrow(() -> new RuntimeException("Staff not found"));
-
-            if (!"RECEPTIONIST".equals(staff.getRole().name())) {
+            if (!access.isReceptionist()) {
                 auditLogService.logBooking(
                         currentUserId,
                         "GET_RECEPTIONIST_BOOKINGS_FORBIDDEN",
@@ -1096,19 +1441,17 @@ public class BookingServiceImpl implements BookingService {
         }
     }
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<List<InvoiceResponseDTO>> getReceptionistInvoices(Long currentUserId) {
         try {
-            Staff staff = staffRepository.findById(currentUserId)
-                    .orElseThrow(() -> new RuntimeException("Staff not found"));
-
             // Only admin or receptionist can view invoices
-            if (!staff.getRole().equals(StaffRole.RECEPTIONIST) && !staff.getRole().equals(StaffRole.ADMIN)) {
+            if (!access.isFrontDesk()) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
 
             List<Booking> bookings;
 
-            if (staff.getRole().equals(StaffRole.ADMIN)) {
+            if (access.isAdmin()) {
                 // Admin sees all bookings with invoices
                 bookings = bookingRepository.findAll(); // `@EntityGraph` already loads invoice, guest, room, services
             } else {
@@ -1145,7 +1488,8 @@ public class BookingServiceImpl implements BookingService {
     }
 
     // ------------------ Mapping Helpers ------------------
-    private BookingResponseDTO toBookingResponse(Booking booking) {
+    // Package-private for the mapping benchmark
+    BookingResponseDTO toBookingResponse(Booking booking) {
         // Find the cart (if any)
         RestaurantOrderResponseDTO cart = booking.getOrders() != null
                 ? booking.getOrders().stream()
@@ -1191,6 +1535,125 @@ public class BookingServiceImpl implements BookingService {
                 .build();
     }
 
+    /**
+     * Read-path mapping from projections: one select for the bookings, one for their services and
+     * one for their orders with items, whatever the number of bookings.
+     */
+    private List<BookingResponseDTO> toBookingResponses(List<BookingRow> rows) {
+        if (rows.isEmpty()) return new ArrayList<>();
+        List<Long> ids = rows.stream().map(BookingRow::id).toList();
+
+        Map<Long, List<ServiceResponseDTO>> servicesByBooking = bookingRepository.findServiceRows(ids).stream()
+                .collect(Collectors.groupingBy(BookingServiceRow::bookingId,
+                        Collectors.mapping(this::toServiceResponse, Collectors.toList())));
+        Map<Long, List<RestaurantOrderResponseDTO>> ordersByBooking = toOrderResponses(bookingRepository.findOrderItemRows(ids));
+
+        List<BookingResponseDTO> responses = new ArrayList<>(rows.size());
+        for (BookingRow row : rows) {
+            List<RestaurantOrderResponseDTO> bookingOrders = ordersByBooking.getOrDefault(row.id(), Collections.emptyList());
+            responses.add(toBookingResponse(row,
+                    servicesByBooking.getOrDefault(row.id(), Collections.emptyList()),
+                    bookingOrders.stream()
+                            .filter(o -> Boolean.TRUE.equals(o.getCart()) && o.getStatus() == OrderStatus.PENDING)
+                            .findFirst()
+                            .orElse(null),
+                    bookingOrders.stream().filter(o -> !Boolean.TRUE.equals(o.getCart())).toList()));
+        }
+        return responses;
+    }
+
+    private BookingResponseDTO toBookingResponse(BookingRow row, List<ServiceResponseDTO> services,
+                                                 RestaurantOrderResponseDTO cart, List<RestaurantOrderResponseDTO> orders) {
+        return BookingResponseDTO.builder()
+                .id(row.id())
+                .bookingCode(row.bookingCode())
+                .checkInDate(row.checkInDate())
+                .checkOutDate(row.checkOutDate())
+                .numberOfGuests(row.numberOfGuests() != null ? row.numberOfGuests() : 0)
+                .status(row.status())
+                .room(row.roomId() != null ? RoomResponseDTO.builder()
+                        .id(row.roomId())
+                        .roomNumber(row.roomNumber())
+                        .type(row.roomType())
+                        .pricePerNight(row.pricePerNight())
+                        .available(Boolean.TRUE.equals(row.roomAvailable()))
+                        .roomImageUrl(row.roomImageUrl())
+                        .hotel(row.hotelId() != null ? HotelResponseDTO.builder()
+                                .id(row.hotelId())
+                                .name(row.hotelName())
+                                .location(row.hotelLocation())
+                                .contactNumber(row.hotelContactNumber())
+                                .email(row.hotelEmail())
+                                .hotelImageUrl(row.hotelImageUrl())
+                                .build() : null)
+                        .build() : null)
+                .guest(row.guestId() != null ? GuestResponseDTO.builder()
+                        .id(row.guestId())
+                        .fullName(row.guestFullName())
+                        .email(row.guestEmail())
+                        .phoneNumber(row.guestPhoneNumber())
+                        .idNumber(row.guestIdNumber())
+                        .gender(row.guestGender())
+                        .build() : null)
+                .services(services)
+                .invoiceExists(row.invoiceId() != null)
+                .payment(row.paymentId() != null ? PaymentResponseDTO.builder()
+                        .id(row.paymentId())
+                        .amount(row.paymentAmount())
+                        .method(row.paymentMethod())
+                        .status(row.paymentStatus())
+                        .paymentDate(row.paymentDate())
+                        .transactionId(row.paymentTransactionId())
+                        .build() : null)
+                .cart(cart)
+                .orders(orders)
+                .build();
+    }
+
+    // Rows arrive ordered by order id then item id; an order without items has one row with null item columns
+    private Map<Long, List<RestaurantOrderResponseDTO>> toOrderResponses(List<BookingOrderItemRow> rows) {
+        Map<Long, List<RestaurantOrderResponseDTO>> byBooking = new HashMap<>();
+        Map<Long, RestaurantOrderResponseDTO> byOrder = new HashMap<>();
+        for (BookingOrderItemRow row : rows) {
+            RestaurantOrderResponseDTO order = byOrder.computeIfAbsent(row.orderId(), id -> {
+                RestaurantOrderResponseDTO dto = RestaurantOrderResponseDTO.builder()
+                        .id(id)
+                        .orderDate(row.orderDate())
+                        .status(row.status())
+                        .cart(row.cart())
+                        .totalAmount(row.totalAmount())
+                        .orderItems(new ArrayList<>())
+                        .build();
+                byBooking.computeIfAbsent(row.bookingId(), b -> new ArrayList<>()).add(dto);
+                return dto;
+            });
+            if (row.itemId() == null) continue;
+
+            order.getOrderItems().add(OrderItemResponseDTO.builder()
+                    .id(row.itemId())
+                    .quantity(row.quantity() != null ? row.quantity() : 0)
+                    .foodItem(row.foodItemId() != null ? FoodItemResponseDTO.builder()
+                            .id(row.foodItemId())
+                            .itemName(row.itemName())
+                            .price(row.price())
+                            .imageUrl(row.imageUrl())
+                            .category(row.category())
+                            .hotelId(row.foodHotelId())
+                            .build() : null)
+                    .build());
+        }
+        return byBooking;
+    }
+
+    private ServiceResponseDTO toServiceResponse(BookingServiceRow service) {
+        return ServiceResponseDTO.builder()
+                .id(service.id())
+                .name(service.name())
+                .description(service.description())
+                .price(service.price())
+                .build();
+    }
+
     private RoomResponseDTO toRoomResponse(Room room) {
         if (room == null) return null;
 
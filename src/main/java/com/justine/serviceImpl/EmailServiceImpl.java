@@ -5,7 +5,9 @@ import com.justine.model.Staff;
 import com.justine.repository.StaffRepository;
 import com.justine.security.events.RateLimitEvent;
 import com.justine.service.EmailService;
-import jakarta.annotation.PostConstruct;
+import com.justine.utils.AppMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -13,31 +15,28 @@ import org.springframework.context.event.EventListener;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@EnableAsync
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
     private final StaffRepository staffRepository;
-    private ExecutorService emailExecutor;
+    private final AppMetrics metrics;
+    private final ObservationRegistry observationRegistry;
+
     public EmailServiceImpl(JavaMailSender mailSender,
-                            StaffRepository staffRepository) {
+                            StaffRepository staffRepository,
+                            AppMetrics metrics,
+                            ObservationRegistry observationRegistry) {
         this.mailSender = mailSender;
         this.staffRepository = staffRepository;
-    }
-
-    @PostConstruct
-    public void init() {
-        this.emailExecutor = Executors.newFixedThreadPool(3);
+        this.metrics = metrics;
+        this.observationRegistry = observationRegistry;
     }
 
     // ---------------- Utility to get client IP ----------------
@@ -48,6 +47,13 @@ public class EmailServiceImpl implements EmailService {
     }
 
     // ---------------- Email Sending ----------------
+    private void send(MimeMessage mimeMessage) {
+        Observation.createNotStarted("hotel.email.send", observationRegistry)
+                .contextualName("send email")
+                .observe(() -> mailSender.send(mimeMessage));
+        metrics.countEmail(AppMetrics.SUCCESS);
+    }
+
     @Async
     @Override
     public void sendEmail(String to, String subject, String text) {
@@ -57,10 +63,11 @@ public class EmailServiceImpl implements EmailService {
             helper.setTo(to);
             helper.setSubject(subject);
             helper.setText(text, true);
-            mailSender.send(mimeMessage);
+            send(mimeMessage);
             log.info("Email sent successfully to {}", to);
         } catch (Exception e) {
             log.error("Failed to send email to {}: {}", to, e.getMessage());
+            metrics.countEmail(AppMetrics.FAILURE);
         }
     }
 
@@ -76,10 +83,11 @@ public class EmailServiceImpl implements EmailService {
             helper.setTo(to);
             helper.setSubject(subject);
             helper.setText(text, true);
-            mailSender.send(mimeMessage);
+            send(mimeMessage);
             log.info("Email sent successfully to {} (IP={})", to, ip);
         } catch (Exception e) {
             log.error("Failed to send email to {} (IP={}): {}", to, ip, e.getMessage());
+            metrics.countEmail(AppMetrics.FAILURE);
         }
     }
 
@@ -91,10 +99,11 @@ public class EmailServiceImpl implements EmailService {
             helper.setTo(to);
             helper.setSubject(subject);
             helper.setText(text, true);
-            mailSender.send(mimeMessage);
+            send(mimeMessage);
             log.info("Bulk email sent successfully to {}", (Object) to);
         } catch (Exception e) {
             log.error("Failed to send bulk email: {}", e.getMessage());
+            metrics.countEmail(AppMetrics.FAILURE);
         }
     }
 
@@ -108,11 +117,12 @@ public class EmailServiceImpl implements EmailService {
             if (bcc != null && bcc.length > 0) helper.setBcc(bcc);
             helper.setSubject(subject);
             helper.setText(text, true);
-            mailSender.send(mimeMessage);
+            send(mimeMessage);
             log.info("Email with BCC sent ({} visible, {} bcc)",
                     (to != null ? to.length : 0), (bcc != null ? bcc.length : 0));
         } catch (Exception e) {
             log.error("Failed to send email with BCC: {}", e.getMessage());
+            metrics.countEmail(AppMetrics.FAILURE);
         }
     }
 
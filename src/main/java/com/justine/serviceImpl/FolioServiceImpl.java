@@ -0,0 +1,270 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.FolioVerificationReportDTO;
+import com.justine.enums.BookingStatus;
+import com.justine.enums.RoomType;
+import com.justine.model.Booking;
+import com.justine.model.BookingFolio;
+import com.justine.model.RestaurantOrder;
+import com.justine.repository.BookingFolioRepository;
+import com.justine.service.FolioService;
+import com.justine.service.PricingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@Transactional
+public class FolioServiceImpl implements FolioService {
+
+    private static final double TOLERANCE = 0.005;
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    private final BookingFolioRepository folioRepository;
+    private final PricingService pricingService;
+    private final int verifyBatchSize;
+
+    public FolioServiceImpl(BookingFolioRepository folioRepository,
+                            PricingService pricingService,
+                            @Value("${billing.folio.verify-batch-size:500}") int verifyBatchSize) {
+        this.folioRepository = folioRepository;
+        this.pricingService = pricingService;
+        this.verifyBatchSize = verifyBatchSize;
+    }
+
+    public static long billableNights(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) return 1;
+        return Math.max(ChronoUnit.DAYS.between(checkIn, checkOut), 1); // at least 1 night
+    }
+
+    @Override
+    public BookingFolio openFolio(Booking booking) {
+        BookingFolio folio = folioRepository.findByBookingId(booking.getId())
+                .orElseGet(() -> BookingFolio.builder().booking(booking).build());
+
+        priceRoom(folio, booking, roomCharges(booking));
+        folio.setServiceCharges(sumServices(booking.getServices()));
+        folio.recalculateTotal();
+        return folioRepository.save(folio);
+    }
+
+    @Override
+    public List<BookingFolio> openFolios(List<Booking> bookings) {
+        List<BookingFolio> folios = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            BookingFolio folio = BookingFolio.builder()
+                    .booking(booking)
+                    .serviceCharges(sumServices(booking.getServices()))
+                    .build();
+            priceRoom(folio, booking, roomCharges(booking));
+            folio.recalculateTotal();
+            folios.add(folio);
+        }
+        return folioRepository.saveAll(folios);
+    }
+
+    @Override
+    public BookingFolio postServiceCharges(Booking booking, List<com.justine.model.Service> services) {
+        BookingFolio folio = getFolio(booking);
+        folio.setServiceCharges(folio.getServiceCharges() + sumServices(services));
+        folio.recalculateTotal();
+        return folioRepository.save(folio);
+    }
+
+    @Override
+    public BookingFolio postRestaurantCharge(Booking booking, double amount) {
+        BookingFolio folio = getFolio(booking);
+        folio.setRestaurantCharges(folio.getRestaurantCharges() + amount);
+        folio.recalculateTotal();
+        return folioRepository.save(folio);
+    }
+
+    @Override
+    public BookingFolio reverseRoomCharges(Booking booking) {
+        BookingFolio folio = getFolio(booking);
+        if (!same(folio.getRoomCharges(), 0.0)) {
+            log.info("Reversing room charges {} on folio of cancelled booking {}", folio.getRoomCharges(), booking.getId());
+            folio.setRoomCharges(0.0);
+            folio.recalculateTotal();
+            folio = folioRepository.save(folio);
+        }
+        return folio;
+    }
+
+    @Override
+    public BookingFolio getFolio(Booking booking) {
+        return folioRepository.findByBookingId(booking.getId())
+                .orElseGet(() -> rebuild(booking));
+    }
+
+    // One-off full computation for bookings that predate folios; never re-priced at today's rates
+    private BookingFolio rebuild(Booking booking) {
+        double restaurant = booking.getOrders() != null
+                ? booking.getOrders().stream()
+                .filter(o -> !Boolean.TRUE.equals(o.getCart()))
+                .map(RestaurantOrder::getTotalAmount)
+                .filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue)
+                .sum()
+                : 0.0;
+
+        BookingFolio folio = BookingFolio.builder()
+                .booking(booking)
+                .serviceCharges(sumServices(booking.getServices()))
+                .restaurantCharges(restaurant)
+                .build();
+        priceRoom(folio, booking, booking.getStatus() == BookingStatus.CANCELLED ? 0.0 : bookedRoomCharges(booking));
+        folio.recalculateTotal();
+
+        log.info("Built folio for legacy booking {}", booking.getId());
+        return folioRepository.save(folio);
+    }
+
+    // Runs outside one big transaction so each page is read fresh and the persistence context stays small
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FolioVerificationReportDTO verifyFolios(boolean repair) {
+        long started = System.currentTimeMillis();
+        int checked = 0, mismatched = 0, repaired = 0;
+        List<Long> mismatchedIds = new ArrayList<>();
+        long afterId = 0L;
+
+        while (true) {
+            List<BookingFolio> folios = folioRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, verifyBatchSize));
+            if (folios.isEmpty()) break;
+            afterId = folios.get(folios.size() - 1).getId();
+
+            // The proxy id is read without initialising the booking
+            Set<Long> bookingIds = folios.stream()
+                    .map(f -> f.getBooking().getId())
+                    .collect(Collectors.toSet());
+
+            Map<Long, Double> services = toTotals(folioRepository.sumServiceChargesByBooking(bookingIds));
+            Map<Long, Double> restaurant = toTotals(folioRepository.sumRestaurantChargesByBooking(bookingIds));
+            Map<Long, Stay> stays = toStays(folioRepository.findStaysByBooking(bookingIds));
+
+            for (BookingFolio folio : folios) {
+                checked++;
+                Long bookingId = folio.getBooking().getId();
+                Stay stay = stays.get(bookingId);
+                double expectedRoom = expectedRoomCharges(folio, stay);
+                double expectedServices = services.getOrDefault(bookingId, 0.0);
+                double expectedRestaurant = restaurant.getOrDefault(bookingId, 0.0);
+                double expectedTotal = expectedRoom + expectedServices + expectedRestaurant;
+
+                boolean consistent = same(folio.getRoomCharges(), expectedRoom)
+                        && same(folio.getServiceCharges(), expectedServices)
+                        && same(folio.getRestaurantCharges(), expectedRestaurant)
+                        && same(folio.getTotalAmount(), expectedTotal);
+                if (consistent) continue;
+
+                mismatched++;
+                if (mismatchedIds.size() < MAX_REPORTED_MISMATCHES) mismatchedIds.add(bookingId);
+                log.warn("Folio mismatch for booking {}: room {} vs {}, services {} vs {}, restaurant {} vs {}, total {} vs {}",
+                        bookingId, folio.getRoomCharges(), expectedRoom, folio.getServiceCharges(), expectedServices,
+                        folio.getRestaurantCharges(), expectedRestaurant, folio.getTotalAmount(), expectedTotal);
+
+                if (repair) {
+                    folio.setRoomCharges(expectedRoom);
+                    if (stay != null && stay.status() != BookingStatus.CANCELLED) {
+                        folio.setPricedRoomId(stay.roomId());
+                        folio.setPricedCheckIn(stay.checkIn());
+                        folio.setPricedCheckOut(stay.checkOut());
+                    }
+                    folio.setServiceCharges(expectedServices);
+                    folio.setRestaurantCharges(expectedRestaurant);
+                    folio.recalculateTotal();
+                    folioRepository.save(folio);
+                    repaired++;
+                }
+            }
+
+            if (folios.size() < verifyBatchSize) break;
+        }
+
+        return FolioVerificationReportDTO.builder()
+                .checked(checked)
+                .mismatched(mismatched)
+                .repaired(repaired)
+                .mismatchedBookingIds(mismatchedIds)
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+    }
+
+    // ------------------ Helpers ------------------
+    private record Stay(BookingStatus status, Long roomId, LocalDate checkIn, LocalDate checkOut,
+                        Long hotelId, RoomType type, Double basePrice) {
+    }
+
+    private void priceRoom(BookingFolio folio, Booking booking, double charges) {
+        folio.setRoomCharges(charges);
+        folio.setPricedRoomId(booking.getRoom() != null ? booking.getRoom().getId() : null);
+        folio.setPricedCheckIn(booking.getCheckInDate());
+        folio.setPricedCheckOut(booking.getCheckOutDate());
+    }
+
+    // Cancelled stays owe nothing for the room. A stay whose room or dates moved since it was priced is
+    // re-quoted; folios from before the priced stay was recorded keep their charges.
+    private double expectedRoomCharges(BookingFolio folio, Stay stay) {
+        double posted = folio.getRoomCharges() != null ? folio.getRoomCharges() : 0.0;
+        if (stay == null) return posted;
+        if (stay.status() == BookingStatus.CANCELLED) return 0.0;
+        if (folio.getPricedCheckIn() == null) return posted;
+
+        boolean samePricedStay = Objects.equals(folio.getPricedRoomId(), stay.roomId())
+                && Objects.equals(folio.getPricedCheckIn(), stay.checkIn())
+                && Objects.equals(folio.getPricedCheckOut(), stay.checkOut());
+        if (samePricedStay) return posted;
+        if (stay.roomId() == null || stay.basePrice() == null) return 0.0;
+        return pricingService.quoteStay(stay.hotelId(), stay.type(), stay.basePrice(), stay.checkIn(), stay.checkOut());
+    }
+
+    // Nightly rates come from the pricing engine's in-memory rate table
+    private double roomCharges(Booking booking) {
+        if (booking.getRoom() == null) return 0.0;
+        return pricingService.quoteStay(booking.getRoom(), booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
+    // What a legacy booking was billed before dynamic pricing: the room's stored nightly price
+    private double bookedRoomCharges(Booking booking) {
+        if (booking.getRoom() == null || booking.getRoom().getPricePerNight() == null) return 0.0;
+        return booking.getRoom().getPricePerNight() * billableNights(booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
+    private double sumServices(List<com.justine.model.Service> services) {
+        if (services == null) return 0.0;
+        return services.stream()
+                .mapToDouble(s -> s.getPrice() != null ? s.getPrice() : 0.0)
+                .sum();
+    }
+
+    private Map<Long, Double> toTotals(List<Object[]> rows) {
+        Map<Long, Double> totals = new HashMap<>();
+        for (Object[] row : rows) {
+            totals.put((Long) row[0], ((Number) row[1]).doubleValue());
+        }
+        return totals;
+    }
+
+    private Map<Long, Stay> toStays(List<Object[]> rows) {
+        Map<Long, Stay> stays = new HashMap<>();
+        for (Object[] row : rows) {
+            stays.put((Long) row[0], new Stay((BookingStatus) row[1], (Long) row[2], (LocalDate) row[3],
+                    (LocalDate) row[4], (Long) row[5], (RoomType) row[6], (Double) row[7]));
+        }
+        return stays;
+    }
+
+    private boolean same(Double actual, double expected) {
+        return Math.abs((actual != null ? actual : 0.0) - expected) < TOLERANCE;
+    }
+}
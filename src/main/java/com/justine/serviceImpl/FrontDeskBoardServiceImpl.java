@@ -0,0 +1,261 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.FrontDeskBoardDTO;
+import com.justine.dtos.response.FrontDeskEntryDTO;
+import com.justine.enums.BookingStatus;
+import com.justine.model.Booking;
+import com.justine.model.Guest;
+import com.justine.model.Room;
+import com.justine.repository.BookingRepository;
+import com.justine.repository.projection.FrontDeskRow;
+import com.justine.service.FrontDeskBoardService;
+import com.justine.utils.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-hotel "today" board for the front desk: arrivals, in-house guests and departures.
+ * Built for the whole chain at midnight (and lazily on the first read of a day), then kept
+ * current from booking changes after they commit. Every hotel board is an immutable view
+ * replaced on change, so reads are a map lookup and each change is pushed to
+ * {@code /topic/front-desk/{hotelId}}.
+ */
+@Slf4j
+@Service
+public class FrontDeskBoardServiceImpl implements FrontDeskBoardService {
+
+    public static final String TOPIC_PREFIX = "/topic/front-desk/";
+
+    private static final Comparator<FrontDeskEntryDTO> BY_ROOM = Comparator
+            .comparing(FrontDeskEntryDTO::getRoomNumber, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(FrontDeskEntryDTO::getBookingId);
+
+    private final BookingRepository bookingRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Writers (rebuild and booking changes) are serialized; readers never lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Boards boards;
+
+    public FrontDeskBoardServiceImpl(BookingRepository bookingRepository, SimpMessagingTemplate messagingTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    private record Boards(LocalDate day, Map<Long, HotelBoard> byHotel) {
+    }
+
+    private record HotelBoard(Map<Long, FrontDeskEntryDTO> entries, FrontDeskBoardDTO view) {
+    }
+
+    @Override
+    @PreAuthorize("@access.isFrontDesk()")
+    public ResponseEntity<FrontDeskBoardDTO> getBoard(Long hotelId) {
+        Boards current = currentBoards();
+        if (current == null) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        HotelBoard board = current.byHotel().get(hotelId);
+        return ResponseEntity.ok(board != null ? board.view() : view(hotelId, current.day(), List.of()));
+    }
+
+    @Override
+    public void bookingChanged(Booking booking) {
+        if (booking == null) return;
+        bookingsMoved(List.of(booking), booking.getStatus());
+    }
+
+    @Override
+    public void bookingsMoved(Collection<Booking> bookings, BookingStatus status) {
+        // Captured now, while the entities are still attached; applied once the change is durable
+        Map<Long, List<FrontDeskEntryDTO>> byHotel = new HashMap<>();
+        for (Booking booking : bookings) {
+            Long hotelId = hotelIdOf(booking);
+            if (hotelId == null) continue;
+            byHotel.computeIfAbsent(hotelId, k -> new ArrayList<>()).add(toEntry(booking, status));
+        }
+        if (byHotel.isEmpty()) return;
+        AfterCommit.run(() -> byHotel.forEach(this::apply));
+    }
+
+    /**
+     * Scheduled rebuild for the new day; every hotel's board is pushed once the lock is released.
+     * The single board query runs in the repository's own read-only transaction.
+     */
+    @Override
+    @Scheduled(cron = "${front-desk.board.rebuild-cron:0 0 0 * * *}")
+    public void rebuildBoards() {
+        Boards previous;
+        Boards rebuilt;
+        writeLock.lock();
+        try {
+            previous = boards;
+            rebuilt = load(LocalDate.now());
+            boards = rebuilt;
+        } catch (Exception e) {
+            // Keep serving the previous boards
+            log.error("Front-desk board rebuild failed: {}", e.getMessage(), e);
+            return;
+        } finally {
+            writeLock.unlock();
+        }
+
+        rebuilt.byHotel().forEach((hotelId, board) -> push(hotelId, board.view()));
+        if (previous != null) {
+            // Hotels with nothing on today's board get an empty one instead of yesterday's
+            previous.byHotel().keySet().stream()
+                    .filter(hotelId -> !rebuilt.byHotel().containsKey(hotelId))
+                    .forEach(hotelId -> push(hotelId, view(hotelId, rebuilt.day(), List.of())));
+        }
+    }
+
+    // First read of a day: loads the boards for the caller only; subscribers hear about the next change
+    private Boards currentBoards() {
+        Boards current = boards;
+        if (current != null && current.day().equals(LocalDate.now())) return current;
+
+        writeLock.lock();
+        try {
+            current = boards;
+            if (current == null || !current.day().equals(LocalDate.now())) {
+                current = load(LocalDate.now());
+                boards = current;
+            }
+            return current;
+        } catch (Exception e) {
+            log.error("Front-desk board load failed: {}", e.getMessage(), e);
+            return boards;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Reads the day's bookings for every hotel; callers hold the write lock
+    private Boards load(LocalDate day) {
+        long started = System.currentTimeMillis();
+        Map<Long, Map<Long, FrontDeskEntryDTO>> entries = new HashMap<>();
+        for (FrontDeskRow row : bookingRepository.findFrontDeskRows(day)) {
+            entries.computeIfAbsent(row.hotelId(), k -> new LinkedHashMap<>()).put(row.bookingId(), toEntry(row));
+        }
+
+        Map<Long, HotelBoard> byHotel = new ConcurrentHashMap<>();
+        entries.forEach((hotelId, hotelEntries) ->
+                byHotel.put(hotelId, new HotelBoard(hotelEntries, view(hotelId, day, hotelEntries.values()))));
+        log.debug("Front-desk boards loaded for {}: {} hotels in {}ms",
+                day, byHotel.size(), System.currentTimeMillis() - started);
+        return new Boards(day, byHotel);
+    }
+
+    private void apply(Long hotelId, List<FrontDeskEntryDTO> changes) {
+        FrontDeskBoardDTO updated;
+        writeLock.lock();
+        try {
+            Boards current = boards;
+            // Not built for today yet: the next read rebuilds from the database, which has this change
+            if (current == null || !current.day().equals(LocalDate.now())) return;
+
+            HotelBoard board = current.byHotel().get(hotelId);
+            Map<Long, FrontDeskEntryDTO> entries = board != null ? new LinkedHashMap<>(board.entries()) : new LinkedHashMap<>();
+            for (FrontDeskEntryDTO entry : changes) {
+                if (isOnBoard(entry, current.day())) entries.put(entry.getBookingId(), entry);
+                else entries.remove(entry.getBookingId());
+            }
+
+            updated = view(hotelId, current.day(), entries.values());
+            current.byHotel().put(hotelId, new HotelBoard(entries, updated));
+        } finally {
+            writeLock.unlock();
+        }
+        push(hotelId, updated);
+    }
+
+    private void push(Long hotelId, FrontDeskBoardDTO board) {
+        try {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + hotelId, board);
+        } catch (Exception e) {
+            log.warn("Front-desk board push failed for hotel {}: {}", hotelId, e.getMessage());
+        }
+    }
+
+    // ------------------ Board layout ------------------
+    private static boolean isOnBoard(FrontDeskEntryDTO entry, LocalDate day) {
+        if (entry.getStatus() == BookingStatus.CANCELLED) return false;
+        return day.equals(entry.getCheckInDate())
+                || day.equals(entry.getCheckOutDate())
+                || entry.getStatus() == BookingStatus.CHECKED_IN;
+    }
+
+    private static FrontDeskBoardDTO view(Long hotelId, LocalDate day, Collection<FrontDeskEntryDTO> entries) {
+        List<FrontDeskEntryDTO> arrivals = new ArrayList<>();
+        List<FrontDeskEntryDTO> inHouse = new ArrayList<>();
+        List<FrontDeskEntryDTO> departures = new ArrayList<>();
+        for (FrontDeskEntryDTO entry : entries) {
+            if (day.equals(entry.getCheckInDate())) arrivals.add(entry);
+            if (entry.getStatus() == BookingStatus.CHECKED_IN) inHouse.add(entry);
+            if (day.equals(entry.getCheckOutDate())) departures.add(entry);
+        }
+        arrivals.sort(BY_ROOM);
+        inHouse.sort(BY_ROOM);
+        departures.sort(BY_ROOM);
+
+        return FrontDeskBoardDTO.builder()
+                .hotelId(hotelId)
+                .date(day)
+                .arrivals(List.copyOf(arrivals))
+                .inHouse(List.copyOf(inHouse))
+                .departures(List.copyOf(departures))
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static Long hotelIdOf(Booking booking) {
+        if (booking.getHotel() != null) return booking.getHotel().getId();
+        Room room = booking.getRoom();
+        return room != null && room.getHotel() != null ? room.getHotel().getId() : null;
+    }
+
+    private static FrontDeskEntryDTO toEntry(Booking booking, BookingStatus status) {
+        Room room = booking.getRoom();
+        Guest guest = booking.getGuest();
+        return FrontDeskEntryDTO.builder()
+                .bookingId(booking.getId())
+                .bookingCode(booking.getBookingCode())
+                .groupCode(booking.getGroupCode())
+                .status(status)
+                .checkInDate(booking.getCheckInDate())
+                .checkOutDate(booking.getCheckOutDate())
+                .numberOfGuests(booking.getNumberOfGuests())
+                .roomId(room != null ? room.getId() : null)
+                .roomNumber(room != null ? room.getRoomNumber() : null)
+                .guestId(guest != null ? guest.getId() : null)
+                .guestName(guest != null ? guest.getFullName() : null)
+                .build();
+    }
+
+    private static FrontDeskEntryDTO toEntry(FrontDeskRow row) {
+        return FrontDeskEntryDTO.builder()
+                .bookingId(row.bookingId())
+                .bookingCode(row.bookingCode())
+                .groupCode(row.groupCode())
+                .status(row.status())
+                .checkInDate(row.checkInDate())
+                .checkOutDate(row.checkOutDate())
+                .numberOfGuests(row.numberOfGuests())
+                .roomId(row.roomId())
+                .roomNumber(row.roomNumber())
+                .guestId(row.guestId())
+                .guestName(row.guestName())
+                .build();
+    }
+}
@@ -6,11 +6,13 @@ import com.justine.model.Guest;
 import com.justine.repository.BookingRepository;
 import com.justine.repository.GuestRepository;
 import com.justine.repository.RestaurantOrderRepository;
+import com.justine.security.AccessGuard;
 import com.justine.service.AuditLogService;
 import com.justine.service.GuestService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,19 +30,15 @@ public class GuestServiceImpl implements GuestService {
     private final RestaurantOrderRepository orderRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuditLogService auditLogService;
+    private final AccessGuard access;
 
-    public GuestServiceImpl(GuestRepository guestRepository, BookingRepository bookingRepository, RestaurantOrderRepository orderRepository, PasswordEncoder passwordEncoder, AuditLogService auditLogService) {
+    public GuestServiceImpl(GuestRepository guestRepository, BookingRepository bookingRepository, RestaurantOrderRepository orderRepository, PasswordEncoder passwordEncoder, AuditLogService auditLogService, AccessGuard access) {
         this.guestRepository = guestRepository;
         this.bookingRepository = bookingRepository;
         this.orderRepository = orderRepository;
         this.passwordEncoder = passwordEncoder;
         this.auditLogService = auditLogService;
-    }
-
-    private boolean isAdmin() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        return auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        this.access = access;
     }
 
     private Long getCurrentUserId() {
@@ -93,7 +91,7 @@ public class GuestServiceImpl implements GuestService {
             Guest guest = guestRepository.findById(guestId)
                     .orElseThrow(() -> new NoSuchElementException("Guest not found"));
 
-            boolean admin = isAdmin();
+            boolean admin = access.isAdmin();
             boolean selfUpdate = guest.getId().equals(currentUserId);
 
             if (!admin && !selfUpdate) {
@@ -155,7 +153,7 @@ public class GuestServiceImpl implements GuestService {
             Guest guest = guestRepository.findById(id)
                     .orElseThrow(() -> new NoSuchElementException("Guest not found"));
 
-            if (!isAdmin() && !guest.getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !guest.getId().equals(currentUserId)) {
                 log.warn("Unauthorized access to guest {} by {}", id, currentUserId);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -174,13 +172,9 @@ public class GuestServiceImpl implements GuestService {
     }
 
     @Override
+    @PreAuthorize("@access.isAdmin()")
     public ResponseEntity<List<GuestResponseDTO>> getAllGuests(Long currentUserId) {
         try {
-            if (!isAdmin()) {
-                log.warn("Unauthorized guest list access attempt by {}", currentUserId);
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-
             List<GuestResponseDTO> guests = guestRepository.findAll()
                     .stream()
                     .map(this::toGuestResponse)
@@ -200,13 +194,9 @@ public class GuestServiceImpl implements GuestService {
     }
 
     @Override
+    @PreAuthorize("@access.isAdmin()")
     public ResponseEntity<Void> deleteGuest(Long id, Long currentUserId) {
         try {
-            if (!isAdmin()) {
-                log.warn("Unauthorized delete attempt by {}", currentUserId);
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-
             guestRepository.deleteById(id);
             log.info("Guest {} deleted successfully by {}", id, currentUserId);
 
@@ -227,7 +217,7 @@ public class GuestServiceImpl implements GuestService {
             Guest guest = guestRepository.findById(guestId)
                     .orElseThrow(() -> new NoSuchElementException("Guest not found"));
 
-            if (!isAdmin() && !guest.getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !guest.getId().equals(currentUserId)) {
                 log.warn("Unauthorized access to bookings of guest {} by {}", guestId, currentUserId);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -256,7 +246,7 @@ public class GuestServiceImpl implements GuestService {
             Guest guest = guestRepository.findById(guestId)
                     .orElseThrow(() -> new NoSuchElementException("Guest not found"));
 
-            if (!isAdmin() && !guest.getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !guest.getId().equals(currentUserId)) {
                 log.warn("Unauthorized access to orders of guest {} by {}", guestId, currentUserId);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -8,6 +8,7 @@ import com.justine.dtos.response.RoomResponseDTO;
 import com.justine.dtos.response.ServiceResponseDTO;
 import com.justine.dtos.response.StaffResponseDTO;
 import com.justine.enums.BookingStatus;
+import com.justine.enums.RoomStatus;
 import com.justine.model.Booking;
 import com.justine.model.Hotel;
 import com.justine.model.Room;
@@ -15,16 +16,22 @@ import com.justine.model.Staff;
 import com.justine.repository.HotelRepository;
 import com.justine.repository.RoomRepository;
 import com.justine.repository.ServiceRepository;
+import com.justine.repository.StaffRepository;
+import com.justine.repository.projection.HotelRow;
+import com.justine.repository.projection.RoomRow;
+import com.justine.repository.projection.StaffRow;
 import com.justine.service.AuditLogService;
 import com.justine.service.HotelService;
+import com.justine.utils.AppMetrics;
 import com.justine.utils.CloudinaryService;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -38,29 +45,29 @@ public class HotelServiceImpl implements HotelService {
     private final HotelRepository hotelRepository;
     private final ServiceRepository serviceRepository;
     private final RoomRepository roomRepository;
+    private final StaffRepository staffRepository;
     private final AuditLogService auditLogService;
     private final CloudinaryService cloudinaryService;
+    private final AppMetrics metrics;
 
     public HotelServiceImpl(
             HotelRepository hotelRepository, ServiceRepository serviceRepository,
             RoomRepository roomRepository,
+            StaffRepository staffRepository,
             AuditLogService auditLogService,
-            CloudinaryService cloudinaryService) {
+            CloudinaryService cloudinaryService,
+            AppMetrics metrics) {
         this.hotelRepository = hotelRepository;
         this.serviceRepository = serviceRepository;
         this.roomRepository = roomRepository;
+        this.staffRepository = staffRepository;
         this.auditLogService = auditLogService;
         this.cloudinaryService = cloudinaryService;
+        this.metrics = metrics;
     }
 
     /* ====================== ACCESS CONTROL ====================== */
-    private void checkAdminAccess() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null ||
-                auth.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-            throw new SecurityException("Access denied: Admin privileges required");
-        }
-    }
+    // Admin-only operations are guarded with @PreAuthorize("@access.isAdmin()")
 
     private Long getActorIdFromContext() {
         var auth = SecurityContextHolder.getContext().getAuthentication();
@@ -80,8 +87,8 @@ public class HotelServiceImpl implements HotelService {
     /* ====================== HOTEL CRUD ====================== */
     @Override
     @Transactional
+    @PreAuthorize("@access.isAdmin()")
     public HotelResponseDTO createHotel(HotelRequestDTO dto) {
-        checkAdminAccess();
         Long actorId = getActorIdFromContext();
 
         try {
@@ -116,8 +123,8 @@ public class HotelServiceImpl implements HotelService {
 
     @Override
     @Transactional
+    @PreAuthorize("@access.isAdmin()")
     public HotelResponseDTO updateHotel(Long id, HotelRequestDTO dto) {
-        checkAdminAccess();
         Long actorId = getActorIdFromContext();
 
         try {
@@ -153,8 +160,8 @@ public class HotelServiceImpl implements HotelService {
 
     @Override
     @Transactional
+    @PreAuthorize("@access.isAdmin()")
     public void deleteHotel(Long id) {
-        checkAdminAccess();
         Long actorId = getActorIdFromContext();
 
         try {
@@ -182,8 +189,8 @@ public class HotelServiceImpl implements HotelService {
     /* ====================== ROOM CRUD ====================== */
     @Override
     @Transactional
+    @PreAuthorize("@access.isAdmin()")
     public RoomResponseDTO addRoomToHotel(RoomRequestDTO dto) {
-        checkAdminAccess();
         Long actorId = getActorIdFromContext();
 
         try {
@@ -222,8 +229,8 @@ public class HotelServiceImpl implements HotelService {
 
     @Override
     @Transactional
+    @PreAuthorize("@access.isAdmin()")
     public RoomResponseDTO updateRoom(Long roomId, RoomRequestDTO dto) {
-        checkAdminAccess();
         Long actorId = getActorIdFromContext();
 
         try {
@@ -260,8 +267,8 @@ public class HotelServiceImpl implements HotelService {
 
     @Override
     @Transactional
+    @PreAuthorize("@access.isAdmin()")
     public void deleteRoom(Long roomId) {
-        checkAdminAccess();
         Long actorId = getActorIdFromContext();
 
         try {
@@ -286,14 +293,15 @@ public class HotelServiceImpl implements HotelService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RoomResponseDTO> getRoomsByHotel(Long hotelId) {
-        List<Room> rooms = roomRepository.findByHotelId(hotelId);
-        return rooms.stream()
-                .map(this::mapRoomToResponse)
+        return roomRepository.findRowsByHotelId(hotelId).stream()
+                .map(this::mapRoomRowToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ServiceResponseDTO> getServicesForHotel(Long hotelId) {
         try {
             Hotel hotel = hotelRepository.findById(hotelId)
@@ -325,9 +333,9 @@ public class HotelServiceImpl implements HotelService {
 
     @Override
     @Transactional
+    @PreAuthorize("@access.isAdmin()")
     public ServiceResponseDTO addServiceToHotel(Long hotelId, CreateServiceRequest request) {
         try {
-            checkAdminAccess();
             Long actorId = getActorIdFromContext();
 
             Hotel hotel = hotelRepository.findById(hotelId)
@@ -377,6 +385,7 @@ public class HotelServiceImpl implements HotelService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RoomResponseDTO getRoomById(Long roomId) {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new EntityNotFoundException("Room not found"));
@@ -384,7 +393,12 @@ public class HotelServiceImpl implements HotelService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RoomResponseDTO> getAvailableRooms(Long hotelId, String checkIn, String checkOut) {
+        return metrics.time(AppMetrics.ROOMS_AVAILABLE, () -> findAvailableRooms(hotelId, checkIn, checkOut));
+    }
+
+    private List<RoomResponseDTO> findAvailableRooms(Long hotelId, String checkIn, String checkOut) {
         Long actorId = getActorIdFromContext();
 
         try {
@@ -395,23 +409,7 @@ public class HotelServiceImpl implements HotelService {
             List<Room> rooms = roomRepository.findByHotelId(hotelId);
 
             List<Room> availableRooms = rooms.stream()
-                    .filter(room -> {
-                        List<Booking> bookings = room.getBookings();
-                        if (bookings == null || bookings.isEmpty()) return true;
-
-                        return bookings.stream().noneMatch(booking -> {
-                            if (booking.getStatus() != BookingStatus.BOOKED &&
-                                    booking.getStatus() != BookingStatus.CHECKED_IN) {
-                                return false;
-                            }
-
-                            LocalDate bookedCheckIn = booking.getCheckInDate();
-                            LocalDate bookedCheckOut = booking.getCheckOutDate();
-
-                            return !(checkOutDate.isBefore(bookedCheckIn) ||
-                                    checkInDate.isAfter(bookedCheckOut));
-                        });
-                    })
+                    .filter(room -> isFreeFor(room, checkInDate, checkOutDate))
                     .collect(Collectors.toList());
 
             return availableRooms.stream()
@@ -424,6 +422,26 @@ public class HotelServiceImpl implements HotelService {
         }
     }
 
+    // In service, and no BOOKED or CHECKED_IN stay of the room touches [checkIn, checkOut]
+    static boolean isFreeFor(Room room, LocalDate checkIn, LocalDate checkOut) {
+        if (room.getHousekeepingStatus() == RoomStatus.OUT_OF_ORDER) return false;
+        List<Booking> bookings = room.getBookings();
+        if (bookings == null || bookings.isEmpty()) return true;
+
+        return bookings.stream().noneMatch(booking -> {
+            if (booking.getStatus() != BookingStatus.BOOKED &&
+                    booking.getStatus() != BookingStatus.CHECKED_IN) {
+                return false;
+            }
+
+            LocalDate bookedCheckIn = booking.getCheckInDate();
+            LocalDate bookedCheckOut = booking.getCheckOutDate();
+
+            return !(checkOut.isBefore(bookedCheckIn) ||
+                    checkIn.isAfter(bookedCheckOut));
+        });
+    }
+
     /**
      * ✅ Special mapper ONLY for getAvailableRooms()
      * ✅ Sets availability based on actual date range instead of DB column
@@ -464,6 +482,7 @@ public class HotelServiceImpl implements HotelService {
 
     /* ====================== READ METHODS ====================== */
     @Override
+    @Transactional(readOnly = true)
     public HotelResponseDTO getHotelById(Long id) {
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Hotel not found"));
@@ -471,9 +490,21 @@ public class HotelServiceImpl implements HotelService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<HotelResponseDTO> getAllHotels() {
-        return hotelRepository.findAll().stream()
-                .map(this::mapToResponse)
+        // Three narrow selects instead of hotel entities with their room and staff collections
+        Map<Long, List<RoomResponseDTO>> roomsByHotel = roomRepository.findAllRows().stream()
+                .filter(room -> room.hotelId() != null)
+                .collect(Collectors.groupingBy(RoomRow::hotelId,
+                        Collectors.mapping(this::mapRoomRowToResponse, Collectors.toList())));
+        Map<Long, List<StaffResponseDTO>> staffByHotel = staffRepository.findAllRowsWithHotel().stream()
+                .collect(Collectors.groupingBy(StaffRow::hotelId,
+                        Collectors.mapping(this::mapStaffRowToResponse, Collectors.toList())));
+
+        return hotelRepository.findAllRows().stream()
+                .map(hotel -> mapRowToResponse(hotel,
+                        roomsByHotel.getOrDefault(hotel.id(), Collections.emptyList()),
+                        staffByHotel.getOrDefault(hotel.id(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
@@ -509,6 +540,46 @@ public class HotelServiceImpl implements HotelService {
 
 
 
+    private HotelResponseDTO mapRowToResponse(HotelRow hotel, List<RoomResponseDTO> rooms, List<StaffResponseDTO> staff) {
+        return HotelResponseDTO.builder()
+                .id(hotel.id())
+                .name(hotel.name())
+                .location(hotel.location())
+                .contactNumber(hotel.contactNumber())
+                .email(hotel.email())
+                .hotelImageUrl(hotel.hotelImageUrl())
+                .rooms(rooms)
+                .staffMembers(staff)
+                .build();
+    }
+
+    private StaffResponseDTO mapStaffRowToResponse(StaffRow staff) {
+        return StaffResponseDTO.builder()
+                .id(staff.id())
+                .fullName(staff.fullName())
+                .email(staff.email())
+                .phoneNumber(staff.phoneNumber())
+                .role(staff.role())
+                .gender(staff.gender())
+                .build();
+    }
+
+    private RoomResponseDTO mapRoomRowToResponse(RoomRow room) {
+        return RoomResponseDTO.builder()
+                .id(room.id())
+                .roomNumber(room.roomNumber())
+                .type(room.type())
+                .pricePerNight(room.pricePerNight())
+                .available(Boolean.TRUE.equals(room.available()))
+                .roomImageUrl(room.roomImageUrl())
+                .hotel(room.hotelId() != null ? HotelResponseDTO.builder()
+                        .id(room.hotelId())
+                        .name(room.hotelName())
+                        .location(room.hotelLocation())
+                        .build() : null)
+                .build();
+    }
+
     private RoomResponseDTO mapRoomToResponse(Room room) {
         return RoomResponseDTO.builder()
                 .id(room.getId())
@@ -0,0 +1,509 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.HousekeepingSyncDTO;
+import com.justine.dtos.response.HousekeepingTaskDTO;
+import com.justine.dtos.response.RoomStatusDTO;
+import com.justine.enums.HousekeepingTaskStatus;
+import com.justine.enums.RoomStatus;
+import com.justine.events.RoomReleased;
+import com.justine.model.Booking;
+import com.justine.model.HousekeepingTask;
+import com.justine.model.Room;
+import com.justine.model.Staff;
+import com.justine.repository.BookingRepository;
+import com.justine.repository.HousekeepingTaskRepository;
+import com.justine.repository.RoomRepository;
+import com.justine.repository.StaffRepository;
+import com.justine.security.AccessGuard;
+import com.justine.service.AuditLogService;
+import com.justine.service.HousekeepingService;
+import com.justine.utils.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Room-status engine and cleaning task queue.
+ * <p>
+ * Committed checkouts ({@link RoomReleased}) mark rooms DIRTY and raise a task. Each hotel has an
+ * in-memory priority queue of pending tasks (same-day arrivals first, then oldest); cleaners pull
+ * from their hotel's queue and the hand-out itself is a conditional UPDATE, so two cleaners never
+ * get the same room even across instances. Room readiness is held in memory and every room or task
+ * change is pushed to {@code /topic/housekeeping/{hotelId}/rooms} and {@code .../tasks}. Queues and
+ * readiness are reloaded from the database periodically, which repairs anything a rolled-back
+ * hand-out dropped.
+ */
+@Slf4j
+@Service
+public class HousekeepingServiceImpl implements HousekeepingService {
+
+    public static final String TOPIC_PREFIX = "/topic/housekeeping/";
+
+    static final int PRIORITY_STANDARD = 50;
+    static final int PRIORITY_ARRIVAL_TODAY = 100;
+    // Added each time a room fails inspection
+    static final int PRIORITY_REWORK = 25;
+
+    private static final Set<HousekeepingTaskStatus> OPEN = EnumSet.of(
+            HousekeepingTaskStatus.PENDING, HousekeepingTaskStatus.IN_PROGRESS, HousekeepingTaskStatus.AWAITING_INSPECTION);
+
+    private static final Comparator<QueuedTask> BEST_FIRST = Comparator
+            .comparingInt(QueuedTask::priority).reversed()
+            .thenComparing(QueuedTask::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(QueuedTask::taskId);
+
+    private final HousekeepingTaskRepository taskRepository;
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final StaffRepository staffRepository;
+    private final AuditLogService auditLogService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AccessGuard access;
+    private final boolean releaseOnInspection;
+    private final long syncOverlapMs;
+
+    private final ReentrantLock resyncLock = new ReentrantLock();
+    // hotelId -> pending tasks, best first; each queue is guarded by its own monitor
+    private volatile Map<Long, PriorityQueue<QueuedTask>> queues;
+    // hotelId -> roomId -> readiness
+    private volatile Map<Long, Map<Long, RoomStatusDTO>> readiness;
+
+    public HousekeepingServiceImpl(HousekeepingTaskRepository taskRepository,
+                                   RoomRepository roomRepository,
+                                   BookingRepository bookingRepository,
+                                   StaffRepository staffRepository,
+                                   AuditLogService auditLogService,
+                                   SimpMessagingTemplate messagingTemplate,
+                                   AccessGuard access,
+                                   @Value("${housekeeping.release-on-inspection:true}") boolean releaseOnInspection,
+                                   @Value("${housekeeping.sync.overlap-ms:2000}") long syncOverlapMs) {
+        this.taskRepository = taskRepository;
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.staffRepository = staffRepository;
+        this.auditLogService = auditLogService;
+        this.messagingTemplate = messagingTemplate;
+        this.access = access;
+        this.releaseOnInspection = releaseOnInspection;
+        this.syncOverlapMs = syncOverlapMs;
+    }
+
+    record QueuedTask(Long taskId, Long hotelId, int priority, LocalDateTime createdAt) {
+    }
+
+    // ------------------ Checkout hook ------------------
+    // Runs once the checkout has committed, in its own transaction on the event executor
+    @Async("eventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onRoomReleased(RoomReleased event) {
+        roomsVacated(bookingRepository.findAllWithRoomByIdIn(event.bookingIds()));
+    }
+
+    @Override
+    public void roomsVacated(Collection<Booking> bookings) {
+        Map<Long, Booking> byRoom = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            Room room = booking.getRoom();
+            if (room == null || room.getHotel() == null) continue;
+            // Out-of-order rooms stay out of order until someone returns them to service
+            if (room.getHousekeepingStatus() == RoomStatus.OUT_OF_ORDER) continue;
+            byRoom.putIfAbsent(room.getId(), booking);
+        }
+        if (byRoom.isEmpty()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> alreadyOpen = new HashSet<>(taskRepository.findRoomIdsWithTaskIn(byRoom.keySet(), OPEN));
+        Set<Long> arrivingToday = new HashSet<>(bookingRepository.findRoomIdsWithArrivalOn(byRoom.keySet(), now.toLocalDate()));
+        roomRepository.updateHousekeepingStatusByIdIn(byRoom.keySet(), RoomStatus.DIRTY, now);
+
+        List<RoomStatusDTO> states = new ArrayList<>();
+        List<HousekeepingTask> tasks = new ArrayList<>();
+        byRoom.forEach((roomId, booking) -> {
+            Room room = booking.getRoom();
+            // Keep loaded copies in step with the UPDATE
+            room.setHousekeepingStatus(RoomStatus.DIRTY);
+            room.setHousekeepingUpdatedAt(now);
+            states.add(toStatus(room));
+
+            if (alreadyOpen.contains(roomId)) return;
+            tasks.add(HousekeepingTask.builder()
+                    .room(room)
+                    .hotel(room.getHotel())
+                    .booking(booking)
+                    .status(HousekeepingTaskStatus.PENDING)
+                    .priority(arrivingToday.contains(roomId) ? PRIORITY_ARRIVAL_TODAY : PRIORITY_STANDARD)
+                    .build());
+        });
+
+        List<HousekeepingTaskDTO> created = taskRepository.saveAll(tasks).stream().map(this::toTaskDTO).toList();
+        AfterCommit.run(() -> {
+            states.forEach(this::roomChanged);
+            created.forEach(task -> {
+                enqueue(task);
+                taskChanged(task);
+            });
+        });
+    }
+
+    // ------------------ Cleaner workflow ------------------
+    @Override
+    @Transactional
+    public ResponseEntity<HousekeepingTaskDTO> claimNextTask(Long currentUserId) {
+        try {
+            if (!access.isHousekeeping()) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+
+            Staff cleaner = currentUserId != null ? staffRepository.findById(currentUserId).orElse(null) : null;
+            if (cleaner == null || cleaner.getHotel() == null) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            Long hotelId = cleaner.getHotel().getId();
+
+            PriorityQueue<QueuedTask> queue = currentQueues().get(hotelId);
+            LocalDateTime now = LocalDateTime.now();
+            for (QueuedTask next = poll(queue); next != null; next = poll(queue)) {
+                // Another instance handed it out, or it was cancelled: try the next one
+                if (taskRepository.claim(next.taskId(), cleaner, now) == 0) continue;
+
+                HousekeepingTask task = taskRepository.findWithRoomById(next.taskId()).orElseThrow();
+                Room room = task.getRoom();
+                if (room.getHousekeepingStatus().canMoveTo(RoomStatus.CLEANING)) {
+                    moveRoom(room, RoomStatus.CLEANING, now);
+                }
+
+                HousekeepingTaskDTO dto = toTaskDTO(task);
+                RoomStatusDTO state = toStatus(room);
+                AfterCommit.run(() -> {
+                    roomChanged(state);
+                    taskChanged(dto);
+                });
+                auditLogService.logHousekeeping(currentUserId, "CLAIM_TASK_SUCCESS", task.getId(),
+                        Map.of("roomId", room.getId(), "priority", task.getPriority()));
+                return ResponseEntity.ok(dto);
+            }
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            log.error("Claiming housekeeping task failed: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    @Transactional
+    public ResponseEntity<HousekeepingTaskDTO> finishTask(Long taskId, String notes, Long currentUserId) {
+        try {
+            if (!access.isHousekeeping()) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+
+            HousekeepingTask task = taskRepository.findWithRoomById(taskId).orElse(null);
+            if (task == null) return ResponseEntity.notFound().build();
+            boolean assignee = task.getAssignedTo() != null && task.getAssignedTo().getId().equals(currentUserId);
+            if (!assignee && !access.isManagement()) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            if (task.getStatus() != HousekeepingTaskStatus.IN_PROGRESS) return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
+            task.setStatus(HousekeepingTaskStatus.AWAITING_INSPECTION);
+            task.setFinishedAt(LocalDateTime.now());
+            if (notes != null && !notes.isBlank()) task.setNotes(notes);
+            taskRepository.save(task);
+
+            HousekeepingTaskDTO dto = toTaskDTO(task);
+            AfterCommit.run(() -> taskChanged(dto));
+            auditLogService.logHousekeeping(currentUserId, "FINISH_TASK_SUCCESS", taskId, Map.of("roomId", task.getRoom().getId()));
+            return ResponseEntity.ok(dto);
+        } catch (Exception e) {
+            log.error("Finishing housekeeping task {} failed: {}", taskId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    @PreAuthorize("@access.isManagement()")
+    @Transactional
+    public ResponseEntity<HousekeepingTaskDTO> inspectTask(Long taskId, boolean passed, String notes, Long currentUserId) {
+        try {
+            HousekeepingTask task = taskRepository.findWithRoomById(taskId).orElse(null);
+            if (task == null) return ResponseEntity.notFound().build();
+            if (task.getStatus() != HousekeepingTaskStatus.AWAITING_INSPECTION) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            Room room = task.getRoom();
+            if (notes != null && !notes.isBlank()) task.setNotes(notes);
+
+            if (passed) {
+                task.setStatus(HousekeepingTaskStatus.DONE);
+                moveRoom(room, RoomStatus.INSPECTED, now);
+                if (releaseOnInspection) moveRoom(room, RoomStatus.READY, now);
+            } else {
+                // Back to the front of the queue for another pass
+                task.setStatus(HousekeepingTaskStatus.PENDING);
+                task.setAssignedTo(null);
+                task.setStartedAt(null);
+                task.setFinishedAt(null);
+                task.setPriority(task.getPriority() + PRIORITY_REWORK);
+                moveRoom(room, RoomStatus.DIRTY, now);
+            }
+            taskRepository.save(task);
+
+            HousekeepingTaskDTO dto = toTaskDTO(task);
+            RoomStatusDTO state = toStatus(room);
+            AfterCommit.run(() -> {
+                roomChanged(state);
+                if (!passed) enqueue(dto);
+                taskChanged(dto);
+            });
+            auditLogService.logHousekeeping(currentUserId, passed ? "INSPECTION_PASSED" : "INSPECTION_FAILED", taskId,
+                    Map.of("roomId", room.getId(), "roomStatus", state.getStatus().name()));
+            return ResponseEntity.ok(dto);
+        } catch (Exception e) {
+            log.error("Inspecting housekeeping task {} failed: {}", taskId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // ------------------ Manual room moves ------------------
+    @Override
+    @PreAuthorize("@access.isManagement() or @access.isFrontDesk()")
+    @Transactional
+    public ResponseEntity<RoomStatusDTO> changeRoomStatus(Long roomId, RoomStatus status, Long currentUserId) {
+        try {
+            if (status == null) return ResponseEntity.badRequest().build();
+            Room room = roomRepository.findById(roomId).orElse(null);
+            if (room == null) return ResponseEntity.notFound().build();
+
+            RoomStatus previous = room.getHousekeepingStatus();
+            if (!previous.canMoveTo(status)) return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
+            LocalDateTime now = LocalDateTime.now();
+            moveRoom(room, status, now);
+
+            List<HousekeepingTask> open = taskRepository.findByRoomIdAndStatusIn(roomId, OPEN);
+            List<HousekeepingTaskDTO> changed = new ArrayList<>();
+            if (status == RoomStatus.OUT_OF_ORDER || status == RoomStatus.READY) {
+                // Nothing left to clean
+                for (HousekeepingTask task : open) {
+                    task.setStatus(HousekeepingTaskStatus.CANCELLED);
+                    changed.add(toTaskDTO(task));
+                }
+                taskRepository.saveAll(open);
+            } else if (status == RoomStatus.DIRTY && open.isEmpty()) {
+                changed.add(toTaskDTO(taskRepository.save(HousekeepingTask.builder()
+                        .room(room)
+                        .hotel(room.getHotel())
+                        .status(HousekeepingTaskStatus.PENDING)
+                        .priority(PRIORITY_STANDARD)
+                        .build())));
+            }
+
+            RoomStatusDTO state = toStatus(room);
+            AfterCommit.run(() -> {
+                roomChanged(state);
+                changed.forEach(task -> {
+                    if (task.getStatus() == HousekeepingTaskStatus.PENDING) enqueue(task);
+                    else dequeue(task);
+                    taskChanged(task);
+                });
+            });
+            auditLogService.logHousekeeping(currentUserId, "ROOM_STATUS_CHANGED", null,
+                    Map.of("roomId", roomId, "from", previous.name(), "to", status.name()));
+            return ResponseEntity.ok(state);
+        } catch (Exception e) {
+            log.error("Changing status of room {} failed: {}", roomId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // ------------------ Reads ------------------
+    @Override
+    @PreAuthorize("@access.isStaff()")
+    public ResponseEntity<List<RoomStatusDTO>> getRoomStatuses(Long hotelId) {
+        Map<Long, RoomStatusDTO> rooms = currentReadiness().getOrDefault(hotelId, Map.of());
+        List<RoomStatusDTO> result = new ArrayList<>(rooms.values());
+        result.sort(Comparator.comparing(RoomStatusDTO::getRoomNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+        return ResponseEntity.ok(result);
+    }
+
+    @Override
+    @PreAuthorize("@access.isStaff()")
+    @Transactional(readOnly = true)
+    public ResponseEntity<HousekeepingSyncDTO> sync(LocalDateTime since, Long currentUserId) {
+        try {
+            Staff staff = currentUserId != null ? staffRepository.findById(currentUserId).orElse(null) : null;
+            if (staff == null || staff.getHotel() == null) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            Long hotelId = staff.getHotel().getId();
+
+            // Taken before reading, so nothing committed during the reads falls behind the cursor
+            LocalDateTime syncedAt = LocalDateTime.now();
+            List<HousekeepingTaskDTO> tasks;
+            List<RoomStatusDTO> rooms;
+            if (since == null) {
+                tasks = taskRepository.findByHotelIdAndStatusInOrderByPriorityDescCreatedAtAsc(hotelId, OPEN)
+                        .stream().map(this::toTaskDTO).toList();
+                rooms = new ArrayList<>(currentReadiness().getOrDefault(hotelId, Map.of()).values());
+            } else {
+                // Overlap covers clock skew between instances; clients merge by id
+                LocalDateTime from = since.minusNanos(syncOverlapMs * 1_000_000);
+                tasks = taskRepository.findByHotelIdAndUpdatedAtAfterOrderByUpdatedAtAsc(hotelId, from)
+                        .stream().map(this::toTaskDTO).toList();
+                rooms = roomRepository.findByHotelIdAndHousekeepingUpdatedAtAfter(hotelId, from)
+                        .stream().map(this::toStatus).toList();
+            }
+
+            return ResponseEntity.ok(HousekeepingSyncDTO.builder()
+                    .hotelId(hotelId)
+                    .syncedAt(syncedAt)
+                    .tasks(tasks)
+                    .rooms(rooms)
+                    .build());
+        } catch (Exception e) {
+            log.error("Housekeeping sync failed: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // ------------------ In-memory state ------------------
+    @Override
+    @Scheduled(fixedDelayString = "${housekeeping.resync-ms:300000}",
+            initialDelayString = "${housekeeping.resync-initial-delay-ms:0}")
+    @Transactional(readOnly = true)
+    public void resync() {
+        resyncLock.lock();
+        try {
+            Map<Long, PriorityQueue<QueuedTask>> rebuiltQueues = new ConcurrentHashMap<>();
+            for (Object[] row : taskRepository.findPendingQueueEntries()) {
+                Long hotelId = (Long) row[1];
+                rebuiltQueues.computeIfAbsent(hotelId, k -> new PriorityQueue<>(BEST_FIRST))
+                        .add(new QueuedTask((Long) row[0], hotelId, (Integer) row[2], (LocalDateTime) row[3]));
+            }
+
+            Map<Long, Map<Long, RoomStatusDTO>> rebuiltReadiness = new ConcurrentHashMap<>();
+            for (Room room : roomRepository.findAllWithHotel()) {
+                rebuiltReadiness.computeIfAbsent(room.getHotel().getId(), k -> new ConcurrentHashMap<>())
+                        .put(room.getId(), toStatus(room));
+            }
+
+            queues = rebuiltQueues;
+            readiness = rebuiltReadiness;
+        } catch (Exception e) {
+            // Keep the current queues and readiness
+            log.error("Housekeeping resync failed: {}", e.getMessage(), e);
+        } finally {
+            resyncLock.unlock();
+        }
+    }
+
+    private Map<Long, PriorityQueue<QueuedTask>> currentQueues() {
+        if (queues == null) loadOnce();
+        return queues != null ? queues : Map.of();
+    }
+
+    private Map<Long, Map<Long, RoomStatusDTO>> currentReadiness() {
+        if (readiness == null) loadOnce();
+        return readiness != null ? readiness : Map.of();
+    }
+
+    private void loadOnce() {
+        resyncLock.lock();
+        try {
+            if (queues == null || readiness == null) resync();
+        } finally {
+            resyncLock.unlock();
+        }
+    }
+
+    private static QueuedTask poll(PriorityQueue<QueuedTask> queue) {
+        if (queue == null) return null;
+        synchronized (queue) {
+            return queue.poll();
+        }
+    }
+
+    private void enqueue(HousekeepingTaskDTO task) {
+        Map<Long, PriorityQueue<QueuedTask>> current = queues;
+        // Not loaded yet: the first load reads the task from the database
+        if (current == null) return;
+        PriorityQueue<QueuedTask> queue = current.computeIfAbsent(task.getHotelId(), k -> new PriorityQueue<>(BEST_FIRST));
+        synchronized (queue) {
+            queue.removeIf(queued -> queued.taskId().equals(task.getId()));
+            queue.add(new QueuedTask(task.getId(), task.getHotelId(), task.getPriority(), task.getCreatedAt()));
+        }
+    }
+
+    private void dequeue(HousekeepingTaskDTO task) {
+        Map<Long, PriorityQueue<QueuedTask>> current = queues;
+        PriorityQueue<QueuedTask> queue = current != null ? current.get(task.getHotelId()) : null;
+        if (queue == null) return;
+        synchronized (queue) {
+            queue.removeIf(queued -> queued.taskId().equals(task.getId()));
+        }
+    }
+
+    private void roomChanged(RoomStatusDTO state) {
+        Map<Long, Map<Long, RoomStatusDTO>> current = readiness;
+        if (current != null) {
+            current.computeIfAbsent(state.getHotelId(), k -> new ConcurrentHashMap<>()).put(state.getRoomId(), state);
+        }
+        push(TOPIC_PREFIX + state.getHotelId() + "/rooms", state);
+    }
+
+    private void taskChanged(HousekeepingTaskDTO task) {
+        push(TOPIC_PREFIX + task.getHotelId() + "/tasks", task);
+    }
+
+    private void push(String destination, Object payload) {
+        try {
+            messagingTemplate.convertAndSend(destination, payload);
+        } catch (Exception e) {
+            log.warn("Housekeeping push to {} failed: {}", destination, e.getMessage());
+        }
+    }
+
+    // ------------------ Helpers ------------------
+    private static void moveRoom(Room room, RoomStatus status, LocalDateTime now) {
+        room.setHousekeepingStatus(status);
+        room.setHousekeepingUpdatedAt(now);
+    }
+
+    private RoomStatusDTO toStatus(Room room) {
+        return RoomStatusDTO.builder()
+                .roomId(room.getId())
+                .hotelId(room.getHotel() != null ? room.getHotel().getId() : null)
+                .roomNumber(room.getRoomNumber())
+                .status(room.getHousekeepingStatus())
+                .updatedAt(room.getHousekeepingUpdatedAt())
+                .build();
+    }
+
+    private HousekeepingTaskDTO toTaskDTO(HousekeepingTask task) {
+        Room room = task.getRoom();
+        Staff assignee = task.getAssignedTo();
+        return HousekeepingTaskDTO.builder()
+                .id(task.getId())
+                .hotelId(task.getHotel() != null ? task.getHotel().getId() : null)
+                .roomId(room != null ? room.getId() : null)
+                .roomNumber(room != null ? room.getRoomNumber() : null)
+                .bookingId(task.getBooking() != null ? task.getBooking().getId() : null)
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .assignedToId(assignee != null ? assignee.getId() : null)
+                .assignedToName(assignee != null ? assignee.getFullName() : null)
+                .notes(task.getNotes())
+                .createdAt(task.getCreatedAt())
+                .startedAt(task.getStartedAt())
+                .finishedAt(task.getFinishedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+}
@@ -2,21 +2,17 @@ package com.justine.serviceImpl;
 
 import com.justine.dtos.request.InvoiceRequestDTO;
 import com.justine.dtos.response.InvoiceResponseDTO;
-import com.justine.enums.StaffRole;
 import com.justine.model.Booking;
 import com.justine.model.Invoice;
-import com.justine.model.Staff;
 import com.justine.repository.BookingRepository;
 import com.justine.repository.InvoiceRepository;
-import com.justine.repository.StaffRepository;
+import com.justine.security.AccessGuard;
 import com.justine.service.AuditLogService;
 import com.justine.service.InvoiceService;
 import com.justine.utils.InvoiceServiceHelper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,24 +27,18 @@ public class InvoiceServiceImpl implements InvoiceService {
     private final BookingRepository bookingRepository;
     private final InvoiceServiceHelper invoiceServiceHelper;
     private final AuditLogService auditLogService;
-    private final StaffRepository staffRepository;
+    private final AccessGuard access;
 
-    public InvoiceServiceImpl(InvoiceRepository invoiceRepository, BookingRepository bookingRepository, InvoiceServiceHelper invoiceServiceHelper, AuditLogService auditLogService, StaffRepository staffRepository) {
+    public InvoiceServiceImpl(InvoiceRepository invoiceRepository, BookingRepository bookingRepository, InvoiceServiceHelper invoiceServiceHelper, AuditLogService auditLogService, AccessGuard access) {
         this.invoiceRepository = invoiceRepository;
         this.bookingRepository = bookingRepository;
         this.invoiceServiceHelper = invoiceServiceHelper;
         this.auditLogService = auditLogService;
-        this.staffRepository = staffRepository;
-    }
-
-    private boolean isAdmin() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        return auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        this.access = access;
     }
 
     private Long getActorId(Booking booking) {
-        if (booking.getStaff() != null && isAdmin()) return booking.getStaff().getId();
+        if (booking.getStaff() != null && access.isAdmin()) return booking.getStaff().getId();
         if (booking.getGuest() != null) return booking.getGuest().getId();
         return null;
     }
@@ -61,7 +51,7 @@ public class InvoiceServiceImpl implements InvoiceService {
             booking = bookingRepository.findById(dto.getBookingId())
                     .orElseThrow(() -> new EntityNotFoundException("Booking not found"));
 
-            if (!isAdmin() && !booking.getGuest().getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !booking.getGuest().getId().equals(currentUserId)) {
                 throw new SecurityException("Forbidden: Not allowed to generate this invoice");
             }
 
@@ -107,13 +97,9 @@ public class InvoiceServiceImpl implements InvoiceService {
             Invoice invoice = invoiceRepository.findByBookingId(bookingId);
             if (invoice == null) throw new EntityNotFoundException("Invoice not found");
 
-            // Fetch current user role if it's staff
-            Staff staff = staffRepository.findById(currentUserId).orElse(null);
-
             // Allow admin, guest, or receptionist
-            boolean allowed = isAdmin() ||
-                    booking.getGuest().getId().equals(currentUserId) ||
-                    (staff != null && staff.getRole() == StaffRole.RECEPTIONIST);
+            boolean allowed = access.isFrontDesk() ||
+                    booking.getGuest().getId().equals(currentUserId);
 
             if (!allowed) {
                 throw new SecurityException("Forbidden: You are not allowed to view this invoice");
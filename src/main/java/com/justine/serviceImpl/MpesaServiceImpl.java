@@ -4,17 +4,25 @@ import com.justine.dtos.request.STKPushRequestDTO;
 import com.justine.dtos.response.STKPushResponseDTO;
 import com.justine.enums.PaymentMethod;
 import com.justine.enums.PaymentStatus;
-import com.justine.model.Guest;
 import com.justine.model.Payment;
+import com.justine.repository.BookingRepository;
 import com.justine.repository.PaymentRepository;
+import com.justine.repository.RestaurantOrderRepository;
+import com.justine.service.AnalyticsService;
 import com.justine.service.MpesaService;
+import com.justine.utils.MpesaSandboxSimulator;
+import com.justine.utils.MpesaTokenManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
@@ -22,13 +30,12 @@ import java.util.*;
 public class MpesaServiceImpl implements MpesaService {
 
     private final PaymentRepository paymentRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    @Value("${mpesa.consumer-key}")
-    private String consumerKey;
-
-    @Value("${mpesa.consumer-secret}")
-    private String consumerSecret;
+    private final BookingRepository bookingRepository;
+    private final RestaurantOrderRepository restaurantOrderRepository;
+    private final RestTemplate restTemplate;
+    private final MpesaTokenManager tokenManager;
+    private final MpesaSandboxSimulator sandboxSimulator;
+    private final AnalyticsService analyticsService;
 
     @Value("${mpesa.shortcode}")
     private String shortcode;
@@ -42,14 +49,24 @@ public class MpesaServiceImpl implements MpesaService {
     @Value("${mpesa.environment:sandbox}")
     private String environment;
 
-    public MpesaServiceImpl(PaymentRepository paymentRepository) {
+    public MpesaServiceImpl(PaymentRepository paymentRepository,
+                            BookingRepository bookingRepository,
+                            RestaurantOrderRepository restaurantOrderRepository,
+                            @Qualifier("mpesaRestTemplate") RestTemplate restTemplate,
+                            MpesaTokenManager tokenManager,
+                            MpesaSandboxSimulator sandboxSimulator,
+                            AnalyticsService analyticsService) {
         this.paymentRepository = paymentRepository;
+        this.bookingRepository = bookingRepository;
+        this.restaurantOrderRepository = restaurantOrderRepository;
+        this.restTemplate = restTemplate;
+        this.tokenManager = tokenManager;
+        this.sandboxSimulator = sandboxSimulator;
+        this.analyticsService = analyticsService;
     }
 
     private String getBaseUrl() {
-        return environment.equalsIgnoreCase("production") ?
-                "https://api.safaricom.co.ke" :
-                "https://sandbox.safaricom.co.ke";
+        return tokenManager.getBaseUrl();
     }
 
     private String getAccessToken() {
@@ -57,16 +74,28 @@ public class MpesaServiceImpl implements MpesaService {
         if (Objects.equals(environment, "sandbox")) {
             return "mock_access_token_" + System.currentTimeMillis();
         }
+        return tokenManager.getAccessToken();
+    }
 
-        String auth = Base64.getEncoder().encodeToString((consumerKey + ":" + consumerSecret).getBytes(StandardCharsets.UTF_8));
-        String url = getBaseUrl() + "/oauth/v1/generate?grant_type=client_credentials";
+    /**
+     * POSTs to Daraja with a cached bearer token. A 401 means the token was
+     * revoked early, so it is dropped and the call retried once with a fresh one.
+     */
+    private <T> ResponseEntity<T> postToDaraja(String path, Map<String, Object> payload, Class<T> responseType) {
+        try {
+            return restTemplate.exchange(getBaseUrl() + path, HttpMethod.POST, buildEntity(payload), responseType);
+        } catch (HttpClientErrorException.Unauthorized e) {
+            log.warn("M-Pesa rejected cached access token, refreshing and retrying {}", path);
+            tokenManager.invalidate();
+            return restTemplate.exchange(getBaseUrl() + path, HttpMethod.POST, buildEntity(payload), responseType);
+        }
+    }
 
+    private HttpEntity<Map<String, Object>> buildEntity(Map<String, Object> payload) {
         HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Basic " + auth);
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
-        return (String) response.getBody().get("access_token");
+        headers.set("Authorization", "Bearer " + getAccessToken());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(payload, headers);
     }
 
     private String getTimestamp() {
@@ -97,29 +126,31 @@ public class MpesaServiceImpl implements MpesaService {
         String password = generatePassword();
         String timestamp = getTimestamp();
 
+        Payment payment = existingPayment(request);
+        if (payment != null && payment.getStatus() == PaymentStatus.PAID) {
+            STKPushResponseDTO response = new STKPushResponseDTO();
+            response.setResponseCode("1");
+            response.setResponseDescription("Payment already completed");
+            response.setCustomerMessage("This bill has already been paid");
+            return response;
+        }
+
         // Mock STK Push for sandbox/development
         if (environment.equalsIgnoreCase("sandbox")) {
+            MpesaSandboxSimulator.SimulatedPush push = sandboxSimulator.register(request.getAmount(), phone);
+            markPending(payment, request, push.checkoutRequestId());
+            sandboxSimulator.dispatch(push, this::handleCallback);
+
             STKPushResponseDTO response = new STKPushResponseDTO();
-            response.setMerchantRequestId("mock_merchant_" + System.currentTimeMillis());
-            response.setCheckoutRequestId("mock_checkout_" + System.currentTimeMillis());
+            response.setMerchantRequestId(push.merchantRequestId());
+            response.setCheckoutRequestId(push.checkoutRequestId());
             response.setResponseCode("0");
             response.setResponseDescription("Success. Request accepted for processing");
             response.setCustomerMessage("Success. Request accepted for processing");
-
-            // Simulate callback after 10 seconds
-            new Timer().schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    simulatePaymentCallback(response.getCheckoutRequestId(), true);
-                }
-            }, 10000);
-
             return response;
         }
 
         // Real STK Push
-        String accessToken = getAccessToken();
-
         Map<String, Object> payload = new HashMap<>();
         payload.put("BusinessShortCode", shortcode);
         payload.put("Password", password);
@@ -133,24 +164,58 @@ public class MpesaServiceImpl implements MpesaService {
         payload.put("AccountReference", request.getAccountReference());
         payload.put("TransactionDesc", request.getTransactionDesc());
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + accessToken);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
-
-        ResponseEntity<STKPushResponseDTO> response = restTemplate.exchange(
-                getBaseUrl() + "/mpesa/stkpush/v1/processrequest",
-                HttpMethod.POST,
-                entity,
+        ResponseEntity<STKPushResponseDTO> response = postToDaraja(
+                "/mpesa/stkpush/v1/processrequest",
+                payload,
                 STKPushResponseDTO.class
         );
 
-        return response.getBody();
+        // A callback racing this save finds no row; the reconciler resolves it by status query
+        STKPushResponseDTO accepted = response.getBody();
+        if (accepted != null && "0".equals(accepted.getResponseCode()) && accepted.getCheckoutRequestId() != null) {
+            markPending(payment, request, accepted.getCheckoutRequestId());
+        }
+        return accepted;
+    }
+
+    private Payment existingPayment(STKPushRequestDTO request) {
+        if (request.getBookingId() != null) {
+            return paymentRepository.findByBookingId(request.getBookingId());
+        }
+        if (request.getRestaurantOrderId() != null) {
+            return paymentRepository.findByRestaurantOrderId(request.getRestaurantOrderId()).orElse(null);
+        }
+        return null;
+    }
+
+    // Ties the accepted push to a PENDING payment, so callbacks and the reconciler can find it by CheckoutRequestID
+    private void markPending(Payment payment, STKPushRequestDTO request, String checkoutRequestId) {
+        if (payment == null) {
+            payment = Payment.builder()
+                    .booking(request.getBookingId() != null
+                            ? bookingRepository.findById(request.getBookingId()).orElse(null) : null)
+                    .restaurantOrder(request.getRestaurantOrderId() != null
+                            ? restaurantOrderRepository.findById(request.getRestaurantOrderId()).orElse(null) : null)
+                    .build();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        payment.setAmount(request.getAmount());
+        payment.setMethod(PaymentMethod.MPESA);
+        payment.setPaymentMethod(PaymentMethod.MPESA);
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setCheckoutRequestId(checkoutRequestId);
+        // A retried push is stale relative to its own send time, not the failed attempt's
+        payment.setCreatedAt(now);
+        payment.setUpdatedAt(now);
+        paymentRepository.save(payment);
     }
 
     @Override
     public Object querySTKPushStatus(String checkoutRequestId) {
-        String accessToken = getAccessToken();
+        if (environment.equalsIgnoreCase("sandbox")) {
+            return sandboxStatus(checkoutRequestId);
+        }
+
         String timestamp = getTimestamp();
         String password = generatePassword();
 
@@ -160,15 +225,9 @@ public class MpesaServiceImpl implements MpesaService {
         payload.put("Timestamp", timestamp);
         payload.put("CheckoutRequestID", checkoutRequestId);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + accessToken);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
-        ResponseEntity<Map> response = restTemplate.exchange(
-                getBaseUrl() + "/mpesa/stkpushquery/v1/query",
-                HttpMethod.POST,
-                entity,
+        ResponseEntity<Map> response = postToDaraja(
+                "/mpesa/stkpushquery/v1/query",
+                payload,
                 Map.class
         );
 
@@ -183,7 +242,7 @@ public class MpesaServiceImpl implements MpesaService {
             Map<String, Object> stkCallback = (Map<String, Object>) body.get("stkCallback");
 
             String checkoutRequestId = (String) stkCallback.get("CheckoutRequestID");
-            int resultCode = (int) stkCallback.get("ResultCode");
+            int resultCode = Integer.parseInt(String.valueOf(stkCallback.get("ResultCode")));
             String resultDesc = (String) stkCallback.get("ResultDesc");
 
             String mpesaReceiptNumber = null;
@@ -211,52 +270,55 @@ public class MpesaServiceImpl implements MpesaService {
                 }
             }
 
-            Optional<Payment> paymentOpt = paymentRepository.findByCheckoutRequestId(checkoutRequestId);
-            if (paymentOpt.isPresent()) {
-                Payment payment = paymentOpt.get();
-                payment.setStatus(resultCode == 0 ? PaymentStatus.COMPLETED : PaymentStatus.FAILED);
-                payment.setMpesaReceiptNumber(mpesaReceiptNumber);
-                paymentRepository.save(payment);
+            log.debug("M-Pesa callback for {}: {} ({}), amount={}, phone={}", checkoutRequestId, resultCode, resultDesc, amount, phone);
+            applyStkResult(checkoutRequestId, resultCode, mpesaReceiptNumber);
 
-                if (resultCode == 0) {
-                    Guest user = payment.getGuest();
+        } catch (Exception e) {
+            log.error("Error handling M-Pesa callback", e);
+        }
+    }
 
-                    payment.setPaymentMethod(PaymentMethod.MPESA);
-                    payment.setStatus(PaymentStatus.PAID);
-                    log.info("Payment successful for userId {}", user.getId());
-                }
-            } else {
+    @Override
+    @Transactional
+    public boolean applyStkResult(String checkoutRequestId, int resultCode, String mpesaReceiptNumber) {
+        PaymentStatus status = resultCode == 0 ? PaymentStatus.PAID : PaymentStatus.FAILED;
+        int updated = paymentRepository.resolvePendingStkPayment(checkoutRequestId, status, mpesaReceiptNumber, LocalDateTime.now());
+
+        if (updated == 0) {
+            if (paymentRepository.findByCheckoutRequestId(checkoutRequestId).isEmpty()) {
                 log.warn("Payment record not found for checkoutRequestId {}", checkoutRequestId);
+            } else {
+                log.debug("Payment for checkoutRequestId {} already resolved, ignoring result {}", checkoutRequestId, resultCode);
             }
+            return false;
+        }
 
-        } catch (Exception e) {
-            log.error("Error handling M-Pesa callback", e);
+        if (status == PaymentStatus.PAID) {
+            paymentRepository.findByCheckoutRequestId(checkoutRequestId).ifPresent(analyticsService::recordPayment);
         }
+
+        log.info("Payment {} for checkoutRequestId {}", status, checkoutRequestId);
+        return true;
     }
 
-    private void simulatePaymentCallback(String checkoutRequestId, boolean success) {
-        Map<String, Object> mockCallbackData = new HashMap<>();
-        Map<String, Object> body = new HashMap<>();
-        Map<String, Object> stkCallback = new HashMap<>();
-
-        stkCallback.put("CheckoutRequestID", checkoutRequestId);
-        stkCallback.put("ResultCode", success ? 0 : 1);
-        stkCallback.put("ResultDesc", success ? "The service request is processed successfully." : "Payment failed");
-
-        if (success) {
-            Map<String, Object> callbackMetadata = new HashMap<>();
-            List<Map<String, Object>> items = new ArrayList<>();
-            items.add(Map.of("Name", "Amount", "Value", 100));
-            items.add(Map.of("Name", "MpesaReceiptNumber", "Value", "MOCK" + System.currentTimeMillis()));
-            items.add(Map.of("Name", "PhoneNumber", "Value", "254700000000"));
-            callbackMetadata.put("Item", items);
-            stkCallback.put("CallbackMetadata", callbackMetadata);
-        }
+    // Answers status queries for simulated pushes the way Daraja's stkpushquery does
+    private Map<String, Object> sandboxStatus(String checkoutRequestId) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("CheckoutRequestID", checkoutRequestId);
 
-        body.put("stkCallback", stkCallback);
-        mockCallbackData.put("Body", body);
+        Optional<MpesaSandboxSimulator.SimulatedPush> push = sandboxSimulator.find(checkoutRequestId);
+        if (push.isEmpty() || push.get().outcome() == null) {
+            status.put("errorCode", "500.001.1001");
+            status.put("errorMessage", "The transaction is being processed");
+            return status;
+        }
 
-        handleCallback(mockCallbackData);
-        log.info("Mock payment {} for checkoutRequestId {}", success ? "completed" : "failed", checkoutRequestId);
+        MpesaSandboxSimulator.Outcome outcome = push.get().outcome();
+        status.put("MerchantRequestID", push.get().merchantRequestId());
+        status.put("ResponseCode", "0");
+        status.put("ResponseDescription", "The service request has been accepted successsfully");
+        status.put("ResultCode", String.valueOf(outcome.getResultCode()));
+        status.put("ResultDesc", outcome.getResultDesc());
+        return status;
     }
 }
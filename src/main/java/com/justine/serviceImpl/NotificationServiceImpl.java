@@ -7,7 +7,6 @@ import com.justine.dtos.response.StaffResponseDTO;
 import com.justine.enums.DeliveryStatus;
 import com.justine.model.*;
 import com.justine.repository.BookingRepository;
-import com.justine.repository.GuestRepository;
 import com.justine.repository.NotificationRepository;
 import com.justine.repository.StaffRepository;
 import com.justine.service.AuditLogService;
@@ -15,6 +14,8 @@ import com.justine.service.EmailService;
 import com.justine.service.NotificationService;
 import com.justine.service.SMSService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -22,6 +23,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,27 +35,27 @@ public class NotificationServiceImpl implements NotificationService {
     private final EmailService emailService;
     private final NotificationRepository notificationRepository;
     private final AuditLogService auditLogService;
-    private final GuestRepository guestRepository;
     private final StaffRepository staffRepository;
     private final SMSService smsService;
+    private final AsyncTaskExecutor notificationExecutor;
 
     public NotificationServiceImpl(SimpMessagingTemplate messagingTemplate,
                                    BookingRepository bookingRepository,
                                    EmailService emailService,
                                    NotificationRepository notificationRepository,
                                    AuditLogService auditLogService,
-                                   GuestRepository guestRepository,
                                    StaffRepository staffRepository,
-                                   SMSService smsService) {
+                                   SMSService smsService,
+                                   @Qualifier("notificationExecutor") AsyncTaskExecutor notificationExecutor) {
 
         this.messagingTemplate = messagingTemplate;
         this.bookingRepository = bookingRepository;
         this.emailService = emailService;
         this.notificationRepository = notificationRepository;
         this.auditLogService = auditLogService;
-        this.guestRepository = guestRepository;
         this.staffRepository = staffRepository;
         this.smsService = smsService;
+        this.notificationExecutor = notificationExecutor;
     }
 
     // WEBSOCKET
@@ -274,7 +276,7 @@ public class NotificationServiceImpl implements NotificationService {
     // FETCH ALL ALERTS
     @Override
     public ResponseEntity<List<NotificationResponseDto>> getAllAlerts() {
-        List<NotificationResponseDto> notifications = notificationRepository.findAll()
+        List<NotificationResponseDto> notifications = notificationRepository.findAllWithRecipients()
                 .stream()
                 .map(this::mapNotificationsToDto)
                 .toList();
@@ -295,7 +297,10 @@ public class NotificationServiceImpl implements NotificationService {
 
                 try {
                     Thread.sleep(2000L * attempt); // BACKOFF
-                } catch (InterruptedException ignored) {}
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
             }
         }
         return false; // FAILED AFTER RETRIES
@@ -305,6 +310,8 @@ public class NotificationServiceImpl implements NotificationService {
             List<Notification> dbNotifications,
             String message) {
 
+        // Fan out one delivery per recipient so a slow or retrying provider call does not hold up the rest
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(dbNotifications.size());
         for (Notification notification : dbNotifications) {
 
             // ===== SMS DELIVERY WITH RETRY =====
@@ -312,16 +319,19 @@ public class NotificationServiceImpl implements NotificationService {
                     ? notification.getGuest().getPhoneNumber()
                     : notification.getStaff().getPhoneNumber();
 
-            boolean smsSent = sendSmsWithRetry(phone, message, 3);
+            deliveries.add(CompletableFuture.runAsync(() -> {
+                boolean smsSent = sendSmsWithRetry(phone, message, 3);
 
-            notification.setSmsRetryCount(notification.getSmsRetryCount() + 1);
+                notification.setSmsRetryCount(notification.getSmsRetryCount() + 1);
 
-            notification.setSmsStatus(
-                    smsSent ? DeliveryStatus.SENT : DeliveryStatus.FAILED
-            );
-
-            notificationRepository.save(notification);
+                notification.setSmsStatus(
+                        smsSent ? DeliveryStatus.SENT : DeliveryStatus.FAILED
+                );
+            }, notificationExecutor));
         }
+
+        CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0])).join();
+        notificationRepository.saveAll(dbNotifications);
     }
 
     // DTO MAPPERS
@@ -330,18 +340,13 @@ public class NotificationServiceImpl implements NotificationService {
         List<GuestResponseDTO> guests = null;
         List<StaffResponseDTO> staffs = null;
 
+        // Recipients are fetched with the notification (findAllWithRecipients)
         if (notification.getGuest() != null) {
-            Guest guest = guestRepository.findById(notification.getGuest().getId()).orElse(null);
-            if (guest != null) {
-                guests = mapGuestToDto(guest);
-            }
+            guests = mapGuestToDto(notification.getGuest());
         }
 
         if (notification.getStaff() != null) {
-            Staff staff = staffRepository.findById(notification.getStaff().getId()).orElse(null);
-            if (staff != null) {
-                staffs = mapStaffToDto(staff);
-            }
+            staffs = mapStaffToDto(notification.getStaff());
         }
 
         return NotificationResponseDto.builder()
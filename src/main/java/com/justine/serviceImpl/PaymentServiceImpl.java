@@ -8,7 +8,8 @@ import com.justine.model.Booking;
 import com.justine.model.Payment;
 import com.justine.repository.BookingRepository;
 import com.justine.repository.PaymentRepository;
-import com.justine.repository.StaffRepository;
+import com.justine.security.AccessGuard;
+import com.justine.service.AnalyticsService;
 import com.justine.service.AuditLogService;
 import com.justine.service.InvoiceService;
 import com.justine.service.PaymentService;
@@ -29,20 +30,16 @@ public class PaymentServiceImpl implements PaymentService {
     private final BookingRepository bookingRepository;
     private final InvoiceService invoiceService;
     private final AuditLogService auditLogService;
-    private final StaffRepository staffRepository;
+    private final AnalyticsService analyticsService;
+    private final AccessGuard access;
 
-    public PaymentServiceImpl(PaymentRepository paymentRepository, BookingRepository bookingRepository, InvoiceService invoiceService, AuditLogService auditLogService, StaffRepository staffRepository) {
+    public PaymentServiceImpl(PaymentRepository paymentRepository, BookingRepository bookingRepository, InvoiceService invoiceService, AuditLogService auditLogService, AnalyticsService analyticsService, AccessGuard access) {
         this.paymentRepository = paymentRepository;
         this.bookingRepository = bookingRepository;
         this.invoiceService = invoiceService;
         this.auditLogService = auditLogService;
-        this.staffRepository = staffRepository;
-    }
-
-    private boolean isAdmin(Long currentUserId) {
-        return staffRepository.findById(currentUserId)
-                .map(staff -> "ADMIN".equalsIgnoreCase(String.valueOf(staff.getRole())))
-                .orElse(false);
+        this.analyticsService = analyticsService;
+        this.access = access;
     }
 
     @Override
@@ -51,7 +48,7 @@ public class PaymentServiceImpl implements PaymentService {
             Booking booking = bookingRepository.findById(dto.getBookingId())
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-            if (!isAdmin(currentUserId) && !booking.getGuest().getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !booking.getGuest().getId().equals(currentUserId)) {
                 throw new RuntimeException("Forbidden: not allowed to record this payment");
             }
 
@@ -66,6 +63,7 @@ public class PaymentServiceImpl implements PaymentService {
 
             Payment saved = paymentRepository.save(payment);
             booking.setPayment(saved);
+            analyticsService.recordPayment(saved);
 
             InvoiceRequestDTO invoiceRequest = InvoiceRequestDTO.builder()
                     .bookingId(booking.getId())
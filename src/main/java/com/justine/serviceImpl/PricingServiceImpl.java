@@ -0,0 +1,499 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.request.RateRuleRequestDTO;
+import com.justine.dtos.request.SeasonalRateRequestDTO;
+import com.justine.dtos.response.RateQuoteResponseDTO;
+import com.justine.dtos.response.RateRuleResponseDTO;
+import com.justine.dtos.response.SeasonalRateResponseDTO;
+import com.justine.enums.BookingStatus;
+import com.justine.enums.RoomType;
+import com.justine.model.Hotel;
+import com.justine.model.RateRule;
+import com.justine.model.Room;
+import com.justine.model.SeasonalRate;
+import com.justine.repository.*;
+import com.justine.service.AuditLogService;
+import com.justine.service.PricingService;
+import com.justine.utils.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Computes nightly room rates as base price x seasonal multiplier x occupancy multiplier.
+ *
+ * Multipliers are precomputed into a dense per-day table for every hotel and room type,
+ * covering the next pricing.rate-table.horizon-days nights, so a quote is O(nights) with
+ * no database access. Booking changes adjust the affected days after their transaction
+ * commits; a periodic rebuild from the database corrects any drift and rolls the window.
+ */
+@Slf4j
+@Service
+public class PricingServiceImpl implements PricingService {
+
+    private final RateRuleRepository rateRuleRepository;
+    private final SeasonalRateRepository seasonalRateRepository;
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final HotelRepository hotelRepository;
+    private final AuditLogService auditLogService;
+    // Programmatic, because the rebuild is also invoked from inside this bean where proxy annotations do not apply
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final int horizonDays;
+    private final double minMultiplier;
+    private final double maxMultiplier;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile RateTable table;
+
+    public PricingServiceImpl(RateRuleRepository rateRuleRepository,
+                              SeasonalRateRepository seasonalRateRepository,
+                              RoomRepository roomRepository,
+                              BookingRepository bookingRepository,
+                              HotelRepository hotelRepository,
+                              AuditLogService auditLogService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${pricing.rate-table.horizon-days:400}") int horizonDays,
+                              @Value("${pricing.multiplier.min:0.5}") double minMultiplier,
+                              @Value("${pricing.multiplier.max:3.0}") double maxMultiplier) {
+        this.rateRuleRepository = rateRuleRepository;
+        this.seasonalRateRepository = seasonalRateRepository;
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.hotelRepository = hotelRepository;
+        this.auditLogService = auditLogService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.horizonDays = horizonDays;
+        this.minMultiplier = minMultiplier;
+        this.maxMultiplier = maxMultiplier;
+    }
+
+    // ------------------ Quotes ------------------
+    @Override
+    public double[] nightlyRates(Long hotelId, RoomType type, double basePrice, LocalDate checkIn, LocalDate checkOut) {
+        int nights = (int) FolioServiceImpl.billableNights(checkIn, checkOut);
+        double[] rates = new double[nights];
+        if (hotelId == null || type == null || checkIn == null) {
+            Arrays.fill(rates, basePrice);
+            return rates;
+        }
+
+        RateTable current = currentTable();
+        Slot slot = current.slot(hotelId, type);
+        int firstDay = (int) checkIn.toEpochDay();
+        for (int n = 0; n < nights; n++) {
+            double multiplier = slot != null
+                    ? slot.multiplierAt(firstDay + n)
+                    : 1.0;
+            rates[n] = round(basePrice * multiplier);
+        }
+        return rates;
+    }
+
+    @Override
+    public double quoteStay(Long hotelId, RoomType type, double basePrice, LocalDate checkIn, LocalDate checkOut) {
+        double total = 0.0;
+        for (double rate : nightlyRates(hotelId, type, basePrice, checkIn, checkOut)) {
+            total += rate;
+        }
+        return round(total);
+    }
+
+    @Override
+    public double quoteStay(Room room, LocalDate checkIn, LocalDate checkOut) {
+        double base = room.getPricePerNight() != null ? room.getPricePerNight() : 0.0;
+        Long hotelId = room.getHotel() != null ? room.getHotel().getId() : null;
+        return quoteStay(hotelId, room.getType(), base, checkIn, checkOut);
+    }
+
+    @Override
+    public ResponseEntity<RateQuoteResponseDTO> quote(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return roomRepository.findById(roomId)
+                .map(room -> {
+                    double base = room.getPricePerNight() != null ? room.getPricePerNight() : 0.0;
+                    Long hotelId = room.getHotel() != null ? room.getHotel().getId() : null;
+                    double[] rates = nightlyRates(hotelId, room.getType(), base, checkIn, checkOut);
+                    return ResponseEntity.ok(RateQuoteResponseDTO.builder()
+                            .roomId(room.getId())
+                            .checkInDate(checkIn)
+                            .checkOutDate(checkOut)
+                            .basePricePerNight(base)
+                            .nightlyRates(Arrays.stream(rates).boxed().toList())
+                            .totalAmount(round(Arrays.stream(rates).sum()))
+                            .build());
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    // ------------------ Occupancy bookkeeping ------------------
+    @Override
+    public void recordStay(Room room, LocalDate checkIn, LocalDate checkOut) {
+        AfterCommit.run(() -> adjustOccupancy(room, checkIn, checkOut, 1));
+    }
+
+    @Override
+    public void releaseStay(Room room, LocalDate checkIn, LocalDate checkOut) {
+        AfterCommit.run(() -> adjustOccupancy(room, checkIn, checkOut, -1));
+    }
+
+    private void adjustOccupancy(Room room, LocalDate checkIn, LocalDate checkOut, int delta) {
+        RateTable current = table;
+        if (current == null || room == null || room.getHotel() == null || room.getType() == null
+                || checkIn == null || checkOut == null) {
+            return;
+        }
+        Slot slot = current.slot(room.getHotel().getId(), room.getType());
+        if (slot != null) {
+            slot.adjust((int) checkIn.toEpochDay(), (int) checkOut.toEpochDay(), delta);
+        }
+    }
+
+    // ------------------ Rate table ------------------
+    @Override
+    @Scheduled(fixedDelayString = "${pricing.rate-table.rebuild-ms:300000}",
+            initialDelayString = "${pricing.rate-table.initial-delay-ms:0}")
+    public void rebuildRateTable() {
+        rebuildLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            table = readOnlyTransaction.execute(status -> buildTable());
+            log.debug("Rate table rebuilt: {} hotel/room type slots over {} days in {}ms",
+                    table.size(), horizonDays, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // Keep pricing from the previous table
+            log.error("Rate table rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private RateTable currentTable() {
+        RateTable current = table;
+        if (current != null) return current;
+
+        rebuildLock.lock();
+        try {
+            if (table == null) table = readOnlyTransaction.execute(status -> buildTable());
+            return table;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private RateTable buildTable() {
+        LocalDate origin = LocalDate.now();
+        int originDay = (int) origin.toEpochDay();
+
+        Map<Long, List<RateRule>> rulesByHotel = new HashMap<>();
+        for (RateRule rule : rateRuleRepository.findAll()) {
+            rulesByHotel.computeIfAbsent(rule.getHotel().getId(), k -> new ArrayList<>()).add(rule);
+        }
+        Map<Long, List<SeasonalRate>> seasonsByHotel = new HashMap<>();
+        for (SeasonalRate season : seasonalRateRepository.findAll()) {
+            seasonsByHotel.computeIfAbsent(season.getHotel().getId(), k -> new ArrayList<>()).add(season);
+        }
+
+        Map<SlotKey, Slot> slots = new HashMap<>();
+        for (Object[] row : roomRepository.countRoomsByHotelAndType()) {
+            Long hotelId = (Long) row[0];
+            RoomType type = (RoomType) row[1];
+            int totalRooms = ((Number) row[2]).intValue();
+            slots.put(new SlotKey(hotelId, type), new Slot(originDay, totalRooms,
+                    occupancyRules(rulesByHotel.getOrDefault(hotelId, List.of()), type),
+                    seasonalMultipliers(seasonsByHotel.getOrDefault(hotelId, List.of()), type, originDay)));
+        }
+
+        // Booked rooms per night via a difference array per slot
+        Map<SlotKey, int[]> diffs = new HashMap<>();
+        for (Object[] row : bookingRepository.findStayWindowsByHotelAndType(
+                EnumSet.of(BookingStatus.BOOKED, BookingStatus.CHECKED_IN), origin, origin.plusDays(horizonDays))) {
+            SlotKey key = new SlotKey((Long) row[0], (RoomType) row[1]);
+            if (!slots.containsKey(key) || row[2] == null || row[3] == null) continue;
+
+            int from = Math.max((int) ((LocalDate) row[2]).toEpochDay() - originDay, 0);
+            int to = Math.min((int) ((LocalDate) row[3]).toEpochDay() - originDay, horizonDays);
+            if (from >= to) continue;
+
+            int[] diff = diffs.computeIfAbsent(key, k -> new int[horizonDays + 1]);
+            diff[from]++;
+            diff[to]--;
+        }
+
+        slots.forEach((key, slot) -> slot.initialise(diffs.get(key)));
+        return new RateTable(slots);
+    }
+
+    // Type-specific rules replace the hotel-wide ones for that room type
+    private double[][] occupancyRules(List<RateRule> hotelRules, RoomType type) {
+        List<RateRule> applicable = hotelRules.stream().filter(r -> r.getRoomType() == type).toList();
+        if (applicable.isEmpty()) {
+            applicable = hotelRules.stream().filter(r -> r.getRoomType() == null).toList();
+        }
+
+        List<RateRule> sorted = applicable.stream()
+                .filter(r -> r.getMinOccupancy() != null && r.getMultiplier() != null)
+                .sorted(Comparator.comparingDouble(RateRule::getMinOccupancy))
+                .toList();
+
+        double[][] rules = new double[2][sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            rules[0][i] = sorted.get(i).getMinOccupancy();
+            rules[1][i] = sorted.get(i).getMultiplier();
+        }
+        return rules;
+    }
+
+    // The narrowest season covering a night wins; on a tie a type-specific season beats a hotel-wide one
+    private double[] seasonalMultipliers(List<SeasonalRate> hotelSeasons, RoomType type, int originDay) {
+        double[] multipliers = new double[horizonDays];
+        Arrays.fill(multipliers, 1.0);
+
+        List<SeasonalRate> applicable = hotelSeasons.stream()
+                .filter(s -> s.getRoomType() == null || s.getRoomType() == type)
+                .filter(s -> s.getStartDate() != null && s.getEndDate() != null && s.getMultiplier() != null)
+                .sorted(Comparator
+                        .comparingLong((SeasonalRate s) -> s.getEndDate().toEpochDay() - s.getStartDate().toEpochDay())
+                        .thenComparing(s -> s.getRoomType() == null))
+                .toList();
+
+        // Paint widest first so narrower seasons overwrite them
+        for (int i = applicable.size() - 1; i >= 0; i--) {
+            SeasonalRate season = applicable.get(i);
+            int from = Math.max((int) season.getStartDate().toEpochDay() - originDay, 0);
+            int to = Math.min((int) season.getEndDate().toEpochDay() - originDay + 1, horizonDays);
+            for (int d = from; d < to; d++) {
+                multipliers[d] = season.getMultiplier();
+            }
+        }
+        return multipliers;
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+
+    private record SlotKey(Long hotelId, RoomType type) {
+    }
+
+    private static final class RateTable {
+        private final Map<SlotKey, Slot> slots;
+
+        RateTable(Map<SlotKey, Slot> slots) {
+            this.slots = slots;
+        }
+
+        Slot slot(Long hotelId, RoomType type) {
+            return slots.get(new SlotKey(hotelId, type));
+        }
+
+        int size() {
+            return slots.size();
+        }
+    }
+
+    /**
+     * Per-night state for one hotel and room type. Writers copy the multiplier array and
+     * publish it through a volatile field, so readers never lock.
+     */
+    private final class Slot {
+        private final int originDay;
+        private final int totalRooms;
+        private final double[] ruleThresholds;
+        private final double[] ruleMultipliers;
+        private final double[] seasonal;
+        private final int[] booked = new int[horizonDays];
+        private volatile double[] multipliers;
+
+        Slot(int originDay, int totalRooms, double[][] occupancyRules, double[] seasonal) {
+            this.originDay = originDay;
+            this.totalRooms = totalRooms;
+            this.ruleThresholds = occupancyRules[0];
+            this.ruleMultipliers = occupancyRules[1];
+            this.seasonal = seasonal;
+        }
+
+        synchronized void initialise(int[] diff) {
+            double[] next = new double[horizonDays];
+            int running = 0;
+            for (int d = 0; d < horizonDays; d++) {
+                if (diff != null) running += diff[d];
+                booked[d] = running;
+                next[d] = combine(d);
+            }
+            multipliers = next;
+        }
+
+        synchronized void adjust(int fromDay, int toDay, int delta) {
+            int from = Math.max(fromDay - originDay, 0);
+            int to = Math.min(toDay - originDay, horizonDays);
+            if (from >= to) return;
+
+            double[] next = multipliers.clone();
+            for (int d = from; d < to; d++) {
+                booked[d] = Math.max(booked[d] + delta, 0);
+                next[d] = combine(d);
+            }
+            multipliers = next;
+        }
+
+        double multiplierAt(int epochDay) {
+            int d = epochDay - originDay;
+            if (d >= 0 && d < horizonDays) return multipliers[d];
+            // Beyond the table no bookings are known and seasons are not painted
+            return clamp(occupancyMultiplier(0.0));
+        }
+
+        private double combine(int d) {
+            double occupancy = totalRooms > 0 ? (double) booked[d] / totalRooms : 0.0;
+            return clamp(seasonal[d] * occupancyMultiplier(occupancy));
+        }
+
+        private double occupancyMultiplier(double occupancy) {
+            double multiplier = 1.0;
+            for (int i = 0; i < ruleThresholds.length && ruleThresholds[i] <= occupancy; i++) {
+                multiplier = ruleMultipliers[i];
+            }
+            return multiplier;
+        }
+
+        private double clamp(double multiplier) {
+            return Math.min(Math.max(multiplier, minMultiplier), maxMultiplier);
+        }
+    }
+
+    // ------------------ Rule administration ------------------
+    @Override
+    @Transactional
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<RateRuleResponseDTO> createRateRule(RateRuleRequestDTO dto, Long currentUserId) {
+        if (dto.getHotelId() == null || dto.getMinOccupancy() == null || dto.getMultiplier() == null
+                || dto.getMinOccupancy() < 0 || dto.getMinOccupancy() > 1 || dto.getMultiplier() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        Optional<Hotel> hotel = hotelRepository.findById(dto.getHotelId());
+        if (hotel.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        RateRule rule = rateRuleRepository.save(RateRule.builder()
+                .hotel(hotel.get())
+                .roomType(dto.getRoomType())
+                .minOccupancy(dto.getMinOccupancy())
+                .multiplier(dto.getMultiplier())
+                .build());
+
+        auditLogService.logHotel(currentUserId, "CREATE_RATE_RULE_SUCCESS", dto.getHotelId(),
+                Map.of("ruleId", rule.getId(), "minOccupancy", rule.getMinOccupancy(), "multiplier", rule.getMultiplier()));
+        AfterCommit.run(this::rebuildRateTable);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toRateRuleResponse(rule));
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<SeasonalRateResponseDTO> createSeasonalRate(SeasonalRateRequestDTO dto, Long currentUserId) {
+        if (dto.getHotelId() == null || dto.getStartDate() == null || dto.getEndDate() == null
+                || dto.getEndDate().isBefore(dto.getStartDate())
+                || dto.getMultiplier() == null || dto.getMultiplier() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        Optional<Hotel> hotel = hotelRepository.findById(dto.getHotelId());
+        if (hotel.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        SeasonalRate season = seasonalRateRepository.save(SeasonalRate.builder()
+                .hotel(hotel.get())
+                .roomType(dto.getRoomType())
+                .name(dto.getName())
+                .startDate(dto.getStartDate())
+                .endDate(dto.getEndDate())
+                .multiplier(dto.getMultiplier())
+                .build());
+
+        auditLogService.logHotel(currentUserId, "CREATE_SEASONAL_RATE_SUCCESS", dto.getHotelId(),
+                Map.of("seasonId", season.getId(), "startDate", season.getStartDate().toString(),
+                        "endDate", season.getEndDate().toString(), "multiplier", season.getMultiplier()));
+        AfterCommit.run(this::rebuildRateTable);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toSeasonalRateResponse(season));
+    }
+
+    @Override
+    public ResponseEntity<List<RateRuleResponseDTO>> getRateRules(Long hotelId) {
+        return ResponseEntity.ok(rateRuleRepository.findByHotelId(hotelId).stream()
+                .map(this::toRateRuleResponse)
+                .toList());
+    }
+
+    @Override
+    public ResponseEntity<List<SeasonalRateResponseDTO>> getSeasonalRates(Long hotelId) {
+        return ResponseEntity.ok(seasonalRateRepository.findByHotelId(hotelId).stream()
+                .map(this::toSeasonalRateResponse)
+                .toList());
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<Void> deleteRateRule(Long id, Long currentUserId) {
+        Optional<RateRule> rule = rateRuleRepository.findById(id);
+        if (rule.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        rateRuleRepository.delete(rule.get());
+        auditLogService.logHotel(currentUserId, "DELETE_RATE_RULE_SUCCESS", rule.get().getHotel().getId(),
+                Map.of("ruleId", id));
+        AfterCommit.run(this::rebuildRateTable);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<Void> deleteSeasonalRate(Long id, Long currentUserId) {
+        Optional<SeasonalRate> season = seasonalRateRepository.findById(id);
+        if (season.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        seasonalRateRepository.delete(season.get());
+        auditLogService.logHotel(currentUserId, "DELETE_SEASONAL_RATE_SUCCESS", season.get().getHotel().getId(),
+                Map.of("seasonId", id));
+        AfterCommit.run(this::rebuildRateTable);
+        return ResponseEntity.noContent().build();
+    }
+
+    private RateRuleResponseDTO toRateRuleResponse(RateRule rule) {
+        return RateRuleResponseDTO.builder()
+                .id(rule.getId())
+                .hotelId(rule.getHotel().getId())
+                .roomType(rule.getRoomType())
+                .minOccupancy(rule.getMinOccupancy())
+                .multiplier(rule.getMultiplier())
+                .build();
+    }
+
+    private SeasonalRateResponseDTO toSeasonalRateResponse(SeasonalRate season) {
+        return SeasonalRateResponseDTO.builder()
+                .id(season.getId())
+                .hotelId(season.getHotel().getId())
+                .roomType(season.getRoomType())
+                .name(season.getName())
+                .startDate(season.getStartDate())
+                .endDate(season.getEndDate())
+                .multiplier(season.getMultiplier())
+                .build();
+    }
+}
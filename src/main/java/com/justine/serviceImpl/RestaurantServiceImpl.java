@@ -5,18 +5,25 @@ import com.justine.dtos.response.*;
 import com.justine.enums.BookingStatus;
 import com.justine.enums.OrderStatus;
 import com.justine.enums.PaymentStatus;
+import com.justine.events.InvoiceIssued;
+import com.justine.events.OrderStatusChanged;
+import com.justine.events.PaymentCompleted;
+import com.justine.events.handlers.InvoiceDocumentHandler;
 import com.justine.model.*;
 import com.justine.repository.*;
+import com.justine.security.AccessGuard;
+import com.justine.service.AnalyticsService;
 import com.justine.service.AuditLogService;
 import com.justine.service.RestaurantService;
 import com.justine.utils.CloudinaryService;
-import com.justine.utils.InvoicePdfGenerator;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
@@ -37,25 +44,17 @@ public class RestaurantServiceImpl implements RestaurantService {
     private final InvoiceRepository invoiceRepository;
     private final BookingRepository bookingRepository;
     private final AuditLogService auditLogService;
-    private final StaffRepository staffRepository;
     private final HotelRepository hotelRepository;
     private final CloudinaryService cloudinaryService;
-
-    // check admin by user ID
-    private boolean isAdmin(Long currentUserId) {
-        return staffRepository.findById(currentUserId)
-                .map(staff -> "ADMIN".equalsIgnoreCase(String.valueOf(staff.getRole())))
-                .orElse(false);
-    }
+    private final AnalyticsService analyticsService;
+    private final AccessGuard access;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============ FOOD ITEMS ============
     @Override
+    @PreAuthorize("@access.isAdmin()")
     public ResponseEntity<FoodItemResponseDTO> addFoodItem(FoodItemRequestDTO dto, MultipartFile imageFile, Long currentUserId) {
         try {
-            if (!isAdmin(currentUserId)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-
             Hotel hotel = hotelRepository.findById(dto.getHotelId())
                     .orElseThrow(() -> new RuntimeException("Hotel not found"));
 
@@ -82,12 +81,9 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @PreAuthorize("@access.isAdmin()")
     public ResponseEntity<FoodItemResponseDTO> updateFoodItem(Long id, FoodItemRequestDTO dto, MultipartFile imageFile, Long currentUserId) {
         try {
-            if (!isAdmin(currentUserId)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-
             FoodItem item = foodItemRepository.findById(id).orElseThrow(() -> new RuntimeException("Food item not found"));
             Hotel hotel = hotelRepository.findById(dto.getHotelId()).orElseThrow();
 
@@ -120,7 +116,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Override
     public ResponseEntity<Void> deleteFoodItem(Long id, Long currentUserId) {
         try {
-            if (!isAdmin(currentUserId)) {
+            if (!access.isAdmin()) {
                 auditLogService.logRestaurant(currentUserId, "DELETE_FOOD_ITEM_FORBIDDEN", id, Map.of());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -136,6 +132,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<List<FoodItemResponseDTO>> getAllFoodItems() {
         List<FoodItemResponseDTO> items = foodItemRepository.findAll().stream()
                 .map(this::toFoodItemResponse)
@@ -144,6 +141,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<List<FoodItemResponseDTO>> getFoodItemsByHotel(Long hotelId) {
         try {
             List<FoodItemResponseDTO> items = foodItemRepository.findByHotelId(hotelId).stream()
@@ -198,6 +196,7 @@ public class RestaurantServiceImpl implements RestaurantService {
                     .sum();
             order.setTotalAmount(totalAmount);
             orderRepository.save(order);
+            analyticsService.recordRestaurantRevenue(order, totalAmount);
 
             // ------------------- Generate Invoice -------------------
             Invoice invoice = Invoice.builder()
@@ -209,11 +208,10 @@ public class RestaurantServiceImpl implements RestaurantService {
                     .build();
             invoiceRepository.save(invoice);
 
-            // Generate PDF & upload
-            generateAndUploadInvoicePdf(invoice);
-
             order.setInvoice(invoice);
             orderRepository.save(order);
+            eventPublisher.publishEvent(new InvoiceIssued(invoice.getId()));
+            eventPublisher.publishEvent(new OrderStatusChanged(order.getId(), hotel.getId(), null, order.getStatus()));
 
             auditLogService.logRestaurant(currentUserId, "CREATE_ORDER_SUCCESS", order.getId(), Map.of(
                     "totalAmount", totalAmount,
@@ -257,11 +255,14 @@ public class RestaurantServiceImpl implements RestaurantService {
             payment.setPaymentDate(LocalDateTime.now());
             payment.setStatus(PaymentStatus.PAID);
             paymentRepository.save(payment);
+            analyticsService.recordPayment(payment);
 
+            OrderStatus previousStatus = order.getStatus();
             order.setPayment(payment);
             order.setStatus(OrderStatus.SERVED);
 
             // Create or update invoice
+            List<String> staleDocuments = List.of();
             if (invoice == null) {
                 invoice = Invoice.builder()
                         .invoiceNumber("INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
@@ -271,21 +272,18 @@ public class RestaurantServiceImpl implements RestaurantService {
                         .order(order)
                         .build();
             } else {
-                // Delete old PDF from Cloudinary before replacing
-                if (invoice.getInvoiceUrl() != null) {
-                    cloudinaryService.deleteFile(cloudinaryService.extractPublicIdFromUrl(invoice.getInvoiceUrl()));
-                }
+                // Old PDF is deleted from Cloudinary and replaced after commit
+                staleDocuments = InvoiceDocumentHandler.detachDocuments(invoice);
                 invoice.setPaid(true);
                 invoice.setTotalAmount(totalAmount);
                 invoice.setIssuedDate(LocalDate.now());
             }
             invoiceRepository.save(invoice);
 
-            // Generate and upload new PDF
-            generateAndUploadInvoicePdf(invoice);
-
             order.setInvoice(invoice);
             orderRepository.save(order);
+            eventPublisher.publishEvent(new PaymentCompleted(payment.getId(), invoice.getId(), staleDocuments));
+            eventPublisher.publishEvent(new OrderStatusChanged(order.getId(), hotelIdOf(order), previousStatus, order.getStatus()));
 
             // Audit log
             auditLogService.logRestaurant(
@@ -312,10 +310,9 @@ public class RestaurantServiceImpl implements RestaurantService {
 
     // ----------------- Manual Generate Invoice (Optional) -----------------
     @Override
+    @PreAuthorize("@access.isAdmin()")
     public ResponseEntity<InvoiceResponseDTO> generateOrderInvoice(Long orderId, Long currentUserId) {
         try {
-            if (!isAdmin(currentUserId)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-
             RestaurantOrder order = orderRepository.findById(orderId)
                     .orElseThrow(() -> new RuntimeException("Order not found"));
 
@@ -335,10 +332,9 @@ public class RestaurantServiceImpl implements RestaurantService {
                     .build();
             invoiceRepository.save(invoice);
 
-            generateAndUploadInvoicePdf(invoice);
-
             order.setInvoice(invoice);
             orderRepository.save(order);
+            eventPublisher.publishEvent(new InvoiceIssued(invoice.getId()));
 
             auditLogService.logRestaurant(currentUserId, "GENERATE_ORDER_INVOICE_SUCCESS", order.getId(), Map.of(
                     "invoiceNumber", invoice.getInvoiceNumber(),
@@ -355,10 +351,11 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<RestaurantOrderResponseDTO> getOrderById(Long orderId, Long currentUserId) {
         try {
             RestaurantOrder order = orderRepository.findById(orderId).orElseThrow();
-            if (!isAdmin(currentUserId) && !order.getGuest().getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !order.getGuest().getId().equals(currentUserId)) {
                 auditLogService.logRestaurant(currentUserId, "GET_ORDER_FORBIDDEN", orderId, Map.of());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -373,9 +370,10 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<List<RestaurantOrderResponseDTO>> getOrdersByGuest(Long guestId, Long currentUserId) {
         try {
-            if (!isAdmin(currentUserId) && !guestId.equals(currentUserId)) {
+            if (!access.isAdmin() && !guestId.equals(currentUserId)) {
                 auditLogService.logRestaurant(currentUserId, "GET_GUEST_ORDERS_FORBIDDEN", guestId, Map.of());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -402,7 +400,7 @@ public class RestaurantServiceImpl implements RestaurantService {
                     .orElseThrow(() -> new RuntimeException("Order not found"));
 
             // Permission: Only admin or the guest who owns it
-            if (!isAdmin(currentUserId) && !order.getGuest().getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !order.getGuest().getId().equals(currentUserId)) {
                 auditLogService.logRestaurant(currentUserId, "CANCEL_ORDER_FORBIDDEN", orderId, Map.of());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -413,8 +411,14 @@ public class RestaurantServiceImpl implements RestaurantService {
             }
 
             // Update status
+            OrderStatus previousStatus = order.getStatus();
+            boolean countedAsRevenue = previousStatus != OrderStatus.CANCELLED && !Boolean.TRUE.equals(order.getCart());
             order.setStatus(OrderStatus.CANCELLED);
             orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderStatusChanged(orderId, hotelIdOf(order), previousStatus, OrderStatus.CANCELLED));
+            if (countedAsRevenue && order.getTotalAmount() != null) {
+                analyticsService.recordRestaurantRevenue(order, -order.getTotalAmount());
+            }
 
             auditLogService.logRestaurant(currentUserId, "CANCEL_ORDER_SUCCESS", orderId, Map.of());
             return ResponseEntity.ok(toOrderResponse(order));
@@ -427,14 +431,18 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
-    public ResponseEntity<List<RestaurantOrderResponseDTO>> getAllOrders(Long currentUserId) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<RestaurantOrderResponseDTO>> getAllOrders(Long hotelId, Long currentUserId) {
         try {
-            if (!isAdmin(currentUserId)) {
+            if (!access.isAdmin()) {
                 auditLogService.logRestaurant(currentUserId, "GET_ALL_ORDERS_FORBIDDEN", null, Map.of());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
 
-            List<RestaurantOrderResponseDTO> orders = orderRepository.findAll()
+            List<RestaurantOrder> source = hotelId != null
+                    ? orderRepository.findByHotelIdOrderByOrderDateDesc(hotelId)
+                    : orderRepository.findAll();
+            List<RestaurantOrderResponseDTO> orders = source
                     .stream()
                     .map(this::toOrderResponse)
                     .collect(Collectors.toList());
@@ -482,18 +490,8 @@ public class RestaurantServiceImpl implements RestaurantService {
         }
     }
 
-    // ------------------ Helper: PDF & Cloud Upload ------------------
-    private void generateAndUploadInvoicePdf(Invoice invoice) {
-        try {
-            MultipartFile pdfFile = InvoicePdfGenerator.generateReceipt(invoice);
-            Map<String, String> urls = cloudinaryService.uploadFileWithEagerSizes(pdfFile, "hotel_invoices");
-            invoice.setInvoiceUrl(urls.get("large"));
-            invoice.setInvoiceUrlMedium(urls.get("medium"));
-            invoice.setInvoiceUrlThumbnail(urls.get("thumbnail"));
-            invoiceRepository.save(invoice);
-        } catch (Exception e) {
-            log.error("Invoice PDF generation/upload failed for invoice {}: {}", invoice.getId(), e.getMessage(), e);
-        }
+    private static Long hotelIdOf(RestaurantOrder order) {
+        return order.getHotel() != null ? order.getHotel().getId() : null;
     }
 
     // ============ MAPPERS ============
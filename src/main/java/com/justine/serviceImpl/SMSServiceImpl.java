@@ -2,6 +2,9 @@ package com.justine.serviceImpl;
 
 import com.justine.dtos.response.BulkSMSResponseDTO;
 import com.justine.service.SMSService;
+import com.justine.utils.AppMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -20,23 +23,36 @@ public class SMSServiceImpl implements SMSService {
     private final String callbackUrl;
     private final RestTemplate restTemplate;
     private final String smsApiUrl;
+    private final AppMetrics metrics;
+    private final ObservationRegistry observationRegistry;
 
     public SMSServiceImpl(
             @Value("${sms.provider.bearer-token}") String bearerToken,
             @Value("${sms.provider.sender-id}") String senderId,
             @Value("${sms.provider.callback-url}") String callbackUrl,
             @Value("${sms.provider.api-url}") String smsApiUrl,
-            RestTemplateBuilder builder
+            RestTemplateBuilder builder,
+            AppMetrics metrics,
+            ObservationRegistry observationRegistry
     ) {
         this.bearerToken = bearerToken;
         this.senderId = senderId;
         this.callbackUrl = callbackUrl;
         this.smsApiUrl = smsApiUrl;
         this.restTemplate = builder.build();
+        this.metrics = metrics;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
     public boolean sendSMS(String phone, String message) {
+        Boolean sent = Observation.createNotStarted("hotel.sms.send", observationRegistry)
+                .contextualName("send sms")
+                .observe(() -> send(phone, message));
+        return Boolean.TRUE.equals(sent);
+    }
+
+    private boolean send(String phone, String message) {
         try {
             phone = formatPhoneNumber(phone);
 
@@ -63,14 +79,17 @@ public class SMSServiceImpl implements SMSService {
 
             if (response.getStatusCode().is2xxSuccessful()) {
                 log.info("✅ SMS queued successfully to {}: {}", phone, response.getBody());
+                metrics.countSms(AppMetrics.SUCCESS);
                 return true;
             } else {
                 log.error("❌ SMS failed [{}] to {}: {}", response.getStatusCode(), phone, response.getBody());
+                metrics.countSms("REJECTED");
                 return false;
             }
 
         } catch (Exception e) {
             log.error("❌ Failed to send SMS to {}: {}", phone, e.getMessage());
+            metrics.countSms(AppMetrics.FAILURE);
             return false;
         }
     }
@@ -8,12 +8,12 @@ import com.justine.model.Service;
 import com.justine.repository.BookingRepository;
 import com.justine.repository.GuestRepository;
 import com.justine.repository.ServiceRepository;
+import com.justine.security.AccessGuard;
 import com.justine.service.AuditLogService;
 import com.justine.service.ServiceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -25,25 +25,21 @@ public class ServiceServiceImpl implements ServiceService {
     private final GuestRepository guestRepository;
     private final BookingRepository bookingRepository;
     private final AuditLogService auditLogService;
+    private final AccessGuard access;
 
-    public ServiceServiceImpl(ServiceRepository serviceRepository, GuestRepository guestRepository, BookingRepository bookingRepository, AuditLogService auditLogService) {
+    public ServiceServiceImpl(ServiceRepository serviceRepository, GuestRepository guestRepository, BookingRepository bookingRepository, AuditLogService auditLogService, AccessGuard access) {
         this.serviceRepository = serviceRepository;
         this.guestRepository = guestRepository;
         this.bookingRepository = bookingRepository;
         this.auditLogService = auditLogService;
-    }
-
-    private boolean isAdmin() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        return auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        this.access = access;
     }
 
     // ============ ADD SERVICE ============
     @Override
     public ResponseEntity<ServiceResponseDTO> addService(ServiceRequestDTO dto, Long currentUserId) {
         try {
-            if (!isAdmin()) {
+            if (!access.isAdmin()) {
                 auditLogService.logService(null, "UNAUTHORIZED_ADD_SERVICE", null,
                         Map.of("userId", currentUserId, "reason", "Not an admin"));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -74,7 +70,7 @@ public class ServiceServiceImpl implements ServiceService {
     @Override
     public ResponseEntity<ServiceResponseDTO> updateService(Long serviceId, ServiceRequestDTO dto, Long currentUserId) {
         try {
-            if (!isAdmin()) {
+            if (!access.isAdmin()) {
                 auditLogService.logService(null, "UNAUTHORIZED_UPDATE_SERVICE", serviceId,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -110,7 +106,7 @@ public class ServiceServiceImpl implements ServiceService {
     @Override
     public ResponseEntity<Void> deleteService(Long serviceId, Long currentUserId) {
         try {
-            if (!isAdmin()) {
+            if (!access.isAdmin()) {
                 auditLogService.logService(null, "UNAUTHORIZED_DELETE_SERVICE", serviceId,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -158,7 +154,7 @@ public class ServiceServiceImpl implements ServiceService {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new NoSuchElementException("Booking not found"));
 
-            if (!isAdmin() && !booking.getGuest().getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !booking.getGuest().getId().equals(currentUserId)) {
                 auditLogService.logService(null, "UNAUTHORIZED_ADD_SERVICE_TO_BOOKING", bookingId,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -189,7 +185,7 @@ public class ServiceServiceImpl implements ServiceService {
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new NoSuchElementException("Booking not found"));
 
-            if (!isAdmin() && !booking.getGuest().getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !booking.getGuest().getId().equals(currentUserId)) {
                 auditLogService.logService(null, "UNAUTHORIZED_REMOVE_SERVICE_FROM_BOOKING", bookingId,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -3,11 +3,11 @@ package com.justine.serviceImpl;
 import com.justine.dtos.request.StaffRequestDTO;
 import com.justine.dtos.response.HotelResponseDTO;
 import com.justine.dtos.response.StaffResponseDTO;
-import com.justine.enums.StaffRole;
 import com.justine.model.Hotel;
 import com.justine.model.Staff;
 import com.justine.repository.HotelRepository;
 import com.justine.repository.StaffRepository;
+import com.justine.security.AccessGuard;
 import com.justine.service.AuditLogService;
 import com.justine.service.StaffService;
 import lombok.RequiredArgsConstructor;
@@ -26,18 +26,14 @@ public class StaffServiceImpl implements StaffService {
     private final HotelRepository hotelRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuditLogService auditLogService;
+    private final AccessGuard access;
 
-    public StaffServiceImpl(StaffRepository staffRepository, HotelRepository hotelRepository, PasswordEncoder passwordEncoder, AuditLogService auditLogService) {
+    public StaffServiceImpl(StaffRepository staffRepository, HotelRepository hotelRepository, PasswordEncoder passwordEncoder, AuditLogService auditLogService, AccessGuard access) {
         this.staffRepository = staffRepository;
         this.hotelRepository = hotelRepository;
         this.passwordEncoder = passwordEncoder;
         this.auditLogService = auditLogService;
-    }
-
-    private boolean isAdmin(Long currentUserId) {
-        return staffRepository.findById(currentUserId)
-                .map(staff -> staff.getRole() == StaffRole.ADMIN)
-                .orElse(false);
+        this.access = access;
     }
 
     private Long getActorId(Long currentUserId) {
@@ -49,7 +45,7 @@ public class StaffServiceImpl implements StaffService {
     public ResponseEntity<StaffResponseDTO> addStaff(StaffRequestDTO dto, Long currentUserId) {
         Long actorId = getActorId(currentUserId);
         try {
-            if (!isAdmin(currentUserId)) {
+            if (!access.isAdmin()) {
                 auditLogService.logStaff(actorId, "UNAUTHORIZED_ADD_STAFF", null,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -99,7 +95,7 @@ public class StaffServiceImpl implements StaffService {
             Staff staff = staffRepository.findById(staffId)
                     .orElseThrow(() -> new NoSuchElementException("Staff not found"));
 
-            if (!isAdmin(currentUserId) && !staff.getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !staff.getId().equals(currentUserId)) {
                 auditLogService.logStaff(actorId, "UNAUTHORIZED_UPDATE_STAFF", staffId,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -110,7 +106,7 @@ public class StaffServiceImpl implements StaffService {
             if (dto.getPassword() != null) {
                 staff.setPassword(passwordEncoder.encode(dto.getPassword()));
             }
-            if (dto.getRole() != null && isAdmin(currentUserId)) {
+            if (dto.getRole() != null && access.isAdmin()) {
                 staff.setRole(dto.getRole());
             }
 
@@ -137,7 +133,7 @@ public class StaffServiceImpl implements StaffService {
     public ResponseEntity<Void> deleteStaff(Long staffId, Long currentUserId) {
         Long actorId = getActorId(currentUserId);
         try {
-            if (!isAdmin(currentUserId)) {
+            if (!access.isAdmin()) {
                 auditLogService.logStaff(actorId, "UNAUTHORIZED_DELETE_STAFF", staffId,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -162,7 +158,7 @@ public class StaffServiceImpl implements StaffService {
     public ResponseEntity<StaffResponseDTO> assignStaffToHotel(Long staffId, Long hotelId, Long currentUserId) {
         Long actorId = getActorId(currentUserId);
         try {
-            if (!isAdmin(currentUserId)) {
+            if (!access.isAdmin()) {
                 auditLogService.logStaff(actorId, "UNAUTHORIZED_ASSIGN_STAFF", staffId,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -196,7 +192,7 @@ public class StaffServiceImpl implements StaffService {
             Staff staff = staffRepository.findById(staffId)
                     .orElseThrow(() -> new NoSuchElementException("Staff not found"));
 
-            if (!isAdmin(currentUserId) && !staff.getId().equals(currentUserId)) {
+            if (!access.isAdmin() && !staff.getId().equals(currentUserId)) {
                 auditLogService.logStaff(actorId, "UNAUTHORIZED_GET_STAFF", staffId,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -223,7 +219,7 @@ public class StaffServiceImpl implements StaffService {
     public ResponseEntity<List<StaffResponseDTO>> getAllStaff(Long currentUserId) {
         Long actorId = getActorId(currentUserId);
         try {
-            if (!isAdmin(currentUserId)) {
+            if (!access.isAdmin()) {
                 auditLogService.logStaff(actorId, "UNAUTHORIZED_GET_ALL_STAFF", null,
                         Map.of("userId", currentUserId));
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
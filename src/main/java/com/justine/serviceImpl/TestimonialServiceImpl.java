@@ -4,6 +4,7 @@ import com.justine.dtos.TestimonialCommentDTO;
 import com.justine.dtos.TestimonialDTO;
 import com.justine.model.*;
 import com.justine.repository.*;
+import com.justine.security.AccessGuard;
 import com.justine.service.AuditLogService;
 import com.justine.service.TestimonialService;
 import lombok.extern.slf4j.Slf4j;
@@ -17,26 +18,26 @@ import java.util.stream.Collectors;
 public class TestimonialServiceImpl implements TestimonialService {
 
     private final GuestRepository guestRepository;
-    private final StaffRepository staffRepository;
     private final TestimonialRepository testimonialRepository;
     private final TestimonialCommentRepository testimonialCommentRepository;
     private final TestimonialLikeRepository testimonialLikeRepository;
     private final AuditLogService auditLogService;
+    private final AccessGuard access;
 
     public TestimonialServiceImpl(
             GuestRepository guestRepository,
-            StaffRepository staffRepository,
             TestimonialRepository testimonialRepository,
             TestimonialCommentRepository testimonialCommentRepository,
             TestimonialLikeRepository testimonialLikeRepository,
-            AuditLogService auditLogService
+            AuditLogService auditLogService,
+            AccessGuard access
     ) {
         this.guestRepository = guestRepository;
-        this.staffRepository = staffRepository;
         this.testimonialRepository = testimonialRepository;
         this.testimonialCommentRepository = testimonialCommentRepository;
         this.testimonialLikeRepository = testimonialLikeRepository;
         this.auditLogService = auditLogService;
+        this.access = access;
     }
 
     private Guest getGuestById(Long userId) {
@@ -44,13 +45,6 @@ public class TestimonialServiceImpl implements TestimonialService {
                 .orElseThrow(() -> new RuntimeException("Guest not found with ID: " + userId));
     }
 
-    // Check if this user is admin
-    private boolean isAdmin(Long userId) {
-        return staffRepository.findById(userId)
-                .map(staff -> "ADMIN".equalsIgnoreCase(String.valueOf(staff.getRole())))
-                .orElse(false);
-    }
-
     // Centralized Comment Mapper
     private TestimonialCommentDTO toCommentDTO(TestimonialComment comment) {
         if (comment == null) return null;
@@ -182,7 +176,7 @@ public class TestimonialServiceImpl implements TestimonialService {
             Testimonial testimonial = testimonialRepository.findById(testimonialId)
                     .orElseThrow(() -> new RuntimeException("Testimonial not found"));
 
-            if (!testimonial.getGuest().getId().equals(currentUserId) && !isAdmin(currentUserId)) {
+            if (!testimonial.getGuest().getId().equals(currentUserId) && !access.isAdmin()) {
                 throw new RuntimeException("Unauthorized to update this testimonial");
             }
 
@@ -206,7 +200,7 @@ public class TestimonialServiceImpl implements TestimonialService {
             Testimonial testimonial = testimonialRepository.findById(testimonialId)
                     .orElseThrow(() -> new RuntimeException("Testimonial not found"));
 
-            if (!testimonial.getGuest().getId().equals(currentUserId) && !isAdmin(currentUserId)) {
+            if (!testimonial.getGuest().getId().equals(currentUserId) && !access.isAdmin()) {
                 throw new RuntimeException("Unauthorized to delete testimonial");
             }
 
@@ -245,7 +239,7 @@ public class TestimonialServiceImpl implements TestimonialService {
                 throw new RuntimeException("Comment does not belong to this testimonial");
             }
 
-            if (!comment.getGuest().getId().equals(currentUserId) && !isAdmin(currentUserId)) {
+            if (!comment.getGuest().getId().equals(currentUserId) && !access.isAdmin()) {
                 throw new RuntimeException("Unauthorized to update comment");
             }
 
@@ -273,7 +267,7 @@ public class TestimonialServiceImpl implements TestimonialService {
                 throw new RuntimeException("Comment does not belong to this testimonial");
             }
 
-            if (!comment.getGuest().getId().equals(currentUserId) && !isAdmin(currentUserId)) {
+            if (!comment.getGuest().getId().equals(currentUserId) && !access.isAdmin()) {
                 throw new RuntimeException("Unauthorized to delete comment");
             }
 
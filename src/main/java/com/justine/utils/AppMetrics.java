@@ -0,0 +1,97 @@
+package com.justine.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Business metrics published alongside the Actuator/Prometheus defaults. Timers carry an
+ * {@code outcome} tag (SUCCESS, CLIENT_ERROR, SERVER_ERROR, EXCEPTION) and a percentile
+ * histogram so latency SLOs can be computed in Prometheus.
+ */
+@Component
+public class AppMetrics {
+
+    public static final String BOOKING_CREATE = "hotel.booking.create";
+    public static final String PAYMENT_MAKE = "hotel.payment.make";
+    public static final String ROOMS_AVAILABLE = "hotel.rooms.available";
+    public static final String INVOICE_PDF = "hotel.invoice.pdf";
+    public static final String SMS_SENT = "hotel.notifications.sms";
+    public static final String EMAIL_SENT = "hotel.notifications.email";
+    public static final String REQUEST_QUERIES = "http.server.requests.queries";
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String EXCEPTION = "EXCEPTION";
+    // Counter outcome for notifications that were not delivered; timers use EXCEPTION
+    public static final String FAILURE = "FAILURE";
+
+    private final MeterRegistry registry;
+
+    public AppMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Times the action; a returned ResponseEntity decides the outcome by its status code.
+     */
+    public <T> T time(String name, Supplier<T> action, String... tags) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = EXCEPTION;
+        try {
+            T result = action.get();
+            outcome = outcomeOf(result);
+            return result;
+        } finally {
+            stop(sample, name, outcome, tags);
+        }
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, String name, String outcome, String... tags) {
+        sample.stop(Timer.builder(name)
+                .tags(Tags.of(tags).and("outcome", outcome))
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void countSms(String outcome) {
+        count(SMS_SENT, outcome);
+    }
+
+    public void countEmail(String outcome) {
+        count(EMAIL_SENT, outcome);
+    }
+
+    /**
+     * SQL statements issued while serving one request, tagged by method and URI pattern.
+     */
+    public void recordRequestQueries(int statements, String method, String uri) {
+        DistributionSummary.builder(REQUEST_QUERIES)
+                .baseUnit("statements")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(statements);
+    }
+
+    private void count(String name, String outcome) {
+        Counter.builder(name).tag("outcome", outcome).register(registry).increment();
+    }
+
+    private static String outcomeOf(Object result) {
+        if (!(result instanceof ResponseEntity<?> response)) return SUCCESS;
+        int status = response.getStatusCode().value();
+        if (status >= 500) return "SERVER_ERROR";
+        if (status >= 400) return "CLIENT_ERROR";
+        return SUCCESS;
+    }
+}
@@ -0,0 +1,96 @@
+package com.justine.utils;
+
+import com.justine.model.AuditAction;
+import com.justine.repository.AuditActionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maps audit entity/action pairs to their {@link AuditAction} id. Ids are cached for the life of
+ * the process; an unseen pair is looked up or inserted once, and a concurrent insert by another
+ * instance is resolved by re-reading the row it wrote.
+ */
+@Slf4j
+@Component
+public class AuditActionDictionary {
+
+    static final int MAX_ENTITY_LENGTH = 64;
+    static final int MAX_ACTION_LENGTH = 128;
+
+    private record Key(String entity, String action) {
+    }
+
+    private final AuditActionRepository repository;
+    private final TransactionTemplate newTransaction;
+    private final Map<Key, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, AuditAction> actions = new ConcurrentHashMap<>();
+    // Not synchronized: a miss does I/O and must not pin a virtual carrier thread
+    private final ReentrantLock missLock = new ReentrantLock();
+
+    public AuditActionDictionary(AuditActionRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Integer idOf(String entity, String action) {
+        Key key = new Key(normalize(entity, "Unknown", MAX_ENTITY_LENGTH), normalize(action, "UNKNOWN", MAX_ACTION_LENGTH));
+        Integer id = ids.get(key);
+        if (id != null) return id;
+
+        missLock.lock();
+        try {
+            id = ids.get(key);
+            if (id == null) {
+                AuditAction resolved = resolve(key);
+                actions.put(resolved.getId(), resolved);
+                ids.put(key, resolved.getId());
+                id = resolved.getId();
+            }
+            return id;
+        } finally {
+            missLock.unlock();
+        }
+    }
+
+    /**
+     * The entity/action pair behind an id stored on an audit row.
+     */
+    public Optional<AuditAction> lookup(Integer id) {
+        if (id == null) return Optional.empty();
+        AuditAction cached = actions.get(id);
+        if (cached != null) return Optional.of(cached);
+        Optional<AuditAction> loaded = repository.findById(id);
+        loaded.ifPresent(action -> actions.put(id, action));
+        return loaded;
+    }
+
+    private AuditAction resolve(Key key) {
+        Optional<AuditAction> existing = repository.findByEntityAndAction(key.entity(), key.action());
+        if (existing.isPresent()) return existing.get();
+        try {
+            return newTransaction.execute(status -> repository.save(AuditAction.builder()
+                    .entity(key.entity())
+                    .action(key.action())
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Audit action {}/{} inserted concurrently; re-reading", key.entity(), key.action());
+            return repository.findByEntityAndAction(key.entity(), key.action()).orElseThrow(() -> e);
+        }
+    }
+
+    private static String normalize(String value, String fallback, int maxLength) {
+        if (value == null || value.isBlank()) return fallback;
+        String trimmed = value.trim();
+        return trimmed.length() > maxLength ? trimmed.substring(0, maxLength) : trimmed;
+    }
+}
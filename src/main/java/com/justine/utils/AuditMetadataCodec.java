@@ -0,0 +1,349 @@
+package com.justine.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+
+/**
+ * Compact binary encoding for audit metadata, replacing per-event JSON strings.
+ * <p>
+ * Values are tagged: integers are zig-zag varints, strings are length-prefixed UTF-8, lists and
+ * maps are count-prefixed. Application DTOs are flattened through a per-class property schema
+ * worked out once, so no JSON is produced on the way. Everything is bounded: strings are cut at
+ * {@code maxStringLength}, maps and lists at {@code maxEntries}, nesting at {@code maxDepth}, and
+ * top-level entries that would push the record past {@code maxBytes} are dropped and flagged
+ * with {@code _truncated}. Values under sensitive keys (passwords, tokens, PINs...) are never
+ * written.
+ */
+public final class AuditMetadataCodec {
+
+    public static final int MAX_BYTES = 4096;
+    public static final String REDACTED = "[REDACTED]";
+    public static final String TRUNCATED_KEY = "_truncated";
+
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte DECIMAL = 4;
+    private static final byte STRING = 5;
+    private static final byte LIST = 6;
+    private static final byte MAP = 7;
+
+    // Room for the _truncated flag appended to an over-budget record
+    private static final int TRUNCATION_RESERVE = 16;
+
+    // Matched anywhere in the key ("newPassword", "accessToken")...
+    private static final List<String> SENSITIVE = List.of(
+            "password", "passwd", "secret", "token", "apikey", "authorization", "cookie");
+    // ...and as a whole word only, so "opinion" or "shipping" stay readable
+    private static final Set<String> SENSITIVE_WORDS = Set.of("pin", "otp", "cvv");
+
+    // Request/response DTOs are expanded by property; entities and anything else are recorded by
+    // type name only, so lazy associations are never walked from the audit thread
+    private static final String EXPANDABLE_PACKAGE = "com.justine.dtos.";
+
+    private static final ClassValue<List<Property>> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected List<Property> computeValue(Class<?> type) {
+            return schemaOf(type);
+        }
+    };
+
+    private record Property(String name, Method accessor) {
+    }
+
+    private final int maxBytes;
+    private final int maxStringLength;
+    private final int maxEntries;
+    private final int maxDepth;
+
+    public AuditMetadataCodec(int maxBytes, int maxStringLength, int maxEntries, int maxDepth) {
+        this.maxBytes = Math.min(Math.max(maxBytes, 64), MAX_BYTES);
+        this.maxStringLength = Math.max(maxStringLength, 16);
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.maxDepth = Math.max(maxDepth, 1);
+    }
+
+    // ------------------ Encoding ------------------
+    public byte[] encode(Map<String, ?> metadata) {
+        if (metadata == null || metadata.isEmpty()) return null;
+
+        List<byte[]> entries = new ArrayList<>(Math.min(metadata.size(), maxEntries));
+        int size = 2;
+        boolean truncated = metadata.size() > maxEntries;
+        for (Map.Entry<String, ?> entry : metadata.entrySet()) {
+            if (entries.size() == maxEntries) break;
+            Buffer out = new Buffer();
+            out.string(String.valueOf(entry.getKey()), maxStringLength);
+            value(out, entry.getKey(), entry.getValue(), 1);
+            byte[] bytes = out.toByteArray();
+            if (size + bytes.length > maxBytes - TRUNCATION_RESERVE) {
+                truncated = true;
+                continue;
+            }
+            entries.add(bytes);
+            size += bytes.length;
+        }
+
+        Buffer out = new Buffer();
+        out.write(VERSION);
+        out.write(MAP);
+        out.varint(entries.size() + (truncated ? 1 : 0));
+        entries.forEach(out::writeBytes);
+        if (truncated) {
+            out.string(TRUNCATED_KEY, maxStringLength);
+            out.write(TRUE);
+        }
+        return out.toByteArray();
+    }
+
+    private void value(Buffer out, String key, Object value, int depth) {
+        if (key != null && isSensitive(key)) {
+            out.write(STRING);
+            out.string(REDACTED, maxStringLength);
+        } else if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof Boolean b) {
+            out.write(b ? TRUE : FALSE);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.write(INTEGER);
+            out.zigzag(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.write(DECIMAL);
+            out.fixed64(Double.doubleToLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            // Kept exact
+            out.write(STRING);
+            out.string(value.toString(), maxStringLength);
+        } else if (value instanceof CharSequence || value instanceof Enum<?> || value instanceof TemporalAccessor
+                || value instanceof Character || value instanceof UUID) {
+            out.write(STRING);
+            out.string(value instanceof Enum<?> e ? e.name() : value.toString(), maxStringLength);
+        } else if (depth > maxDepth) {
+            out.write(STRING);
+            out.string(value.getClass().getSimpleName(), maxStringLength);
+        } else if (value instanceof Map<?, ?> map) {
+            out.write(MAP);
+            int count = Math.min(map.size(), maxEntries);
+            out.varint(count);
+            Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+            for (int i = 0; i < count && it.hasNext(); i++) {
+                Map.Entry<?, ?> entry = it.next();
+                String name = String.valueOf(entry.getKey());
+                out.string(name, maxStringLength);
+                value(out, name, entry.getValue(), depth + 1);
+            }
+        } else if (value instanceof Collection<?> || value.getClass().isArray() && !(value instanceof byte[])) {
+            List<?> items = value instanceof Collection<?> c ? new ArrayList<>(c) : arrayItems(value);
+            out.write(LIST);
+            int count = Math.min(items.size(), maxEntries);
+            out.varint(count);
+            for (int i = 0; i < count; i++) value(out, null, items.get(i), depth + 1);
+        } else if (value.getClass().getName().startsWith(EXPANDABLE_PACKAGE)) {
+            List<Property> schema = SCHEMAS.get(value.getClass());
+            List<Object> values = new ArrayList<>(schema.size());
+            List<Property> present = new ArrayList<>(schema.size());
+            for (Property property : schema) {
+                if (present.size() == maxEntries) break;
+                Object propertyValue = read(property, value);
+                // Unset DTO fields are the bulk of a request body; leave them out
+                if (propertyValue == null) continue;
+                present.add(property);
+                values.add(propertyValue);
+            }
+            out.write(MAP);
+            out.varint(present.size());
+            for (int i = 0; i < present.size(); i++) {
+                out.string(present.get(i).name(), maxStringLength);
+                value(out, present.get(i).name(), values.get(i), depth + 1);
+            }
+        } else {
+            // Files, streams, entities of other libraries: the type is enough
+            out.write(STRING);
+            out.string(value.getClass().getSimpleName(), maxStringLength);
+        }
+    }
+
+    static boolean isSensitive(String key) {
+        String compact = key.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+        for (String marker : SENSITIVE) {
+            if (compact.contains(marker)) return true;
+        }
+        // Split camelCase and snake_case into words
+        for (String word : key.split("(?<=[a-z0-9])(?=[A-Z])|[^A-Za-z0-9]+")) {
+            if (SENSITIVE_WORDS.contains(word.toLowerCase(Locale.ROOT))) return true;
+        }
+        return false;
+    }
+
+    private static List<Object> arrayItems(Object array) {
+        int length = java.lang.reflect.Array.getLength(array);
+        List<Object> items = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) items.add(java.lang.reflect.Array.get(array, i));
+        return items;
+    }
+
+    private static Object read(Property property, Object target) {
+        try {
+            return property.accessor().invoke(target);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // Record components, else public no-arg getters, in name order so the layout is stable
+    private static List<Property> schemaOf(Class<?> type) {
+        List<Property> properties = new ArrayList<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                properties.add(new Property(component.getName(), component.getAccessor()));
+            }
+            return List.copyOf(properties);
+        }
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())
+                    || method.getDeclaringClass() == Object.class || method.getReturnType() == void.class) {
+                continue;
+            }
+            String name = method.getName();
+            String property;
+            if (name.startsWith("get") && name.length() > 3) property = name.substring(3);
+            else if (name.startsWith("is") && name.length() > 2
+                    && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+                property = name.substring(2);
+            } else continue;
+            properties.add(new Property(Character.toLowerCase(property.charAt(0)) + property.substring(1), method));
+        }
+        properties.sort(Comparator.comparing(Property::name));
+        return List.copyOf(properties);
+    }
+
+    // ------------------ Decoding ------------------
+    /**
+     * Reads a record written by {@link #encode}; DTOs come back as maps.
+     */
+    public static Map<String, Object> decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) return Map.of();
+        Reader in = new Reader(bytes);
+        byte version = in.read();
+        if (version != VERSION) throw new IllegalArgumentException("Unknown audit metadata version " + version);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) in.value();
+        return map;
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(64);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void fixed64(long value) {
+            for (int i = 0; i < 8; i++) write((int) (value >>> (8 * i)));
+        }
+
+        void string(String value, int maxLength) {
+            String cut = value;
+            if (value.length() > maxLength) {
+                int end = maxLength - 1;
+                // Never split a surrogate pair
+                if (Character.isHighSurrogate(value.charAt(end - 1))) end--;
+                cut = value.substring(0, end) + "\u2026";
+            }
+            byte[] utf8 = cut.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            writeBytes(utf8);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte read() {
+            if (position >= bytes.length) throw new IllegalArgumentException("Truncated audit metadata");
+            return bytes[position++];
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint in audit metadata");
+        }
+
+        String string() {
+            int length = (int) varint();
+            if (length < 0 || position + length > bytes.length) {
+                throw new IllegalArgumentException("Truncated audit metadata");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        Object value() {
+            byte tag = read();
+            return switch (tag) {
+                case NULL -> null;
+                case FALSE -> false;
+                case TRUE -> true;
+                case INTEGER -> {
+                    long raw = varint();
+                    yield (raw >>> 1) ^ -(raw & 1);
+                }
+                case DECIMAL -> {
+                    long raw = 0;
+                    for (int i = 0; i < 8; i++) raw |= (read() & 0xFFL) << (8 * i);
+                    yield Double.longBitsToDouble(raw);
+                }
+                case STRING -> string();
+                case LIST -> {
+                    int count = (int) varint();
+                    List<Object> list = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) list.add(value());
+                    yield list;
+                }
+                case MAP -> {
+                    int count = (int) varint();
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        String key = string();
+                        map.put(key, value());
+                    }
+                    yield map;
+                }
+                default -> throw new IllegalArgumentException("Unknown audit metadata tag " + tag);
+            };
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.justine.utils;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.Transformation;
 import com.cloudinary.utils.ObjectUtils;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,16 +18,19 @@ import java.util.Map;
 public class CloudinaryService {
 
     private final Cloudinary cloudinary;
+    private final ObservationRegistry observationRegistry;
 
     public CloudinaryService(
             @Value("${cloudinary.cloud_name}") String cloudName,
             @Value("${cloudinary.api_key}") String apiKey,
-            @Value("${cloudinary.api_secret}") String apiSecret) {
+            @Value("${cloudinary.api_secret}") String apiSecret,
+            ObservationRegistry observationRegistry) {
         this.cloudinary = new Cloudinary(ObjectUtils.asMap(
                 "cloud_name", cloudName,
                 "api_key", apiKey,
                 "api_secret", apiSecret
         ));
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -37,6 +42,13 @@ public class CloudinaryService {
      * @return Map<String, String> with keys "large", "medium", "thumbnail"
      */
     public Map<String, String> uploadFileWithEagerSizes(MultipartFile multipartFile, String folder) {
+        return Observation.createNotStarted("hotel.cloudinary.upload", observationRegistry)
+                .contextualName("cloudinary upload")
+                .lowCardinalityKeyValue("folder", folder)
+                .observe(() -> upload(multipartFile, folder));
+    }
+
+    private Map<String, String> upload(MultipartFile multipartFile, String folder) {
         if (multipartFile == null || multipartFile.isEmpty()) {
             throw new IllegalArgumentException("File cannot be null or empty");
         }
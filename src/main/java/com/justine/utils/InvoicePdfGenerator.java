@@ -74,6 +74,11 @@ public class InvoicePdfGenerator {
             table.addCell("Invoice Number");
             table.addCell(invoice.getInvoiceNumber());
 
+            if (invoice.getGroupCode() != null) {
+                table.addCell("Group Booking");
+                table.addCell(invoice.getGroupCode());
+            }
+
             table.addCell("Issued Date");
             table.addCell(invoice.getIssuedDate() != null
                     ? DATE_FORMAT.format(invoice.getIssuedDate())
@@ -1,6 +1,8 @@
 package com.justine.utils;
 
 import com.justine.model.Invoice;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -10,9 +12,11 @@ import java.util.Map;
 public class InvoiceServiceHelper {
 
     private final CloudinaryService cloudinaryService;
+    private final ObservationRegistry observationRegistry;
 
-    public InvoiceServiceHelper(CloudinaryService cloudinaryService) {
+    public InvoiceServiceHelper(CloudinaryService cloudinaryService, ObservationRegistry observationRegistry) {
         this.cloudinaryService = cloudinaryService;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -22,7 +26,9 @@ public class InvoiceServiceHelper {
     public String generateAndUploadInvoice(Invoice invoice) {
         try {
             // 1. Generate the PDF as MultipartFile (in memory)
-            MultipartFile pdfFile = InvoicePdfGenerator.generateReceipt(invoice);
+            MultipartFile pdfFile = Observation.createNotStarted("hotel.invoice.render", observationRegistry)
+                    .contextualName("render invoice pdf")
+                    .observe(() -> InvoicePdfGenerator.generateReceipt(invoice));
 
             // 2. Upload to Cloudinary under folder "invoices" with eager sizes
             Map<String, String> urls = cloudinaryService.uploadFileWithEagerSizes(pdfFile, "invoices");
@@ -0,0 +1,195 @@
+package com.justine.utils;
+
+import com.justine.config.ExecutorRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Simulates Daraja STK push callbacks in sandbox mode.
+ *
+ * All simulated callbacks run on one shared scheduler instead of a Timer thread per push.
+ * Latency follows a configurable distribution, and each push resolves as success,
+ * failure or "lost" (no callback) according to the configured ratios. Lost pushes
+ * still get an outcome, so they can be resolved later through a status query; like a
+ * prompt that never reached the phone, they report a timeout rather than a payment.
+ */
+@Slf4j
+@Component
+public class MpesaSandboxSimulator {
+
+    public enum LatencyDistribution {
+        FIXED, UNIFORM, NORMAL, LOG_NORMAL
+    }
+
+    public enum Outcome {
+        SUCCESS(0, "The service request is processed successfully."),
+        CANCELLED(1032, "Request cancelled by user"),
+        INSUFFICIENT_FUNDS(1, "The balance is insufficient for the transaction"),
+        LOST(1037, "DS timeout user cannot be reached");
+
+        private final int resultCode;
+        private final String resultDesc;
+
+        Outcome(int resultCode, String resultDesc) {
+            this.resultCode = resultCode;
+            this.resultDesc = resultDesc;
+        }
+
+        public int getResultCode() {
+            return resultCode;
+        }
+
+        public String getResultDesc() {
+            return resultDesc;
+        }
+    }
+
+    /**
+     * What the simulated customer did; null outcome means the push is still in flight.
+     */
+    public record SimulatedPush(String merchantRequestId, String checkoutRequestId, double amount,
+                                String phone, String receiptNumber, Outcome outcome) {
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, SimulatedPush> pushes = new ConcurrentHashMap<>();
+
+    private final LatencyDistribution distribution;
+    private final long meanLatencyMs;
+    private final long latencySpreadMs;
+    private final long maxLatencyMs;
+    private final double successRatio;
+    private final double cancelRatio;
+    private final double lostRatio;
+    private final long retentionMs;
+
+    public MpesaSandboxSimulator(
+            @Value("${mpesa.sandbox.latency.distribution:FIXED}") LatencyDistribution distribution,
+            @Value("${mpesa.sandbox.latency.mean-ms:10000}") long meanLatencyMs,
+            @Value("${mpesa.sandbox.latency.spread-ms:0}") long latencySpreadMs,
+            @Value("${mpesa.sandbox.latency.max-ms:60000}") long maxLatencyMs,
+            @Value("${mpesa.sandbox.success-ratio:1.0}") double successRatio,
+            @Value("${mpesa.sandbox.cancel-ratio:0.0}") double cancelRatio,
+            @Value("${mpesa.sandbox.lost-ratio:0.0}") double lostRatio,
+            @Value("${mpesa.sandbox.retention-minutes:60}") long retentionMinutes,
+            ExecutorRegistry executorRegistry) {
+        this.distribution = distribution;
+        this.meanLatencyMs = meanLatencyMs;
+        this.latencySpreadMs = latencySpreadMs;
+        this.maxLatencyMs = maxLatencyMs;
+        this.successRatio = successRatio;
+        this.cancelRatio = cancelRatio;
+        this.lostRatio = lostRatio;
+        this.retentionMs = TimeUnit.MINUTES.toMillis(retentionMinutes);
+
+        this.scheduler = executorRegistry.scheduler("mpesa-sandbox", 2);
+    }
+
+    /**
+     * Registers a simulated push and schedules its callback. The callback payload
+     * has the same shape as a real Daraja stkCallback body.
+     */
+    public SimulatedPush simulate(double amount, String phone, Consumer<Map<String, Object>> callbackHandler) {
+        SimulatedPush pending = register(amount, phone);
+        dispatch(pending, callbackHandler);
+        return pending;
+    }
+
+    /**
+     * Accepts a push without starting its clock, so the caller can record the
+     * CheckoutRequestID before any callback can arrive.
+     */
+    public SimulatedPush register(double amount, String phone) {
+        String suffix = UUID.randomUUID().toString().replace("-", "");
+        SimulatedPush pending = new SimulatedPush("mock_merchant_" + suffix, "mock_checkout_" + suffix,
+                amount, phone, null, null);
+        pushes.put(pending.checkoutRequestId(), pending);
+        return pending;
+    }
+
+    public void dispatch(SimulatedPush pending, Consumer<Map<String, Object>> callbackHandler) {
+        long delay = nextLatencyMs();
+        scheduler.schedule(() -> complete(pending, callbackHandler), delay, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> pushes.remove(pending.checkoutRequestId()), delay + retentionMs, TimeUnit.MILLISECONDS);
+    }
+
+    public Optional<SimulatedPush> find(String checkoutRequestId) {
+        return Optional.ofNullable(pushes.get(checkoutRequestId));
+    }
+
+    public int inFlight() {
+        return (int) pushes.values().stream().filter(p -> p.outcome() == null).count();
+    }
+
+    private void complete(SimulatedPush pending, Consumer<Map<String, Object>> callbackHandler) {
+        Outcome outcome = nextOutcome();
+        String receipt = outcome == Outcome.SUCCESS
+                ? "MOCK" + pending.checkoutRequestId().substring(pending.checkoutRequestId().length() - 8).toUpperCase()
+                : null;
+        SimulatedPush done = new SimulatedPush(pending.merchantRequestId(), pending.checkoutRequestId(),
+                pending.amount(), pending.phone(), receipt, outcome);
+        pushes.put(done.checkoutRequestId(), done);
+
+        if (outcome == Outcome.LOST) {
+            log.info("Mock payment callback dropped for checkoutRequestId {}", done.checkoutRequestId());
+            return;
+        }
+
+        try {
+            callbackHandler.accept(toCallback(done));
+            log.info("Mock payment {} for checkoutRequestId {}", outcome, done.checkoutRequestId());
+        } catch (Exception e) {
+            log.error("Mock payment callback failed for checkoutRequestId {}: {}", done.checkoutRequestId(), e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> toCallback(SimulatedPush push) {
+        Map<String, Object> stkCallback = new HashMap<>();
+        stkCallback.put("MerchantRequestID", push.merchantRequestId());
+        stkCallback.put("CheckoutRequestID", push.checkoutRequestId());
+        stkCallback.put("ResultCode", push.outcome().getResultCode());
+        stkCallback.put("ResultDesc", push.outcome().getResultDesc());
+
+        if (push.outcome().getResultCode() == 0) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            items.add(Map.of("Name", "Amount", "Value", push.amount()));
+            items.add(Map.of("Name", "MpesaReceiptNumber", "Value", push.receiptNumber()));
+            items.add(Map.of("Name", "PhoneNumber", "Value", push.phone()));
+            stkCallback.put("CallbackMetadata", Map.of("Item", items));
+        }
+
+        return Map.of("Body", Map.of("stkCallback", stkCallback));
+    }
+
+    private long nextLatencyMs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double latency = switch (distribution) {
+            case FIXED -> meanLatencyMs;
+            case UNIFORM -> meanLatencyMs - latencySpreadMs + random.nextDouble() * 2 * latencySpreadMs;
+            case NORMAL -> meanLatencyMs + random.nextGaussian() * latencySpreadMs;
+            case LOG_NORMAL -> {
+                // spread is treated as the standard deviation of the resulting latency
+                double mean = Math.max(meanLatencyMs, 1);
+                double sigma2 = Math.log(1 + Math.pow((double) latencySpreadMs / mean, 2));
+                double mu = Math.log(mean) - sigma2 / 2;
+                yield Math.exp(mu + Math.sqrt(sigma2) * random.nextGaussian());
+            }
+        };
+        return Math.min(Math.max(Math.round(latency), 0), maxLatencyMs);
+    }
+
+    private Outcome nextOutcome() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < lostRatio) return Outcome.LOST;
+        roll -= lostRatio;
+        if (roll < successRatio) return Outcome.SUCCESS;
+        roll -= successRatio;
+        if (roll < cancelRatio) return Outcome.CANCELLED;
+        return Outcome.INSUFFICIENT_FUNDS;
+    }
+}
@@ -0,0 +1,143 @@
+package com.justine.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches the Daraja OAuth access token until shortly before it expires.
+ * Refreshes are single-flight: concurrent callers that find the token stale
+ * wait on one refresh instead of each hitting /oauth/v1/generate.
+ */
+@Slf4j
+@Component
+public class MpesaTokenManager {
+
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 3599;
+
+    private final RestTemplate restTemplate;
+    private final String consumerKey;
+    private final String consumerSecret;
+    private final String baseUrl;
+    private final long refreshSkewSeconds;
+    private final Clock clock;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CachedToken cachedToken;
+
+    @Autowired
+    public MpesaTokenManager(
+            @Qualifier("mpesaRestTemplate") RestTemplate restTemplate,
+            @Value("${mpesa.consumer-key}") String consumerKey,
+            @Value("${mpesa.consumer-secret}") String consumerSecret,
+            @Value("${mpesa.environment:sandbox}") String environment,
+            @Value("${mpesa.base-url:}") String baseUrl,
+            @Value("${mpesa.token.refresh-skew-seconds:60}") long refreshSkewSeconds) {
+        this(restTemplate, consumerKey, consumerSecret, resolveBaseUrl(environment, baseUrl), refreshSkewSeconds, Clock.systemUTC());
+    }
+
+    MpesaTokenManager(RestTemplate restTemplate, String consumerKey, String consumerSecret,
+                      String baseUrl, long refreshSkewSeconds, Clock clock) {
+        this.restTemplate = restTemplate;
+        this.consumerKey = consumerKey;
+        this.consumerSecret = consumerSecret;
+        this.baseUrl = baseUrl;
+        this.refreshSkewSeconds = refreshSkewSeconds;
+        this.clock = clock;
+    }
+
+    /**
+     * Explicit mpesa.base-url wins (e.g. a local Daraja stub), otherwise the
+     * public sandbox or production host is picked from mpesa.environment.
+     */
+    private static String resolveBaseUrl(String environment, String baseUrl) {
+        if (baseUrl != null && !baseUrl.isBlank()) {
+            return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        }
+        return "production".equalsIgnoreCase(environment) ?
+                "https://api.safaricom.co.ke" :
+                "https://sandbox.safaricom.co.ke";
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getAccessToken() {
+        CachedToken token = cachedToken;
+        if (token != null && token.isFresh(clock.instant())) {
+            return token.value();
+        }
+
+        refreshLock.lock();
+        try {
+            // Another thread may have refreshed while we were waiting for the lock
+            token = cachedToken;
+            if (token != null && token.isFresh(clock.instant())) {
+                return token.value();
+            }
+            token = fetchToken();
+            cachedToken = token;
+            return token.value();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached token, e.g. after Daraja rejected it with 401.
+     */
+    public void invalidate() {
+        cachedToken = null;
+    }
+
+    private CachedToken fetchToken() {
+        String auth = Base64.getEncoder().encodeToString((consumerKey + ":" + consumerSecret).getBytes(StandardCharsets.UTF_8));
+        String url = baseUrl + "/oauth/v1/generate?grant_type=client_credentials";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Basic " + auth);
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+        Map<?, ?> body = response.getBody();
+        if (body == null || body.get("access_token") == null) {
+            throw new IllegalStateException("M-Pesa OAuth response did not contain an access token");
+        }
+
+        long expiresIn = parseExpiresIn(body.get("expires_in"));
+        Instant refreshAt = clock.instant().plusSeconds(Math.max(expiresIn - refreshSkewSeconds, 0));
+
+        log.debug("Fetched new M-Pesa access token, valid for {}s", expiresIn);
+        return new CachedToken((String) body.get("access_token"), refreshAt);
+    }
+
+    private long parseExpiresIn(Object value) {
+        if (value == null) return DEFAULT_EXPIRES_IN_SECONDS;
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_EXPIRES_IN_SECONDS;
+        }
+    }
+
+    private record CachedToken(String value, Instant refreshAt) {
+        boolean isFresh(Instant now) {
+            return now.isBefore(refreshAt);
+        }
+    }
+}
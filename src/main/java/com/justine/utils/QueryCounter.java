@@ -0,0 +1,89 @@
+package com.justine.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a scope is open.
+ * Fed by {@code QueryCountInspector}; opened per request by {@code QueryCountFilter} and by tests
+ * that pin the number of queries an access pattern may issue.
+ * <pre>
+ * try (QueryCounter.Scope scope = QueryCounter.open()) {
+ *     hotelService.getAllHotels();
+ *     assertTrue(scope.count() &lt;= 3, scope.describe());
+ * }
+ * </pre>
+ * Work handed to another thread (@Async, executors) is not counted in the caller's scope.
+ */
+public final class QueryCounter {
+
+    // Statements kept per scope for diagnostics; the count itself is unbounded
+    private static final int MAX_RECORDED = 50;
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Opens a scope on this thread. Scopes nest: statements count towards every open scope.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void record(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.add(sql);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void add(String sql) {
+            count++;
+            if (statements.size() < MAX_RECORDED) statements.add(sql);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * The first statements of the scope, in execution order.
+         */
+        public List<String> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        public String describe() {
+            StringBuilder out = new StringBuilder(count + " statements");
+            for (int i = 0; i < statements.size(); i++) {
+                out.append(System.lineSeparator()).append(i + 1).append(": ").append(statements.get(i));
+            }
+            if (count > statements.size()) out.append(System.lineSeparator()).append("...");
+            return out.toString();
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent != null) CURRENT.set(parent);
+                else CURRENT.remove();
+            }
+        }
+    }
+}
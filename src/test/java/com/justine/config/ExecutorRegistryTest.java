@@ -0,0 +1,250 @@
+package com.justine.config;
+
+import com.justine.config.ExecutorRegistry.PoolDefaults;
+import com.justine.config.ExecutorRegistry.RejectionPolicy;
+import com.justine.dtos.response.ExecutorStatsDTO;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorRegistryTest {
+
+    private static final PoolDefaults NOTIFY_DEFAULTS = new PoolDefaults(4, 16, 1000, RejectionPolicy.CALLER_RUNS, 256);
+
+    @Test
+    void virtualModeRunsTasksOnVirtualThreadsUnderAConcurrencyLimit() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true"));
+        try {
+            ManagedExecutor executor = registry.executor("notify", NOTIFY_DEFAULTS);
+
+            assertTrue(executor.isVirtual());
+            assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS));
+            ExecutorStatsDTO stats = executor.stats();
+            assertTrue(stats.isVirtualThreads());
+            assertEquals(NOTIFY_DEFAULTS.virtualConcurrency(), stats.getMaxConcurrency());
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void virtualTasksWaitForPermitsWithoutBlockingTheSubmitter() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch queuedRan = new CountDownLatch(1);
+        try {
+            ManagedExecutor executor = registry.executor("audit", new PoolDefaults(1, 1, 10, RejectionPolicy.CALLER_RUNS, 1));
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Would park forever if the submitter had to hold the permit
+            executor.execute(queuedRan::countDown);
+            assertEquals(1, executor.stats().getQueueDepth());
+
+            release.countDown();
+            assertTrue(queuedRan.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void virtualOverflowAppliesTheRejectionPolicy() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            ManagedExecutor callerRuns = registry.executor("audit", new PoolDefaults(1, 1, 1, RejectionPolicy.CALLER_RUNS, 1));
+            callerRuns.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callerRuns.execute(() -> { });
+
+            Thread submitter = Thread.currentThread();
+            AtomicInteger ranOnSubmitter = new AtomicInteger();
+            callerRuns.execute(() -> {
+                if (Thread.currentThread() == submitter) ranOnSubmitter.incrementAndGet();
+            });
+            assertEquals(1, ranOnSubmitter.get());
+            assertEquals(1, callerRuns.stats().getRejectedTasks());
+
+            ManagedExecutor abort = registry.executor("tiny", new PoolDefaults(1, 1, 0, RejectionPolicy.ABORT, 1));
+            CountDownLatch abortStarted = new CountDownLatch(1);
+            abort.execute(() -> {
+                abortStarted.countDown();
+                await(release);
+            });
+            assertTrue(abortStarted.await(5, TimeUnit.SECONDS));
+            assertThrows(TaskRejectedException.class, () -> abort.execute(() -> { }));
+        } finally {
+            release.countDown();
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void platformModeRunsTasksOnPooledPlatformThreads() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment());
+        try {
+            ManagedExecutor executor = registry.executor("notify", NOTIFY_DEFAULTS);
+
+            assertFalse(executor.isVirtual());
+            assertFalse(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS));
+            assertFalse(executor.stats().isVirtualThreads());
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void executorsRegisteredBeforeAndAfterBindingPublishMeters() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true"));
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        try {
+            ManagedExecutor early = registry.executor("early", NOTIFY_DEFAULTS);
+            registry.bindTo(meters);
+            ManagedExecutor late = registry.executor("late", NOTIFY_DEFAULTS);
+
+            early.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            late.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+            for (String name : List.of("early", "late")) {
+                assertNotNull(meters.find("executor.active").tag("name", name).gauge(), name);
+                assertNotNull(meters.find("executor.queued").tag("name", name).gauge(), name);
+                assertNotNull(meters.find("executor.rejected").tag("name", name).functionCounter(), name);
+                assertEquals(1.0, meters.find("executor.completed").tag("name", name).functionCounter().count(), name);
+            }
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void propertiesOverrideRegisteredDefaults() {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment()
+                .withProperty("executors.notify.core-size", "2")
+                .withProperty("executors.notify.max-size", "3"));
+        try {
+            ExecutorStatsDTO stats = registry.executor("notify", NOTIFY_DEFAULTS).stats();
+            assertFalse(stats.isVirtualThreads());
+            assertEquals(3, stats.getMaxConcurrency());
+            assertEquals(1000, stats.getQueueRemainingCapacity());
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void abortPolicyCountsRejectionsAndReportsQueueDepth() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            ManagedExecutor executor = registry.executor("tiny", new PoolDefaults(1, 1, 1, RejectionPolicy.ABORT, 1));
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            executor.execute(() -> await(release));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+
+            ExecutorStatsDTO stats = executor.stats();
+            assertEquals(1, stats.getActiveCount());
+            assertEquals(1, stats.getQueueDepth());
+            assertEquals(1, stats.getRejectedTasks());
+        } finally {
+            release.countDown();
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void shutdownDrainsQueuedWork() {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment());
+        ManagedExecutor executor = registry.executor("drain", new PoolDefaults(1, 1, 50, RejectionPolicy.ABORT, 1));
+        AtomicInteger done = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                sleep(2);
+                done.incrementAndGet();
+            });
+        }
+
+        registry.shutdown();
+
+        assertEquals(20, done.get());
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void tasksSeeTheSubmittersContext(boolean virtualThreads) throws Exception {
+        ThreadLocal<String> traceId = new ThreadLocal<>();
+        ContextRegistry.getInstance().registerThreadLocalAccessor("test.trace-id", traceId);
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreads)));
+        try {
+            ManagedExecutor executor = registry.executor("audit", NOTIFY_DEFAULTS);
+            traceId.set("trace-1");
+            assertEquals("trace-1", executor.submit(traceId::get).get(5, TimeUnit.SECONDS));
+            // Restored afterwards, so a pooled thread does not leak it into the next task
+            traceId.remove();
+            assertNull(executor.submit(traceId::get).get(5, TimeUnit.SECONDS));
+        } finally {
+            traceId.remove();
+            ContextRegistry.getInstance().removeThreadLocalAccessor("test.trace-id");
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void duplicateNamesAreRejected() {
+        ExecutorRegistry registry = new ExecutorRegistry(new MockEnvironment());
+        try {
+            registry.executor("audit", NOTIFY_DEFAULTS);
+            assertThrows(IllegalStateException.class, () -> registry.scheduler("audit", 1));
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
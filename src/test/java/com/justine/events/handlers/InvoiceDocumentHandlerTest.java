@@ -0,0 +1,128 @@
+package com.justine.events.handlers;
+
+import com.justine.events.BookingCreated;
+import com.justine.events.PaymentCompleted;
+import com.justine.model.Invoice;
+import com.justine.repository.InvoiceRepository;
+import com.justine.utils.AppMetrics;
+import com.justine.utils.CloudinaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Handlers are called directly: no executor and no transaction, just the render/upload/store steps.
+ */
+class InvoiceDocumentHandlerTest {
+
+    private static final Map<String, String> UPLOADED = Map.of(
+            "large", "https://cdn/large.pdf", "medium", "https://cdn/medium.pdf", "thumbnail", "https://cdn/thumb.pdf");
+
+    private InvoiceRepository invoiceRepository;
+    private CloudinaryService cloudinaryService;
+    private InvoiceDocumentHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        invoiceRepository = mock(InvoiceRepository.class);
+        cloudinaryService = mock(CloudinaryService.class);
+        handler = new InvoiceDocumentHandler(invoiceRepository, cloudinaryService,
+                new AppMetrics(new SimpleMeterRegistry()), ObservationRegistry.NOOP,
+                mock(PlatformTransactionManager.class));
+
+        when(cloudinaryService.uploadFileWithEagerSizes(any(), anyString())).thenReturn(UPLOADED);
+        when(cloudinaryService.extractPublicIdFromUrl(anyString())).thenAnswer(call -> "id:" + call.getArgument(0));
+    }
+
+    @Test
+    void renderedDocumentsAreStoredOnTheInvoice() {
+        Invoice invoice = invoice();
+        when(invoiceRepository.findById(7L)).thenReturn(Optional.of(invoice));
+        when(invoiceRepository.lockById(7L)).thenReturn(Optional.of(invoice));
+
+        handler.onBookingCreated(new BookingCreated(List.of(1L), 7L));
+
+        assertEquals("https://cdn/large.pdf", invoice.getInvoiceUrl());
+        assertEquals("https://cdn/medium.pdf", invoice.getInvoiceUrlMedium());
+        assertEquals("https://cdn/thumb.pdf", invoice.getInvoiceUrlThumbnail());
+        verify(cloudinaryService, never()).deleteFile(anyString());
+    }
+
+    @Test
+    void paymentReplacesTheUnpaidDocuments() {
+        Invoice invoice = invoice();
+        invoice.setInvoiceUrl("https://cdn/old.pdf");
+        List<String> stale = InvoiceDocumentHandler.detachDocuments(invoice);
+        assertNull(invoice.getInvoiceUrl());
+        when(invoiceRepository.findById(7L)).thenReturn(Optional.of(invoice));
+        when(invoiceRepository.lockById(7L)).thenReturn(Optional.of(invoice));
+
+        handler.onPaymentCompleted(new PaymentCompleted(3L, 7L, stale));
+
+        verify(cloudinaryService).deleteFile("id:https://cdn/old.pdf");
+        assertEquals("https://cdn/large.pdf", invoice.getInvoiceUrl());
+    }
+
+    @Test
+    void uploadIsDeletedWhenTheInvoiceDisappearedMeanwhile() {
+        when(invoiceRepository.findById(7L)).thenReturn(Optional.of(invoice()));
+        when(invoiceRepository.lockById(7L)).thenReturn(Optional.empty());
+
+        handler.onBookingCreated(new BookingCreated(List.of(1L), 7L));
+
+        UPLOADED.values().forEach(url -> verify(cloudinaryService).deleteFile("id:" + url));
+    }
+
+    @Test
+    void renderOfAnUnpaidInvoiceIsDiscardedWhenPaymentLandsWhileUploading() {
+        Invoice invoice = invoice();
+        when(invoiceRepository.findById(7L)).thenReturn(Optional.of(invoice));
+        when(invoiceRepository.lockById(7L)).thenReturn(Optional.of(invoice));
+        when(cloudinaryService.uploadFileWithEagerSizes(any(), anyString())).thenAnswer(call -> {
+            invoice.setPaid(true);
+            return UPLOADED;
+        });
+
+        handler.onBookingCreated(new BookingCreated(List.of(1L), 7L));
+
+        assertNull(invoice.getInvoiceUrl());
+        UPLOADED.values().forEach(url -> verify(cloudinaryService).deleteFile("id:" + url));
+    }
+
+    @Test
+    void overlappingRenderKeepsTheDocumentStoredFirst() {
+        Invoice invoice = invoice();
+        when(invoiceRepository.findById(7L)).thenReturn(Optional.of(invoice));
+        when(invoiceRepository.lockById(7L)).thenReturn(Optional.of(invoice));
+        when(cloudinaryService.uploadFileWithEagerSizes(any(), anyString())).thenAnswer(call -> {
+            invoice.setInvoiceUrl("https://cdn/other-render.pdf");
+            return UPLOADED;
+        });
+
+        handler.onBookingCreated(new BookingCreated(List.of(1L), 7L));
+
+        assertEquals("https://cdn/other-render.pdf", invoice.getInvoiceUrl());
+        UPLOADED.values().forEach(url -> verify(cloudinaryService).deleteFile("id:" + url));
+    }
+
+    private static Invoice invoice() {
+        return Invoice.builder()
+                .id(7L)
+                .invoiceNumber("INV-TEST")
+                .issuedDate(LocalDate.now())
+                .totalAmount(1200.0)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.justine.repository;
+
+import com.justine.model.Booking;
+import com.justine.model.Hotel;
+import com.justine.model.HotelDailyStats;
+import com.justine.model.Payment;
+import com.justine.model.Room;
+import com.justine.service.AuditLogService;
+import com.justine.serviceImpl.AnalyticsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Rollup deltas against H2; not transactional, so each delta commits the way it does after a booking.
+ */
+@DataJpaTest(properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotelDailyStatsRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    @Autowired
+    private HotelDailyStatsRepository statsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        statsRepository.deleteAll();
+    }
+
+    @Test
+    void deltasForTheSameDayInsertOnceAndThenAdd() {
+        AnalyticsServiceImpl analytics = new AnalyticsServiceImpl(statsRepository, mock(BookingRepository.class),
+                mock(RestaurantOrderRepository.class), mock(PaymentRepository.class), mock(RoomRepository.class),
+                mock(AuditLogService.class), transactionManager, 1000, 7);
+
+        analytics.recordPayment(payment(1_200.0));
+        analytics.recordPayment(payment(800.0));
+
+        List<HotelDailyStats> rows = statsRepository.findByHotelIdAndStatDateBetweenOrderByStatDateAsc(7L, DAY, DAY);
+        assertEquals(1, rows.size());
+        assertEquals(2_000.0, rows.get(0).getPaymentsReceived());
+        assertEquals(0, rows.get(0).getRoomNightsSold());
+    }
+
+    @Test
+    void incrementReportsAMissingDay() {
+        assertEquals(0, statsRepository.increment(7L, DAY, 1, 100.0, 0.0, 0.0, 0.0));
+    }
+
+    private static Payment payment(double amount) {
+        Hotel hotel = Hotel.builder().id(7L).build();
+        Booking booking = Booking.builder().id(1L).room(Room.builder().id(3L).hotel(hotel).build()).build();
+        return Payment.builder().amount(amount).booking(booking).paymentDate(DAY.atTime(10, 0)).build();
+    }
+}
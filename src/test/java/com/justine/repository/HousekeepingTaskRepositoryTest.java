@@ -0,0 +1,91 @@
+package com.justine.repository;
+
+import com.justine.enums.BookingStatus;
+import com.justine.enums.HousekeepingTaskStatus;
+import com.justine.enums.RoomStatus;
+import com.justine.enums.RoomType;
+import com.justine.enums.StaffRole;
+import com.justine.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class HousekeepingTaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private HousekeepingTaskRepository taskRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void aPendingTaskIsHandedOutOnlyOnce() {
+        Hotel hotel = em.persist(Hotel.builder().name("Clean Hotel").location("Nakuru").build());
+        Room room = em.persist(Room.builder().roomNumber("7").type(RoomType.SINGLE).pricePerNight(3000.0).hotel(hotel).build());
+        Staff first = em.persist(Staff.builder().fullName("Cleaner One").role(StaffRole.CLEANER).hotel(hotel).build());
+        Staff second = em.persist(Staff.builder().fullName("Cleaner Two").role(StaffRole.CLEANER).hotel(hotel).build());
+        HousekeepingTask task = em.persist(HousekeepingTask.builder().room(room).hotel(hotel)
+                .status(HousekeepingTaskStatus.PENDING).priority(50).build());
+        em.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, taskRepository.claim(task.getId(), first, now));
+        assertEquals(0, taskRepository.claim(task.getId(), second, now));
+
+        HousekeepingTask claimed = taskRepository.findWithRoomById(task.getId()).orElseThrow();
+        assertEquals(HousekeepingTaskStatus.IN_PROGRESS, claimed.getStatus());
+        assertEquals(first.getId(), claimed.getAssignedTo().getId());
+        assertEquals(RoomStatus.READY, claimed.getRoom().getHousekeepingStatus());
+    }
+
+    @Test
+    void pendingQueueEntriesCarryHotelAndPriority() {
+        Hotel hotel = em.persist(Hotel.builder().name("Queue Hotel").location("Eldoret").build());
+        for (int i = 0; i < 3; i++) {
+            Room room = em.persist(Room.builder().roomNumber("Q" + i).type(RoomType.DOUBLE).pricePerNight(4000.0).hotel(hotel).build());
+            em.persist(HousekeepingTask.builder().room(room).hotel(hotel)
+                    .status(i == 2 ? HousekeepingTaskStatus.DONE : HousekeepingTaskStatus.PENDING)
+                    .priority(50 + i).build());
+        }
+        em.flush();
+
+        List<Object[]> entries = taskRepository.findPendingQueueEntries();
+
+        assertEquals(2, entries.size());
+        assertTrue(entries.stream().allMatch(row -> hotel.getId().equals(row[1]) && row[3] != null));
+    }
+
+    @Test
+    void outOfOrderRoomsAreNeverAllocated() {
+        Hotel hotel = em.persist(Hotel.builder().name("Repair Hotel").location("Kisumu").build());
+        Room legacy = em.persist(Room.builder().roomNumber("1").type(RoomType.SINGLE).pricePerNight(3000.0)
+                .available(true).hotel(hotel).build());
+        Room dirty = em.persist(Room.builder().roomNumber("2").type(RoomType.SINGLE).pricePerNight(3000.0)
+                .available(true).housekeepingStatus(RoomStatus.DIRTY).hotel(hotel).build());
+        em.persist(Room.builder().roomNumber("3").type(RoomType.SINGLE).pricePerNight(3000.0)
+                .available(true).housekeepingStatus(RoomStatus.OUT_OF_ORDER).hotel(hotel).build());
+        em.flush();
+
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        List<Room> rooms = roomRepository.findAllocatableRooms(hotel.getId(), RoomType.SINGLE, checkIn, checkIn.plusDays(2),
+                EnumSet.of(BookingStatus.BOOKED, BookingStatus.CHECKED_IN), PageRequest.of(0, 10));
+
+        assertEquals(List.of(legacy.getId(), dirty.getId()), rooms.stream().map(Room::getId).toList());
+    }
+}
@@ -0,0 +1,121 @@
+package com.justine.scheduller;
+
+import com.justine.model.AuditLog;
+import com.justine.repository.AuditActionRepository;
+import com.justine.repository.AuditLogRepository;
+import com.justine.utils.AuditActionDictionary;
+import com.justine.utils.AuditMetadataCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rows in the pre-dictionary layout, written straight into the old columns on H2.
+ */
+@DataJpaTest(properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditLogLegacyBackfillTest {
+
+    private static final LocalDateTime WRITTEN = LocalDateTime.now().minusDays(3);
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditActionRepository auditActionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogLegacyBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("ALTER TABLE audit_logs ADD COLUMN action VARCHAR(255)");
+        jdbcTemplate.execute("ALTER TABLE audit_logs ADD COLUMN entity VARCHAR(255)");
+        jdbcTemplate.execute("ALTER TABLE audit_logs ADD COLUMN metadata_json VARCHAR(4000)");
+        backfill = new AuditLogLegacyBackfill(jdbcTemplate,
+                new AuditActionDictionary(auditActionRepository, transactionManager), transactionManager,
+                2, 1024, 256, 32, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogRepository.deleteAll();
+        auditActionRepository.deleteAll();
+        jdbcTemplate.execute("ALTER TABLE audit_logs DROP COLUMN action");
+        jdbcTemplate.execute("ALTER TABLE audit_logs DROP COLUMN entity");
+        jdbcTemplate.execute("ALTER TABLE audit_logs DROP COLUMN metadata_json");
+    }
+
+    @Test
+    void legacyRowsBecomeReadableThroughTheDictionary() {
+        legacyRow(1L, "CREATE_BOOKING", "Booking", "{\"roomId\": 12, \"nights\": 3}");
+        legacyRow(1L, "CANCEL_BOOKING", "Booking", null);
+        legacyRow(2L, "UPDATE_ROOM", "Room", "{\"password\": \"hunter2\"}");
+        assertTrue(auditLogRepository.findLogsByEntity("Booking", WRITTEN.minusDays(1), PageRequest.of(0, 10)).isEmpty());
+
+        backfill.backfill();
+
+        List<AuditLog> bookings = auditLogRepository.findLogsByEntity("Booking", WRITTEN.minusDays(1), PageRequest.of(0, 10));
+        assertEquals(2, bookings.size());
+        AuditLog created = bookings.stream()
+                .filter(log -> log.getMetadata() != null)
+                .findFirst().orElseThrow();
+        assertEquals(Map.of("roomId", 12L, "nights", 3L), AuditMetadataCodec.decode(created.getMetadata()));
+
+        AuditLog room = auditLogRepository.findLogsByEntity("Room", WRITTEN.minusDays(1), PageRequest.of(0, 10)).get(0);
+        assertEquals(AuditMetadataCodec.REDACTED, AuditMetadataCodec.decode(room.getMetadata()).get("password"));
+        // Chunks of two; both pairs are stored once
+        assertEquals(3, auditActionRepository.count());
+        // The old columns are kept as they were
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs WHERE action IS NOT NULL", Long.class));
+    }
+
+    @Test
+    void rowsAlreadyInTheNewFormatAreLeftAlone() {
+        AuditLog current = auditLogRepository.save(AuditLog.builder()
+                .actorId(4L)
+                .actionId(new AuditActionDictionary(auditActionRepository, transactionManager).idOf("Hotel", "CREATE_HOTEL"))
+                .createdAt(WRITTEN)
+                .build());
+        legacyRow(5L, "CREATE_HOTEL", "Hotel", "not json");
+
+        backfill.backfill();
+        backfill.backfill();
+
+        List<AuditLog> hotels = auditLogRepository.findLogsByEntity("Hotel", WRITTEN.minusDays(1), PageRequest.of(0, 10));
+        assertEquals(2, hotels.size());
+        assertTrue(hotels.stream().allMatch(log -> current.getActionId().equals(log.getActionId())));
+        AuditLog converted = hotels.stream().filter(log -> log.getActorId() == 5L).findFirst().orElseThrow();
+        assertEquals("not json", AuditMetadataCodec.decode(converted.getMetadata()).get("metadataJson"));
+    }
+
+    private void legacyRow(Long actorId, String action, String entity, String metadataJson) {
+        jdbcTemplate.update("INSERT INTO audit_logs (actor_id, action, entity, metadata_json, created_at) VALUES (?, ?, ?, ?, ?)",
+                actorId, action, entity, metadataJson, Timestamp.valueOf(WRITTEN));
+    }
+}
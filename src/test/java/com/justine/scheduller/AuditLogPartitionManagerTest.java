@@ -0,0 +1,163 @@
+package com.justine.scheduller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justine.model.AuditLog;
+import com.justine.repository.AuditActionRepository;
+import com.justine.repository.AuditLogRepository;
+import com.justine.utils.AuditActionDictionary;
+import com.justine.utils.AuditMetadataCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unpartitioned path, as used on H2 and on MySQL before the migration: two months of
+ * retention, deletes in chunks of two.
+ */
+@DataJpaTest(properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditLogPartitionManagerTest {
+
+    private static final DateTimeFormatter ARCHIVE_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final YearMonth CUTOFF = YearMonth.now().minusMonths(2);
+    private static final YearMonth OLDEST = CUTOFF.minusMonths(3);
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditActionRepository auditActionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    private Path archiveDir;
+
+    private final AuditMetadataCodec codec = new AuditMetadataCodec(1024, 256, 32, 3);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+    private AuditActionDictionary actions;
+    private AuditLogPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        actions = new AuditActionDictionary(auditActionRepository, transactionManager);
+        manager = new AuditLogPartitionManager(jdbcTemplate, new AuditLogArchiver(actions, archiveDir.toString()),
+                true, false, 3, 2, 2, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogRepository.deleteAll();
+        auditActionRepository.deleteAll();
+        jdbcTemplate.execute("ALTER TABLE audit_logs ALTER COLUMN created_at SET NOT NULL");
+    }
+
+    @Test
+    void monthsPastRetentionAreArchivedThenDeletedInChunks() throws IOException {
+        AuditLog first = log(1L, "Booking", "CREATE_BOOKING", Map.of("roomId", 12), OLDEST.atDay(3).atTime(9, 0));
+        log(2L, "Booking", "CANCEL_BOOKING", null, OLDEST.atDay(10).atTime(9, 0));
+        log(3L, "Room", "UPDATE_ROOM", Map.of("password", "hunter2"), OLDEST.atEndOfMonth().atTime(23, 59));
+        log(4L, "Hotel", "CREATE_HOTEL", null, OLDEST.plusMonths(2).atDay(1).atStartOfDay());
+        log(5L, "Hotel", "UPDATE_HOTEL", null, CUTOFF.atDay(1).atStartOfDay().minusSeconds(1));
+        AuditLog onCutoff = log(6L, "Hotel", "UPDATE_HOTEL", null, CUTOFF.atDay(1).atStartOfDay());
+        AuditLog recent = log(7L, "Guest", "CREATE_GUEST", null, LocalDateTime.now().minusDays(1));
+
+        manager.maintain();
+
+        // Three rows in the oldest month took two chunks; the cutoff month is kept from its first instant
+        assertEquals(List.of(onCutoff.getId(), recent.getId()),
+                auditLogRepository.findAll().stream().map(AuditLog::getId).sorted().toList());
+
+        List<Map<String, Object>> oldest = archive(OLDEST);
+        assertEquals(3, oldest.size());
+        Map<String, Object> created = oldest.get(0);
+        assertEquals(first.getId().intValue(), created.get("id"));
+        assertEquals(1, created.get("actorId"));
+        assertEquals("Booking", created.get("entity"));
+        assertEquals("CREATE_BOOKING", created.get("action"));
+        assertEquals(OLDEST.atDay(3).atTime(9, 0).toString(), created.get("createdAt"));
+        assertEquals(Map.of("roomId", 12), created.get("metadata"));
+        assertFalse(oldest.get(1).containsKey("metadata"));
+        assertEquals(Map.of("password", AuditMetadataCodec.REDACTED), oldest.get(2).get("metadata"));
+
+        assertTrue(archive(OLDEST.plusMonths(1)).isEmpty());
+        assertEquals(2, archive(OLDEST.plusMonths(2)).size());
+        assertFalse(Files.exists(archiveFile(CUTOFF)));
+    }
+
+    @Test
+    void rowsWithoutCreatedAtAreNeverArchivedOrDeleted() throws IOException {
+        jdbcTemplate.execute("ALTER TABLE audit_logs ALTER COLUMN created_at SET NULL");
+        jdbcTemplate.update("INSERT INTO audit_logs (actor_id, action_id, created_at) VALUES (?, ?, NULL)",
+                8L, actions.idOf("Booking", "CREATE_BOOKING"));
+        log(9L, "Booking", "CREATE_BOOKING", null, OLDEST.atDay(1).atTime(12, 0));
+
+        manager.maintain();
+        manager.maintain();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Long.class));
+        assertEquals(8L, jdbcTemplate.queryForObject("SELECT actor_id FROM audit_logs WHERE created_at IS NULL", Long.class));
+        List<Map<String, Object>> archived = archive(OLDEST);
+        assertEquals(1, archived.size());
+        assertEquals(9, archived.get(0).get("actorId"));
+    }
+
+    private AuditLog log(Long actorId, String entity, String action, Map<String, ?> metadata, LocalDateTime createdAt) {
+        return auditLogRepository.save(AuditLog.builder()
+                .actorId(actorId)
+                .actionId(actions.idOf(entity, action))
+                .metadata(metadata != null ? codec.encode(metadata) : null)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    private Path archiveFile(YearMonth month) {
+        return archiveDir.resolve("audit_logs-" + month.format(ARCHIVE_MONTH) + ".jsonl.gz");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> archive(YearMonth month) throws IOException {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archiveFile(month))), StandardCharsets.UTF_8))) {
+            return in.lines().map(line -> {
+                try {
+                    return (Map<String, Object>) objectMapper.readValue(line, Map.class);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toList();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.justine.scheduller;
+
+import com.justine.repository.BookingRepository;
+import com.justine.repository.RestaurantOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class HotelKeyBackfillTest {
+
+    private BookingRepository bookingRepository;
+    private RestaurantOrderRepository orderRepository;
+    private PlatformTransactionManager transactionManager;
+    private HotelKeyBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        orderRepository = mock(RestaurantOrderRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        backfill = new HotelKeyBackfill(bookingRepository, orderRepository, transactionManager, 2);
+    }
+
+    @Test
+    void fillsInBoundedChunksEachInItsOwnTransaction() {
+        when(bookingRepository.findIdsMissingHotel(0L, PageRequest.of(0, 2))).thenReturn(List.of(3L, 5L));
+        when(bookingRepository.findIdsMissingHotel(5L, PageRequest.of(0, 2))).thenReturn(List.of(8L));
+        when(bookingRepository.backfillHotel(any())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        when(orderRepository.findIdsMissingHotel(anyLong(), any())).thenReturn(List.of());
+
+        backfill.backfill();
+
+        verify(bookingRepository).backfillHotel(List.of(3L, 5L));
+        verify(bookingRepository).backfillHotel(List.of(8L));
+        // A short chunk is the last one; no further lookup
+        verify(bookingRepository, times(2)).findIdsMissingHotel(anyLong(), any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(orderRepository, never()).backfillHotel(any());
+    }
+
+    @Test
+    void skipsCleanlyOnceNothingIsLeft() {
+        when(bookingRepository.findIdsMissingHotel(anyLong(), any())).thenReturn(List.of());
+        when(orderRepository.findIdsMissingHotel(anyLong(), any())).thenReturn(List.of());
+
+        backfill.backfill();
+
+        verify(bookingRepository, never()).backfillHotel(any());
+        verify(orderRepository, never()).backfillHotel(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void runsBeforeTheWebServerAndSchedulersStart() {
+        when(bookingRepository.findIdsMissingHotel(anyLong(), any())).thenReturn(List.of(3L));
+        when(bookingRepository.backfillHotel(any())).thenReturn(1);
+        when(orderRepository.findIdsMissingHotel(anyLong(), any())).thenReturn(List.of());
+
+        assertTrue(backfill.getPhase() < Integer.MAX_VALUE - 1);
+        assertFalse(backfill.isRunning());
+
+        backfill.start();
+
+        // Done by the time start() returns, so the next phase already sees the filled rows
+        verify(bookingRepository).backfillHotel(List.of(3L));
+        assertTrue(backfill.isRunning());
+    }
+}
@@ -0,0 +1,177 @@
+package com.justine.scheduller;
+
+import com.justine.config.ExecutorRegistry;
+import com.justine.dtos.request.STKPushRequestDTO;
+import com.justine.dtos.response.STKPushResponseDTO;
+import com.justine.enums.PaymentStatus;
+import com.justine.model.Payment;
+import com.justine.repository.BookingRepository;
+import com.justine.repository.PaymentRepository;
+import com.justine.repository.RestaurantOrderRepository;
+import com.justine.service.AnalyticsService;
+import com.justine.service.AuditLogService;
+import com.justine.serviceImpl.MpesaServiceImpl;
+import com.justine.utils.MpesaSandboxSimulator;
+import com.justine.utils.MpesaSandboxSimulator.Outcome;
+import com.justine.utils.MpesaSandboxSimulator.SimulatedPush;
+import com.justine.utils.MpesaTokenManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Push, reconciliation and callback against a real payments table. Not transactional,
+ * because the reconciler queries Daraja from its own pool threads.
+ */
+@DataJpaTest(properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentReconciliationSchedulerTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RestaurantOrderRepository restaurantOrderRepository;
+
+    private MpesaSandboxSimulator simulator;
+    private MpesaServiceImpl mpesa;
+    private ExecutorRegistry registry;
+    private PaymentReconciliationScheduler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        simulator = mock(MpesaSandboxSimulator.class);
+        mpesa = new MpesaServiceImpl(paymentRepository, bookingRepository, restaurantOrderRepository,
+                mock(RestTemplate.class), mock(MpesaTokenManager.class), simulator, mock(AnalyticsService.class));
+        ReflectionTestUtils.setField(mpesa, "environment", "sandbox");
+        ReflectionTestUtils.setField(mpesa, "shortcode", "174379");
+        ReflectionTestUtils.setField(mpesa, "passkey", "test-passkey");
+
+        registry = new ExecutorRegistry(new MockEnvironment());
+        // Stale after 5 minutes, given up after a day, no query throttle
+        reconciler = new PaymentReconciliationScheduler(paymentRepository, mpesa, mock(AuditLogService.class),
+                registry, true, 5, 1440, 100, 1000, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+        paymentRepository.deleteAll();
+    }
+
+    @Test
+    void anAcceptedPushLeavesAPendingPaymentUnderItsCheckoutRequestId() {
+        SimulatedPush push = new SimulatedPush("mock_merchant_1", "mock_checkout_1", 2_000.0, "254700000001", null, null);
+        when(simulator.register(anyDouble(), anyString())).thenReturn(push);
+        STKPushRequestDTO request = new STKPushRequestDTO();
+        request.setPhone("0700000001");
+        request.setAmount(2_000.0);
+
+        STKPushResponseDTO response = mpesa.initiateSTKPush(request);
+
+        assertEquals("mock_checkout_1", response.getCheckoutRequestId());
+        Payment payment = paymentRepository.findByCheckoutRequestId("mock_checkout_1").orElseThrow();
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        assertEquals(2_000.0, payment.getAmount());
+        // The payment exists before the simulated callback can be scheduled
+        verify(simulator).dispatch(eq(push), any());
+    }
+
+    @Test
+    void aStalePendingPaymentIsResolvedByTheStatusQuery() {
+        pendingPayment("ws_CO_paid", LocalDateTime.now().minusMinutes(10));
+        answersWith("ws_CO_paid", Outcome.SUCCESS);
+
+        reconciler.reconcilePendingPayments();
+
+        assertEquals(PaymentStatus.PAID, status("ws_CO_paid"));
+        assertEquals(1, reconciler.getLastRunStats().resolved());
+    }
+
+    @Test
+    void aLostPushIsFailedNotPaid() {
+        pendingPayment("ws_CO_lost", LocalDateTime.now().minusMinutes(10));
+        answersWith("ws_CO_lost", Outcome.LOST);
+
+        reconciler.reconcilePendingPayments();
+
+        assertEquals(PaymentStatus.FAILED, status("ws_CO_lost"));
+    }
+
+    @Test
+    void aPaymentPendingPastTheGiveUpWindowIsFailed() {
+        pendingPayment("ws_CO_expired", LocalDateTime.now().minusDays(2));
+        when(simulator.find("ws_CO_expired")).thenReturn(Optional.empty());
+
+        reconciler.reconcilePendingPayments();
+
+        assertEquals(PaymentStatus.FAILED, status("ws_CO_expired"));
+        assertEquals(1, reconciler.getLastRunStats().expired());
+    }
+
+    @Test
+    void aRecentPendingPaymentIsLeftAlone() {
+        pendingPayment("ws_CO_fresh", LocalDateTime.now().minusMinutes(1));
+
+        reconciler.reconcilePendingPayments();
+
+        assertEquals(PaymentStatus.PENDING, status("ws_CO_fresh"));
+        verify(simulator, never()).find(any());
+    }
+
+    @Test
+    void aLateCallbackAfterReconciliationIsANoOp() {
+        pendingPayment("ws_CO_late", LocalDateTime.now().minusMinutes(10));
+        answersWith("ws_CO_late", Outcome.SUCCESS);
+        reconciler.reconcilePendingPayments();
+        LocalDateTime settledAt = paymentRepository.findByCheckoutRequestId("ws_CO_late").orElseThrow().getPaymentDate();
+
+        mpesa.handleCallback(Map.of("Body", Map.of("stkCallback", Map.of(
+                "CheckoutRequestID", "ws_CO_late",
+                "ResultCode", 1032,
+                "ResultDesc", "Request cancelled by user"))));
+
+        Payment payment = paymentRepository.findByCheckoutRequestId("ws_CO_late").orElseThrow();
+        assertEquals(PaymentStatus.PAID, payment.getStatus());
+        assertEquals(settledAt, payment.getPaymentDate());
+        assertFalse(mpesa.applyStkResult("ws_CO_late", 0, "LATE123"));
+    }
+
+    private void pendingPayment(String checkoutRequestId, LocalDateTime createdAt) {
+        paymentRepository.save(Payment.builder().amount(1_000.0).checkoutRequestId(checkoutRequestId)
+                .createdAt(createdAt).build());
+    }
+
+    private void answersWith(String checkoutRequestId, Outcome outcome) {
+        when(simulator.find(checkoutRequestId)).thenReturn(Optional.of(new SimulatedPush("mock_merchant",
+                checkoutRequestId, 1_000.0, "254700000001", null, outcome)));
+    }
+
+    private PaymentStatus status(String checkoutRequestId) {
+        return paymentRepository.findByCheckoutRequestId(checkoutRequestId).orElseThrow().getStatus();
+    }
+}
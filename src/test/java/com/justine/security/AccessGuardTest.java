@@ -0,0 +1,65 @@
+package com.justine.security;
+
+import com.justine.enums.StaffRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessGuardTest {
+
+    private final AccessGuard access = new AccessGuard();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(String... roles) {
+        List<SimpleGrantedAuthority> authorities = Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList();
+        SecurityContextHolder.getContext().setAuthentication(
+                new RoleAuthenticationToken("1", authorities, RoleAuthenticationToken.toStaffRoles(authorities)));
+    }
+
+    @Test
+    void resolvesStaffRolesFromToken() {
+        authenticate("ROLE_RECEPTIONIST");
+
+        assertEquals(EnumSet.of(StaffRole.RECEPTIONIST), access.roles());
+        assertTrue(access.isFrontDesk());
+        assertTrue(access.isStaff());
+        assertFalse(access.isAdmin());
+        assertFalse(access.isManagement());
+    }
+
+    @Test
+    void guestsHaveNoStaffRoles() {
+        authenticate("ROLE_USER");
+
+        assertTrue(access.roles().isEmpty());
+        assertFalse(access.isStaff());
+        assertFalse(access.isAdmin());
+    }
+
+    @Test
+    void anonymousCallerHasNoRoles() {
+        assertFalse(access.isAdmin());
+        assertFalse(access.isStaff());
+    }
+
+    @Test
+    void fallsBackToAuthoritiesForOtherAuthentications() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "1", null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))));
+
+        assertTrue(access.isManagement());
+        assertFalse(access.isAdmin());
+    }
+}
@@ -0,0 +1,101 @@
+package com.justine.security;
+
+import com.justine.repository.StaffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FrontDeskTopicInterceptorTest {
+
+    private StaffRepository staffRepository;
+    private FrontDeskTopicInterceptor interceptor;
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @BeforeEach
+    void setUp() {
+        staffRepository = mock(StaffRepository.class);
+        interceptor = new FrontDeskTopicInterceptor(staffRepository);
+        when(staffRepository.findHotelIdById(5L)).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    void receptionistSubscribesToTheBoardOfTheirOwnHotel() {
+        Message<?> message = frame(StompCommand.SUBSCRIBE, "/topic/front-desk/1", user("5", "ROLE_RECEPTIONIST"));
+
+        assertSame(message, interceptor.preSend(message, channel));
+    }
+
+    @Test
+    void receptionistCannotSubscribeToAnotherHotelsBoard() {
+        Message<?> message = frame(StompCommand.SUBSCRIBE, "/topic/front-desk/2", user("5", "ROLE_RECEPTIONIST"));
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message, channel));
+    }
+
+    @Test
+    void adminSubscribesToAnyHotel() {
+        Message<?> message = frame(StompCommand.SUBSCRIBE, "/topic/front-desk/2", user("9", "ROLE_ADMIN"));
+
+        assertSame(message, interceptor.preSend(message, channel));
+        verifyNoInteractions(staffRepository);
+    }
+
+    @Test
+    void guestsOtherStaffAndAnonymousSessionsAreRefused() {
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SUBSCRIBE, "/topic/front-desk/1", user("5", "ROLE_USER")), channel));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SUBSCRIBE, "/topic/front-desk/1", user("5", "ROLE_CLEANER")), channel));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SUBSCRIBE, "/topic/front-desk/1", null), channel));
+    }
+
+    @Test
+    void wildcardSubscriptionCoveringTheBoardsIsAdminOnly() {
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SUBSCRIBE, "/topic/**", user("5", "ROLE_RECEPTIONIST")), channel));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SUBSCRIBE, "/topic/front-desk/*", user("5", "ROLE_RECEPTIONIST")), channel));
+
+        Message<?> admin = frame(StompCommand.SUBSCRIBE, "/topic/**", user("9", "ROLE_ADMIN"));
+        assertSame(admin, interceptor.preSend(admin, channel));
+    }
+
+    @Test
+    void clientsCannotPublishToTheBoardTopic() {
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(
+                frame(StompCommand.SEND, "/topic/front-desk/1", user("9", "ROLE_ADMIN")), channel));
+    }
+
+    @Test
+    void otherDestinationsPassThrough() {
+        Message<?> message = frame(StompCommand.SUBSCRIBE, "/user/queue/notifications", user("7", "ROLE_USER"));
+
+        assertSame(message, interceptor.preSend(message, channel));
+    }
+
+    private static RoleAuthenticationToken user(String id, String role) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+        return new RoleAuthenticationToken(id, authorities, RoleAuthenticationToken.toStaffRoles(authorities));
+    }
+
+    private static Message<?> frame(StompCommand command, String destination, RoleAuthenticationToken user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,141 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.AnalyticsBackfillReportDTO;
+import com.justine.model.Booking;
+import com.justine.model.HotelDailyStats;
+import com.justine.model.Hotel;
+import com.justine.model.Payment;
+import com.justine.model.Room;
+import com.justine.repository.*;
+import com.justine.service.AuditLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AnalyticsServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+    private HotelDailyStatsRepository statsRepository;
+    private BookingRepository bookingRepository;
+    private RestaurantOrderRepository restaurantOrderRepository;
+    private PaymentRepository paymentRepository;
+    private PlatformTransactionManager transactionManager;
+    private AnalyticsServiceImpl analytics;
+
+    @BeforeEach
+    void setUp() {
+        statsRepository = mock(HotelDailyStatsRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        restaurantOrderRepository = mock(RestaurantOrderRepository.class);
+        paymentRepository = mock(PaymentRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // Weekly slices: March is rebuilt in five transactions
+        analytics = new AnalyticsServiceImpl(statsRepository, bookingRepository, restaurantOrderRepository,
+                paymentRepository, mock(RoomRepository.class), mock(AuditLogService.class), transactionManager, 1000, 7);
+
+        List<Object[]> stays = new ArrayList<>();
+        // Booking 1 at hotel 7: two nights in range, folio room charges 8000, services 500
+        stays.add(new Object[]{1L, 7L, FROM.plusDays(4), FROM.plusDays(6), 8_000.0, 500.0, 4_000.0});
+        when(bookingRepository.findStaysForRollup(anyLong(), any(), any(), any())).thenReturn(stays);
+        when(restaurantOrderRepository.findOrdersForRollup(anyLong(), any(), any(), any())).thenReturn(List.of());
+        when(paymentRepository.findPaymentsForRollup(anyLong(), any(), any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void backfillRebuildsOneLockedSliceAtATime() {
+        ResponseEntity<AnalyticsBackfillReportDTO> response = analytics.backfill(FROM, TO, 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getRowsWritten());
+
+        // Each slice locks only its own days, before its first read, until its own commit
+        InOrder order = inOrder(transactionManager, statsRepository, bookingRepository, paymentRepository);
+        for (LocalDate start = FROM; !start.isAfter(TO); start = start.plusDays(7)) {
+            LocalDate end = start.plusDays(6).isAfter(TO) ? TO : start.plusDays(6);
+            order.verify(transactionManager).getTransaction(any());
+            order.verify(statsRepository).lockByStatDateBetween(start, end);
+            order.verify(bookingRepository).findStaysForRollup(anyLong(), eq(start), eq(end), any());
+            order.verify(paymentRepository).findPaymentsForRollup(anyLong(), any(), any(), any());
+            order.verify(statsRepository).deleteByStatDateBetween(start, end);
+            order.verify(statsRepository).saveAll(any());
+            order.verify(transactionManager).commit(any());
+        }
+        verify(transactionManager, times(5)).getTransaction(any());
+        verify(statsRepository).lockByStatDateBetween(LocalDate.of(2025, 3, 29), TO);
+
+        ArgumentCaptor<List<HotelDailyStats>> saved = ArgumentCaptor.forClass(List.class);
+        verify(statsRepository, times(5)).saveAll(saved.capture());
+        double roomRevenue = saved.getAllValues().stream().flatMap(List::stream)
+                .mapToDouble(HotelDailyStats::getRoomRevenue).sum();
+        assertEquals(8_000.0, roomRevenue);
+    }
+
+    @Test
+    void aFailedSliceLeavesItselfAndLaterSlicesUntouched() {
+        when(paymentRepository.findPaymentsForRollup(anyLong(), eq(FROM.plusDays(7).atStartOfDay()), any(), any()))
+                .thenThrow(new IllegalStateException("replica gone"));
+
+        ResponseEntity<AnalyticsBackfillReportDTO> response = analytics.backfill(FROM, TO, 1L);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        verify(statsRepository).deleteByStatDateBetween(FROM, FROM.plusDays(6));
+        verify(statsRepository, times(1)).deleteByStatDateBetween(any(), any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    void aDeltaForADayWithoutARowInsertsIt() {
+        when(statsRepository.increment(anyLong(), any(), anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(0);
+
+        analytics.recordPayment(payment(1_200.0));
+
+        ArgumentCaptor<HotelDailyStats> inserted = ArgumentCaptor.forClass(HotelDailyStats.class);
+        verify(statsRepository).saveAndFlush(inserted.capture());
+        assertEquals(7L, inserted.getValue().getHotelId());
+        assertEquals(1_200.0, inserted.getValue().getPaymentsReceived());
+    }
+
+    @Test
+    void aDeltaThatLosesTheInsertRaceAddsToTheWinnersRow() {
+        when(statsRepository.increment(anyLong(), any(), anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(0, 1);
+        when(statsRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_hotel_daily_stats_hotel_date"));
+
+        analytics.recordPayment(payment(1_200.0));
+
+        verify(statsRepository, times(2)).increment(eq(7L), any(), eq(0), eq(0.0), eq(0.0), eq(0.0), eq(1_200.0));
+        verify(statsRepository, times(1)).saveAndFlush(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    private static Payment payment(double amount) {
+        Hotel hotel = Hotel.builder().id(7L).build();
+        Booking booking = Booking.builder().id(1L).room(Room.builder().id(3L).hotel(hotel).build()).build();
+        return Payment.builder().amount(amount).booking(booking).paymentDate(FROM.atTime(10, 0)).build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.request.RoomSearchRequestDTO;
+import com.justine.dtos.response.RoomResponseDTO;
+import com.justine.dtos.response.RoomSearchResponseDTO;
+import com.justine.enums.RoomStatus;
+import com.justine.enums.RoomType;
+import com.justine.model.Hotel;
+import com.justine.model.Room;
+import com.justine.repository.BookingRepository;
+import com.justine.repository.RoomRepository;
+import com.justine.service.PricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AvailabilitySearchServiceImplTest {
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(10);
+    private RoomRepository roomRepository;
+    private BookingRepository bookingRepository;
+    private AvailabilitySearchServiceImpl search;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository = mock(RoomRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        PricingService pricingService = mock(PricingService.class);
+        search = new AvailabilitySearchServiceImpl(roomRepository, bookingRepository, pricingService, 100);
+
+        when(bookingRepository.findStayWindows(any(), any())).thenReturn(List.of());
+        when(pricingService.quoteStay(anyLong(), any(RoomType.class), anyDouble(), any(), any())).thenReturn(1.0);
+    }
+
+    @Test
+    void outOfServiceRoomsAreNotOffered() {
+        Hotel hotel = Hotel.builder().id(1L).name("Search Hotel").location("Nairobi").build();
+        when(roomRepository.findAllWithHotel()).thenReturn(List.of(
+                room(1L, hotel, true, RoomStatus.READY),
+                room(2L, hotel, false, RoomStatus.READY),
+                room(3L, hotel, true, RoomStatus.OUT_OF_ORDER),
+                room(4L, hotel, true, RoomStatus.DIRTY)));
+
+        RoomSearchResponseDTO result = search.searchRooms(RoomSearchRequestDTO.builder()
+                .checkIn(checkIn).checkOut(checkIn.plusDays(2)).build()).getBody();
+
+        assertNotNull(result);
+        assertEquals(List.of(1L, 4L), result.getRooms().stream().map(RoomResponseDTO::getId).toList());
+        assertTrue(result.getRooms().stream().allMatch(RoomResponseDTO::isAvailable));
+    }
+
+    private static Room room(Long id, Hotel hotel, boolean available, RoomStatus status) {
+        return Room.builder().id(id).roomNumber("R" + id).type(RoomType.DOUBLE).pricePerNight(5_000.0 + id)
+                .available(available).housekeepingStatus(status).hotel(hotel).build();
+    }
+}
@@ -0,0 +1,287 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.request.BookingRequestDTO;
+import com.justine.dtos.request.BulkStayRequestDTO;
+import com.justine.dtos.request.GroupBookingRequestDTO;
+import com.justine.dtos.request.PaymentRequestDTO;
+import com.justine.dtos.response.BookingResponseDTO;
+import com.justine.dtos.response.BulkStayResponseDTO;
+import com.justine.dtos.response.GroupBookingResponseDTO;
+import com.justine.dtos.response.PaymentResponseDTO;
+import com.justine.enums.BookingStatus;
+import com.justine.enums.PaymentMethod;
+import com.justine.enums.PaymentStatus;
+import com.justine.enums.RoomStatus;
+import com.justine.enums.RoomType;
+import com.justine.events.PaymentCompleted;
+import com.justine.events.RoomReleased;
+import com.justine.model.*;
+import com.justine.repository.*;
+import com.justine.security.AccessGuard;
+import com.justine.service.AnalyticsService;
+import com.justine.service.AuditLogService;
+import com.justine.service.FolioService;
+import com.justine.service.FrontDeskBoardService;
+import com.justine.service.PricingService;
+import com.justine.utils.AppMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service logic against mocked repositories; no transaction, so after-commit work runs inline.
+ */
+class BookingServiceImplTest {
+
+    private static final String GROUP = "GRP-TEST";
+
+    private final LocalDate today = LocalDate.now();
+    private BookingRepository bookingRepository;
+    private InvoiceRepository invoiceRepository;
+    private PaymentRepository paymentRepository;
+    private RoomRepository roomRepository;
+    private GuestRepository guestRepository;
+    private FolioService folioService;
+    private PricingService pricingService;
+    private FrontDeskBoardService frontDeskBoardService;
+    private AnalyticsService analyticsService;
+    private ApplicationEventPublisher eventPublisher;
+    private BookingServiceImpl bookings;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        invoiceRepository = mock(InvoiceRepository.class);
+        paymentRepository = mock(PaymentRepository.class);
+        roomRepository = mock(RoomRepository.class);
+        guestRepository = mock(GuestRepository.class);
+        folioService = mock(FolioService.class);
+        pricingService = mock(PricingService.class);
+        frontDeskBoardService = mock(FrontDeskBoardService.class);
+        analyticsService = mock(AnalyticsService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        bookings = new BookingServiceImpl(bookingRepository, mock(FoodItemRepository.class),
+                mock(RestaurantOrderRepository.class), mock(OrderItemRepository.class), roomRepository,
+                guestRepository, mock(ServiceRepository.class), invoiceRepository, paymentRepository,
+                mock(AuditLogService.class), mock(StaffRepository.class), folioService, pricingService,
+                analyticsService, frontDeskBoardService, mock(AccessGuard.class),
+                new AppMetrics(new SimpleMeterRegistry()), eventPublisher);
+        ReflectionTestUtils.setField(bookings, "maxBulkSize", 500);
+        ReflectionTestUtils.setField(bookings, "maxGroupRooms", 200);
+    }
+
+    @Test
+    void anOutOfOrderRoomCannotBeBooked() {
+        Guest guest = Guest.builder().id(5L).build();
+        Room room = Room.builder().id(9L).available(true).housekeepingStatus(RoomStatus.OUT_OF_ORDER).build();
+        when(guestRepository.findById(5L)).thenReturn(Optional.of(guest));
+        when(roomRepository.findById(9L)).thenReturn(Optional.of(room));
+
+        ResponseEntity<BookingResponseDTO> response = bookings.createBooking(BookingRequestDTO.builder()
+                .guestId(5L).roomId(9L).checkInDate(today).checkOutDate(today.plusDays(2)).numberOfGuests(1).build(), 5L);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void payingOneMemberOfAGroupSettlesTheConsolidatedInvoiceForEveryMember() {
+        Booking lead = groupBooking(1L, BookingStatus.BOOKED);
+        Booking second = groupBooking(2L, BookingStatus.BOOKED);
+        Booking cancelled = groupBooking(3L, BookingStatus.CANCELLED);
+        Invoice invoice = Invoice.builder().id(50L).groupCode(GROUP).booking(lead).totalAmount(300.0)
+                .invoiceUrl("https://cdn/unpaid.pdf").build();
+        lead.setInvoice(invoice);
+
+        when(bookingRepository.findById(2L)).thenReturn(Optional.of(second));
+        when(bookingRepository.findAllWithRoomByGroupCode(GROUP)).thenReturn(List.of(second, cancelled, lead));
+        when(invoiceRepository.findByGroupCode(GROUP)).thenReturn(invoice);
+        when(folioService.getFolio(lead)).thenReturn(BookingFolio.builder().totalAmount(100.0).build());
+        when(folioService.getFolio(second)).thenReturn(BookingFolio.builder().totalAmount(250.0).build());
+
+        ResponseEntity<PaymentResponseDTO> response = bookings.makePayment(PaymentRequestDTO.builder()
+                .bookingId(2L).method(PaymentMethod.CARD).transactionId("TX-1").build(), 99L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(350.0, response.getBody().getAmount());
+
+        // One invoice for the group, carrying the sum of the live members' folios
+        assertTrue(invoice.isPaid());
+        assertEquals(350.0, invoice.getTotalAmount());
+        assertNull(invoice.getInvoiceUrl());
+        verify(invoiceRepository, times(1)).save(any(Invoice.class));
+
+        for (Booking member : List.of(lead, second)) {
+            assertEquals(BookingStatus.CHECKED_IN, member.getStatus());
+            assertEquals(PaymentStatus.PAID, member.getPayment().getStatus());
+            assertEquals("TX-1", member.getPayment().getTransactionId());
+        }
+        assertEquals(100.0, lead.getPayment().getAmount());
+        assertEquals(250.0, second.getPayment().getAmount());
+        assertNull(cancelled.getPayment());
+        assertEquals(BookingStatus.CANCELLED, cancelled.getStatus());
+        verify(folioService, never()).getFolio(cancelled);
+        verify(eventPublisher, times(1)).publishEvent(any(PaymentCompleted.class));
+    }
+
+    @Test
+    void aPaidGroupCannotBePaidAgainThroughAnotherMember() {
+        Booking lead = groupBooking(1L, BookingStatus.CHECKED_IN);
+        lead.setPayment(Payment.builder().id(7L).status(PaymentStatus.PAID).build());
+        Booking second = groupBooking(2L, BookingStatus.BOOKED);
+
+        when(bookingRepository.findById(2L)).thenReturn(Optional.of(second));
+        when(bookingRepository.findAllWithRoomByGroupCode(GROUP)).thenReturn(List.of(lead, second));
+
+        ResponseEntity<PaymentResponseDTO> response = bookings.makePayment(PaymentRequestDTO.builder()
+                .bookingId(2L).method(PaymentMethod.CARD).transactionId("TX-2").build(), 99L);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNull(second.getPayment());
+        verify(invoiceRepository, never()).save(any());
+        verify(paymentRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void groupBookingResponsesAreMappedBeforeTheBulkRoomUpdateDetachesTheBlock() {
+        Hotel hotel = Hotel.builder().id(1L).name("Group Hotel").build();
+        Guest lead = Guest.builder().id(10L).fullName("Group Lead").build();
+        List<Room> rooms = List.of(
+                Room.builder().id(101L).roomNumber("101").available(true).hotel(hotel).build(),
+                Room.builder().id(102L).roomNumber("102").available(true).hotel(hotel).build());
+        when(guestRepository.findById(10L)).thenReturn(Optional.of(lead));
+        when(roomRepository.findAllocatableRooms(any(), any(), any(), any(), any(), any())).thenReturn(rooms);
+        when(bookingRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Booking> saved = new ArrayList<>((List<Booking>) invocation.getArgument(0));
+            for (int i = 0; i < saved.size(); i++) saved.get(i).setId(i + 1L);
+            return saved;
+        });
+        when(folioService.openFolios(any())).thenAnswer(invocation -> ((List<Booking>) invocation.getArgument(0)).stream()
+                .map(b -> BookingFolio.builder().booking(b).totalAmount(100.0).build()).toList());
+        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> {
+            Invoice invoice = invocation.getArgument(0);
+            invoice.setId(50L);
+            return invoice;
+        });
+        // Stands in for the clear: what the block reads after the UPDATE is no longer there
+        doAnswer(invocation -> {
+            for (Room room : rooms) {
+                room.setHotel(null);
+            }
+            return rooms.size();
+        }).when(roomRepository).updateAvailabilityByIdIn(any(), eq(false));
+
+        ResponseEntity<GroupBookingResponseDTO> response = bookings.createGroupBooking(GroupBookingRequestDTO.builder()
+                .hotelId(1L).roomType(RoomType.DOUBLE).roomCount(2).guestsPerRoom(2).guestId(10L)
+                .checkInDate(today.plusDays(1)).checkOutDate(today.plusDays(3)).build(), 10L);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        GroupBookingResponseDTO body = response.getBody();
+        assertEquals(List.of(1L, 2L), body.getBookings().stream().map(BookingResponseDTO::getId).toList());
+        assertTrue(body.getBookings().stream().allMatch(b -> b.getRoom().getHotel() != null));
+        assertTrue(body.getBookings().stream().noneMatch(b -> b.getRoom().isAvailable()));
+        assertEquals(50L, body.getInvoice().getId());
+        verify(roomRepository).updateAvailabilityByIdIn(List.of(101L, 102L), false);
+    }
+
+    @Test
+    void bulkCheckOutMovesInHouseBookingsReleasesTheirStaysAndReportsTheRest() {
+        Booking inHouse = groupBooking(1L, BookingStatus.CHECKED_IN);
+        Booking booked = groupBooking(2L, BookingStatus.BOOKED);
+        Booking gone = groupBooking(3L, BookingStatus.CHECKED_OUT);
+        Booking cancelled = groupBooking(4L, BookingStatus.CANCELLED);
+        when(bookingRepository.findAllWithRoomByIdIn(any())).thenReturn(List.of(inHouse, booked, gone, cancelled));
+
+        ResponseEntity<BulkStayResponseDTO> response = bookings.bulkCheckOut(BulkStayRequestDTO.builder()
+                .bookingIds(List.of(1L, 2L, 3L, 4L, 5L)).build(), 99L);
+
+        BulkStayResponseDTO body = response.getBody();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, body.getRequested());
+        assertEquals(1, body.getProcessed());
+        assertEquals(List.of(1L), body.getProcessedBookingIds());
+        assertEquals(Set.of(2L, 3L, 4L, 5L), body.getSkipped().keySet());
+        assertEquals("Cannot move from BOOKED to CHECKED_OUT", body.getSkipped().get(2L));
+        assertEquals("Booking not found", body.getSkipped().get(5L));
+
+        // The rate table and the board read the bookings before the UPDATEs detach them
+        InOrder order = inOrder(pricingService, frontDeskBoardService, bookingRepository, roomRepository);
+        order.verify(pricingService).releaseStay(inHouse.getRoom(), inHouse.getCheckInDate(), inHouse.getCheckOutDate());
+        order.verify(frontDeskBoardService).bookingsMoved(List.of(inHouse), BookingStatus.CHECKED_OUT);
+        order.verify(bookingRepository).updateStatusByIdIn(List.of(1L), BookingStatus.CHECKED_OUT);
+        order.verify(roomRepository).updateAvailabilityByIdIn(Set.of(101L), true);
+        verifyNoMoreInteractions(pricingService);
+        verify(eventPublisher).publishEvent(new RoomReleased(List.of(1L)));
+    }
+
+    @Test
+    void bulkCheckInKeepsTheStaysOnTheRateTable() {
+        Booking booked = groupBooking(1L, BookingStatus.BOOKED);
+        Booking inHouse = groupBooking(2L, BookingStatus.CHECKED_IN);
+        when(bookingRepository.findAllWithRoomByGroupCode(GROUP)).thenReturn(List.of(booked, inHouse));
+
+        BulkStayResponseDTO body = bookings.bulkCheckIn(BulkStayRequestDTO.builder().groupCode(GROUP).build(), 99L)
+                .getBody();
+
+        assertEquals(List.of(1L), body.getProcessedBookingIds());
+        assertEquals("Already CHECKED_IN", body.getSkipped().get(2L));
+        verify(roomRepository).updateAvailabilityByIdIn(Set.of(101L), false);
+        verifyNoInteractions(pricingService);
+        verify(eventPublisher, never()).publishEvent(any(RoomReleased.class));
+    }
+
+    @Test
+    void cancellingTakesTheStayOutOfTheRollupsAndThenReversesItsRoomCharges() {
+        Booking booking = groupBooking(1L, BookingStatus.BOOKED);
+        BookingFolio folio = BookingFolio.builder().roomCharges(8_000.0).build();
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(folioService.getFolio(booking)).thenReturn(folio);
+
+        ResponseEntity<?> response = bookings.cancelBooking(1L, 99L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(BookingStatus.CANCELLED, booking.getStatus());
+        InOrder order = inOrder(analyticsService, folioService);
+        order.verify(analyticsService).reverseStay(booking, folio);
+        order.verify(folioService).reverseRoomCharges(booking);
+    }
+
+    @Test
+    void cancellingAnAlreadyCancelledBookingReversesNothing() {
+        Booking booking = groupBooking(1L, BookingStatus.CANCELLED);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        bookings.cancelBooking(1L, 99L);
+
+        verify(folioService, never()).reverseRoomCharges(any());
+        verifyNoInteractions(analyticsService);
+    }
+
+    private Booking groupBooking(Long id, BookingStatus status) {
+        Hotel hotel = Hotel.builder().id(1L).name("Group Hotel").build();
+        return Booking.builder().id(id).bookingCode("BK" + id).groupCode(GROUP).status(status)
+                .checkInDate(today).checkOutDate(today.plusDays(2)).numberOfGuests(2)
+                .hotel(hotel)
+                .room(Room.builder().id(id + 100).roomNumber(String.valueOf(100 + id)).hotel(hotel).build())
+                .guest(Guest.builder().id(10L).fullName("Group Lead").build())
+                .orders(new ArrayList<>())
+                .build();
+    }
+}
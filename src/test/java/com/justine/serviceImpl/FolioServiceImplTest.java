@@ -0,0 +1,176 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.FolioVerificationReportDTO;
+import com.justine.enums.BookingStatus;
+import com.justine.enums.RoomType;
+import com.justine.model.Booking;
+import com.justine.model.BookingFolio;
+import com.justine.model.RestaurantOrder;
+import com.justine.model.Room;
+import com.justine.model.Service;
+import com.justine.repository.BookingFolioRepository;
+import com.justine.service.PricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+class FolioServiceImplTest {
+
+    private BookingFolioRepository folioRepository;
+    private PricingService pricingService;
+    private FolioServiceImpl folios;
+
+    @BeforeEach
+    void setUp() {
+        folioRepository = mock(BookingFolioRepository.class);
+        pricingService = mock(PricingService.class);
+        folios = new FolioServiceImpl(folioRepository, pricingService, 500);
+        when(folioRepository.save(any(BookingFolio.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Today's dynamic rate, far from what the legacy stay was sold at
+        when(pricingService.quoteStay(any(), any(), any())).thenReturn(99_000.0);
+    }
+
+    @Test
+    void legacyBookingIsRebuiltAtItsStoredRoomPriceNotTodaysRate() {
+        Booking booking = legacyBooking();
+        when(folioRepository.findByBookingId(booking.getId())).thenReturn(Optional.empty());
+
+        BookingFolio folio = folios.getFolio(booking);
+
+        assertEquals(3 * 4_000.0, folio.getRoomCharges());
+        assertEquals(1_500.0, folio.getServiceCharges());
+        // The open cart is not billed yet
+        assertEquals(800.0, folio.getRestaurantCharges());
+        assertEquals(12_000.0 + 1_500.0 + 800.0, folio.getTotalAmount());
+        verify(pricingService, never()).quoteStay(any(), any(), any());
+    }
+
+    @Test
+    void rebuildingTheSameLegacyBookingAgainGivesTheSameAmount() {
+        Booking booking = legacyBooking();
+        when(folioRepository.findByBookingId(booking.getId())).thenReturn(Optional.empty());
+
+        double first = folios.getFolio(booking).getTotalAmount();
+        // Today's rate moves between the two rebuilds; the stored room price does not
+        when(pricingService.quoteStay(any(), any(), any())).thenReturn(55_000.0);
+        double second = folios.getFolio(booking).getTotalAmount();
+
+        assertEquals(3 * 4_000.0 + 1_500.0 + 800.0, first);
+        assertEquals(3 * 4_000.0 + 1_500.0 + 800.0, second);
+    }
+
+    @Test
+    void newBookingsArePricedFromTheRateTable() {
+        Booking booking = legacyBooking();
+        when(folioRepository.findByBookingId(booking.getId())).thenReturn(Optional.empty());
+
+        BookingFolio folio = folios.openFolio(booking);
+
+        assertEquals(99_000.0, folio.getRoomCharges());
+    }
+
+    @Test
+    void cancellingReversesTheRoomChargesButKeepsWhatWasConsumed() {
+        Booking booking = legacyBooking();
+        BookingFolio folio = BookingFolio.builder().booking(booking)
+                .roomCharges(12_000.0).serviceCharges(1_500.0).restaurantCharges(800.0).build();
+        folio.recalculateTotal();
+        when(folioRepository.findByBookingId(booking.getId())).thenReturn(Optional.of(folio));
+
+        BookingFolio reversed = folios.reverseRoomCharges(booking);
+
+        assertEquals(0.0, reversed.getRoomCharges());
+        assertEquals(1_500.0, reversed.getServiceCharges());
+        assertEquals(2_300.0, reversed.getTotalAmount());
+    }
+
+    @Test
+    void verificationFlagsRoomChargesLeftOnACancelledBooking() {
+        Booking booking = legacyBooking();
+        BookingFolio folio = pricedFolio(booking, 12_000.0);
+        verifying(folio, stayRow(booking, BookingStatus.CANCELLED, booking.getCheckOutDate()));
+
+        FolioVerificationReportDTO report = folios.verifyFolios(true);
+
+        assertEquals(1, report.getMismatched());
+        assertEquals(List.of(42L), report.getMismatchedBookingIds());
+        assertEquals(0.0, folio.getRoomCharges());
+        assertEquals(0.0, folio.getTotalAmount());
+        verify(folioRepository).save(folio);
+    }
+
+    @Test
+    void verificationRequotesAStayThatMovedUnderItsRoomCharges() {
+        Booking booking = legacyBooking();
+        BookingFolio folio = pricedFolio(booking, 12_000.0);
+        // Extended by two nights without the folio being touched
+        verifying(folio, stayRow(booking, BookingStatus.BOOKED, booking.getCheckOutDate().plusDays(2)));
+        when(pricingService.quoteStay(any(), any(RoomType.class), anyDouble(), any(), any())).thenReturn(20_000.0);
+
+        FolioVerificationReportDTO report = folios.verifyFolios(true);
+
+        assertEquals(1, report.getMismatched());
+        assertEquals(20_000.0, folio.getRoomCharges());
+        assertEquals(booking.getCheckOutDate().plusDays(2), folio.getPricedCheckOut());
+    }
+
+    @Test
+    void verificationLeavesARoomChargePricedForTheCurrentStayAlone() {
+        Booking booking = legacyBooking();
+        BookingFolio folio = pricedFolio(booking, 12_000.0);
+        verifying(folio, stayRow(booking, BookingStatus.CHECKED_IN, booking.getCheckOutDate()));
+
+        FolioVerificationReportDTO report = folios.verifyFolios(true);
+
+        assertEquals(1, report.getChecked());
+        assertEquals(0, report.getMismatched());
+        verify(folioRepository, never()).save(any());
+        verify(pricingService, never()).quoteStay(any(), any(RoomType.class), anyDouble(), any(), any());
+    }
+
+    private static BookingFolio pricedFolio(Booking booking, double roomCharges) {
+        BookingFolio folio = BookingFolio.builder().id(9L).booking(booking).roomCharges(roomCharges)
+                .pricedRoomId(booking.getRoom().getId())
+                .pricedCheckIn(booking.getCheckInDate()).pricedCheckOut(booking.getCheckOutDate())
+                .build();
+        folio.recalculateTotal();
+        return folio;
+    }
+
+    private void verifying(BookingFolio folio, Object[] stay) {
+        when(folioRepository.findByIdGreaterThanOrderByIdAsc(any(), any())).thenReturn(List.of(folio));
+        when(folioRepository.sumServiceChargesByBooking(any())).thenReturn(Collections.emptyList());
+        when(folioRepository.sumRestaurantChargesByBooking(any())).thenReturn(Collections.emptyList());
+        List<Object[]> stays = new ArrayList<>();
+        stays.add(stay);
+        when(folioRepository.findStaysByBooking(any())).thenReturn(stays);
+    }
+
+    private static Object[] stayRow(Booking booking, BookingStatus status, LocalDate checkOut) {
+        return new Object[]{booking.getId(), status, booking.getRoom().getId(), booking.getCheckInDate(), checkOut,
+                1L, RoomType.DOUBLE, booking.getRoom().getPricePerNight()};
+    }
+
+    private static Booking legacyBooking() {
+        LocalDate checkIn = LocalDate.of(2023, 4, 10);
+        List<RestaurantOrder> orders = new ArrayList<>();
+        orders.add(RestaurantOrder.builder().id(1L).cart(false).totalAmount(800.0).build());
+        orders.add(RestaurantOrder.builder().id(2L).cart(true).totalAmount(300.0).build());
+        return Booking.builder().id(42L)
+                .checkInDate(checkIn).checkOutDate(checkIn.plusDays(3))
+                .room(Room.builder().id(7L).roomNumber("201").pricePerNight(4_000.0).build())
+                .services(List.of(Service.builder().id(3L).name("Spa").price(1_500.0).build()))
+                .orders(orders)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.FrontDeskBoardDTO;
+import com.justine.dtos.response.FrontDeskEntryDTO;
+import com.justine.enums.BookingStatus;
+import com.justine.model.Booking;
+import com.justine.model.Guest;
+import com.justine.model.Hotel;
+import com.justine.model.Room;
+import com.justine.repository.BookingRepository;
+import com.justine.repository.projection.FrontDeskRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Booking changes arrive without a surrounding transaction here, so they apply immediately.
+ */
+class FrontDeskBoardServiceImplTest {
+
+    private static final long HOTEL = 1L;
+
+    private final LocalDate today = LocalDate.now();
+    private BookingRepository bookingRepository;
+    private SimpMessagingTemplate messagingTemplate;
+    private FrontDeskBoardServiceImpl boards;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        boards = new FrontDeskBoardServiceImpl(bookingRepository, messagingTemplate);
+
+        when(bookingRepository.findFrontDeskRows(any())).thenReturn(List.of(
+                row(10L, BookingStatus.BOOKED, today, today.plusDays(2), "101"),
+                row(11L, BookingStatus.CHECKED_IN, today.minusDays(3), today, "102"),
+                row(12L, BookingStatus.CHECKED_IN, today.minusDays(1), today.plusDays(1), "103")));
+    }
+
+    @Test
+    void rebuildSortsBookingsIntoArrivalsInHouseAndDepartures() {
+        FrontDeskBoardDTO board = boards.getBoard(HOTEL).getBody();
+
+        assertNotNull(board);
+        assertEquals(List.of(10L), ids(board.getArrivals()));
+        assertEquals(List.of(11L, 12L), ids(board.getInHouse()));
+        assertEquals(List.of(11L), ids(board.getDepartures()));
+        verify(bookingRepository, times(1)).findFrontDeskRows(today);
+
+        // Served from memory afterwards
+        boards.getBoard(HOTEL);
+        verify(bookingRepository, times(1)).findFrontDeskRows(any());
+    }
+
+    @Test
+    void checkInMovesTheArrivalInHouseAndPushesTheBoard() {
+        boards.getBoard(HOTEL);
+        // Loading on the first read is not a change
+        verifyNoInteractions(messagingTemplate);
+
+        boards.bookingChanged(booking(10L, BookingStatus.CHECKED_IN, today, today.plusDays(2), "101"));
+
+        FrontDeskBoardDTO board = boards.getBoard(HOTEL).getBody();
+        assertEquals(List.of(10L, 11L, 12L), ids(board.getInHouse()));
+        assertEquals(BookingStatus.CHECKED_IN, board.getArrivals().get(0).getStatus());
+        verify(messagingTemplate).convertAndSend(eq(FrontDeskBoardServiceImpl.TOPIC_PREFIX + HOTEL), any(FrontDeskBoardDTO.class));
+    }
+
+    @Test
+    void scheduledRebuildPushesEveryHotelBoard() {
+        boards.rebuildBoards();
+
+        verify(messagingTemplate, times(1))
+                .convertAndSend(eq(FrontDeskBoardServiceImpl.TOPIC_PREFIX + HOTEL), any(FrontDeskBoardDTO.class));
+        // Already built for today, so the read does not query again
+        boards.getBoard(HOTEL);
+        verify(bookingRepository, times(1)).findFrontDeskRows(any());
+    }
+
+    @Test
+    void cancelledAndFutureBookingsLeaveTheBoard() {
+        boards.getBoard(HOTEL);
+
+        boards.bookingChanged(booking(10L, BookingStatus.CANCELLED, today, today.plusDays(2), "101"));
+        boards.bookingsMoved(List.of(booking(13L, BookingStatus.BOOKED, today.plusDays(5), today.plusDays(7), "104")),
+                BookingStatus.BOOKED);
+
+        FrontDeskBoardDTO board = boards.getBoard(HOTEL).getBody();
+        assertTrue(board.getArrivals().isEmpty());
+        assertEquals(List.of(11L, 12L), ids(board.getInHouse()));
+    }
+
+    private static List<Long> ids(List<FrontDeskEntryDTO> entries) {
+        return entries.stream().map(FrontDeskEntryDTO::getBookingId).toList();
+    }
+
+    private static FrontDeskRow row(Long id, BookingStatus status, LocalDate checkIn, LocalDate checkOut, String roomNumber) {
+        return new FrontDeskRow(id, "BK" + id, null, status, checkIn, checkOut, 2,
+                HOTEL, id + 100, roomNumber, id + 200, "Guest " + id);
+    }
+
+    private static Booking booking(Long id, BookingStatus status, LocalDate checkIn, LocalDate checkOut, String roomNumber) {
+        Hotel hotel = Hotel.builder().id(HOTEL).name("Board Hotel").build();
+        return Booking.builder().id(id).bookingCode("BK" + id).status(status)
+                .checkInDate(checkIn).checkOutDate(checkOut).numberOfGuests(2)
+                .hotel(hotel)
+                .room(Room.builder().id(id + 100).roomNumber(roomNumber).hotel(hotel).build())
+                .guest(Guest.builder().id(id + 200).fullName("Guest " + id).build())
+                .build();
+    }
+}
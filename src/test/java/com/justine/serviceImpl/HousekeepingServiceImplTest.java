@@ -0,0 +1,284 @@
+package com.justine.serviceImpl;
+
+import com.justine.dtos.response.HousekeepingSyncDTO;
+import com.justine.dtos.response.HousekeepingTaskDTO;
+import com.justine.dtos.response.RoomStatusDTO;
+import com.justine.enums.HousekeepingTaskStatus;
+import com.justine.enums.RoomStatus;
+import com.justine.model.Booking;
+import com.justine.model.Hotel;
+import com.justine.model.HousekeepingTask;
+import com.justine.model.Room;
+import com.justine.model.Staff;
+import com.justine.repository.BookingRepository;
+import com.justine.repository.HousekeepingTaskRepository;
+import com.justine.repository.RoomRepository;
+import com.justine.repository.StaffRepository;
+import com.justine.security.AccessGuard;
+import com.justine.service.AuditLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Room-status engine against mocked repositories; no transaction, so after-commit pushes and queue
+ * updates run inline.
+ */
+class HousekeepingServiceImplTest {
+
+    private static final long HOTEL = 1L;
+    private static final long CLEANER = 30L;
+
+    private final Hotel hotel = Hotel.builder().id(HOTEL).name("Test Hotel").build();
+    private HousekeepingTaskRepository taskRepository;
+    private RoomRepository roomRepository;
+    private BookingRepository bookingRepository;
+    private StaffRepository staffRepository;
+    private SimpMessagingTemplate messagingTemplate;
+    private AccessGuard access;
+    private HousekeepingServiceImpl housekeeping;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(HousekeepingTaskRepository.class);
+        roomRepository = mock(RoomRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        staffRepository = mock(StaffRepository.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        access = mock(AccessGuard.class);
+        housekeeping = new HousekeepingServiceImpl(taskRepository, roomRepository, bookingRepository, staffRepository,
+                mock(AuditLogService.class), messagingTemplate, access, true, 2000);
+
+        when(taskRepository.save(any(HousekeepingTask.class))).thenAnswer(call -> call.getArgument(0));
+        when(taskRepository.saveAll(anyCollection())).thenAnswer(call -> new ArrayList<>(call.<List<HousekeepingTask>>getArgument(0)));
+        when(staffRepository.findById(CLEANER)).thenReturn(Optional.of(
+                Staff.builder().id(CLEANER).fullName("Cleaner").hotel(hotel).build()));
+    }
+
+    // ------------------ Room status transitions ------------------
+
+    @Test
+    void aTransitionOutsideTheCycleIsRefused() {
+        Room room = room(10L, RoomStatus.DIRTY);
+        when(roomRepository.findById(10L)).thenReturn(Optional.of(room));
+
+        ResponseEntity<RoomStatusDTO> response = housekeeping.changeRoomStatus(10L, RoomStatus.READY, 99L);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(RoomStatus.DIRTY, room.getHousekeepingStatus());
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void takingARoomOutOfOrderCancelsItsOpenTasks() {
+        Room room = room(10L, RoomStatus.DIRTY);
+        HousekeepingTask open = task(100L, room, HousekeepingTaskStatus.PENDING, 50, LocalDateTime.now());
+        when(roomRepository.findById(10L)).thenReturn(Optional.of(room));
+        when(taskRepository.findByRoomIdAndStatusIn(eq(10L), any())).thenReturn(List.of(open));
+
+        ResponseEntity<RoomStatusDTO> response = housekeeping.changeRoomStatus(10L, RoomStatus.OUT_OF_ORDER, 99L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(RoomStatus.OUT_OF_ORDER, response.getBody().getStatus());
+        assertEquals(HousekeepingTaskStatus.CANCELLED, open.getStatus());
+        verify(messagingTemplate).convertAndSend(eq("/topic/housekeeping/1/rooms"), any(RoomStatusDTO.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/housekeeping/1/tasks"), any(HousekeepingTaskDTO.class));
+    }
+
+    @Test
+    void returningARoomToServiceSendsItThroughCleaning() {
+        Room room = room(10L, RoomStatus.OUT_OF_ORDER);
+        when(roomRepository.findById(10L)).thenReturn(Optional.of(room));
+        when(taskRepository.findByRoomIdAndStatusIn(eq(10L), any())).thenReturn(List.of());
+
+        assertEquals(HttpStatus.CONFLICT, housekeeping.changeRoomStatus(10L, RoomStatus.READY, 99L).getStatusCode());
+        assertEquals(HttpStatus.OK, housekeeping.changeRoomStatus(10L, RoomStatus.DIRTY, 99L).getStatusCode());
+
+        ArgumentCaptor<HousekeepingTask> created = ArgumentCaptor.forClass(HousekeepingTask.class);
+        verify(taskRepository).save(created.capture());
+        assertEquals(HousekeepingTaskStatus.PENDING, created.getValue().getStatus());
+        assertEquals(HousekeepingServiceImpl.PRIORITY_STANDARD, created.getValue().getPriority());
+    }
+
+    @Test
+    void checkoutLeavesOutOfOrderRoomsAloneAndPutsTodaysArrivalsFirst() {
+        Room arriving = room(10L, RoomStatus.READY);
+        Room standard = room(11L, RoomStatus.READY);
+        Room broken = room(12L, RoomStatus.OUT_OF_ORDER);
+        when(taskRepository.findRoomIdsWithTaskIn(anyCollection(), any())).thenReturn(List.of());
+        when(bookingRepository.findRoomIdsWithArrivalOn(anyCollection(), any())).thenReturn(List.of(10L));
+
+        housekeeping.roomsVacated(List.of(booking(arriving), booking(standard), booking(broken)));
+
+        ArgumentCaptor<Collection<Long>> dirtied = ArgumentCaptor.forClass(Collection.class);
+        verify(roomRepository).updateHousekeepingStatusByIdIn(dirtied.capture(), eq(RoomStatus.DIRTY), any());
+        assertEquals(List.of(10L, 11L), List.copyOf(dirtied.getValue()));
+        assertEquals(RoomStatus.OUT_OF_ORDER, broken.getHousekeepingStatus());
+        ArgumentCaptor<List<HousekeepingTask>> tasks = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository).saveAll(tasks.capture());
+        assertEquals(List.of(HousekeepingServiceImpl.PRIORITY_ARRIVAL_TODAY, HousekeepingServiceImpl.PRIORITY_STANDARD),
+                tasks.getValue().stream().map(HousekeepingTask::getPriority).toList());
+    }
+
+    // ------------------ Queue ------------------
+
+    @Test
+    void cleanersGetTheHighestPriorityFirstThenTheOldest() {
+        LocalDateTime now = LocalDateTime.now();
+        Room a = room(10L, RoomStatus.DIRTY);
+        Room b = room(11L, RoomStatus.DIRTY);
+        Room c = room(12L, RoomStatus.DIRTY);
+        when(taskRepository.findPendingQueueEntries()).thenReturn(List.of(
+                new Object[]{100L, HOTEL, 50, now.minusHours(1)},
+                new Object[]{101L, HOTEL, 100, now},
+                new Object[]{102L, HOTEL, 50, now.minusHours(3)}));
+        when(roomRepository.findAllWithHotel()).thenReturn(List.of(a, b, c));
+        when(taskRepository.findWithRoomById(100L)).thenReturn(Optional.of(task(100L, a, HousekeepingTaskStatus.IN_PROGRESS, 50, now)));
+        when(taskRepository.findWithRoomById(101L)).thenReturn(Optional.of(task(101L, b, HousekeepingTaskStatus.IN_PROGRESS, 100, now)));
+        when(taskRepository.findWithRoomById(102L)).thenReturn(Optional.of(task(102L, c, HousekeepingTaskStatus.IN_PROGRESS, 50, now)));
+        when(taskRepository.claim(anyLong(), any(), any())).thenReturn(1);
+        when(access.isHousekeeping()).thenReturn(true);
+
+        List<Long> claimed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) claimed.add(housekeeping.claimNextTask(CLEANER).getBody().getId());
+
+        assertEquals(List.of(101L, 102L, 100L), claimed);
+        assertEquals(HttpStatus.NO_CONTENT, housekeeping.claimNextTask(CLEANER).getStatusCode());
+        assertEquals(RoomStatus.CLEANING, b.getHousekeepingStatus());
+    }
+
+    @Test
+    void aTaskHandedOutElsewhereIsSkipped() {
+        LocalDateTime now = LocalDateTime.now();
+        Room room = room(11L, RoomStatus.DIRTY);
+        when(taskRepository.findPendingQueueEntries()).thenReturn(List.of(
+                new Object[]{100L, HOTEL, 100, now},
+                new Object[]{101L, HOTEL, 50, now}));
+        when(roomRepository.findAllWithHotel()).thenReturn(List.of(room));
+        when(taskRepository.claim(eq(100L), any(), any())).thenReturn(0);
+        when(taskRepository.claim(eq(101L), any(), any())).thenReturn(1);
+        when(taskRepository.findWithRoomById(101L)).thenReturn(Optional.of(task(101L, room, HousekeepingTaskStatus.IN_PROGRESS, 50, now)));
+        when(access.isHousekeeping()).thenReturn(true);
+
+        assertEquals(101L, housekeeping.claimNextTask(CLEANER).getBody().getId());
+    }
+
+    // ------------------ Inspection ------------------
+
+    @Test
+    void aPassedInspectionReleasesTheRoom() {
+        Room room = room(10L, RoomStatus.CLEANING);
+        HousekeepingTask task = task(100L, room, HousekeepingTaskStatus.AWAITING_INSPECTION, 50, LocalDateTime.now());
+        when(taskRepository.findWithRoomById(100L)).thenReturn(Optional.of(task));
+
+        ResponseEntity<HousekeepingTaskDTO> response = housekeeping.inspectTask(100L, true, null, 99L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(HousekeepingTaskStatus.DONE, task.getStatus());
+        assertEquals(RoomStatus.READY, room.getHousekeepingStatus());
+    }
+
+    @Test
+    void aFailedInspectionSendsTheRoomBackAheadOfTheQueue() {
+        LocalDateTime now = LocalDateTime.now();
+        Room reworked = room(10L, RoomStatus.CLEANING);
+        Room waiting = room(11L, RoomStatus.DIRTY);
+        HousekeepingTask task = task(100L, reworked, HousekeepingTaskStatus.AWAITING_INSPECTION, 50, now.minusHours(2));
+        task.setAssignedTo(Staff.builder().id(CLEANER).build());
+        when(taskRepository.findWithRoomById(100L)).thenReturn(Optional.of(task));
+        when(taskRepository.findWithRoomById(101L)).thenReturn(Optional.of(task(101L, waiting, HousekeepingTaskStatus.IN_PROGRESS, 60, now)));
+        when(taskRepository.findPendingQueueEntries()).thenReturn(List.<Object[]>of(new Object[]{101L, HOTEL, 60, now}));
+        when(roomRepository.findAllWithHotel()).thenReturn(List.of(reworked, waiting));
+        when(taskRepository.claim(anyLong(), any(), any())).thenReturn(1);
+        when(access.isHousekeeping()).thenReturn(true);
+        housekeeping.resync();
+
+        housekeeping.inspectTask(100L, false, "Bathroom missed", 99L);
+
+        assertEquals(HousekeepingTaskStatus.PENDING, task.getStatus());
+        assertNull(task.getAssignedTo());
+        assertEquals(50 + HousekeepingServiceImpl.PRIORITY_REWORK, task.getPriority());
+        assertEquals("Bathroom missed", task.getNotes());
+        assertEquals(RoomStatus.DIRTY, reworked.getHousekeepingStatus());
+        // 75 beats the waiting task's 60
+        assertEquals(100L, housekeeping.claimNextTask(CLEANER).getBody().getId());
+    }
+
+    @Test
+    void onlyFinishedTasksCanBeInspected() {
+        HousekeepingTask task = task(100L, room(10L, RoomStatus.CLEANING), HousekeepingTaskStatus.IN_PROGRESS, 50, LocalDateTime.now());
+        when(taskRepository.findWithRoomById(100L)).thenReturn(Optional.of(task));
+
+        assertEquals(HttpStatus.CONFLICT, housekeeping.inspectTask(100L, true, null, 99L).getStatusCode());
+        assertEquals(HousekeepingTaskStatus.IN_PROGRESS, task.getStatus());
+    }
+
+    // ------------------ Sync ------------------
+
+    @Test
+    void firstSyncReturnsTheOpenQueueAndEveryRoomOfTheHotel() {
+        Room room = room(10L, RoomStatus.DIRTY);
+        when(taskRepository.findPendingQueueEntries()).thenReturn(List.of());
+        when(roomRepository.findAllWithHotel()).thenReturn(List.of(room));
+        when(taskRepository.findByHotelIdAndStatusInOrderByPriorityDescCreatedAtAsc(eq(HOTEL), any()))
+                .thenReturn(List.of(task(100L, room, HousekeepingTaskStatus.PENDING, 50, LocalDateTime.now())));
+
+        HousekeepingSyncDTO sync = housekeeping.sync(null, CLEANER).getBody();
+
+        assertEquals(HOTEL, sync.getHotelId());
+        assertEquals(List.of(100L), sync.getTasks().stream().map(HousekeepingTaskDTO::getId).toList());
+        assertEquals(List.of(RoomStatus.DIRTY), sync.getRooms().stream().map(RoomStatusDTO::getStatus).toList());
+        assertNotNull(sync.getSyncedAt());
+    }
+
+    @Test
+    void incrementalSyncReadsChangesSinceTheCursorWithOverlap() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(5);
+        Room changed = room(10L, RoomStatus.CLEANING);
+        when(taskRepository.findByHotelIdAndUpdatedAtAfterOrderByUpdatedAtAsc(eq(HOTEL), any())).thenReturn(List.of());
+        when(roomRepository.findByHotelIdAndHousekeepingUpdatedAtAfter(eq(HOTEL), any())).thenReturn(List.of(changed));
+
+        HousekeepingSyncDTO sync = housekeeping.sync(since, CLEANER).getBody();
+
+        verify(roomRepository).findByHotelIdAndHousekeepingUpdatedAtAfter(HOTEL, since.minusSeconds(2));
+        verify(taskRepository).findByHotelIdAndUpdatedAtAfterOrderByUpdatedAtAsc(HOTEL, since.minusSeconds(2));
+        assertEquals(List.of(10L), sync.getRooms().stream().map(RoomStatusDTO::getRoomId).toList());
+        assertTrue(sync.getSyncedAt().isAfter(since));
+    }
+
+    @Test
+    void staffWithoutAHotelCannotSync() {
+        when(staffRepository.findById(31L)).thenReturn(Optional.of(Staff.builder().id(31L).build()));
+
+        assertEquals(HttpStatus.FORBIDDEN, housekeeping.sync(null, 31L).getStatusCode());
+    }
+
+    private Room room(Long id, RoomStatus status) {
+        return Room.builder().id(id).roomNumber(String.valueOf(id)).hotel(hotel).housekeepingStatus(status).build();
+    }
+
+    private Booking booking(Room room) {
+        return Booking.builder().id(room.getId() + 1000).room(room).build();
+    }
+
+    private HousekeepingTask task(Long id, Room room, HousekeepingTaskStatus status, int priority, LocalDateTime createdAt) {
+        return HousekeepingTask.builder().id(id).room(room).hotel(hotel).status(status).priority(priority)
+                .createdAt(createdAt).build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.justine.serviceImpl;
+
+import com.justine.enums.RoomType;
+import com.justine.repository.*;
+import com.justine.service.AuditLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class PricingServiceImplTest {
+
+    private PlatformTransactionManager transactionManager;
+    private RoomRepository roomRepository;
+    private PricingServiceImpl pricing;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        roomRepository = mock(RoomRepository.class);
+        List<Object[]> slots = new ArrayList<>();
+        slots.add(new Object[]{1L, RoomType.DOUBLE, 10L});
+        when(roomRepository.countRoomsByHotelAndType()).thenReturn(slots);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findStayWindowsByHotelAndType(any(), any(), any())).thenReturn(List.of());
+
+        pricing = new PricingServiceImpl(mock(RateRuleRepository.class), mock(SeasonalRateRepository.class),
+                roomRepository, bookingRepository, mock(HotelRepository.class), mock(AuditLogService.class),
+                transactionManager, 30, 0.5, 3.0);
+    }
+
+    @Test
+    void aRebuildCalledFromInsideTheBeanStillRunsInAReadOnlyTransaction() {
+        // The after-commit rebuild is a plain this:: call, so no proxy is involved
+        pricing.rebuildRateTable();
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+        verify(roomRepository).countRoomsByHotelAndType();
+    }
+
+    @Test
+    void theFirstQuoteBuildsTheTableInAReadOnlyTransaction() {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+
+        assertEquals(2 * 5_000.0, pricing.quoteStay(1L, RoomType.DOUBLE, 5_000.0, checkIn, checkIn.plusDays(2)));
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+}
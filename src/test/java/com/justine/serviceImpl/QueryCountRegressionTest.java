@@ -0,0 +1,280 @@
+package com.justine.serviceImpl;
+
+import com.justine.config.QueryCountInspector;
+import com.justine.dtos.response.BookingResponseDTO;
+import com.justine.dtos.response.HotelResponseDTO;
+import com.justine.dtos.response.NotificationResponseDto;
+import com.justine.enums.FoodCategory;
+import com.justine.enums.OrderStatus;
+import com.justine.enums.RoomType;
+import com.justine.enums.StaffRole;
+import com.justine.model.*;
+import com.justine.repository.*;
+import com.justine.security.AccessGuard;
+import com.justine.service.*;
+import com.justine.utils.AppMetrics;
+import com.justine.utils.CloudinaryService;
+import com.justine.utils.QueryCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pins the number of SQL statements behind the listing endpoints that regressed into N+1 loops.
+ * Each endpoint's service method runs against H2 at two data sizes: the statement count must not
+ * grow with rows. Read endpoints use projections (repository.projection), entity mapping relies on
+ * batch fetching. Collaborators that do no reads are mocks.
+ */
+@DataJpaTest(properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(QueryCountInspector.class)
+class QueryCountRegressionTest {
+
+    // Bookings with their to-ones and services, then one batch each for orders, order items and food items
+    private static final int MAX_BOOKING_MAPPING = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    private HotelServiceImpl hotels;
+    private BookingServiceImpl bookings;
+    private NotificationServiceImpl notifications;
+
+    @BeforeEach
+    void setUp() {
+        AppMetrics metrics = new AppMetrics(new SimpleMeterRegistry());
+        hotels = new HotelServiceImpl(hotelRepository, mock(ServiceRepository.class), roomRepository, staffRepository,
+                mock(AuditLogService.class), mock(CloudinaryService.class), metrics);
+        bookings = new BookingServiceImpl(bookingRepository, mock(FoodItemRepository.class),
+                mock(RestaurantOrderRepository.class), mock(OrderItemRepository.class), roomRepository,
+                guestRepository, mock(ServiceRepository.class), mock(InvoiceRepository.class),
+                mock(PaymentRepository.class), mock(AuditLogService.class), staffRepository,
+                mock(FolioService.class), mock(PricingService.class), mock(AnalyticsService.class),
+                mock(FrontDeskBoardService.class), mock(AccessGuard.class), metrics,
+                mock(ApplicationEventPublisher.class));
+        notifications = new NotificationServiceImpl(mock(SimpMessagingTemplate.class), bookingRepository,
+                mock(EmailService.class), notificationRepository, mock(AuditLogService.class), staffRepository,
+                mock(SMSService.class), mock(AsyncTaskExecutor.class));
+    }
+
+    @Test
+    void hotelListingLoadsRoomsAndStaffInConstantQueries() {
+        seedHotels(3);
+        int few = countHotelListing();
+        seedHotels(12);
+        int many = countHotelListing();
+
+        assertEquals(few, many, "hotel listing grew with the number of hotels");
+        assertEquals(3, many, "expected one projection each for hotels, rooms and staff");
+    }
+
+    @Test
+    void alertListingFetchesRecipientsWithTheNotifications() {
+        seedNotifications(4);
+        int few = countAlertListing();
+        seedNotifications(20);
+        int many = countAlertListing();
+
+        assertEquals(few, many, "alert listing grew with the number of notifications");
+        assertTrue(many <= 2, "expected notifications+recipients and the staff hotels, got " + many);
+    }
+
+    @Test
+    void mappingBookingEntitiesIsBatched() {
+        seedBookings(3);
+        int few = countBookingMapping();
+        seedBookings(15);
+        int many = countBookingMapping();
+
+        assertEquals(few, many, "booking mapping grew with the number of bookings");
+        assertTrue(many <= MAX_BOOKING_MAPPING, "expected the bookings and one batch per collection, got " + many);
+    }
+
+    @Test
+    void guestBookingListingUsesProjections() {
+        Long guestId = seedBookings(3);
+        int few = countGuestBookingListing(guestId, 3);
+        Long otherGuestId = seedBookings(15);
+        int many = countGuestBookingListing(otherGuestId, 15);
+
+        assertEquals(few, many, "booking listing grew with the number of bookings");
+        assertEquals(4, many, "expected the guest check, then one select each for bookings, services and orders with items");
+    }
+
+    @Test
+    void bookingOrderRowsCarryTheirItems() {
+        Long guestId = seedBookings(2);
+        List<Long> bookingIds = bookingRepository.findRowsByGuestId(guestId).stream().map(row -> row.id()).toList();
+
+        var rows = bookingRepository.findOrderItemRows(bookingIds);
+
+        // Two orders with two items each
+        assertEquals(4, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.itemName() != null && row.foodHotelId() != null));
+    }
+
+    @Test
+    void bulkStayLoadFetchesEveryEagerAssociationInOneSelect() {
+        seedGroup("GRP-FEW", 3);
+        int few = countBulkStayLoad("GRP-FEW");
+        seedGroup("GRP-MANY", 15);
+        int many = countBulkStayLoad("GRP-MANY");
+
+        assertEquals(few, many, "bulk stay load grew with the size of the group");
+        assertEquals(1, many, "expected bookings, rooms, guests, payments and invoices in one select");
+    }
+
+    // ---------------- measured access patterns ----------------
+
+    private int countBulkStayLoad(String groupCode) {
+        em.clear();
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            List<Booking> bookings = bookingRepository.findAllWithRoomByGroupCode(groupCode);
+            bookings.forEach(booking -> booking.getRoom().getHotel().getName());
+            return scope.count();
+        }
+    }
+
+    private int countHotelListing() {
+        em.clear();
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            List<HotelResponseDTO> listed = hotels.getAllHotels();
+            assertFalse(listed.isEmpty());
+            return scope.count();
+        }
+    }
+
+    private int countGuestBookingListing(Long guestId, int expected) {
+        em.clear();
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            List<BookingResponseDTO> listed = bookings.listBookingsForGuest(guestId, guestId).getBody();
+            assertEquals(expected, listed.size());
+            // Each seeded booking has a pending cart with two items
+            assertTrue(listed.stream().allMatch(booking -> booking.getCart() != null
+                    && booking.getCart().getOrderItems().size() == 2));
+            return scope.count();
+        }
+    }
+
+    private int countAlertListing() {
+        em.clear();
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            List<NotificationResponseDto> listed = notifications.getAllAlerts().getBody();
+            assertFalse(listed.isEmpty());
+            return scope.count();
+        }
+    }
+
+    private int countBookingMapping() {
+        em.clear();
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            // Admin listing: loads booking entities and maps each through toBookingResponse
+            List<BookingResponseDTO> mapped = bookings.getAllBookings(null).getBody();
+            assertTrue(mapped.stream().allMatch(booking -> booking.getCart() != null
+                    && booking.getCart().getOrderItems().size() == 2));
+            return scope.count();
+        }
+    }
+
+    // ---------------- fixtures ----------------
+
+    private void seedGroup(String groupCode, int count) {
+        Hotel hotel = em.persist(Hotel.builder().name("Group Hotel").location("Nakuru").build());
+        for (int b = 0; b < count; b++) {
+            Room room = em.persist(Room.builder().roomNumber(groupCode + "-" + b).type(RoomType.DOUBLE)
+                    .pricePerNight(6000.0).hotel(hotel).build());
+            Guest guest = em.persist(Guest.builder().fullName("Member " + b).build());
+            Booking booking = em.persist(Booking.builder().bookingCode(groupCode + b).groupCode(groupCode)
+                    .checkInDate(LocalDate.now()).checkOutDate(LocalDate.now().plusDays(1))
+                    .guest(guest).room(room).build());
+            em.persist(Payment.builder().booking(booking).amount(6000.0).build());
+            em.persist(Invoice.builder().invoiceNumber("INV-" + groupCode + b).booking(booking).totalAmount(6000.0).build());
+        }
+        em.flush();
+    }
+
+    private void seedHotels(int count) {
+        for (int h = 0; h < count; h++) {
+            Hotel hotel = em.persist(Hotel.builder().name("Hotel " + h).location("Nairobi").build());
+            for (int r = 0; r < 4; r++) {
+                em.persist(Room.builder().roomNumber(h + "-" + r).type(RoomType.DOUBLE)
+                        .pricePerNight(5000.0).available(true).hotel(hotel).build());
+            }
+            for (int s = 0; s < 2; s++) {
+                em.persist(Staff.builder().fullName("Staff " + h + "-" + s).role(StaffRole.RECEPTIONIST).hotel(hotel).build());
+            }
+        }
+        em.flush();
+    }
+
+    private void seedNotifications(int count) {
+        Hotel hotel = em.persist(Hotel.builder().name("Alert Hotel").location("Mombasa").build());
+        for (int i = 0; i < count; i++) {
+            Notification.NotificationBuilder notification = Notification.builder().title("Alert " + i).message("Drill");
+            if (i % 2 == 0) {
+                notification.guest(em.persist(Guest.builder().fullName("Guest " + i).build()));
+            } else {
+                notification.staff(em.persist(Staff.builder().fullName("Staff " + i).role(StaffRole.SECURITY).hotel(hotel).build()));
+            }
+            em.persist(notification.build());
+        }
+        em.flush();
+    }
+
+    private Long seedBookings(int count) {
+        Hotel hotel = em.persist(Hotel.builder().name("Booking Hotel").location("Kisumu").build());
+        Room room = em.persist(Room.builder().roomNumber("B-1").type(RoomType.SUITE).pricePerNight(9000.0).hotel(hotel).build());
+        Guest guest = em.persist(Guest.builder().fullName("Booking Guest").build());
+        List<FoodItem> menu = new ArrayList<>();
+        for (int f = 0; f < 3; f++) {
+            menu.add(em.persist(FoodItem.builder().itemName("Dish " + f).price(400.0).category(FoodCategory.Main_Dish).hotel(hotel).build()));
+        }
+
+        for (int b = 0; b < count; b++) {
+            Booking booking = em.persist(Booking.builder().bookingCode("BK" + b)
+                    .checkInDate(LocalDate.now()).checkOutDate(LocalDate.now().plusDays(2))
+                    .guest(guest).room(room).build());
+            RestaurantOrder order = em.persist(RestaurantOrder.builder().booking(booking).guest(guest).hotel(hotel)
+                    .cart(true).status(OrderStatus.PENDING).totalAmount(800.0).build());
+            for (FoodItem item : menu.subList(0, 2)) {
+                em.persist(OrderItem.builder().order(order).foodItem(item).quantity(1).status(OrderStatus.PENDING).build());
+            }
+        }
+        em.flush();
+        return guest.getId();
+    }
+}
@@ -0,0 +1,95 @@
+package com.justine.utils;
+
+import com.justine.dtos.request.BookingRequestDTO;
+import com.justine.dtos.request.LoginRequestDTO;
+import com.justine.enums.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditMetadataCodecTest {
+
+    private final AuditMetadataCodec codec = new AuditMetadataCodec(1024, 64, 8, 3);
+
+    @Test
+    void scalarsListsAndMapsRoundTrip() {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("roomId", 42L);
+        metadata.put("delta", -3);
+        metadata.put("amount", 1999.5);
+        metadata.put("paid", true);
+        metadata.put("status", BookingStatus.CHECKED_IN);
+        metadata.put("checkOutDate", LocalDate.of(2026, 1, 31));
+        metadata.put("bookingIds", List.of(1L, 2L));
+        metadata.put("none", null);
+
+        Map<String, Object> decoded = AuditMetadataCodec.decode(codec.encode(metadata));
+
+        assertEquals(42L, decoded.get("roomId"));
+        assertEquals(-3L, decoded.get("delta"));
+        assertEquals(1999.5, decoded.get("amount"));
+        assertEquals(true, decoded.get("paid"));
+        assertEquals("CHECKED_IN", decoded.get("status"));
+        assertEquals("2026-01-31", decoded.get("checkOutDate"));
+        assertEquals(List.of(1L, 2L), decoded.get("bookingIds"));
+        assertTrue(decoded.containsKey("none"));
+        assertNull(decoded.get("none"));
+    }
+
+    @Test
+    void requestDtosKeepOnlySetFieldsAndRedactSecrets() {
+        BookingRequestDTO booking = BookingRequestDTO.builder()
+                .guestId(5L)
+                .roomId(9L)
+                .checkInDate(LocalDate.of(2026, 3, 1))
+                .build();
+        LoginRequestDTO login = new LoginRequestDTO("guest@example.com", "hunter2");
+
+        Map<String, Object> decoded = AuditMetadataCodec.decode(codec.encode(Map.of("request", booking, "login", login)));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> request = (Map<String, Object>) decoded.get("request");
+        assertEquals(5L, request.get("guestId"));
+        assertEquals("2026-03-01", request.get("checkInDate"));
+        assertFalse(request.containsKey("serviceIds"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> credentials = (Map<String, Object>) decoded.get("login");
+        assertEquals(AuditMetadataCodec.REDACTED, credentials.get("password"));
+        assertEquals("guest@example.com", credentials.get("email"));
+    }
+
+    @Test
+    void redactionMatchesShortMarkersAsWholeWordsOnly() {
+        assertTrue(AuditMetadataCodec.isSensitive("accessToken"));
+        assertTrue(AuditMetadataCodec.isSensitive("new_password"));
+        assertTrue(AuditMetadataCodec.isSensitive("mpesaPin"));
+        assertFalse(AuditMetadataCodec.isSensitive("opinion"));
+        assertFalse(AuditMetadataCodec.isSensitive("shippingAddress"));
+    }
+
+    @Test
+    void longValuesAreCutAndOversizedRecordsFlagged() {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        for (int i = 0; i < 30; i++) metadata.put("note" + i, "x".repeat(500));
+
+        byte[] encoded = codec.encode(metadata);
+        Map<String, Object> decoded = AuditMetadataCodec.decode(encoded);
+
+        assertTrue(encoded.length <= 1024);
+        assertEquals(true, decoded.get(AuditMetadataCodec.TRUNCATED_KEY));
+        assertEquals(64, ((String) decoded.get("note0")).length());
+        assertTrue(decoded.size() <= 9);
+    }
+
+    @Test
+    void emptyMetadataIsNotStored() {
+        assertNull(codec.encode(Map.of()));
+        assertEquals(Map.of(), AuditMetadataCodec.decode(null));
+    }
+}
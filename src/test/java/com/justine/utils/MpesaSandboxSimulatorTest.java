@@ -0,0 +1,126 @@
+package com.justine.utils;
+
+import com.justine.config.ExecutorRegistry;
+import com.justine.utils.MpesaSandboxSimulator.LatencyDistribution;
+import com.justine.utils.MpesaSandboxSimulator.Outcome;
+import com.justine.utils.MpesaSandboxSimulator.SimulatedPush;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpesaSandboxSimulatorTest {
+
+    private ExecutorRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ExecutorRegistry(new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void successfulPushCallsBackWithAReceipt() throws Exception {
+        MpesaSandboxSimulator simulator = simulator(0, 60_000, 1.0, 0.0, 0.0);
+        CompletableFuture<Map<String, Object>> callback = new CompletableFuture<>();
+
+        SimulatedPush push = simulator.simulate(1_500.0, "254700000001", callback::complete);
+
+        Map<String, Object> stk = stkCallback(callback.get(5, TimeUnit.SECONDS));
+        assertEquals(push.checkoutRequestId(), stk.get("CheckoutRequestID"));
+        assertEquals(0, stk.get("ResultCode"));
+        List<Map<String, Object>> items = (List<Map<String, Object>>) ((Map<String, Object>) stk.get("CallbackMetadata")).get("Item");
+        assertTrue(items.stream().anyMatch(item -> "MpesaReceiptNumber".equals(item.get("Name")) && item.get("Value") != null));
+        assertEquals(Outcome.SUCCESS, simulator.find(push.checkoutRequestId()).orElseThrow().outcome());
+    }
+
+    @Test
+    void cancelledPushCallsBackWithAFailureCodeAndNoMetadata() throws Exception {
+        MpesaSandboxSimulator simulator = simulator(0, 60_000, 0.0, 1.0, 0.0);
+        CompletableFuture<Map<String, Object>> callback = new CompletableFuture<>();
+
+        simulator.simulate(1_500.0, "254700000001", callback::complete);
+
+        Map<String, Object> stk = stkCallback(callback.get(5, TimeUnit.SECONDS));
+        assertEquals(Outcome.CANCELLED.getResultCode(), stk.get("ResultCode"));
+        assertNull(stk.get("CallbackMetadata"));
+    }
+
+    @Test
+    void remainingShareResolvesAsInsufficientFunds() throws Exception {
+        MpesaSandboxSimulator simulator = simulator(0, 60_000, 0.0, 0.0, 0.0);
+        CompletableFuture<Map<String, Object>> callback = new CompletableFuture<>();
+
+        SimulatedPush push = simulator.simulate(1_500.0, "254700000001", callback::complete);
+
+        assertEquals(Outcome.INSUFFICIENT_FUNDS.getResultCode(), stkCallback(callback.get(5, TimeUnit.SECONDS)).get("ResultCode"));
+        assertNull(simulator.find(push.checkoutRequestId()).orElseThrow().receiptNumber());
+    }
+
+    @Test
+    void lostPushNeverCallsBackAndDoesNotReportAPayment() throws Exception {
+        MpesaSandboxSimulator simulator = simulator(0, 60_000, 0.0, 0.0, 1.0);
+        CompletableFuture<Map<String, Object>> callback = new CompletableFuture<>();
+
+        SimulatedPush push = simulator.simulate(1_500.0, "254700000001", callback::complete);
+        SimulatedPush done = awaitOutcome(simulator, push.checkoutRequestId());
+
+        assertEquals(Outcome.LOST, done.outcome());
+        assertNotEquals(0, done.outcome().getResultCode());
+        assertNull(done.receiptNumber());
+        assertFalse(callback.isDone());
+    }
+
+    @Test
+    void pushStaysInFlightUntilItsLatencyElapses() {
+        MpesaSandboxSimulator simulator = simulator(60_000, 60_000, 1.0, 0.0, 0.0);
+
+        SimulatedPush push = simulator.simulate(1_500.0, "254700000001", data -> fail("called back early"));
+
+        assertNull(simulator.find(push.checkoutRequestId()).orElseThrow().outcome());
+        assertEquals(1, simulator.inFlight());
+    }
+
+    @Test
+    void latencyIsCappedAtTheConfiguredMaximum() throws Exception {
+        MpesaSandboxSimulator simulator = simulator(600_000, 0, 1.0, 0.0, 0.0);
+        CompletableFuture<Map<String, Object>> callback = new CompletableFuture<>();
+
+        simulator.simulate(1_500.0, "254700000001", callback::complete);
+
+        assertEquals(0, stkCallback(callback.get(5, TimeUnit.SECONDS)).get("ResultCode"));
+        assertEquals(0, simulator.inFlight());
+    }
+
+    private MpesaSandboxSimulator simulator(long meanMs, long maxMs, double success, double cancel, double lost) {
+        return new MpesaSandboxSimulator(LatencyDistribution.FIXED, meanMs, 0, maxMs,
+                success, cancel, lost, 60, registry);
+    }
+
+    private static SimulatedPush awaitOutcome(MpesaSandboxSimulator simulator, String checkoutRequestId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            SimulatedPush push = simulator.find(checkoutRequestId).orElseThrow();
+            if (push.outcome() != null) return push;
+            Thread.sleep(10);
+        }
+        return fail("push never resolved");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> stkCallback(Map<String, Object> callback) {
+        return (Map<String, Object>) ((Map<String, Object>) callback.get("Body")).get("stkCallback");
+    }
+}
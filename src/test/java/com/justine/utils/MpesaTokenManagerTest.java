@@ -0,0 +1,142 @@
+package com.justine.utils;
+
+import com.justine.config.HttpClientConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the token manager against a local Daraja OAuth stub.
+ */
+class MpesaTokenManagerTest {
+
+    private HttpServer darajaStub;
+    private CloseableHttpClient httpClient;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+
+    @BeforeEach
+    void startStub() throws Exception {
+        darajaStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        darajaStub.createContext("/oauth/v1/generate", exchange -> {
+            int n = tokenRequests.incrementAndGet();
+            try {
+                // Slow token endpoint widens the window for a refresh stampede
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"access_token\":\"token-" + n + "\",\"expires_in\":\"3599\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        darajaStub.setExecutor(Executors.newFixedThreadPool(8));
+        darajaStub.start();
+
+        httpClient = new HttpClientConfig().mpesaHttpClient(10, 10, 1000, 5000, 1000, 30000);
+    }
+
+    @AfterEach
+    void stopStub() throws Exception {
+        httpClient.close();
+        darajaStub.stop(0);
+    }
+
+    private MpesaTokenManager tokenManager(Clock clock) {
+        String baseUrl = "http://127.0.0.1:" + darajaStub.getAddress().getPort();
+        RestTemplate restTemplate = new HttpClientConfig().mpesaRestTemplate(httpClient);
+        return new MpesaTokenManager(restTemplate, "key", "secret", baseUrl, 60, clock);
+    }
+
+    @Test
+    void concurrentCallersShareOneRefresh() throws Exception {
+        MpesaTokenManager manager = tokenManager(Clock.systemUTC());
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < 32; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return manager.getAccessToken();
+            }));
+        }
+        start.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("token-1", result.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdownNow();
+
+        assertEquals(1, tokenRequests.get());
+    }
+
+    @Test
+    void refreshesShortlyBeforeExpiry() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        MpesaTokenManager manager = tokenManager(clock);
+
+        assertEquals("token-1", manager.getAccessToken());
+
+        clock.advanceSeconds(3000);
+        assertEquals("token-1", manager.getAccessToken());
+
+        // 3599s lifetime minus 60s skew
+        clock.advanceSeconds(540);
+        assertEquals("token-2", manager.getAccessToken());
+        assertEquals(2, tokenRequests.get());
+    }
+
+    @Test
+    void invalidateForcesRefetch() {
+        MpesaTokenManager manager = tokenManager(Clock.systemUTC());
+
+        assertEquals("token-1", manager.getAccessToken());
+        manager.invalidate();
+        assertEquals("token-2", manager.getAccessToken());
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}